@@ -1,4 +1,19 @@
+const BASE_URL = "http://localhost:8080/api/polls";
+
 // Platzhalter für Read-API (Demo)
 export function loadPoll() {
     // aktuell keine Logik notwendig
 }
+
+/**
+ * Abonniert die Live-Zwischenstände einer Abstimmung (Server-Sent Events).
+ * Der Server schickt sofort den aktuellen Stand und danach zusammengefasste Updates.
+ * @param {string} pollId
+ * @param {function(Object)} onResults wird mit { pollId, votesByOption, totalVotes } aufgerufen
+ * @returns {function()} Funktion zum Beenden des Abonnements
+ */
+export function subscribeResults(pollId, onResults) {
+    const source = new EventSource(`${BASE_URL}/${encodeURIComponent(pollId)}/results/stream`);
+    source.addEventListener("results", (event) => onResults(JSON.parse(event.data)));
+    return () => source.close();
+}
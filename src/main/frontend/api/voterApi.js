@@ -9,7 +9,8 @@ export async function createVoter(voterData){
 }
 
 export async function getVoterById(id){
-  const r=await fetch(`${BASE_URL}/${id}`);
+  // Revalidierung per ETag: unverändertes Profil kommt als 304 aus dem Browser-Cache
+  const r=await fetch(`${BASE_URL}/${id}`,{cache:"no-cache"});
   if(!r.ok){
     const message = await r.text();
     throw new Error(message || "Fehler beim Laden der Bürgerdaten");
@@ -30,4 +31,17 @@ export async function updateVoterEmail(id, email){
   }
 
   return await response.json();
-}
\ No newline at end of file
+}
+
+/**
+ * Dashboard aus dem Lesemodell: Profil, Teilnahmen und offene Abstimmungen in einem Aufruf.
+ * @returns {Promise<{voter: Object, votedPollIds: string[], activePolls: Object[]}>}
+ */
+export async function getVoterDashboard(id){
+  const r=await fetch(`${BASE_URL}/${encodeURIComponent(id)}/dashboard`);
+  if(!r.ok){
+    const message = await r.text();
+    throw new Error(message || "Fehler beim Laden des Dashboards");
+  }
+  return await r.json();
+}
@@ -1,4 +1,5 @@
 import { castVote } from "../api/voteCommandApi.js";
+import { subscribeResults } from "../api/pollQueryApi.js";
 
 const form = document.getElementById("voteForm");
 const output = document.getElementById("voteOutput");
@@ -49,4 +50,20 @@ form.addEventListener("submit", async (event) => {
     }
 });
 
+// Live-Zwischenstand per Server-Sent Events (ein Stream pro Seite)
+const RESULT_ELEMENTS = {
+    "OPTION-REGIONAL": "result-regional",
+    "OPTION-MIX": "result-mix",
+    "OPTION-FOODTRUCK": "result-foodtruck"
+};
 
+subscribeResults(POLL_ID, (results) => {
+    for (const [optionId, elementId] of Object.entries(RESULT_ELEMENTS)) {
+        const element = document.getElementById(elementId);
+        const votes = results.votesByOption[optionId] ?? 0;
+        const percent = results.totalVotes > 0 ? Math.round(votes * 100 / results.totalVotes) : 0;
+        if (element) {
+            element.textContent = `${percent}\u00a0%`;
+        }
+    }
+});
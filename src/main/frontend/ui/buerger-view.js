@@ -1,12 +1,20 @@
-import {getVoterById} from "../api/voterApi.js";
+import {getVoterDashboard} from "../api/voterApi.js";
 import {renderError} from "./dom.js";
 
 document.getElementById("viewBtn").addEventListener("click", async ()=>{
   const id = document.getElementById("voterId").value.trim();
   const out=document.getElementById("viewOutput");
   if(!id){ renderError("viewOutput","Bitte ID eingeben"); return; }
-  const v=await getVoterById(id);
+  let dashboard;
+  try{
+    dashboard=await getVoterDashboard(id);
+  }catch(error){
+    renderError("viewOutput","Nicht gefunden"); return;
+  }
+  const v=dashboard.voter;
   if(!v || !v.id){ renderError("viewOutput","Nicht gefunden"); return;}
+  const voted=dashboard.votedPollIds.length ? dashboard.votedPollIds.join(", ") : "-";
+  const active=dashboard.activePolls.length ? dashboard.activePolls.map(p=>p.title).join(", ") : "-";
   out.innerHTML=`ID: ${v.id}<br>
   Name: ${v.name?.fullName ?? (v.name?.firstName + " " + v.name?.lastName)}<br>
   Email: ${v.email}<br>
@@ -14,5 +22,7 @@ document.getElementById("viewBtn").addEventListener("click", async ()=>{
   District: ${v.district}<br>
   Verified: ${v.verified ? "Yes" : "No"}<br>
   Registered at: ${v.registeredAt ?? "-"}<br>
+  Voted in: ${voted}<br>
+  Open polls: ${active}<br>
   `;
 });
\ No newline at end of file
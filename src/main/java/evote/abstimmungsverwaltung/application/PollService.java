@@ -1,10 +1,14 @@
 package evote.abstimmungsverwaltung.application;
 
 import evote.abstimmungsverwaltung.application.dto.PollDTO;
+import evote.abstimmungsverwaltung.application.dto.VersionedPollDTO;
+import evote.abstimmungsverwaltung.domain.model.Poll;
 import evote.abstimmungsverwaltung.domain.repository.PollRepository;
 import evote.buergerverwaltung.domain.model.Voter;
 import evote.buergerverwaltung.domain.repository.VoterRepository;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.time.Clock;
 import java.time.Instant;
@@ -37,16 +41,89 @@ public class PollService {
      * Liefert alle aktuell offenen Abstimmungen, an denen der Voter noch teilnehmen kann.
      */
     public List<PollDTO> findActivePollsForVoter(String voterId) {
-        Voter voter = voterRepository.findById(voterId)
-                .orElseThrow(() -> new IllegalArgumentException("Voter not found: " + voterId));
+        return findVersionedActivePollsForVoter(voterId).stream()
+                .map(VersionedPollDTO::poll)
+                .toList();
+    }
+
+    /**
+     * Wie {@link #findActivePollsForVoter}, jeweils mit dem Versionsstempel der Abstimmung.
+     */
+    public List<VersionedPollDTO> findVersionedActivePollsForVoter(String voterId) {
+        Voter voter = findVoterOrThrow(voterId);
+
+        return activePolls(voter, Instant.now(clock)).stream()
+                .map(this::toVersionedDTO)
+                .sorted(Comparator.comparing(versioned -> versioned.poll().endDate()))
+                .toList();
+    }
+
+    /**
+     * Fingerabdruck der Liste aus {@link #findActivePollsForVoter}: ändert sich, sobald
+     * der Voter abstimmt oder eine Abstimmung öffnet, schließt oder Stimmen erhält.
+     */
+    public long activePollsVersion(String voterId) {
+        Voter voter = findVoterOrThrow(voterId);
+
+        long fingerprint = voter.getVersion();
+        for (Poll poll : activePolls(voter, Instant.now(clock))) {
+            fingerprint += mix(poll.getPollId().hashCode() * 31L + poll.getVersion());
+        }
+        return fingerprint;
+    }
+
+    /**
+     * Lädt eine einzelne Abstimmung.
+     */
+    public PollDTO getById(String pollId) {
+        return pollAssembler.toDTO(findPollOrThrow(pollId));
+    }
 
-        Instant now = Instant.now(clock);
+    /**
+     * Lädt eine einzelne Abstimmung samt Versionsstempel.
+     */
+    public VersionedPollDTO getVersionedById(String pollId) {
+        return toVersionedDTO(findPollOrThrow(pollId));
+    }
 
+    /**
+     * Versionsstempel einer Abstimmung, ohne die Antwort aufzubauen.
+     */
+    public long versionOf(String pollId) {
+        return findPollOrThrow(pollId).getVersion();
+    }
+
+    private VersionedPollDTO toVersionedDTO(Poll poll) {
+        // Version vor dem Mapping lesen: ein älterer Stempel führt höchstens zu einem Cache-Fehlschlag
+        long version = poll.getVersion();
+        return new VersionedPollDTO(pollAssembler.toDTO(poll), version);
+    }
+
+    private List<Poll> activePolls(Voter voter, Instant now) {
         return pollRepository.findAll().stream()
                 .filter(poll -> !voter.hasVoted(poll.getPollId()))
                 .filter(poll -> poll.isOpenAt(now))
-                .map(pollAssembler::toDTO)
-                .sorted(Comparator.comparing(PollDTO::endDate))
                 .toList();
     }
+
+    private Voter findVoterOrThrow(String voterId) {
+        return voterRepository.findById(voterId)
+                .orElseThrow(() -> new IllegalArgumentException("Voter not found: " + voterId));
+    }
+
+    private Poll findPollOrThrow(String pollId) {
+        return pollRepository.findById(pollId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND,
+                        "Abstimmung mit ID " + pollId + " nicht gefunden"));
+    }
+
+    /** Murmur3-Finalizer, damit die Summe über die Abstimmungen reihenfolgeunabhängig streut. */
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
 }
@@ -0,0 +1,11 @@
+package evote.abstimmungsverwaltung.application.dto;
+
+/**
+ * PollDTO zusammen mit dem Versionsstempel der Abstimmung, aus der es erzeugt wurde.
+ * Erlaubt Adaptern, Repräsentationen pro Version zwischenzuspeichern.
+ */
+public record VersionedPollDTO(
+        PollDTO poll,
+        long version
+) {
+}
@@ -6,9 +6,18 @@ import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Aggregat der Abstimmungsverwaltung, das eine Abstimmung samt Optionen und Zeitfenster kapselt.
+ *
+ * Thread-sicher ohne Locks: Geschlossen-Flag, Gesamtzahl der Stimmen und Version liegen
+ * gepackt in einem {@link AtomicLong}. {@link #recordVote} reserviert mit einem einzigen CAS
+ * einen Platz unter der Obergrenze {@code eligibleVoterCount} und zählt danach die Option
+ * in einem gestreiften {@link LongAdder}. Die Obergrenze wird dadurch nie überschritten;
+ * ein paralleler Leser kann die Gesamtzahl kurz vor der Summe der Optionen sehen.
  */
 public class Poll {
 
@@ -20,10 +29,14 @@ public class Poll {
     private final int eligibleVoterCount;
     private final Clock clock;
 
-    private boolean manuallyClosed = false;
-    private int totalVotes = 0;
-    private final Map<String, Integer> voteCounts = new HashMap<>();
-    private final List<Object> domainEvents = new ArrayList<>();
+    // Bits 0-30: totalVotes, Bit 31: manuell geschlossen, Bits 32-63: Version (ETag)
+    private static final long VOTES_MASK = 0x7FFF_FFFFL;
+    private static final long CLOSED_BIT = 1L << 31;
+    private static final long VERSION_ONE = 1L << 32;
+
+    private final AtomicLong state = new AtomicLong();
+    private final Map<String, LongAdder> voteCounts = new HashMap<>(); // nach dem Konstruktor nur gelesen
+    private final List<Object> domainEvents = new CopyOnWriteArrayList<>();
 
     public Poll(
             String pollId,
@@ -47,9 +60,42 @@ public class Poll {
         initializeVoteCounts();
     }
 
+    /**
+     * Rekonstruktion aus der Persistenz (für Repositories mit eigener Ablage, z.B. JDBC).
+     * Übernimmt Stimmenzahlen, Schließstatus und Version; es entstehen keine Domain Events.
+     */
+    public static Poll reconstruct(
+            String pollId,
+            String title,
+            List<String> options,
+            LocalDateTime startDate,
+            LocalDateTime endDate,
+            int eligibleVoterCount,
+            Clock clock,
+            Map<String, Integer> voteCounts,
+            boolean closed,
+            long version
+    ) {
+        Poll poll = new Poll(pollId, title, options, startDate, endDate, eligibleVoterCount, clock);
+        long total = 0;
+        for (Map.Entry<String, Integer> entry : voteCounts.entrySet()) {
+            LongAdder count = poll.voteCounts.get(entry.getKey());
+            if (count == null) {
+                throw new IllegalArgumentException("Unknown option: " + entry.getKey());
+            }
+            count.add(entry.getValue());
+            total += entry.getValue();
+        }
+        if (total < 0 || total > VOTES_MASK || version < 0) {
+            throw new IllegalArgumentException("vote counts or version out of range");
+        }
+        poll.state.set((version << 32) | (closed ? CLOSED_BIT : 0) | total);
+        return poll;
+    }
+
     private void initializeVoteCounts() {
         for (String opt : this.options) {
-            voteCounts.put(opt, 0);
+            voteCounts.put(opt, new LongAdder());
         }
     }
 
@@ -144,13 +190,31 @@ public class Poll {
         return List.copyOf(options);
     }
 
+    /**
+     * Versionsstempel des Aggregats; steigt bei close() und recordVote().
+     */
+    public long getVersion() {
+        return state.get() >>> 32;
+    }
+
+    public int getTotalVotes() {
+        return (int) (state.get() & VOTES_MASK);
+    }
+
+    /**
+     * Prüft ohne Exception, ob die Option zu dieser Abstimmung gehört.
+     */
+    public boolean hasOption(String optionId) {
+        return optionId != null && voteCounts.containsKey(optionId);
+    }
+
     // Optional, falls du intern Counts prüfen willst
     public int getVoteCountFor(String optionId) {
-        Integer count = voteCounts.get(optionId);
+        LongAdder count = voteCounts.get(optionId);
         if (count == null) {
             throw new IllegalArgumentException("Unknown option: " + optionId);
         }
-        return count;
+        return count.intValue();
     }
 
     // ----------------------------------------------------------------------
@@ -162,8 +226,15 @@ public class Poll {
         return isOpenAt(instantNow);
     }
 
+    /**
+     * true, wenn die Abstimmung vorzeitig per close() geschlossen wurde.
+     */
+    public boolean isClosed() {
+        return (state.get() & CLOSED_BIT) != 0;
+    }
+
     public boolean isOpenAt(Instant instant) {
-        if (manuallyClosed) {
+        if ((state.get() & CLOSED_BIT) != 0) {
             return false;
         }
         ZoneId zone = clock.getZone();
@@ -174,7 +245,7 @@ public class Poll {
 
     public void close() {
         // idempotent
-        this.manuallyClosed = true;
+        state.getAndUpdate(s -> (s | CLOSED_BIT) + VERSION_ONE);
 
         // Erzeuge PollEndedEvent
         Instant closedAt = Instant.now(clock);
@@ -201,17 +272,29 @@ public class Poll {
         }
 
         // Option muss gültig sein
-        if (optionId == null || optionId.trim().isEmpty() || !voteCounts.containsKey(optionId)) {
+        LongAdder count = optionId == null ? null : voteCounts.get(optionId);
+        if (count == null) {
             throw new IllegalArgumentException("Unknown or invalid option: " + optionId);
         }
 
-        // Anzahl wahlberechtigter Personen nicht überschreiten (falls gesetzt)
-        if (eligibleVoterCount > 0 && totalVotes >= eligibleVoterCount) {
-            throw new IllegalStateException("Maximum number of eligible votes reached");
-        }
+        // Platz reservieren: Schließen und Obergrenze werden im selben CAS geprüft
+        long current;
+        do {
+            current = state.get();
+            if ((current & CLOSED_BIT) != 0) {
+                throw new IllegalStateException("Poll is not open for voting");
+            }
+            long votes = current & VOTES_MASK;
+            // Anzahl wahlberechtigter Personen nicht überschreiten (falls gesetzt)
+            if (eligibleVoterCount > 0 && votes >= eligibleVoterCount) {
+                throw new IllegalStateException("Maximum number of eligible votes reached");
+            }
+            if (votes == VOTES_MASK) {
+                throw new IllegalStateException("Vote counter overflow");
+            }
+        } while (!state.compareAndSet(current, current + 1 + VERSION_ONE));
 
         // Vote registrieren
-        voteCounts.computeIfPresent(optionId, (opt, count) -> count + 1);
-        totalVotes++;
+        count.increment();
     }
 }
@@ -11,8 +11,20 @@ import evote.abstimmungsverwaltung.domain.model.Poll;
  */
 public interface PollRepository {
 
+    /** Erwartete Version für {@link #saveIfVersion}: Abstimmung ist noch nicht gespeichert. */
+    long ABSENT = -1;
+
     Poll save(Poll poll);
 
+    /**
+     * Speichert nur, wenn die zuletzt gespeicherte Version der Abstimmung der erwarteten
+     * entspricht ({@link #ABSENT} = noch nicht gespeichert). Maßgeblich ist die Version beim
+     * letzten Speichern, nicht der aktuelle Stand des (eventuell geteilten) Poll-Objekts.
+     *
+     * @return false bei Konflikt; der Store bleibt dann unverändert
+     */
+    boolean saveIfVersion(Poll poll, long expectedVersion);
+
     Optional<Poll> findById(String pollId);
 
     /**
@@ -24,4 +36,19 @@ public interface PollRepository {
      * Liefert alle Abstimmungen, die zum gegebenen Zeitpunkt geöffnet sind.
      */
     List<Poll> findAllOpenAt(Instant instant);
+
+    /**
+     * Anzahl der gespeicherten Abstimmungen (für Metriken).
+     */
+    int count();
+
+    /**
+     * Anzahl der Aufrufe von {@link #saveIfVersion} (für Metriken).
+     */
+    long conditionalSaves();
+
+    /**
+     * Anzahl der wegen eines Versionskonflikts abgelehnten Speichervorgänge (für Metriken).
+     */
+    long versionConflicts();
 }
@@ -34,5 +34,14 @@ public class PollValidator {
             );
         }
     }
-}
 
+    /**
+     * Gleiche Prüfung wie {@link #validateForVoting}, aber ohne Exception
+     * (für Ablehnungen in großer Zahl, z.B. Wiederholungen nach Ende der Abstimmung).
+     *
+     * @return true, wenn die Poll existiert und offen ist
+     */
+    public boolean isOpenForVoting(Poll poll, Clock clock) {
+        return poll != null && poll.isOpen();
+    }
+}
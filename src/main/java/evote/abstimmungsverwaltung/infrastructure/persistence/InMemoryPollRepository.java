@@ -6,44 +6,93 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 import evote.abstimmungsverwaltung.domain.model.Poll;
 import evote.abstimmungsverwaltung.domain.repository.PollRepository;
 
 /**
  * In-Memory-Repository als Infrastruktur-Adapter für Abstimmungen.
+ *
+ * Neben der Poll wird die Version beim Speichern abgelegt; {@link #saveIfVersion}
+ * vergleicht gegen diese, weil das Poll-Objekt selbst geteilt und thread-sicher
+ * verändert wird.
  */
 public class InMemoryPollRepository implements PollRepository {
 
-    private final Map<String, Poll> store = new ConcurrentHashMap<>();
+    private final Map<String, Stored> store = new ConcurrentHashMap<>();
+    private final LongAdder conditionalSaves = new LongAdder();
+    private final LongAdder conflicts = new LongAdder();
 
     @Override
     public Poll save(Poll poll) {
-        store.put(poll.getPollId(), poll);
+        store.put(poll.getPollId(), new Stored(poll, poll.getVersion()));
         return poll;
     }
 
+    @Override
+    public boolean saveIfVersion(Poll poll, long expectedVersion) {
+        conditionalSaves.increment();
+        boolean[] saved = {false};
+        store.compute(poll.getPollId(), (id, current) -> {
+            long actual = current == null ? ABSENT : current.version();
+            if (actual != expectedVersion) {
+                return current;
+            }
+            saved[0] = true;
+            return new Stored(poll, poll.getVersion());
+        });
+        if (!saved[0]) {
+            conflicts.increment();
+        }
+        return saved[0];
+    }
+
     @Override
     public Optional<Poll> findById(String pollId) {
-        return Optional.ofNullable(store.get(pollId));
+        Stored stored = store.get(pollId);
+        return stored == null ? Optional.empty() : Optional.of(stored.poll());
     }
 
     @Override
     public List<Poll> findAll() {
-        return new ArrayList<>(store.values());
+        List<Poll> polls = new ArrayList<>(store.size());
+        for (Stored stored : store.values()) {
+            polls.add(stored.poll());
+        }
+        return polls;
     }
 
     @Override
     public List<Poll> findAllOpenAt(Instant instant) {
         return store.values().stream()
+                .map(Stored::poll)
                 // Reine Funktion: filtert die Polls basierend auf dem Instant
                 .filter(poll -> poll.isOpenAt(instant))
                 // Sammelt das Ergebnis unveränderlich
                 .toList();
     }
 
+    @Override
+    public int count() {
+        return store.size();
+    }
+
+    @Override
+    public long conditionalSaves() {
+        return conditionalSaves.sum();
+    }
+
+    @Override
+    public long versionConflicts() {
+        return conflicts.sum();
+    }
+
     // optional für Tests
     public void clear() {
         store.clear();
     }
+
+    private record Stored(Poll poll, long version) {
+    }
 }
@@ -0,0 +1,268 @@
+package evote.abstimmungsverwaltung.infrastructure.persistence;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.sql.DataSource;
+
+import evote.abstimmungsverwaltung.domain.model.Poll;
+import evote.abstimmungsverwaltung.domain.repository.PollRepository;
+import evote.infrastructure.jdbc.Jdbc;
+
+/**
+ * JDBC-Repository für Abstimmungen (z.B. gegen H2 im Datei-Modus).
+ *
+ * Die Abstimmung liegt in polls, ihre Optionen samt Stimmenzahl in poll_options.
+ * Wie beim In-Memory-Store wird die Version beim Speichern abgelegt;
+ * {@link #saveIfVersion} vergleicht per {@code WHERE version = ?} gegen diese.
+ * Jeder Lesezugriff liefert eine neue Poll-Instanz.
+ */
+public class JdbcPollRepository implements PollRepository {
+
+    private static final String[] SCHEMA = {
+            """
+            CREATE TABLE IF NOT EXISTS polls (
+                poll_id              VARCHAR(255) PRIMARY KEY,
+                title                VARCHAR(1024) NOT NULL,
+                start_date           TIMESTAMP(9) NOT NULL,
+                end_date             TIMESTAMP(9) NOT NULL,
+                eligible_voter_count INT          NOT NULL,
+                closed               BOOLEAN      NOT NULL,
+                version              BIGINT       NOT NULL
+            )""",
+            """
+            CREATE TABLE IF NOT EXISTS poll_options (
+                poll_id   VARCHAR(255) NOT NULL REFERENCES polls (poll_id) ON DELETE CASCADE,
+                option_id VARCHAR(255) NOT NULL,
+                position  INT          NOT NULL,
+                votes     INT          NOT NULL,
+                PRIMARY KEY (poll_id, option_id)
+            )""",
+            "CREATE INDEX IF NOT EXISTS ix_polls_end_date ON polls (end_date)"
+    };
+    private static final String INSERT =
+            "INSERT INTO polls (title, start_date, end_date, eligible_voter_count, closed, version, poll_id) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE =
+            "UPDATE polls SET title = ?, start_date = ?, end_date = ?, eligible_voter_count = ?, closed = ?, "
+                    + "version = ? WHERE poll_id = ?";
+    private static final String SELECT =
+            "SELECT p.poll_id, p.title, p.start_date, p.end_date, p.eligible_voter_count, p.closed, p.version, "
+                    + "o.option_id, o.votes FROM polls p JOIN poll_options o ON o.poll_id = p.poll_id";
+    private static final String ORDER = " ORDER BY p.poll_id, o.position";
+
+    private final DataSource dataSource;
+    private final Clock clock;
+    private final LongAdder conditionalSaves = new LongAdder();
+    private final LongAdder conflicts = new LongAdder();
+
+    /**
+     * @param clock Zeitquelle der gelesenen Abstimmungen und Zeitzone für findAllOpenAt
+     */
+    public JdbcPollRepository(DataSource dataSource, Clock clock) {
+        if (dataSource == null || clock == null) {
+            throw new IllegalArgumentException("dataSource and clock must not be null");
+        }
+        this.dataSource = dataSource;
+        this.clock = clock;
+        Jdbc.executeDdl(dataSource, SCHEMA);
+    }
+
+    @Override
+    public Poll save(Poll poll) {
+        Jdbc.inTransaction(dataSource, connection -> {
+            try (PreparedStatement update = connection.prepareStatement(UPDATE)) {
+                bind(update, poll);
+                if (update.executeUpdate() == 0) {
+                    insertPoll(connection, poll);
+                }
+            }
+            writeOptions(connection, poll);
+            return null;
+        });
+        return poll;
+    }
+
+    @Override
+    public boolean saveIfVersion(Poll poll, long expectedVersion) {
+        conditionalSaves.increment();
+        boolean saved = Jdbc.inTransaction(dataSource, connection -> {
+            if (expectedVersion == ABSENT) {
+                try {
+                    insertPoll(connection, poll);
+                } catch (SQLException e) {
+                    if (Jdbc.isUniqueViolation(e)) {
+                        return false;
+                    }
+                    throw e;
+                }
+            } else {
+                try (PreparedStatement update = connection.prepareStatement(UPDATE + " AND version = ?")) {
+                    bind(update, poll);
+                    update.setLong(8, expectedVersion);
+                    if (update.executeUpdate() == 0) {
+                        return false;
+                    }
+                }
+            }
+            writeOptions(connection, poll);
+            return true;
+        });
+        if (!saved) {
+            conflicts.increment();
+        }
+        return saved;
+    }
+
+    @Override
+    public Optional<Poll> findById(String pollId) {
+        if (pollId == null) {
+            return Optional.empty();
+        }
+        List<Poll> polls = select(" WHERE p.poll_id = ?", pollId);
+        return polls.isEmpty() ? Optional.empty() : Optional.of(polls.get(0));
+    }
+
+    @Override
+    public List<Poll> findAll() {
+        return select("");
+    }
+
+    @Override
+    public List<Poll> findAllOpenAt(Instant instant) {
+        // [startDate, endDate) in der Zeitzone der Clock, wie Poll.isOpenAt
+        LocalDateTime at = LocalDateTime.ofInstant(instant, clock.getZone());
+        return select(" WHERE p.closed = FALSE AND p.start_date <= ? AND p.end_date > ?", at, at);
+    }
+
+    @Override
+    public int count() {
+        return Jdbc.query(dataSource, connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("SELECT COUNT(*) FROM polls");
+                 ResultSet rs = statement.executeQuery()) {
+                rs.next();
+                return rs.getInt(1);
+            }
+        });
+    }
+
+    @Override
+    public long conditionalSaves() {
+        return conditionalSaves.sum();
+    }
+
+    @Override
+    public long versionConflicts() {
+        return conflicts.sum();
+    }
+
+    private static void insertPoll(Connection connection, Poll poll) throws SQLException {
+        try (PreparedStatement insert = connection.prepareStatement(INSERT)) {
+            bind(insert, poll);
+            insert.executeUpdate();
+        }
+    }
+
+    /**
+     * Schreibt die Optionen neu; die Stimmenzahlen werden dabei nicht atomar mit der
+     * Version gelesen (LongAdder), was bei ruhenden Abstimmungen keine Rolle spielt.
+     */
+    private static void writeOptions(Connection connection, Poll poll) throws SQLException {
+        try (PreparedStatement delete = connection.prepareStatement("DELETE FROM poll_options WHERE poll_id = ?")) {
+            delete.setString(1, poll.getPollId());
+            delete.executeUpdate();
+        }
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO poll_options (poll_id, option_id, position, votes) VALUES (?, ?, ?, ?)")) {
+            List<String> options = poll.getOptions();
+            for (int i = 0; i < options.size(); i++) {
+                insert.setString(1, poll.getPollId());
+                insert.setString(2, options.get(i));
+                insert.setInt(3, i);
+                insert.setInt(4, poll.getVoteCountFor(options.get(i)));
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+    }
+
+    private static void bind(PreparedStatement statement, Poll poll) throws SQLException {
+        statement.setString(1, poll.getTitle());
+        statement.setObject(2, poll.getStartDate());
+        statement.setObject(3, poll.getEndDate());
+        statement.setInt(4, poll.getEligibleVoterCount());
+        statement.setBoolean(5, poll.isClosed());
+        statement.setLong(6, poll.getVersion());
+        statement.setString(7, poll.getPollId());
+    }
+
+    /**
+     * Liest Abstimmungen samt Optionen in einer Abfrage (eine Zeile pro Option).
+     */
+    private List<Poll> select(String where, Object... parameters) {
+        return Jdbc.query(dataSource, connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(SELECT + where + ORDER)) {
+                for (int i = 0; i < parameters.length; i++) {
+                    statement.setObject(i + 1, parameters[i]);
+                }
+                Map<String, Row> rows = new LinkedHashMap<>();
+                try (ResultSet rs = statement.executeQuery()) {
+                    while (rs.next()) {
+                        Row row = rows.get(rs.getString("poll_id"));
+                        if (row == null) {
+                            row = new Row(rs);
+                            rows.put(row.pollId, row);
+                        }
+                        row.voteCounts.put(rs.getString("option_id"), rs.getInt("votes"));
+                    }
+                }
+                List<Poll> polls = new ArrayList<>(rows.size());
+                for (Row row : rows.values()) {
+                    polls.add(row.toPoll(clock));
+                }
+                return polls;
+            }
+        });
+    }
+
+    /**
+     * Spalten einer Abstimmung aus der ersten Zeile des Joins; Optionen in Reihenfolge.
+     */
+    private static final class Row {
+
+        final String pollId;
+        final String title;
+        final LocalDateTime startDate;
+        final LocalDateTime endDate;
+        final int eligibleVoterCount;
+        final boolean closed;
+        final long version;
+        final Map<String, Integer> voteCounts = new LinkedHashMap<>();
+
+        Row(ResultSet rs) throws SQLException {
+            this.pollId = rs.getString("poll_id");
+            this.title = rs.getString("title");
+            this.startDate = rs.getObject("start_date", LocalDateTime.class);
+            this.endDate = rs.getObject("end_date", LocalDateTime.class);
+            this.eligibleVoterCount = rs.getInt("eligible_voter_count");
+            this.closed = rs.getBoolean("closed");
+            this.version = rs.getLong("version");
+        }
+
+        Poll toPoll(Clock clock) {
+            return Poll.reconstruct(pollId, title, List.copyOf(voteCounts.keySet()), startDate, endDate,
+                    eligibleVoterCount, clock, voteCounts, closed, version);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package evote.abstimmungsverwaltung.infrastructure.web;
+
+import evote.abstimmungsverwaltung.application.PollService;
+import evote.config.EntityTags;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * REST-Adapter für lesende Zugriffe auf Abstimmungen.
+ *
+ * Alle Antworten tragen einen starken ETag aus den Versionsstempeln der Aggregate.
+ * Stimmt If-None-Match überein, wird 304 geliefert, ohne DTOs aufzubauen.
+ * Der Rumpf wird aus den vorserialisierten Bytes des {@link PollJsonCache} zusammengesetzt.
+ */
+@RestController
+@RequestMapping("/api/polls")
+public class PollController {
+
+    private final PollService pollService;
+    private final PollJsonCache jsonCache;
+
+    public PollController(PollService pollService, PollJsonCache jsonCache) {
+        this.pollService = pollService;
+        this.jsonCache = jsonCache;
+    }
+
+    /**
+     * GET /api/polls?voterId=...
+     *
+     * @return offene Abstimmungen, an denen der Voter noch teilnehmen kann
+     */
+    @GetMapping
+    public ResponseEntity<byte[]> activePolls(@RequestParam("voterId") String voterId, WebRequest request) {
+        String etag = EntityTags.of("polls", voterId, pollService.activePollsVersion(voterId));
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(jsonCache.toJsonArray(pollService.findVersionedActivePollsForVoter(voterId)));
+    }
+
+    /**
+     * GET /api/polls/{pollId}
+     */
+    @GetMapping("/{pollId}")
+    public ResponseEntity<byte[]> getById(@PathVariable("pollId") String pollId, WebRequest request) {
+        String etag = EntityTags.of("poll", pollId, pollService.versionOf(pollId));
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(jsonCache.toJson(pollService.getVersionedById(pollId)));
+    }
+}
@@ -0,0 +1,99 @@
+package evote.abstimmungsverwaltung.infrastructure.web;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import evote.abstimmungsverwaltung.application.dto.PollDTO;
+import evote.abstimmungsverwaltung.application.dto.VersionedPollDTO;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache der fertig serialisierten JSON-Bytes je Abstimmung.
+ *
+ * Ein PollDTO ändert sich nur mit der Abstimmung selbst. Pro Abstimmung wird daher
+ * die zuletzt gesehene Version mit ihren UTF-8-Bytes gehalten; Listen werden durch
+ * Aneinanderhängen der Bytes gebaut, ohne Jackson erneut aufzurufen.
+ *
+ * Ändert sich nur die Version (z.B. durch eine abgegebene Stimme), das DTO aber nicht,
+ * werden die vorhandenen Bytes nach einem equals-Vergleich weiterverwendet.
+ * Die gelieferten Arrays sind geteilt und dürfen nicht verändert werden.
+ */
+@Component
+public class PollJsonCache {
+
+    private static final byte ARRAY_START = '[';
+    private static final byte ARRAY_END = ']';
+    private static final byte SEPARATOR = ',';
+
+    private final ObjectMapper objectMapper;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final LongAdder serializations = new LongAdder();
+
+    public PollJsonCache(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * @return JSON-Objekt der Abstimmung als UTF-8
+     */
+    public byte[] toJson(VersionedPollDTO versioned) {
+        PollDTO poll = versioned.poll();
+        Entry entry = entries.get(poll.pollId());
+        if (entry != null && entry.version == versioned.version()) {
+            return entry.json;
+        }
+        byte[] json = entry != null && entry.poll.equals(poll) ? entry.json : serialize(poll);
+        entries.put(poll.pollId(), new Entry(poll, versioned.version(), json));
+        return json;
+    }
+
+    /**
+     * @return JSON-Array der Abstimmungen in der übergebenen Reihenfolge als UTF-8
+     */
+    public byte[] toJsonArray(List<VersionedPollDTO> polls) {
+        byte[][] parts = new byte[polls.size()][];
+        int length = 2 + Math.max(0, parts.length - 1);
+        for (int i = 0; i < parts.length; i++) {
+            parts[i] = toJson(polls.get(i));
+            length += parts[i].length;
+        }
+
+        byte[] array = new byte[length];
+        int position = 0;
+        array[position++] = ARRAY_START;
+        for (int i = 0; i < parts.length; i++) {
+            if (i > 0) {
+                array[position++] = SEPARATOR;
+            }
+            System.arraycopy(parts[i], 0, array, position, parts[i].length);
+            position += parts[i].length;
+        }
+        array[position] = ARRAY_END;
+        return array;
+    }
+
+    /** Anzahl der Jackson-Serialisierungen seit dem Start. */
+    public long serializations() {
+        return serializations.sum();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private byte[] serialize(PollDTO poll) {
+        try {
+            serializations.increment();
+            return objectMapper.writeValueAsBytes(poll);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Abstimmung nicht serialisierbar: " + poll.pollId(), ex);
+        }
+    }
+
+    private record Entry(PollDTO poll, long version, byte[] json) {
+    }
+}
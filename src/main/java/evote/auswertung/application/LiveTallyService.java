@@ -0,0 +1,250 @@
+package evote.auswertung.application;
+
+import evote.abstimmungsverwaltung.domain.model.Poll;
+import evote.abstimmungsverwaltung.domain.repository.PollRepository;
+import evote.abstimmungsverwaltung.events.PollEndedEvent;
+import evote.auswertung.application.dto.DistrictResults;
+import evote.auswertung.application.dto.PollDistrictResults;
+import evote.auswertung.application.dto.PollResults;
+import evote.auswertung.application.dto.PollResultsAsOf;
+import evote.auswertung.application.dto.TurnoutPoint;
+import evote.auswertung.application.dto.TurnoutSeries;
+import evote.stimmvergabe.domain.model.Vote;
+import evote.stimmvergabe.domain.repository.VoteRepository;
+import evote.stimmvergabe.events.VoteCastEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * LiveTallyService - Application Service der Auswertung
+ *
+ * Führt den Zwischenstand aller Abstimmungen im Speicher mit:
+ * - Beim Start werden bereits gespeicherte Stimmen einmalig gezählt
+ * - Danach wird jedes {@link VoteCastEvent} aus der Stimmvergabe addiert
+ *
+ * Gezählt wird je Option und je (Wahlkreis, Option); der Wahlkreis kommt mit der
+ * Stimme, ohne Rückgriff auf den Voter. Dazu kommen Stimmen je Minute für die
+ * Beteiligungskurven (evote.results.turnout.minutes zurück, nach castAt der Stimme)
+ * und der Verlauf je Option in Buckets von evote.results.history.bucket-seconds für
+ * Stände zu früheren Zeitpunkten. Abfragen lesen nur die Zähler und berühren den
+ * Vote-Store nicht.
+ */
+@Service
+public class LiveTallyService {
+
+    public static final int DEFAULT_TURNOUT_MINUTES = 1440;
+    public static final long DEFAULT_HISTORY_BUCKET_SECONDS = 60;
+
+    private final PollRepository pollRepository;
+    private final Clock clock;
+    private final int turnoutMinutes;
+    private final long historyBucketSeconds;
+    private final Map<String, PollTally> tallies = new ConcurrentHashMap<>();
+
+    /**
+     * Konstruktor mit Systemuhr, einem Tag Beteiligungskurve und Minuten-Buckets (z.B. für Unit-Tests)
+     */
+    public LiveTallyService(VoteRepository voteRepository, PollRepository pollRepository) {
+        this(voteRepository, pollRepository, Clock.systemUTC(), DEFAULT_TURNOUT_MINUTES,
+                DEFAULT_HISTORY_BUCKET_SECONDS);
+    }
+
+    /**
+     * @param turnoutMinutes       Länge der Beteiligungskurven in Minuten (Ringpuffer je Poll und Wahlkreis)
+     * @param historyBucketSeconds Auflösung der Stände zu früheren Zeitpunkten in Sekunden
+     */
+    @Autowired
+    public LiveTallyService(VoteRepository voteRepository,
+                            PollRepository pollRepository,
+                            Clock clock,
+                            @Value("${evote.results.turnout.minutes:1440}") int turnoutMinutes,
+                            @Value("${evote.results.history.bucket-seconds:60}") long historyBucketSeconds) {
+        if (turnoutMinutes <= 0) {
+            throw new IllegalArgumentException("turnoutMinutes must be positive");
+        }
+        if (historyBucketSeconds <= 0) {
+            throw new IllegalArgumentException("historyBucketSeconds must be positive");
+        }
+        this.pollRepository = pollRepository;
+        this.clock = clock;
+        this.turnoutMinutes = turnoutMinutes;
+        this.historyBucketSeconds = historyBucketSeconds;
+        for (Object stored : voteRepository.findAll()) {
+            Vote vote = (Vote) stored;
+            tally(vote.getPollId()).increment(vote.getOptionId(), vote.getDistrict(), vote.getCastAt());
+        }
+    }
+
+    /**
+     * Zählt eine abgegebene Stimme.
+     */
+    @EventListener
+    public void onVoteCast(VoteCastEvent event) {
+        tally(event.pollId()).increment(event.optionId(), event.district(), event.castAt());
+    }
+
+    /**
+     * Verdichtet den zeitlichen Verlauf einer beendeten Abstimmung.
+     */
+    @EventListener
+    public void onPollEnded(PollEndedEvent event) {
+        PollTally tally = tallies.get(event.pollId());
+        if (tally != null) {
+            tally.compactHistory();
+        }
+    }
+
+    /**
+     * Aktueller Zwischenstand einer Abstimmung, alle Optionen inklusive derer ohne Stimmen.
+     *
+     * @throws IllegalArgumentException wenn die Poll nicht existiert
+     */
+    public PollResults results(String pollId) {
+        Poll poll = findPoll(pollId);
+        PollTally tally = tallies.get(pollId);
+        Map<String, Long> votesByOption = new LinkedHashMap<>();
+        long total = 0;
+        for (String option : poll.getOptions()) {
+            long votes = tally != null ? tally.votesFor(option) : 0L;
+            votesByOption.put(option, votes);
+            total += votes;
+        }
+        return new PollResults(pollId, votesByOption, total);
+    }
+
+    /**
+     * Stand einer Abstimmung zu einem früheren Zeitpunkt.
+     *
+     * Gezählt werden die Stimmen vor Beginn des Buckets, in den asOf fällt; dieser
+     * Zeitpunkt steht als asOf in der Antwort. Aufwand O(log Buckets + Optionen).
+     * Nach Ende der Abstimmung wird der Verlauf bei der ersten Abfrage verdichtet.
+     *
+     * @throws IllegalArgumentException wenn die Poll nicht existiert
+     */
+    public PollResultsAsOf resultsAsOf(String pollId, Instant asOf) {
+        if (asOf == null) {
+            throw new IllegalArgumentException("asOf must not be null");
+        }
+        Poll poll = findPoll(pollId);
+        PollTally tally = tallies.get(pollId);
+        Map<String, Long> before = Map.of();
+        if (tally != null) {
+            if (poll.isClosed() || !LocalDateTime.now(clock).isBefore(poll.getEndDate())) {
+                tally.compactHistory();
+            }
+            before = tally.votesBefore(asOf, poll.getOptions());
+        }
+        Map<String, Long> votesByOption = new LinkedHashMap<>();
+        long total = 0;
+        for (String option : poll.getOptions()) {
+            long votes = before.getOrDefault(option, 0L);
+            votesByOption.put(option, votes);
+            total += votes;
+        }
+        Instant bucketStart = Instant.ofEpochSecond(
+                Math.floorDiv(asOf.getEpochSecond(), historyBucketSeconds) * historyBucketSeconds);
+        return new PollResultsAsOf(pollId, bucketStart, votesByOption, total);
+    }
+
+    /**
+     * Zwischenstand einer Abstimmung je Wahlkreis; Aufwand O(Wahlkreise × Optionen).
+     *
+     * @throws IllegalArgumentException wenn die Poll nicht existiert
+     */
+    public PollDistrictResults districtResults(String pollId) {
+        Poll poll = findPoll(pollId);
+        PollTally tally = tallies.get(pollId);
+        if (tally == null) {
+            return new PollDistrictResults(pollId, List.of(), 0L, 0L);
+        }
+        long total = tally.version();
+        List<DistrictResults> districts = new ArrayList<>();
+        long withDistrict = 0;
+        for (String district : tally.districts()) {
+            Map<String, Long> votesByOption = new LinkedHashMap<>();
+            long districtTotal = 0;
+            for (String option : poll.getOptions()) {
+                long votes = tally.votesFor(district, option);
+                votesByOption.put(option, votes);
+                districtTotal += votes;
+            }
+            districts.add(new DistrictResults(district, votesByOption, districtTotal));
+            withDistrict += districtTotal;
+        }
+        // Stimmen, die während des Lesens hinzukommen, nicht negativ werden lassen
+        return new PollDistrictResults(pollId, districts, Math.max(0L, total - withDistrict),
+                Math.max(total, withDistrict));
+    }
+
+    /**
+     * Beteiligungskurve der letzten Minuten bis einschließlich der aktuellen Minute.
+     *
+     * Die kumulierte Zahl geht von der aktuellen Gesamtzahl aus, abzüglich der Stimmen
+     * im Fenster; die Beteiligung bezieht sich immer auf alle Stimmberechtigten der Poll,
+     * bei einem Wahlkreis also auf dessen Anteil daran.
+     *
+     * @param district Wahlkreis oder null für die ganze Abstimmung
+     * @param minutes  Länge des Fensters, höchstens evote.results.turnout.minutes
+     * @throws IllegalArgumentException wenn die Poll nicht existiert oder minutes außerhalb liegt
+     */
+    public TurnoutSeries turnout(String pollId, String district, int minutes) {
+        if (minutes <= 0 || minutes > turnoutMinutes) {
+            throw new IllegalArgumentException("minutes must be between 1 and " + turnoutMinutes);
+        }
+        Poll poll = findPoll(pollId);
+        PollTally tally = tallies.get(pollId);
+        long now = clock.instant().getEpochSecond() / 60;
+        long first = now - minutes + 1;
+
+        long[] votes = new long[minutes];
+        long inWindow = 0;
+        for (int i = 0; i < minutes; i++) {
+            votes[i] = tally != null ? tally.votesInMinute(district, first + i) : 0L;
+            inWindow += votes[i];
+        }
+        long total = tally == null ? 0L : district == null ? tally.version() : tally.votesIn(district);
+        int eligible = poll.getEligibleVoterCount();
+
+        // Stimmen, die während des Lesens hinzukommen, nicht negativ werden lassen
+        long cumulative = Math.max(0L, total - inWindow);
+        List<TurnoutPoint> points = new ArrayList<>(minutes);
+        for (int i = 0; i < minutes; i++) {
+            cumulative += votes[i];
+            points.add(new TurnoutPoint(Instant.ofEpochSecond((first + i) * 60), votes[i], cumulative,
+                    turnout(cumulative, eligible)));
+        }
+        return new TurnoutSeries(pollId, district, eligible, cumulative, turnout(cumulative, eligible), points);
+    }
+
+    /**
+     * Versionsnummer des Zwischenstands; ändert sich mit jeder gezählten Stimme.
+     */
+    public long version(String pollId) {
+        PollTally tally = tallies.get(pollId);
+        return tally != null ? tally.version() : 0L;
+    }
+
+    private Poll findPoll(String pollId) {
+        return pollRepository.findById(pollId)
+                .orElseThrow(() -> new IllegalArgumentException("Poll not found: " + pollId));
+    }
+
+    private PollTally tally(String pollId) {
+        return tallies.computeIfAbsent(pollId, id -> new PollTally(turnoutMinutes, historyBucketSeconds));
+    }
+
+    private static double turnout(long votes, int eligible) {
+        return eligible > 0 ? (double) votes / eligible : 0.0;
+    }
+}
@@ -0,0 +1,73 @@
+package evote.auswertung.application;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Ringpuffer mit der Anzahl Stimmen je Minute für die letzten {@code capacity} Minuten.
+ *
+ * Jeder Slot hält Minute und Zähler in einem long (obere 28 Bit: Minute seit der
+ * Epoche, untere 36 Bit: Anzahl). Zählen ist damit ein einzelnes compareAndSet ohne
+ * Sperre: gehört der Slot noch einer älteren Minute, wird er in derselben Operation
+ * auf die neue Minute mit Zähler 1 umgestellt, so dass kein Zurücksetzen mit
+ * parallelem Zählen kollidieren kann. Stimmen, die älter sind als der Slot-Inhalt,
+ * liegen außerhalb des Fensters und werden verworfen.
+ */
+final class MinuteRing {
+
+    private static final int COUNT_BITS = 36;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+    private static final long MAX_MINUTE = (1L << (Long.SIZE - COUNT_BITS)) - 1;
+
+    private final AtomicLongArray slots;
+
+    MinuteRing(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.slots = new AtomicLongArray(capacity);
+    }
+
+    /**
+     * Zählt eine Stimme in der angegebenen Minute (Minuten seit 1970-01-01T00:00Z).
+     */
+    void increment(long epochMinute) {
+        if (epochMinute < 0 || epochMinute > MAX_MINUTE) {
+            return; // außerhalb des darstellbaren Bereichs
+        }
+        int slot = slot(epochMinute);
+        for (;;) {
+            long current = slots.get(slot);
+            long minute = current >>> COUNT_BITS;
+            long next;
+            if (minute == epochMinute && current != 0) {
+                next = current + 1;
+            } else if (minute < epochMinute || current == 0) {
+                next = (epochMinute << COUNT_BITS) | 1L;
+            } else {
+                return; // Slot gehört bereits einer neueren Minute
+            }
+            if (slots.compareAndSet(slot, current, next)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Anzahl Stimmen in der Minute; 0, wenn die Minute nicht (mehr) im Ring liegt.
+     */
+    long votesAt(long epochMinute) {
+        if (epochMinute < 0 || epochMinute > MAX_MINUTE) {
+            return 0L;
+        }
+        long current = slots.get(slot(epochMinute));
+        return current >>> COUNT_BITS == epochMinute ? current & COUNT_MASK : 0L;
+    }
+
+    int capacity() {
+        return slots.length();
+    }
+
+    private int slot(long epochMinute) {
+        return (int) (epochMinute % slots.length());
+    }
+}
@@ -0,0 +1,112 @@
+package evote.auswertung.application;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Laufende Zählung einer Abstimmung je Option und je (Wahlkreis, Option), dazu
+ * die Stimmen je Minute gesamt und je Wahlkreis ({@link MinuteRing}) und der
+ * zeitliche Verlauf je Option für Stände zu früheren Zeitpunkten ({@link TallyHistory}).
+ *
+ * {@link LongAdder} vermeidet Konkurrenz zwischen parallelen Stimmabgaben.
+ * Da Stimmen nur hinzukommen, dient die Gesamtzahl zugleich als Versionsnummer.
+ */
+final class PollTally {
+
+    private final int turnoutMinutes;
+    private final Map<String, LongAdder> votesByOption = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, LongAdder>> votesByDistrict = new ConcurrentHashMap<>();
+    private final MinuteRing turnout;
+    private final Map<String, MinuteRing> turnoutByDistrict = new ConcurrentHashMap<>();
+    private final TallyHistory history;
+    private final LongAdder total = new LongAdder();
+
+    /**
+     * @param turnoutMinutes       Anzahl Minuten, die die Beteiligungskurven zurückreichen
+     * @param historyBucketSeconds Länge der Buckets im zeitlichen Verlauf
+     */
+    PollTally(int turnoutMinutes, long historyBucketSeconds) {
+        this.turnoutMinutes = turnoutMinutes;
+        this.turnout = new MinuteRing(turnoutMinutes);
+        this.history = new TallyHistory(historyBucketSeconds);
+    }
+
+    /**
+     * @param district Wahlkreis der Stimme; null zählt nur im Gesamtergebnis
+     * @param castAt   Zeitpunkt der Stimmabgabe, bestimmt die Minute der Beteiligungskurve
+     */
+    void increment(String optionId, String district, Instant castAt) {
+        long minute = castAt.getEpochSecond() / 60;
+        votesByOption.computeIfAbsent(optionId, id -> new LongAdder()).increment();
+        turnout.increment(minute);
+        if (district != null) {
+            votesByDistrict.computeIfAbsent(district, d -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(optionId, id -> new LongAdder()).increment();
+            turnoutByDistrict.computeIfAbsent(district, d -> new MinuteRing(turnoutMinutes)).increment(minute);
+        }
+        history.add(optionId, castAt);
+        total.increment();
+    }
+
+    long votesFor(String optionId) {
+        LongAdder votes = votesByOption.get(optionId);
+        return votes != null ? votes.sum() : 0L;
+    }
+
+    long votesFor(String district, String optionId) {
+        Map<String, LongAdder> byOption = votesByDistrict.get(district);
+        LongAdder votes = byOption != null ? byOption.get(optionId) : null;
+        return votes != null ? votes.sum() : 0L;
+    }
+
+    /**
+     * Alle Stimmen eines Wahlkreises über alle Optionen.
+     */
+    long votesIn(String district) {
+        Map<String, LongAdder> byOption = votesByDistrict.get(district);
+        if (byOption == null) {
+            return 0L;
+        }
+        long votes = 0;
+        for (LongAdder adder : byOption.values()) {
+            votes += adder.sum();
+        }
+        return votes;
+    }
+
+    /**
+     * Wahlkreise mit mindestens einer Stimme, alphabetisch sortiert.
+     */
+    List<String> districts() {
+        return votesByDistrict.keySet().stream().sorted().toList();
+    }
+
+    /**
+     * Stimmen je Minute, gesamt (district == null) oder für einen Wahlkreis.
+     */
+    long votesInMinute(String district, long epochMinute) {
+        MinuteRing ring = district == null ? turnout : turnoutByDistrict.get(district);
+        return ring != null ? ring.votesAt(epochMinute) : 0L;
+    }
+
+    /**
+     * Stimmen je Option, abgegeben vor Beginn des Buckets, in den asOf fällt.
+     */
+    Map<String, Long> votesBefore(Instant asOf, List<String> options) {
+        return history.votesBefore(asOf, options);
+    }
+
+    /**
+     * Verdichtet den zeitlichen Verlauf nach Ende der Abstimmung.
+     */
+    void compactHistory() {
+        history.compact();
+    }
+
+    long version() {
+        return total.sum();
+    }
+}
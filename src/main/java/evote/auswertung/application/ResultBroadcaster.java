@@ -0,0 +1,235 @@
+package evote.auswertung.application;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * ResultBroadcaster - verteilt Zwischenstände an alle Abonnenten einer Abstimmung
+ *
+ * Updates werden zusammengefasst: höchstens alle evote.results.stream.interval-ms
+ * prüft ein einzelner Thread je Abstimmung, ob sich der Stand geändert hat.
+ * Nur dann wird der Stand einmal serialisiert und derselbe Text an alle
+ * Abonnenten geschickt. Der Aufwand pro Stimme ist damit unabhängig von der
+ * Anzahl der Abonnenten, der Aufwand pro Intervall unabhängig von der Anzahl der Stimmen.
+ *
+ * Zugestellt wird je Abonnent über ein Postfach mit genau einem Platz auf einem eigenen
+ * Executor: ein neuer Stand ersetzt einen noch nicht gesendeten älteren, und jeder Stand
+ * trägt die Version, aus der er serialisiert wurde. Ältere Stände als der zuletzt
+ * zugestellte werden verworfen, auch der Anfangsstand aus {@link #subscribe}. Ein
+ * langsamer Empfänger hält so weder den Scheduler noch andere Abonnenten auf; verpasst
+ * er {@value #MAX_SKIPPED_UPDATES} Stände in Folge, weil er noch sendet, wird er getrennt.
+ */
+@Component
+public class ResultBroadcaster {
+
+    private static final Logger logger = Logger.getLogger(ResultBroadcaster.class.getName());
+    static final int MAX_SKIPPED_UPDATES = 20;
+
+    private final LiveTallyService tallyService;
+    private final ObjectMapper objectMapper;
+    private final Map<String, Channel> channels = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler;
+    private final Executor deliveryExecutor;
+    private final AtomicLong serializations = new AtomicLong();
+
+    @Autowired
+    public ResultBroadcaster(LiveTallyService tallyService,
+                             ObjectMapper objectMapper,
+                             @Value("${evote.results.stream.interval-ms:250}") long intervalMillis,
+                             @Value("${evote.results.stream.delivery-threads:4}") int deliveryThreads) {
+        this(tallyService, objectMapper, intervalMillis, deliveryPool(deliveryThreads));
+    }
+
+    /**
+     * @param deliveryExecutor stellt an die Abonnenten zu (Tests: {@code Runnable::run})
+     */
+    public ResultBroadcaster(LiveTallyService tallyService,
+                             ObjectMapper objectMapper,
+                             long intervalMillis,
+                             Executor deliveryExecutor) {
+        if (intervalMillis <= 0) {
+            throw new IllegalArgumentException("intervalMillis must be positive");
+        }
+        this.tallyService = tallyService;
+        this.objectMapper = objectMapper;
+        this.deliveryExecutor = deliveryExecutor;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "result-broadcaster");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::flush, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Meldet einen Empfänger an und stellt ihm sofort den aktuellen Stand zu.
+     *
+     * @return Aktion zum Abmelden
+     * @throws IllegalArgumentException wenn die Poll nicht existiert
+     */
+    public Runnable subscribe(String pollId, ResultSubscriber subscriber) {
+        // Version vor dem Serialisieren lesen: der Text ist mindestens so neu wie die Version
+        long version = tallyService.version(pollId);
+        String initial = serialize(pollId);
+        Mailbox mailbox = new Mailbox(subscriber);
+        Channel channel = channels.compute(pollId, (id, existing) -> {
+            Channel target = existing != null ? existing : new Channel();
+            target.subscribers.put(subscriber, mailbox);
+            return target;
+        });
+        offer(channel, mailbox, new Update(version, initial));
+        return () -> channel.subscribers.remove(subscriber, mailbox);
+    }
+
+    public int subscriberCount(String pollId) {
+        Channel channel = channels.get(pollId);
+        return channel != null ? channel.subscribers.size() : 0;
+    }
+
+    /** Anzahl der Serialisierungen seit dem Start (Tests und Benchmarks). */
+    public long serializations() {
+        return serializations.get();
+    }
+
+    /**
+     * Verteilt geänderte Zwischenstände; wird vom Scheduler periodisch aufgerufen.
+     */
+    void flush() {
+        for (Map.Entry<String, Channel> entry : channels.entrySet()) {
+            String pollId = entry.getKey();
+            Channel channel = entry.getValue();
+            try {
+                if (channel.subscribers.isEmpty()) {
+                    channels.computeIfPresent(pollId, (id, current) -> current.subscribers.isEmpty() ? null : current);
+                    continue;
+                }
+                long version = tallyService.version(pollId);
+                if (version == channel.sentVersion) {
+                    continue;
+                }
+                Update update = new Update(version, serialize(pollId));
+                channel.sentVersion = version;
+                for (Mailbox mailbox : channel.subscribers.values()) {
+                    offer(channel, mailbox, update);
+                }
+            } catch (RuntimeException ex) {
+                logger.log(Level.WARNING, "Broadcast für Poll " + pollId + " fehlgeschlagen", ex);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        if (deliveryExecutor instanceof ExecutorService service) {
+            service.shutdownNow();
+        }
+    }
+
+    private static ExecutorService deliveryPool(int threads) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("deliveryThreads must be positive");
+        }
+        AtomicLong counter = new AtomicLong();
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "result-delivery-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private void offer(Channel channel, Mailbox mailbox, Update update) {
+        Update replaced = mailbox.pending.getAndAccumulate(update,
+                (current, offered) -> current == null || offered.version > current.version ? offered : current);
+        if (replaced != null && mailbox.sending.get() && ++mailbox.skipped >= MAX_SKIPPED_UPDATES) {
+            disconnect(channel, mailbox);
+            return;
+        }
+        schedule(channel, mailbox);
+    }
+
+    private void schedule(Channel channel, Mailbox mailbox) {
+        if (mailbox.sending.compareAndSet(false, true)) {
+            deliveryExecutor.execute(() -> drain(channel, mailbox));
+        }
+    }
+
+    /** Sendet den jeweils neuesten Stand, bis das Postfach leer ist; je Abonnent nie parallel. */
+    private void drain(Channel channel, Mailbox mailbox) {
+        try {
+            Update update;
+            while ((update = mailbox.pending.getAndSet(null)) != null) {
+                mailbox.skipped = 0;
+                if (update.version <= mailbox.deliveredVersion) {
+                    continue; // überholt, z.B. ein später angekommener Anfangsstand
+                }
+                mailbox.deliveredVersion = update.version;
+                mailbox.subscriber.send(update.payload);
+            }
+        } catch (Exception ex) {
+            channel.subscribers.remove(mailbox.subscriber, mailbox);
+            return;
+        } finally {
+            mailbox.sending.set(false);
+        }
+        if (mailbox.pending.get() != null) {
+            schedule(channel, mailbox); // zwischen letztem Leeren und Freigeben angekommen
+        }
+    }
+
+    private void disconnect(Channel channel, Mailbox mailbox) {
+        if (channel.subscribers.remove(mailbox.subscriber, mailbox)) {
+            logger.info("Abonnent ohne Fortschritt nach " + MAX_SKIPPED_UPDATES + " Ständen getrennt");
+            mailbox.subscriber.close();
+        }
+    }
+
+    private String serialize(String pollId) {
+        try {
+            String json = objectMapper.writeValueAsString(tallyService.results(pollId));
+            serializations.incrementAndGet();
+            return json;
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Zwischenstand nicht serialisierbar: " + pollId, ex);
+        }
+    }
+
+    private static final class Channel {
+        final Map<ResultSubscriber, Mailbox> subscribers = new ConcurrentHashMap<>();
+        volatile long sentVersion = -1;
+    }
+
+    private record Update(long version, String payload) {
+    }
+
+    private static final class Mailbox {
+        final ResultSubscriber subscriber;
+        final AtomicReference<Update> pending = new AtomicReference<>();
+        final AtomicBoolean sending = new AtomicBoolean();
+        /** Nur auf dem jeweils zustellenden Thread (durch {@link #sending} serialisiert). */
+        long deliveredVersion = -1;
+        /** Vom Scheduler erhöht, beim Zustellen zurückgesetzt; Ungenauigkeit ist unkritisch. */
+        volatile int skipped;
+
+        Mailbox(ResultSubscriber subscriber) {
+            this.subscriber = subscriber;
+        }
+    }
+}
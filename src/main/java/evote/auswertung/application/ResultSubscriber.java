@@ -0,0 +1,23 @@
+package evote.auswertung.application;
+
+import java.io.IOException;
+
+/**
+ * Empfänger von Zwischenständen einer Abstimmung (z.B. eine SSE-Verbindung).
+ */
+@FunctionalInterface
+public interface ResultSubscriber {
+
+    /**
+     * Stellt den bereits serialisierten Zwischenstand zu.
+     *
+     * @throws IOException wenn der Empfänger nicht mehr erreichbar ist; er wird dann abgemeldet
+     */
+    void send(String resultsJson) throws IOException;
+
+    /**
+     * Beendet die Verbindung, nachdem der Empfänger wegen Rückstand abgemeldet wurde.
+     */
+    default void close() {
+    }
+}
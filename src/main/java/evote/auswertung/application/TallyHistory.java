@@ -0,0 +1,204 @@
+package evote.auswertung.application;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Zeitlicher Verlauf der Zählung einer Abstimmung in Buckets fester Länge,
+ * für Abfragen "Stand zum Zeitpunkt T".
+ *
+ * - Offene Buckets (aktueller und vorheriger) zählen mit {@link LongAdder} je Option.
+ * - Ältere Buckets werden versiegelt: sie wandern in kumulierte Zähler je Option,
+ *   abgelegt nur für Buckets mit Stimmen und nach Bucket sortiert. Eine Abfrage ist
+ *   damit eine Binärsuche plus die wenigen noch offenen Buckets.
+ * - Kommt eine Stimme für einen bereits versiegelten Bucket (z.B. beim Einlesen
+ *   gespeicherter Stimmen in beliebiger Reihenfolge), wird sie beim nächsten
+ *   Versiegeln eingeordnet und die Summen danach neu aufgebaut.
+ * - {@link #compact()} nach Ende der Abstimmung versiegelt alles und gibt
+ *   überschüssige Kapazität frei.
+ *
+ * Zählen nimmt die geteilte Lesesperre, Versiegeln die exklusive; so geht beim
+ * Umziehen eines Buckets keine parallel gezählte Stimme verloren. Aus dem
+ * Stimmpfad wird nur versiegelt, wenn die Sperre sofort frei ist.
+ */
+final class TallyHistory {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final long bucketSeconds;
+    private final StampedLock lock = new StampedLock();
+    private final ConcurrentSkipListMap<Long, Map<String, LongAdder>> open = new ConcurrentSkipListMap<>();
+
+    // nur unter exklusiver Sperre geändert
+    private long[] sealedBuckets = new long[INITIAL_CAPACITY];
+    private final Map<String, long[]> cumulativeByOption = new HashMap<>();
+    private int sealedCount;
+    private volatile long sealedBefore = Long.MIN_VALUE;
+    private volatile boolean compacted;
+
+    TallyHistory(long bucketSeconds) {
+        if (bucketSeconds <= 0) {
+            throw new IllegalArgumentException("bucketSeconds must be positive");
+        }
+        this.bucketSeconds = bucketSeconds;
+    }
+
+    void add(String optionId, Instant castAt) {
+        long bucket = bucketOf(castAt);
+        long stamp = lock.readLock();
+        try {
+            open.computeIfAbsent(bucket, b -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(optionId, id -> new LongAdder()).increment();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+        if (compacted) {
+            compacted = false; // verspätete Stimme nach compact()
+        }
+        // aktuellen und vorherigen Bucket offen lassen, ältere versiegeln
+        if (bucket - 1 > sealedBefore) {
+            long write = lock.tryWriteLock();
+            if (write != 0L) {
+                try {
+                    sealBefore(bucket - 1);
+                } finally {
+                    lock.unlockWrite(write);
+                }
+            }
+        }
+    }
+
+    /**
+     * Stimmen je Option, die vor dem Beginn des Buckets abgegeben wurden, in den asOf fällt.
+     */
+    Map<String, Long> votesBefore(Instant asOf, List<String> options) {
+        long boundary = bucketOf(asOf);
+        Map<String, Long> votes = new HashMap<>();
+        long stamp = lock.readLock();
+        try {
+            int row = Arrays.binarySearch(sealedBuckets, 0, sealedCount, boundary);
+            int sealedRows = row >= 0 ? row : -row - 1; // Buckets < boundary
+            for (String option : options) {
+                long[] cumulative = cumulativeByOption.get(option);
+                votes.put(option, sealedRows > 0 && cumulative != null ? cumulative[sealedRows - 1] : 0L);
+            }
+            for (Map<String, LongAdder> bucket : open.headMap(boundary, false).values()) {
+                for (String option : options) {
+                    LongAdder adder = bucket.get(option);
+                    if (adder != null) {
+                        votes.merge(option, adder.sum(), Long::sum);
+                    }
+                }
+            }
+        } finally {
+            lock.unlockRead(stamp);
+        }
+        return votes;
+    }
+
+    /**
+     * Versiegelt alle Buckets und kürzt die Felder auf die belegte Größe;
+     * ohne neue Stimmen seit dem letzten Aufruf ohne Wirkung.
+     */
+    void compact() {
+        if (compacted) {
+            return;
+        }
+        long stamp = lock.writeLock();
+        try {
+            sealBefore(Long.MAX_VALUE);
+            if (sealedBuckets.length != sealedCount) {
+                sealedBuckets = Arrays.copyOf(sealedBuckets, sealedCount);
+                cumulativeByOption.replaceAll((option, cumulative) -> Arrays.copyOf(cumulative, sealedCount));
+            }
+            compacted = true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /** Anzahl offener Buckets (Tests). */
+    int openBuckets() {
+        return open.size();
+    }
+
+    /** Anzahl versiegelter Buckets mit Stimmen (Tests). */
+    int sealedBuckets() {
+        long stamp = lock.readLock();
+        try {
+            return sealedCount;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /** Nur unter exklusiver Sperre. */
+    private void sealBefore(long limit) {
+        NavigableMap<Long, Map<String, LongAdder>> ready = open.headMap(limit, false);
+        if (!ready.isEmpty()) {
+            if (sealedCount == 0 || ready.firstKey() > sealedBuckets[sealedCount - 1]) {
+                ready.forEach(this::appendRow);
+            } else {
+                rebuild(ready);
+            }
+            ready.clear();
+        }
+        sealedBefore = Math.max(sealedBefore, limit);
+    }
+
+    /** Fügt verspätete Buckets ein: alle versiegelten Buckets als Zuwächse neu aufreihen. */
+    private void rebuild(NavigableMap<Long, Map<String, LongAdder>> late) {
+        TreeMap<Long, Map<String, Long>> rows = new TreeMap<>();
+        for (int row = 0; row < sealedCount; row++) {
+            Map<String, Long> delta = new HashMap<>();
+            for (Map.Entry<String, long[]> option : cumulativeByOption.entrySet()) {
+                long[] cumulative = option.getValue();
+                delta.put(option.getKey(), cumulative[row] - (row > 0 ? cumulative[row - 1] : 0L));
+            }
+            rows.put(sealedBuckets[row], delta);
+        }
+        late.forEach((bucket, counts) -> {
+            Map<String, Long> delta = rows.computeIfAbsent(bucket, b -> new HashMap<>());
+            counts.forEach((option, adder) -> delta.merge(option, adder.sum(), Long::sum));
+        });
+        sealedCount = 0;
+        sealedBuckets = new long[Math.max(INITIAL_CAPACITY, rows.size())];
+        cumulativeByOption.clear();
+        rows.forEach(this::appendCounts);
+    }
+
+    private void appendRow(long bucket, Map<String, LongAdder> counts) {
+        Map<String, Long> sums = new HashMap<>();
+        counts.forEach((option, adder) -> sums.put(option, adder.sum()));
+        appendCounts(bucket, sums);
+    }
+
+    private void appendCounts(long bucket, Map<String, Long> counts) {
+        int row = sealedCount;
+        if (row == sealedBuckets.length) {
+            int capacity = Math.max(INITIAL_CAPACITY, row * 2);
+            sealedBuckets = Arrays.copyOf(sealedBuckets, capacity);
+            cumulativeByOption.replaceAll((option, cumulative) -> Arrays.copyOf(cumulative, capacity));
+        }
+        sealedBuckets[row] = bucket;
+        for (long[] cumulative : cumulativeByOption.values()) {
+            cumulative[row] = row > 0 ? cumulative[row - 1] : 0L;
+        }
+        counts.forEach((option, votes) ->
+                cumulativeByOption.computeIfAbsent(option, id -> new long[sealedBuckets.length])[row] += votes);
+        sealedCount = row + 1;
+    }
+
+    private long bucketOf(Instant instant) {
+        return Math.floorDiv(instant.getEpochSecond(), bucketSeconds);
+    }
+}
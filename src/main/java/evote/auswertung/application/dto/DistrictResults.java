@@ -0,0 +1,14 @@
+package evote.auswertung.application.dto;
+
+import java.util.Map;
+
+/**
+ * Zwischenstand einer Abstimmung in einem Wahlkreis.
+ * Die Optionen stehen in der Reihenfolge der Poll-Definition.
+ */
+public record DistrictResults(
+        String district,
+        Map<String, Long> votesByOption,
+        long totalVotes
+) {
+}
@@ -0,0 +1,17 @@
+package evote.auswertung.application.dto;
+
+import java.util.List;
+
+/**
+ * Ausgabe-DTO mit dem Zwischenstand einer Abstimmung je Wahlkreis.
+ *
+ * Enthält nur Wahlkreise mit mindestens einer Stimme, alphabetisch sortiert.
+ * Stimmen von Votern ohne Wahlkreis zählen in votesWithoutDistrict.
+ */
+public record PollDistrictResults(
+        String pollId,
+        List<DistrictResults> districts,
+        long votesWithoutDistrict,
+        long totalVotes
+) {
+}
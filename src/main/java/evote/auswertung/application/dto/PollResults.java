@@ -0,0 +1,14 @@
+package evote.auswertung.application.dto;
+
+import java.util.Map;
+
+/**
+ * Ausgabe-DTO mit dem aktuellen Zwischenstand einer Abstimmung.
+ * Die Optionen stehen in der Reihenfolge der Poll-Definition.
+ */
+public record PollResults(
+        String pollId,
+        Map<String, Long> votesByOption,
+        long totalVotes
+) {
+}
@@ -0,0 +1,17 @@
+package evote.auswertung.application.dto;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Ausgabe-DTO mit dem Stand einer Abstimmung zu einem früheren Zeitpunkt.
+ * asOf ist der tatsächlich ausgewertete Zeitpunkt (Beginn des Buckets);
+ * die Optionen stehen in der Reihenfolge der Poll-Definition.
+ */
+public record PollResultsAsOf(
+        String pollId,
+        Instant asOf,
+        Map<String, Long> votesByOption,
+        long totalVotes
+) {
+}
@@ -0,0 +1,15 @@
+package evote.auswertung.application.dto;
+
+import java.time.Instant;
+
+/**
+ * Ein Punkt der Beteiligungskurve: Stimmen in der Minute ab {@code minute},
+ * kumuliert bis zu ihrem Ende und als Anteil der Stimmberechtigten.
+ */
+public record TurnoutPoint(
+        Instant minute,
+        long votes,
+        long cumulativeVotes,
+        double turnout
+) {
+}
@@ -0,0 +1,17 @@
+package evote.auswertung.application.dto;
+
+import java.util.List;
+
+/**
+ * Ausgabe-DTO mit der Beteiligungskurve einer Abstimmung (district == null)
+ * oder eines Wahlkreises, ein Punkt je Minute in zeitlicher Reihenfolge.
+ */
+public record TurnoutSeries(
+        String pollId,
+        String district,
+        int eligibleVoters,
+        long totalVotes,
+        double turnout,
+        List<TurnoutPoint> points
+) {
+}
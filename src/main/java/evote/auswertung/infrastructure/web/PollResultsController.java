@@ -0,0 +1,98 @@
+package evote.auswertung.infrastructure.web;
+
+import evote.auswertung.application.LiveTallyService;
+import evote.auswertung.application.ResultBroadcaster;
+import evote.auswertung.application.dto.PollDistrictResults;
+import evote.auswertung.application.dto.PollResults;
+import evote.auswertung.application.dto.PollResultsAsOf;
+import evote.auswertung.application.dto.TurnoutSeries;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Instant;
+
+/**
+ * REST-Adapter für Zwischenstände von Abstimmungen.
+ */
+@RestController
+@RequestMapping("/api/polls/{pollId}/results")
+public class PollResultsController {
+
+    private final LiveTallyService tallyService;
+    private final ResultBroadcaster broadcaster;
+    private final long streamTimeoutMillis;
+
+    public PollResultsController(LiveTallyService tallyService,
+                                 ResultBroadcaster broadcaster,
+                                 @Value("${evote.results.stream.timeout-ms:1800000}") long streamTimeoutMillis) {
+        this.tallyService = tallyService;
+        this.broadcaster = broadcaster;
+        this.streamTimeoutMillis = streamTimeoutMillis;
+    }
+
+    /**
+     * GET /api/polls/{pollId}/results
+     *
+     * @return aktueller Zwischenstand je Option
+     */
+    @GetMapping
+    public PollResults results(@PathVariable("pollId") String pollId) {
+        return tallyService.results(pollId);
+    }
+
+    /**
+     * GET /api/polls/{pollId}/results?asOf=2026-03-01T10:15:00Z
+     *
+     * @return Stand je Option zu Beginn des Buckets, in den asOf fällt
+     */
+    @GetMapping(params = "asOf")
+    public PollResultsAsOf resultsAsOf(@PathVariable("pollId") String pollId,
+                                       @RequestParam("asOf") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant asOf) {
+        return tallyService.resultsAsOf(pollId, asOf);
+    }
+
+    /**
+     * GET /api/polls/{pollId}/results/districts
+     *
+     * @return aktueller Zwischenstand je Wahlkreis und Option
+     */
+    @GetMapping("/districts")
+    public PollDistrictResults districtResults(@PathVariable("pollId") String pollId) {
+        return tallyService.districtResults(pollId);
+    }
+
+    /**
+     * GET /api/polls/{pollId}/results/turnout?minutes=60&district=…
+     *
+     * @return Stimmen und Beteiligung je Minute, gesamt oder für einen Wahlkreis
+     */
+    @GetMapping("/turnout")
+    public TurnoutSeries turnout(@PathVariable("pollId") String pollId,
+                                 @RequestParam(name = "minutes", defaultValue = "60") int minutes,
+                                 @RequestParam(name = "district", required = false) String district) {
+        return tallyService.turnout(pollId, district, minutes);
+    }
+
+    /**
+     * GET /api/polls/{pollId}/results/stream
+     *
+     * Server-Sent Events: sofort der aktuelle Stand, danach zusammengefasste
+     * Updates (Event "results") höchstens alle evote.results.stream.interval-ms.
+     */
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@PathVariable("pollId") String pollId) {
+        SseEmitter emitter = new SseEmitter(streamTimeoutMillis);
+        Runnable unsubscribe = broadcaster.subscribe(pollId, new SseResultSubscriber(emitter));
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(error -> unsubscribe.run());
+        return emitter;
+    }
+}
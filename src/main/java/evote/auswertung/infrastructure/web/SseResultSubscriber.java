@@ -0,0 +1,28 @@
+package evote.auswertung.infrastructure.web;
+
+import evote.auswertung.application.ResultSubscriber;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+
+/**
+ * Adapter, der Zwischenstände als Server-Sent Event "results" auf eine SSE-Verbindung schreibt.
+ */
+class SseResultSubscriber implements ResultSubscriber {
+
+    private final SseEmitter emitter;
+
+    SseResultSubscriber(SseEmitter emitter) {
+        this.emitter = emitter;
+    }
+
+    @Override
+    public void send(String resultsJson) throws IOException {
+        emitter.send(SseEmitter.event().name("results").data(resultsJson));
+    }
+
+    @Override
+    public void close() {
+        emitter.complete();
+    }
+}
@@ -0,0 +1,320 @@
+package evote.buergerverwaltung.application;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import evote.abstimmungsverwaltung.application.PollAssembler;
+import evote.abstimmungsverwaltung.application.dto.PollDTO;
+import evote.abstimmungsverwaltung.domain.model.Poll;
+import evote.abstimmungsverwaltung.domain.repository.PollRepository;
+import evote.abstimmungsverwaltung.events.PollEndedEvent;
+import evote.buergerverwaltung.application.dto.VoterDashboard;
+import evote.buergerverwaltung.application.dto.VoterResponse;
+import evote.buergerverwaltung.domain.repository.VoterRepository;
+import evote.buergerverwaltung.events.VoterEmailChangedEvent;
+import evote.buergerverwaltung.events.VoterParticipatedEvent;
+import evote.buergerverwaltung.events.VoterRegisteredEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * VoterDashboardProjection - Lesemodell (CQRS) für das Bürger-Dashboard
+ *
+ * Hält je Voter Profil und Teilnahmen denormalisiert im Speicher, dazu einen
+ * gemeinsamen Katalog der Abstimmungen. Ein Dashboard-Aufruf ist damit ein
+ * Map-Lookup plus ein Filter über die wenigen Abstimmungen; Voter- und Poll-Store
+ * werden nicht angefasst.
+ *
+ * Gepflegt wird das Modell asynchron auf einem eigenen Thread, in Reihenfolge der Ereignisse:
+ * - {@link VoterRegisteredEvent}: Voter wird einmal aus dem Store übernommen
+ * - {@link VoterParticipatedEvent}: Abstimmung kommt zu den Teilnahmen
+ * - {@link VoterEmailChangedEvent}: Profil wird aktualisiert
+ * - {@link PollEndedEvent}: Abstimmung gilt als geschlossen
+ *
+ * Voter, die noch nicht im Modell sind (z.B. nach einem Neustart), werden beim ersten
+ * Aufruf auf dem aufrufenden Thread aus dem Store geladen und per {@code putIfAbsent}
+ * eingetragen; unbekannte IDs blockieren den Projektions-Thread also nie. Damit kein
+ * Ereignis zwischen Laden und Eintragen verloren geht, gleicht der Projektions-Thread
+ * den neuen Eintrag danach einmal mit dem Store ab. Ob eine Abstimmung nach Start und
+ * Ende offen ist, wird beim Lesen anhand der Clock entschieden.
+ *
+ * Die Voter-Einträge liegen in einem nach Größe begrenzten Cache (Caffeine,
+ * evote.dashboard.maximum-size), damit das Modell nicht mit der Zahl aller Voter
+ * wächst. Ein verdrängter Voter ist ein gewöhnlicher Fehlgriff: Ereignisse für ihn
+ * laufen ins Leere, der nächste Aufruf lädt ihn wie oben beschrieben neu.
+ * Metriken: cache.gets{cache=voter-dashboard,result=hit|miss}, cache.evictions u.a.
+ */
+@Component
+public class VoterDashboardProjection {
+
+    private static final Logger logger = Logger.getLogger(VoterDashboardProjection.class.getName());
+    private static final String CACHE_NAME = "voter-dashboard";
+    static final long DEFAULT_MAXIMUM_SIZE = 100_000;
+
+    private final VoterRepository voterRepository;
+    private final PollRepository pollRepository;
+    private final VoterAssembler voterAssembler;
+    private final PollAssembler pollAssembler;
+    private final Clock clock;
+    private final Executor executor;
+    private final Cache<String, Entry> cache;
+    /** Sicht auf {@link #cache}; putIfAbsent/computeIfPresent sind darauf atomar. */
+    private final Map<String, Entry> voters;
+    private final AtomicReference<List<PollEntry>> polls = new AtomicReference<>();
+
+    @Autowired
+    public VoterDashboardProjection(VoterRepository voterRepository,
+                                    PollRepository pollRepository,
+                                    VoterAssembler voterAssembler,
+                                    PollAssembler pollAssembler,
+                                    Clock clock,
+                                    @Value("${evote.dashboard.maximum-size:100000}") long maximumSize,
+                                    MeterRegistry registry) {
+        this(voterRepository, pollRepository, voterAssembler, pollAssembler, clock,
+                Executors.newSingleThreadExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "voter-dashboard");
+                    thread.setDaemon(true);
+                    return thread;
+                }), maximumSize);
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+    }
+
+    public VoterDashboardProjection(VoterRepository voterRepository,
+                                    PollRepository pollRepository,
+                                    VoterAssembler voterAssembler,
+                                    PollAssembler pollAssembler,
+                                    Clock clock,
+                                    Executor executor) {
+        this(voterRepository, pollRepository, voterAssembler, pollAssembler, clock, executor, DEFAULT_MAXIMUM_SIZE);
+    }
+
+    /**
+     * @param executor führt alle Änderungen am Modell aus; muss sie in Reihenfolge und
+     *                 nacheinander ausführen (Tests: {@code Runnable::run})
+     * @param maximumSize höchstens gehaltene Voter
+     */
+    public VoterDashboardProjection(VoterRepository voterRepository,
+                                    PollRepository pollRepository,
+                                    VoterAssembler voterAssembler,
+                                    PollAssembler pollAssembler,
+                                    Clock clock,
+                                    Executor executor,
+                                    long maximumSize) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("maximumSize must be positive");
+        }
+        this.voterRepository = voterRepository;
+        this.pollRepository = pollRepository;
+        this.voterAssembler = voterAssembler;
+        this.pollAssembler = pollAssembler;
+        this.clock = clock;
+        this.executor = executor;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+        this.voters = cache.asMap();
+    }
+
+    /**
+     * Dashboard eines Voters.
+     *
+     * @throws ResponseStatusException 404, wenn der Voter nicht existiert
+     */
+    public VoterDashboard dashboard(String voterId) {
+        Entry entry = voters.get(voterId);
+        if (entry == null) {
+            entry = load(voterId);
+        }
+        if (entry == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Bürger mit ID " + voterId + " nicht gefunden");
+        }
+        List<PollEntry> catalog = polls.get();
+        if (catalog == null) {
+            catalog = loadPolls();
+        }
+
+        LocalDateTime now = LocalDateTime.now(clock);
+        List<PollDTO> active = new ArrayList<>();
+        for (PollEntry poll : catalog) {
+            if (poll.isOpenAt(now) && !entry.votedPollIds.contains(poll.dto.pollId())) {
+                active.add(poll.dto);
+            }
+        }
+        return new VoterDashboard(entry.profile, List.copyOf(entry.votedPollIds), active);
+    }
+
+    /**
+     * Anzahl der Voter im Lesemodell (für Tests und Diagnose).
+     */
+    public int projectedVoters() {
+        cache.cleanUp();
+        return (int) cache.estimatedSize();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        // Nach dem Seeding: Katalog einmal vollständig laden
+        apply(this::reloadPolls);
+    }
+
+    @EventListener
+    public void onVoterRegistered(VoterRegisteredEvent event) {
+        apply(() -> voterRepository.findById(event.voterId())
+                .ifPresent(voter -> voters.put(voter.getVoterId(),
+                        Entry.of(voterAssembler.toResponse(voter), voter.getVotedPollIds()))));
+    }
+
+    @EventListener
+    public void onVoterParticipated(VoterParticipatedEvent event) {
+        apply(() -> voters.computeIfPresent(event.voterId(), (id, entry) -> entry.withVotedPoll(event.pollId())));
+    }
+
+    @EventListener
+    public void onVoterEmailChanged(VoterEmailChangedEvent event) {
+        apply(() -> voters.computeIfPresent(event.voterId(), (id, entry) -> entry.withEmail(event.email())));
+    }
+
+    @EventListener
+    public void onPollEnded(PollEndedEvent event) {
+        apply(() -> {
+            List<PollEntry> catalog = polls.get();
+            if (catalog == null) {
+                return;
+            }
+            List<PollEntry> updated = new ArrayList<>(catalog.size());
+            for (PollEntry poll : catalog) {
+                updated.add(poll.dto.pollId().equals(event.pollId()) ? new PollEntry(poll.dto, true) : poll);
+            }
+            polls.set(List.copyOf(updated));
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor instanceof ExecutorService service) {
+            service.shutdownNow();
+        }
+    }
+
+    private void apply(Runnable change) {
+        executor.execute(() -> {
+            try {
+                change.run();
+            } catch (RuntimeException e) {
+                logger.log(Level.WARNING, "Dashboard-Projektion konnte Ereignis nicht anwenden", e);
+            }
+        });
+    }
+
+    /** Auf dem aufrufenden Thread; {@code null}, wenn der Voter nicht existiert. */
+    private Entry load(String voterId) {
+        if (voterId == null) {
+            return null;
+        }
+        Entry loaded = voterRepository.findById(voterId)
+                .map(voter -> Entry.of(voterAssembler.toResponse(voter), voter.getVotedPollIds()))
+                .orElse(null);
+        if (loaded == null) {
+            return null;
+        }
+        Entry existing = voters.putIfAbsent(voterId, loaded);
+        if (existing != null) {
+            return existing;
+        }
+        // Ereignisse zwischen Lesen und Eintragen trafen noch keinen Eintrag: einmal nachziehen
+        apply(() -> voterRepository.findById(voterId)
+                .ifPresent(voter -> voters.computeIfPresent(voterId,
+                        (id, entry) -> entry.reconciledWith(voterAssembler.toResponse(voter), voter.getVotedPollIds()))));
+        return loaded;
+    }
+
+    /** Auf dem aufrufenden Thread, solange der Katalog noch fehlt. */
+    private List<PollEntry> loadPolls() {
+        List<PollEntry> loaded = readPolls();
+        if (!polls.compareAndSet(null, loaded)) {
+            return polls.get();
+        }
+        // Ein PollEndedEvent vor dem Eintragen lief ins Leere: einmal nachziehen
+        apply(this::reloadPolls);
+        return loaded;
+    }
+
+    /** Nur auf dem Projektions-Thread. */
+    private void reloadPolls() {
+        polls.set(readPolls());
+    }
+
+    private List<PollEntry> readPolls() {
+        List<PollEntry> catalog = new ArrayList<>();
+        for (Poll poll : pollRepository.findAll()) {
+            catalog.add(new PollEntry(pollAssembler.toDTO(poll), poll.isClosed()));
+        }
+        catalog.sort(Comparator.comparing(poll -> poll.dto.endDate()));
+        return List.copyOf(catalog);
+    }
+
+    /**
+     * Unveränderlicher Stand eines Voters; Änderungen erzeugen einen neuen Eintrag.
+     * Die Teilnahmen sind sortiert, damit die Antwort stabil bleibt.
+     */
+    private record Entry(VoterResponse profile, Set<String> votedPollIds) {
+
+        static Entry of(VoterResponse profile, Collection<String> votedPollIds) {
+            return new Entry(profile, Collections.unmodifiableSet(new TreeSet<>(votedPollIds)));
+        }
+
+        Entry withVotedPoll(String pollId) {
+            if (votedPollIds.contains(pollId)) {
+                return this;
+            }
+            Set<String> updated = new TreeSet<>(votedPollIds);
+            updated.add(pollId);
+            return of(profile, updated);
+        }
+
+        /** Profil aus dem Store, Teilnahmen vereinigt (Teilnahmen werden nie zurückgenommen). */
+        Entry reconciledWith(VoterResponse storedProfile, Collection<String> storedVotedPollIds) {
+            Set<String> merged = new TreeSet<>(votedPollIds);
+            merged.addAll(storedVotedPollIds);
+            return of(storedProfile, merged);
+        }
+
+        Entry withEmail(String email) {
+            return new Entry(new VoterResponse(profile.id(), profile.name(), email, profile.address(),
+                    profile.district(), profile.registeredAt(), profile.verified()), votedPollIds);
+        }
+    }
+
+    private record PollEntry(PollDTO dto, boolean closed) {
+
+        boolean isOpenAt(LocalDateTime now) {
+            // [startDate, endDate) wie Poll.isOpenAt
+            return !closed && !now.isBefore(dto.startDate()) && now.isBefore(dto.endDate());
+        }
+    }
+}
@@ -1,10 +1,15 @@
 package evote.buergerverwaltung.application;
 
+import evote.buergerverwaltung.application.dto.VersionedVoterResponse;
 import evote.buergerverwaltung.application.dto.VoterCreateRequest;
 import evote.buergerverwaltung.application.dto.VoterResponse;
 import evote.buergerverwaltung.domain.model.Voter;
 import evote.buergerverwaltung.domain.repository.VoterRepository;
+import evote.buergerverwaltung.domain.repository.VoterVersionConflictException;
 import evote.buergerverwaltung.domain.valueobjects.Email;
+import evote.buergerverwaltung.events.VoterEmailChangedEvent;
+import evote.stimmvergabe.application.DomainEventPublisher;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
@@ -16,12 +21,22 @@ import org.springframework.web.server.ResponseStatusException;
 @Service
 public class VoterService {
 
+    // Versuche, den Voter bei parallelen Änderungen neu zu laden und erneut zu speichern
+    static final int MAX_SAVE_ATTEMPTS = 3;
+
     private final VoterRepository repo;
     private final VoterAssembler assembler;
+    private final DomainEventPublisher publisher;
 
     public VoterService(VoterRepository repo, VoterAssembler assembler) {
+        this(repo, assembler, new DomainEventPublisher());
+    }
+
+    @Autowired
+    public VoterService(VoterRepository repo, VoterAssembler assembler, DomainEventPublisher publisher) {
         this.repo = repo;
         this.assembler = assembler;
+        this.publisher = publisher;
     }
 
     /**
@@ -35,7 +50,13 @@ public class VoterService {
         voter.verify();
         
         repo.save(voter);
-        
+
+        // VoterRegisteredEvent erst nach dem Speichern publizieren
+        if (voter.getPendingEvent() != null) {
+            publisher.publish(voter.getPendingEvent());
+            voter.clearPendingEvent();
+        }
+
         return assembler.toResponse(voter);
     }
 
@@ -47,17 +68,47 @@ public class VoterService {
         return assembler.toResponse(voter);
     }
 
+    /**
+     * Versionsstempel einer wahlberechtigten Person, ohne die Antwort aufzubauen.
+     * Grundlage für bedingte GETs (ETag / If-None-Match).
+     */
+    public long versionOf(String id) {
+        return findVoterOrThrow(id).getVersion();
+    }
+
+    /**
+     * Use Case: Ändert die E-Mail-Adresse.
+     * Wurde der Voter parallel geändert (z.B. durch eine Stimmabgabe), wird er neu geladen
+     * und die Änderung wiederholt.
+     */
     public VoterResponse updateEmail(String voterId, String email) {
-        Voter voter = findVoterOrThrow(voterId);
+        return updateEmailVersioned(voterId, email).voter();
+    }
 
+    /**
+     * Wie {@link #updateEmail}, liefert zusätzlich die Version des gespeicherten Stands.
+     * Grundlage für das ETag der Antwort, ohne den Store erneut zu lesen.
+     */
+    public VersionedVoterResponse updateEmailVersioned(String voterId, String email) {
+        Email newEmail;
         try {
-            voter.setEmail(new Email(email));
-            repo.save(voter);
+            newEmail = new Email(email);
         } catch (IllegalArgumentException ex) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage(), ex);
         }
 
-        return assembler.toResponse(voter);
+        for (int attempt = 1; ; attempt++) {
+            Voter loaded = findVoterOrThrow(voterId);
+            Voter voter = loaded.copy();
+            voter.setEmail(newEmail);
+            if (repo.saveIfVersion(voter, loaded.getVersion())) {
+                publisher.publish(new VoterEmailChangedEvent(voterId, newEmail.toString()));
+                return new VersionedVoterResponse(assembler.toResponse(voter), voter.getVersion());
+            }
+            if (attempt >= MAX_SAVE_ATTEMPTS) {
+                throw new VoterVersionConflictException(voterId, loaded.getVersion(), versionOf(voterId));
+            }
+        }
     }
 
     private Voter findVoterOrThrow(String id) {
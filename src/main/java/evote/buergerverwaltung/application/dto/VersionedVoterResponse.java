@@ -0,0 +1,11 @@
+package evote.buergerverwaltung.application.dto;
+
+/**
+ * VoterResponse zusammen mit dem Versionsstempel des Voters, aus dem sie erzeugt wurde.
+ * Erlaubt Adaptern, ein ETag passend zum ausgelieferten Stand zu setzen.
+ */
+public record VersionedVoterResponse(
+        VoterResponse voter,
+        long version
+) {
+}
@@ -0,0 +1,16 @@
+package evote.buergerverwaltung.application.dto;
+
+import evote.abstimmungsverwaltung.application.dto.PollDTO;
+
+import java.util.List;
+
+/**
+ * Antwort-DTO für das Bürger-Dashboard: Profil, bisherige Teilnahmen und die
+ * Abstimmungen, an denen der Voter aktuell noch teilnehmen kann (nach Ende sortiert).
+ */
+public record VoterDashboard(
+        VoterResponse voter,
+        List<String> votedPollIds,
+        List<PollDTO> activePolls
+) {
+}
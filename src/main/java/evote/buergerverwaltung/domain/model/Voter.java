@@ -32,6 +32,12 @@ import java.util.UUID;
  * - Eindeutige Identität (voterId)
  * - Alle Zugriffe von außen gehen durch diese Klasse
  * - Repository sollte nur dieses Objekt persistent speichern
+ *
+ * Snapshots (Copy-on-Write):
+ * Das Repository speichert unveränderliche Snapshots ({@link #snapshot()}) und gibt sie
+ * beim Lesen direkt heraus. Änderungen laufen über {@link #copy()}: die Kopie merkt sich
+ * die geladene Version, und {@code save} übernimmt sie nur, wenn im Store noch genau
+ * diese Version liegt (optimistische Sperre).
  */
 public class Voter {
     private final String voterId;
@@ -44,6 +50,9 @@ public class Voter {
     private LocalDateTime registeredAt;
     private final Set<String> votedPollIds; // pollId -> bereits abgestimmt
     private VoterRegisteredEvent pendingEvent;
+    private long version; // wird bei jeder Zustandsänderung erhöht (ETag)
+    private long persistedVersion = -1; // zuletzt geladene/gespeicherte Version, -1 = neu
+    private boolean frozen; // true für Snapshots aus dem Repository
 
     /**
      * Private Konstruktor - Voter wird nur über factory methods erstellt
@@ -55,6 +64,17 @@ public class Voter {
             Email email,
             LocalDate geburtsdatum,
             String wahlkreis) {
+        this(voterId, name, adresse, email, geburtsdatum, wahlkreis, new HashSet<>());
+    }
+
+    private Voter(
+            String voterId,
+            Name name,
+            Adresse adresse,
+            Email email,
+            LocalDate geburtsdatum,
+            String wahlkreis,
+            Set<String> votedPollIds) {
 
         this.voterId = voterId;
         this.name = name;
@@ -64,7 +84,7 @@ public class Voter {
         this.wahlkreis = wahlkreis;
         this.isVerified = false;
         this.registeredAt = null;
-        this.votedPollIds = new HashSet<>();
+        this.votedPollIds = votedPollIds;
         this.pendingEvent = null;
     }
 
@@ -108,6 +128,28 @@ public class Voter {
         return voter;
     }
 
+    /**
+     * Reconstruct from Persistence mit gespeicherter Version
+     * (für Repositories, die die Version selbst ablegen, z.B. JDBC)
+     */
+    public static Voter reconstruct(
+            String voterId,
+            Name name,
+            Adresse adresse,
+            Email email,
+            LocalDate geburtsdatum,
+            String wahlkreis,
+            boolean isVerified,
+            LocalDateTime registeredAt,
+            Set<String> votedPollIds,
+            long version) {
+        Voter voter = reconstruct(voterId, name, adresse, email, geburtsdatum, wahlkreis,
+                isVerified, registeredAt, votedPollIds);
+        voter.version = version;
+        voter.persistedVersion = version;
+        return voter;
+    }
+
     /**
      * Verifikation des Voters durchführen
      * Nach erfolgreicher Verifikation ist der Voter berechtigt zu wählen.
@@ -117,12 +159,14 @@ public class Voter {
      * @throws IllegalStateException wenn bereits verifiziert
      */
     public void verify() {
+        ensureMutable();
         if (isVerified) {
             throw new IllegalStateException("Voter ist bereits verifiziert");
         }
 
         this.isVerified = true;
         this.registeredAt = LocalDateTime.now();
+        this.version++;
 
         // Domain Event erstellen (wird später vom Repository publiziert)
         this.pendingEvent = new VoterRegisteredEvent(
@@ -145,6 +189,7 @@ public class Voter {
      * @throws IllegalStateException wenn Voter nicht verifikziert oder bereits abgestimmt
      */
     public void markVoted(String pollId) {
+        ensureMutable();
         if (!isVerified) {
             throw new IllegalStateException("Voter muss verifikziert sein um abzustimmen");
         }
@@ -154,6 +199,7 @@ public class Voter {
         }
 
         votedPollIds.add(pollId);
+        version++;
     }
 
     /**
@@ -175,9 +221,71 @@ public class Voter {
     }
 
     public void clearPendingEvent() {
+        ensureMutable();
         this.pendingEvent = null;
     }
 
+    /**
+     * Unveränderliche Kopie für den Store. Mutatoren auf dem Snapshot werfen
+     * IllegalStateException; ein Snapshot wird unverändert zurückgegeben.
+     */
+    public Voter snapshot() {
+        if (frozen) {
+            return this;
+        }
+        Voter snapshot = copyState(Set.copyOf(votedPollIds));
+        snapshot.persistedVersion = version;
+        snapshot.frozen = true;
+        return snapshot;
+    }
+
+    /**
+     * Veränderbare Arbeitskopie, z.B. eines Snapshots aus dem Repository.
+     * Die Kopie trägt die Version, auf der sie basiert, für die Konfliktprüfung beim Speichern.
+     */
+    public Voter copy() {
+        Voter copy = copyState(new HashSet<>(votedPollIds));
+        copy.persistedVersion = frozen ? version : persistedVersion;
+        return copy;
+    }
+
+    /**
+     * Version, auf der diese Instanz basiert (-1 = noch nie gespeichert).
+     * Das Repository vergleicht sie beim Speichern mit der Version im Store.
+     */
+    public long getPersistedVersion() {
+        return persistedVersion;
+    }
+
+    /**
+     * Wird vom Repository nach erfolgreichem Speichern aufgerufen, damit dieselbe
+     * Instanz weiter geändert und erneut gespeichert werden kann.
+     */
+    public void markPersisted() {
+        if (!frozen) {
+            this.persistedVersion = version;
+        }
+    }
+
+    public boolean isSnapshot() {
+        return frozen;
+    }
+
+    private Voter copyState(Set<String> pollIds) {
+        Voter copy = new Voter(voterId, name, adresse, email, geburtsdatum, wahlkreis, pollIds);
+        copy.isVerified = isVerified;
+        copy.registeredAt = registeredAt;
+        copy.pendingEvent = pendingEvent;
+        copy.version = version;
+        return copy;
+    }
+
+    private void ensureMutable() {
+        if (frozen) {
+            throw new IllegalStateException("Voter-Snapshot ist unveränderlich, Änderungen über copy()");
+        }
+    }
+
     // Getters
     public String getVoterId() { return voterId; }
     public Name getName() { return name; }
@@ -189,13 +297,21 @@ public class Voter {
     public LocalDateTime getRegisteredAt() { return registeredAt; }
     public Set<String> getVotedPollIds() { return new HashSet<>(votedPollIds); }
 
+    /**
+     * Versionsstempel des Aggregats; steigt mit jeder Änderung
+     * (verify, markVoted, setEmail) und dient als Basis für HTTP-ETags.
+     */
+    public long getVersion() { return version; }
+
     // Setters
 
     public void setEmail(Email email) {
+        ensureMutable();
         if (email == null) {
             throw new IllegalArgumentException("Email darf nicht null sein");
         }
         this.email = email;
+        this.version++;
     }
 
     @Override
@@ -15,14 +15,30 @@ import java.util.Optional;
  * - Ermöglicht einfache Migration zwischen Persistence-Technologien
  */
 public interface VoterRepository {
+
+    /** Erwartete Version für {@link #saveIfVersion}: Voter ist noch nicht gespeichert. */
+    long ABSENT = -1;
     
     /**
      * Speichert einen Voter (neu oder update)
+     *
+     * @throws VoterVersionConflictException wenn der Voter seit dem Laden parallel geändert wurde
      */
     void save(Voter voter);
+
+    /**
+     * Speichert nur, wenn im Store genau die erwartete Version liegt
+     * ({@link #ABSENT} = noch kein Voter mit dieser ID). Anders als {@link #save}
+     * meldet ein Konflikt sich per Rückgabewert, damit Services ohne Exception
+     * neu laden und wiederholen können.
+     *
+     * @return false bei Konflikt; der Store bleibt dann unverändert
+     */
+    boolean saveIfVersion(Voter voter, long expectedVersion);
     
     /**
      * Findet einen Voter nach seiner voterId
+     * Implementierungen dürfen einen unveränderlichen Snapshot liefern; zum Ändern {@link Voter#copy()}.
      */
     Optional<Voter> findById(String voterId);
     
@@ -40,5 +56,20 @@ public interface VoterRepository {
      * Löscht einen Voter (für Tests/Admin-Operationen)
      */
     void delete(String voterId);
+
+    /**
+     * Anzahl der gespeicherten Voter (für Metriken)
+     */
+    int count();
+
+    /**
+     * Anzahl der Aufrufe von {@link #saveIfVersion} (für Metriken)
+     */
+    long conditionalSaves();
+
+    /**
+     * Anzahl der wegen eines Versionskonflikts abgelehnten Speichervorgänge (für Metriken)
+     */
+    long versionConflicts();
 }
 
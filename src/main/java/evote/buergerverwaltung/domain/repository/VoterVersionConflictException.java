@@ -0,0 +1,16 @@
+package evote.buergerverwaltung.domain.repository;
+
+/**
+ * Ein Voter wurde zwischen Laden und Speichern parallel geändert.
+ *
+ * Erweitert IllegalStateException, damit ein nicht aufgelöster Konflikt wie andere
+ * Zustandskonflikte als 409 Conflict beim Client ankommt. Services laden den Voter
+ * neu und wiederholen die Änderung.
+ */
+public class VoterVersionConflictException extends IllegalStateException {
+
+    public VoterVersionConflictException(String voterId, long expectedVersion, long actualVersion) {
+        super("Voter wurde parallel geändert: " + voterId
+                + " (erwartet v" + expectedVersion + ", aktuell v" + actualVersion + ")");
+    }
+}
@@ -42,5 +42,13 @@ public class VoterValidator {
             );
         }
     }
-}
 
+    /**
+     * Gleiche Prüfung wie {@link #validateForVoting}, aber ohne Exception.
+     *
+     * @return true, wenn der Voter existiert, verifiziert ist und noch nicht abgestimmt hat
+     */
+    public boolean isEligibleForVoting(Voter voter, Poll poll) {
+        return voter != null && voter.isVerified() && !voter.hasVoted(poll.getPollId());
+    }
+}
@@ -0,0 +1,13 @@
+package evote.buergerverwaltung.events;
+
+/**
+ * Domänenereignis: die E-Mail-Adresse eines Voters wurde geändert.
+ */
+public record VoterEmailChangedEvent(String voterId, String email) {
+
+    public VoterEmailChangedEvent {
+        if (voterId == null || email == null) {
+            throw new IllegalArgumentException("All event fields must be non-null");
+        }
+    }
+}
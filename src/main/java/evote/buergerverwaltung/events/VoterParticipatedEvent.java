@@ -0,0 +1,16 @@
+package evote.buergerverwaltung.events;
+
+/**
+ * Domänenereignis: ein Voter hat an einer Abstimmung teilgenommen.
+ * Trägt bewusst weder Option noch Zeitpunkt der Stimmabgabe – sonst ließe sich
+ * über den castAt des {@code VoteCastEvent} die Stimme dem Voter zuordnen.
+ * {@code VoteCastEvent} trägt umgekehrt keine voterId.
+ */
+public record VoterParticipatedEvent(String voterId, String pollId) {
+
+    public VoterParticipatedEvent {
+        if (voterId == null || pollId == null) {
+            throw new IllegalArgumentException("All event fields must be non-null");
+        }
+    }
+}
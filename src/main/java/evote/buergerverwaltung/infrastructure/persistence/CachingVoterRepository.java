@@ -0,0 +1,128 @@
+package evote.buergerverwaltung.infrastructure.persistence;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import evote.buergerverwaltung.domain.model.Voter;
+import evote.buergerverwaltung.domain.repository.VoterRepository;
+import evote.buergerverwaltung.domain.repository.VoterVersionConflictException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.util.Optional;
+
+/**
+ * Decorator, der findById vor einem persistenten Voter-Store (JDBC, LSM) aus einem
+ * begrenzten Cache beantwortet.
+ *
+ * Stimmabgabe, Voter-Abfrage und die Liste offener Abstimmungen lesen immer wieder
+ * dieselben aktiven Voter. Der Cache (Caffeine, W-TinyLFU) verdrängt nach Größe und
+ * berücksichtigt dabei die Zugriffshäufigkeit, damit ein einmaliger Scan die heißen
+ * Voter nicht verdrängt.
+ *
+ * Konsistenz:
+ * - Gecacht werden nur unveränderliche Snapshots; Leser bekommen dieselbe Instanz.
+ * - Nach erfolgreichem Speichern wird der neue Snapshot eingetragen (write-through);
+ *   überholt ein paralleler Schreiber, gewinnt die höhere Version.
+ * - Bei einem Versionskonflikt und bei delete wird der Eintrag verworfen, damit der
+ *   nächste Versuch frisch aus dem Store liest.
+ * - findByEmail und findByWahlkreis gehen immer an den Store.
+ *
+ * Metriken: cache.gets{cache=voters,result=hit|miss}, cache.evictions, cache.size u.a.
+ */
+public class CachingVoterRepository implements VoterRepository {
+
+    private static final String CACHE_NAME = "voters";
+
+    private final VoterRepository delegate;
+    private final Cache<String, Voter> cache;
+
+    public CachingVoterRepository(VoterRepository delegate, long maximumSize, MeterRegistry registry) {
+        if (delegate == null || registry == null) {
+            throw new IllegalArgumentException("delegate and registry must not be null");
+        }
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("maximumSize must be positive");
+        }
+        this.delegate = delegate;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+    }
+
+    @Override
+    public void save(Voter voter) {
+        try {
+            delegate.save(voter);
+        } catch (VoterVersionConflictException e) {
+            cache.invalidate(voter.getVoterId());
+            throw e;
+        }
+        cacheSaved(voter);
+    }
+
+    @Override
+    public boolean saveIfVersion(Voter voter, long expectedVersion) {
+        if (!delegate.saveIfVersion(voter, expectedVersion)) {
+            cache.invalidate(voter.getVoterId());
+            return false;
+        }
+        cacheSaved(voter);
+        return true;
+    }
+
+    @Override
+    public Optional<Voter> findById(String voterId) {
+        if (voterId == null) {
+            return Optional.empty();
+        }
+        // Unbekannte IDs werden nicht gecacht (Loader liefert null)
+        return Optional.ofNullable(cache.get(voterId, id -> delegate.findById(id).map(Voter::snapshot).orElse(null)));
+    }
+
+    @Override
+    public Optional<Voter> findByEmail(String email) {
+        return delegate.findByEmail(email);
+    }
+
+    @Override
+    public Iterable<Voter> findByWahlkreis(String wahlkreis) {
+        return delegate.findByWahlkreis(wahlkreis);
+    }
+
+    @Override
+    public void delete(String voterId) {
+        delegate.delete(voterId);
+        cache.invalidate(voterId);
+    }
+
+    @Override
+    public int count() {
+        return delegate.count();
+    }
+
+    @Override
+    public long conditionalSaves() {
+        return delegate.conditionalSaves();
+    }
+
+    @Override
+    public long versionConflicts() {
+        return delegate.versionConflicts();
+    }
+
+    /**
+     * Ungefähre Anzahl gecachter Voter (für Tests und Diagnose).
+     */
+    public long cachedVoters() {
+        cache.cleanUp();
+        return cache.estimatedSize();
+    }
+
+    private void cacheSaved(Voter voter) {
+        Voter snapshot = voter.snapshot();
+        cache.asMap().merge(snapshot.getVoterId(), snapshot,
+                (cached, saved) -> saved.getVersion() >= cached.getVersion() ? saved : cached);
+    }
+}
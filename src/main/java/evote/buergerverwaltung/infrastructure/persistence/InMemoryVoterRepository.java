@@ -2,32 +2,59 @@ package evote.buergerverwaltung.infrastructure.persistence;
 
 import evote.buergerverwaltung.domain.model.Voter;
 import evote.buergerverwaltung.domain.repository.VoterRepository;
+import evote.buergerverwaltung.domain.repository.VoterVersionConflictException;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * In-Memory-Implementierung des Repository-Ports der Domäne (Infrastruktur-Adapter).
+ *
+ * Pro Voter liegt ein unveränderlicher Snapshot in einer {@link AtomicReference}.
+ * Lesen ist damit wartefrei und liefert nie einen halb geänderten Voter.
+ * {@link #save} ersetzt den Snapshot per Compare-and-Set, wenn der Store noch die
+ * Version enthält, auf der die gespeicherte Instanz basiert; sonst
+ * {@link VoterVersionConflictException}. {@link #saveIfVersion} prüft gegen eine
+ * explizit übergebene Version und meldet Konflikte per Rückgabewert.
  */
 public class InMemoryVoterRepository implements VoterRepository {
 
-    private final Map<String, Voter> store = new HashMap<>();
+    private final Map<String, AtomicReference<Voter>> store = new ConcurrentHashMap<>();
+    private final LongAdder conditionalSaves = new LongAdder();
+    private final LongAdder conflicts = new LongAdder();
 
     @Override
     public void save(Voter voter) {
-        // Speichere die Referenz direkt - der Voter ist das Single Source of Truth
-        store.put(voter.getVoterId(), voter);
+        if (!compareAndSave(voter, voter.getPersistedVersion())) {
+            AtomicReference<Voter> ref = store.get(voter.getVoterId());
+            throw new VoterVersionConflictException(voter.getVoterId(), voter.getPersistedVersion(),
+                    ref == null ? ABSENT : ref.get().getVersion());
+        }
+    }
+
+    @Override
+    public boolean saveIfVersion(Voter voter, long expectedVersion) {
+        conditionalSaves.increment();
+        if (compareAndSave(voter, expectedVersion)) {
+            return true;
+        }
+        conflicts.increment();
+        return false;
     }
 
     @Override
     public Optional<Voter> findById(String voterId) {
-        // Gib die gespeicherte Referenz zurück
-        // Achtung: Das ist die gleiche Referenz, Änderungen am Voter werden sofort sichtbar
-        return Optional.ofNullable(store.get(voterId));
+        // Unveränderlicher Snapshot; zum Ändern Voter.copy() verwenden
+        AtomicReference<Voter> ref = store.get(voterId);
+        return ref == null ? Optional.empty() : Optional.of(ref.get());
     }
 
     @Override
     public Optional<Voter> findByEmail(String email) {
         return store.values().stream()
+                .map(AtomicReference::get)
                 .filter(v -> v.getEmail().toString().equalsIgnoreCase(email))
                 .findFirst();
     }
@@ -35,6 +62,7 @@ public class InMemoryVoterRepository implements VoterRepository {
     @Override
     public Iterable<Voter> findByWahlkreis(String wahlkreis) {
         return store.values().stream()
+                .map(AtomicReference::get)
                 .filter(v -> v.getWahlkreis().equalsIgnoreCase(wahlkreis))
                 .toList();
     }
@@ -43,4 +71,40 @@ public class InMemoryVoterRepository implements VoterRepository {
     public void delete(String voterId) {
         store.remove(voterId);
     }
+
+    @Override
+    public int count() {
+        return store.size();
+    }
+
+    @Override
+    public long conditionalSaves() {
+        return conditionalSaves.sum();
+    }
+
+    @Override
+    public long versionConflicts() {
+        return conflicts.sum();
+    }
+
+    private boolean compareAndSave(Voter voter, long expectedVersion) {
+        Voter next = voter.snapshot();
+        AtomicReference<Voter> ref = store.get(voter.getVoterId());
+        if (ref == null) {
+            if (expectedVersion != ABSENT) {
+                return false;
+            }
+            ref = store.putIfAbsent(voter.getVoterId(), new AtomicReference<>(next));
+            if (ref == null) {
+                voter.markPersisted();
+                return true;
+            }
+        }
+        Voter current = ref.get();
+        if (current.getVersion() != expectedVersion || !ref.compareAndSet(current, next)) {
+            return false;
+        }
+        voter.markPersisted();
+        return true;
+    }
 }
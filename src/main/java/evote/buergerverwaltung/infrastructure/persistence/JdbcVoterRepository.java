@@ -0,0 +1,326 @@
+package evote.buergerverwaltung.infrastructure.persistence;
+
+import evote.buergerverwaltung.domain.model.Voter;
+import evote.buergerverwaltung.domain.repository.VoterRepository;
+import evote.buergerverwaltung.domain.repository.VoterVersionConflictException;
+import evote.buergerverwaltung.domain.valueobjects.Adresse;
+import evote.buergerverwaltung.domain.valueobjects.Email;
+import evote.buergerverwaltung.domain.valueobjects.Name;
+import evote.infrastructure.jdbc.Jdbc;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * JDBC-Implementierung des Repository-Ports für Wähler (z.B. gegen H2 im Datei-Modus).
+ *
+ * Die Version des Voters liegt in der Tabelle; ein Update greift nur mit
+ * {@code WHERE version = ?} (optimistisches Sperren wie beim In-Memory-Store).
+ * Die Abstimmungen, an denen der Voter teilgenommen hat, stehen in voter_polls;
+ * beim Speichern werden nur die neu hinzugekommenen eingefügt.
+ *
+ * Gelesene Voter sind unveränderliche Snapshots; zum Ändern Voter.copy() verwenden.
+ */
+public class JdbcVoterRepository implements VoterRepository {
+
+    private static final String[] SCHEMA = {
+            """
+            CREATE TABLE IF NOT EXISTS voters (
+                voter_id           VARCHAR(255) PRIMARY KEY,
+                first_name         VARCHAR(255) NOT NULL,
+                last_name          VARCHAR(255) NOT NULL,
+                street             VARCHAR(255) NOT NULL,
+                house_number       VARCHAR(32)  NOT NULL,
+                address_complement VARCHAR(255),
+                postal_code        VARCHAR(5)   NOT NULL,
+                city               VARCHAR(255) NOT NULL,
+                email              VARCHAR(255),
+                geburtsdatum       DATE,
+                wahlkreis          VARCHAR(255),
+                verified           BOOLEAN      NOT NULL,
+                registered_at      TIMESTAMP(9),
+                version            BIGINT       NOT NULL
+            )""",
+            """
+            CREATE TABLE IF NOT EXISTS voter_polls (
+                voter_id VARCHAR(255) NOT NULL REFERENCES voters (voter_id) ON DELETE CASCADE,
+                poll_id  VARCHAR(255) NOT NULL,
+                PRIMARY KEY (voter_id, poll_id)
+            )"""
+    };
+    private static final String COLUMNS =
+            "first_name, last_name, street, house_number, address_complement, postal_code, city, "
+                    + "email, geburtsdatum, wahlkreis, verified, registered_at, version";
+    private static final String INSERT =
+            "INSERT INTO voters (" + COLUMNS + ", voter_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE =
+            "UPDATE voters SET first_name = ?, last_name = ?, street = ?, house_number = ?, address_complement = ?, "
+                    + "postal_code = ?, city = ?, email = ?, geburtsdatum = ?, wahlkreis = ?, verified = ?, "
+                    + "registered_at = ?, version = ? WHERE voter_id = ? AND version = ?";
+    private static final String SELECT =
+            "SELECT v.voter_id, v.first_name, v.last_name, v.street, v.house_number, v.address_complement, "
+                    + "v.postal_code, v.city, v.email, v.geburtsdatum, v.wahlkreis, v.verified, v.registered_at, "
+                    + "v.version, p.poll_id FROM voters v LEFT JOIN voter_polls p ON p.voter_id = v.voter_id";
+
+    private final DataSource dataSource;
+    private final LongAdder conditionalSaves = new LongAdder();
+    private final LongAdder conflicts = new LongAdder();
+
+    public JdbcVoterRepository(DataSource dataSource) {
+        if (dataSource == null) {
+            throw new IllegalArgumentException("dataSource must not be null");
+        }
+        this.dataSource = dataSource;
+        Jdbc.executeDdl(dataSource, SCHEMA);
+    }
+
+    @Override
+    public void save(Voter voter) {
+        if (!compareAndSave(voter, voter.getPersistedVersion())) {
+            throw new VoterVersionConflictException(voter.getVoterId(), voter.getPersistedVersion(),
+                    storedVersion(voter.getVoterId()));
+        }
+    }
+
+    @Override
+    public boolean saveIfVersion(Voter voter, long expectedVersion) {
+        conditionalSaves.increment();
+        if (compareAndSave(voter, expectedVersion)) {
+            return true;
+        }
+        conflicts.increment();
+        return false;
+    }
+
+    @Override
+    public Optional<Voter> findById(String voterId) {
+        if (voterId == null) {
+            return Optional.empty();
+        }
+        List<Voter> voters = select(" WHERE v.voter_id = ?", voterId);
+        return voters.isEmpty() ? Optional.empty() : Optional.of(voters.get(0));
+    }
+
+    @Override
+    public Optional<Voter> findByEmail(String email) {
+        if (email == null) {
+            return Optional.empty();
+        }
+        List<Voter> voters = select(" WHERE LOWER(v.email) = LOWER(?)", email);
+        return voters.isEmpty() ? Optional.empty() : Optional.of(voters.get(0));
+    }
+
+    @Override
+    public Iterable<Voter> findByWahlkreis(String wahlkreis) {
+        if (wahlkreis == null) {
+            return List.of();
+        }
+        return select(" WHERE LOWER(v.wahlkreis) = LOWER(?)", wahlkreis);
+    }
+
+    @Override
+    public void delete(String voterId) {
+        // voter_polls wird per ON DELETE CASCADE mitgelöscht
+        Jdbc.query(dataSource, connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("DELETE FROM voters WHERE voter_id = ?")) {
+                statement.setString(1, voterId);
+                return statement.executeUpdate();
+            }
+        });
+    }
+
+    @Override
+    public int count() {
+        return Jdbc.query(dataSource, connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("SELECT COUNT(*) FROM voters");
+                 ResultSet rs = statement.executeQuery()) {
+                rs.next();
+                return rs.getInt(1);
+            }
+        });
+    }
+
+    @Override
+    public long conditionalSaves() {
+        return conditionalSaves.sum();
+    }
+
+    @Override
+    public long versionConflicts() {
+        return conflicts.sum();
+    }
+
+    private boolean compareAndSave(Voter voter, long expectedVersion) {
+        boolean saved = Jdbc.inTransaction(dataSource, connection -> {
+            if (expectedVersion == ABSENT) {
+                if (!insertVoter(connection, voter)) {
+                    return false;
+                }
+            } else if (!updateVoter(connection, voter, expectedVersion)) {
+                return false;
+            }
+            syncVotedPolls(connection, voter);
+            return true;
+        });
+        if (saved) {
+            voter.markPersisted();
+        }
+        return saved;
+    }
+
+    private static boolean insertVoter(Connection connection, Voter voter) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(INSERT)) {
+            bind(statement, voter);
+            statement.executeUpdate();
+            return true;
+        } catch (SQLException e) {
+            if (Jdbc.isUniqueViolation(e)) {
+                return false; // voterId bereits vergeben
+            }
+            throw e;
+        }
+    }
+
+    private static boolean updateVoter(Connection connection, Voter voter, long expectedVersion) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(UPDATE)) {
+            bind(statement, voter);
+            statement.setLong(15, expectedVersion);
+            return statement.executeUpdate() == 1;
+        }
+    }
+
+    private static void syncVotedPolls(Connection connection, Voter voter) throws SQLException {
+        Set<String> missing = voter.getVotedPollIds();
+        try (PreparedStatement select = connection.prepareStatement(
+                "SELECT poll_id FROM voter_polls WHERE voter_id = ?")) {
+            select.setString(1, voter.getVoterId());
+            try (ResultSet rs = select.executeQuery()) {
+                while (rs.next()) {
+                    missing.remove(rs.getString(1));
+                }
+            }
+        }
+        if (missing.isEmpty()) {
+            return;
+        }
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO voter_polls (voter_id, poll_id) VALUES (?, ?)")) {
+            for (String pollId : missing) {
+                insert.setString(1, voter.getVoterId());
+                insert.setString(2, pollId);
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+    }
+
+    private static void bind(PreparedStatement statement, Voter voter) throws SQLException {
+        Name name = voter.getName();
+        Adresse adresse = voter.getAdresse();
+        statement.setString(1, name.getFirstName());
+        statement.setString(2, name.getLastName());
+        statement.setString(3, adresse.getStreet());
+        statement.setString(4, adresse.getHouseNumber());
+        statement.setString(5, adresse.getAddressComplement());
+        statement.setString(6, adresse.getPostalCode());
+        statement.setString(7, adresse.getCity());
+        statement.setString(8, voter.getEmail() == null ? null : voter.getEmail().value());
+        statement.setObject(9, voter.getGeburtsdatum());
+        statement.setString(10, voter.getWahlkreis());
+        statement.setBoolean(11, voter.isVerified());
+        statement.setObject(12, voter.getRegisteredAt());
+        statement.setLong(13, voter.getVersion());
+        statement.setString(14, voter.getVoterId());
+    }
+
+    private long storedVersion(String voterId) {
+        return Jdbc.query(dataSource, connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "SELECT version FROM voters WHERE voter_id = ?")) {
+                statement.setString(1, voterId);
+                try (ResultSet rs = statement.executeQuery()) {
+                    return rs.next() ? rs.getLong(1) : ABSENT;
+                }
+            }
+        });
+    }
+
+    /**
+     * Liest Voter samt Abstimmungen in einer Abfrage (LEFT JOIN, eine Zeile pro Abstimmung).
+     */
+    private List<Voter> select(String where, String parameter) {
+        return Jdbc.query(dataSource, connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(SELECT + where + " ORDER BY v.voter_id")) {
+                statement.setString(1, parameter);
+                Map<String, Row> rows = new LinkedHashMap<>();
+                try (ResultSet rs = statement.executeQuery()) {
+                    while (rs.next()) {
+                        Row row = rows.get(rs.getString("voter_id"));
+                        if (row == null) {
+                            row = new Row(rs);
+                            rows.put(row.voterId, row);
+                        }
+                        String pollId = rs.getString("poll_id");
+                        if (pollId != null) {
+                            row.votedPollIds.add(pollId);
+                        }
+                    }
+                }
+                List<Voter> voters = new ArrayList<>(rows.size());
+                for (Row row : rows.values()) {
+                    voters.add(row.toVoter());
+                }
+                return voters;
+            }
+        });
+    }
+
+    /**
+     * Spalten eines Voters aus der ersten Zeile des Joins.
+     */
+    private static final class Row {
+
+        final String voterId;
+        final Name name;
+        final Adresse adresse;
+        final Email email;
+        final LocalDate geburtsdatum;
+        final String wahlkreis;
+        final boolean verified;
+        final LocalDateTime registeredAt;
+        final long version;
+        final Set<String> votedPollIds = new HashSet<>();
+
+        Row(ResultSet rs) throws SQLException {
+            this.voterId = rs.getString("voter_id");
+            this.name = new Name(rs.getString("first_name"), rs.getString("last_name"));
+            this.adresse = new Adresse(rs.getString("street"), rs.getString("house_number"),
+                    rs.getString("address_complement"), rs.getString("postal_code"), rs.getString("city"));
+            String mail = rs.getString("email");
+            this.email = mail == null ? null : new Email(mail);
+            this.geburtsdatum = rs.getObject("geburtsdatum", LocalDate.class);
+            this.wahlkreis = rs.getString("wahlkreis");
+            this.verified = rs.getBoolean("verified");
+            this.registeredAt = rs.getObject("registered_at", LocalDateTime.class);
+            this.version = rs.getLong("version");
+        }
+
+        Voter toVoter() {
+            return Voter.reconstruct(voterId, name, adresse, email, geburtsdatum, wahlkreis,
+                    verified, registeredAt, votedPollIds, version).snapshot();
+        }
+    }
+}
@@ -0,0 +1,290 @@
+package evote.buergerverwaltung.infrastructure.persistence;
+
+import evote.buergerverwaltung.domain.model.Voter;
+import evote.buergerverwaltung.domain.repository.VoterRepository;
+import evote.buergerverwaltung.domain.repository.VoterVersionConflictException;
+import evote.buergerverwaltung.domain.valueobjects.Adresse;
+import evote.buergerverwaltung.domain.valueobjects.Email;
+import evote.buergerverwaltung.domain.valueobjects.Name;
+import evote.infrastructure.lsm.LsmStore;
+import evote.infrastructure.lsm.WriteBatch;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Wähler-Repository auf dem eingebetteten {@link LsmStore}.
+ *
+ * Schlüssel (E-Mail und Wahlkreis klein geschrieben, wie die Suche):
+ * - voter\0{voterId}                  → Voter samt Version und Abstimmungen
+ * - voter-email\0{email}              → voterId
+ * - voter-wk\0{wahlkreis}\0{voterId}  → leer; {@link #findByWahlkreis} ist ein Präfix-Scan
+ * - voter-meta\0count                 → Anzahl der Voter
+ *
+ * Versionsvergleich und Schreiben laufen unter einem Lock; Datensatz, Indizes und
+ * Zähler gehen als ein {@link WriteBatch} in den Store. Gelesene Voter sind
+ * unveränderliche Snapshots; zum Ändern Voter.copy() verwenden.
+ */
+public class LsmVoterRepository implements VoterRepository {
+
+    private static final String VOTER = "voter\0";
+    private static final String EMAIL = "voter-email\0";
+    private static final String WAHLKREIS = "voter-wk\0";
+    private static final String COUNT = "voter-meta\0count";
+    private static final byte[] EMPTY = new byte[0];
+
+    private final LsmStore store;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final AtomicInteger count;
+    private final LongAdder conditionalSaves = new LongAdder();
+    private final LongAdder conflicts = new LongAdder();
+
+    public LsmVoterRepository(LsmStore store) {
+        if (store == null) {
+            throw new IllegalArgumentException("store must not be null");
+        }
+        this.store = store;
+        byte[] stored = store.get(COUNT);
+        this.count = new AtomicInteger(stored == null ? 0 : ByteBuffer.wrap(stored).getInt());
+    }
+
+    @Override
+    public void save(Voter voter) {
+        if (!compareAndSave(voter, voter.getPersistedVersion())) {
+            Voter current = find(voter.getVoterId());
+            throw new VoterVersionConflictException(voter.getVoterId(), voter.getPersistedVersion(),
+                    current == null ? ABSENT : current.getVersion());
+        }
+    }
+
+    @Override
+    public boolean saveIfVersion(Voter voter, long expectedVersion) {
+        conditionalSaves.increment();
+        if (compareAndSave(voter, expectedVersion)) {
+            return true;
+        }
+        conflicts.increment();
+        return false;
+    }
+
+    @Override
+    public Optional<Voter> findById(String voterId) {
+        return voterId == null ? Optional.empty() : Optional.ofNullable(find(voterId));
+    }
+
+    @Override
+    public Optional<Voter> findByEmail(String email) {
+        if (email == null) {
+            return Optional.empty();
+        }
+        byte[] voterId = store.get(EMAIL + email.toLowerCase(Locale.ROOT));
+        return voterId == null ? Optional.empty() : findById(new String(voterId, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public Iterable<Voter> findByWahlkreis(String wahlkreis) {
+        if (wahlkreis == null) {
+            return List.of();
+        }
+        String prefix = WAHLKREIS + wahlkreis.toLowerCase(Locale.ROOT) + "\0";
+        List<Voter> voters = new ArrayList<>();
+        for (LsmStore.Entry entry : store.scan(prefix)) {
+            Voter voter = find(entry.key().substring(prefix.length()));
+            if (voter != null) {
+                voters.add(voter);
+            }
+        }
+        return voters;
+    }
+
+    @Override
+    public void delete(String voterId) {
+        if (voterId == null) {
+            return;
+        }
+        writeLock.lock();
+        try {
+            Voter current = find(voterId);
+            if (current == null) {
+                return;
+            }
+            WriteBatch batch = new WriteBatch().delete(VOTER + voterId);
+            deleteIndexes(batch, current, null);
+            batch.put(COUNT, encodeCount(count.get() - 1));
+            store.write(batch);
+            count.decrementAndGet();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public int count() {
+        return count.get();
+    }
+
+    @Override
+    public long conditionalSaves() {
+        return conditionalSaves.sum();
+    }
+
+    @Override
+    public long versionConflicts() {
+        return conflicts.sum();
+    }
+
+    /**
+     * Schreibt den Voter, wenn die gespeicherte Version expectedVersion entspricht
+     * (bzw. noch kein Voter existiert und ABSENT erwartet wird).
+     */
+    private boolean compareAndSave(Voter voter, long expectedVersion) {
+        writeLock.lock();
+        try {
+            Voter current = find(voter.getVoterId());
+            if ((current == null ? ABSENT : current.getVersion()) != expectedVersion) {
+                return false;
+            }
+            WriteBatch batch = new WriteBatch().put(VOTER + voter.getVoterId(), encode(voter));
+            if (current == null) {
+                batch.put(COUNT, encodeCount(count.get() + 1));
+            } else {
+                deleteIndexes(batch, current, voter);
+            }
+            if (voter.getEmail() != null) {
+                batch.put(emailKey(voter), voter.getVoterId().getBytes(StandardCharsets.UTF_8));
+            }
+            if (voter.getWahlkreis() != null) {
+                batch.put(wahlkreisKey(voter), EMPTY);
+            }
+            store.write(batch);
+            if (current == null) {
+                count.incrementAndGet();
+            }
+            voter.markPersisted();
+            return true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /** Entfernt die Indizes von previous, die next nicht mehr belegt (next == null: alle). */
+    private void deleteIndexes(WriteBatch batch, Voter previous, Voter next) {
+        if (previous.getEmail() != null) {
+            String key = emailKey(previous);
+            byte[] owner = store.get(key);
+            boolean ownedByPrevious = owner != null
+                    && previous.getVoterId().equals(new String(owner, StandardCharsets.UTF_8));
+            if (ownedByPrevious && (next == null || next.getEmail() == null || !key.equals(emailKey(next)))) {
+                batch.delete(key);
+            }
+        }
+        if (previous.getWahlkreis() != null
+                && (next == null || next.getWahlkreis() == null || !wahlkreisKey(previous).equals(wahlkreisKey(next)))) {
+            batch.delete(wahlkreisKey(previous));
+        }
+    }
+
+    private static String emailKey(Voter voter) {
+        return EMAIL + voter.getEmail().value().toLowerCase(Locale.ROOT);
+    }
+
+    private static String wahlkreisKey(Voter voter) {
+        return WAHLKREIS + voter.getWahlkreis().toLowerCase(Locale.ROOT) + "\0" + voter.getVoterId();
+    }
+
+    private static byte[] encodeCount(int value) {
+        return ByteBuffer.allocate(Integer.BYTES).putInt(value).array();
+    }
+
+    private Voter find(String voterId) {
+        byte[] bytes = store.get(VOTER + voterId);
+        return bytes == null ? null : decode(bytes);
+    }
+
+    private static byte[] encode(Voter voter) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+            DataOutputStream out = new DataOutputStream(bytes);
+            Name name = voter.getName();
+            Adresse adresse = voter.getAdresse();
+            out.writeUTF(voter.getVoterId());
+            out.writeUTF(name.getFirstName());
+            out.writeUTF(name.getLastName());
+            out.writeUTF(adresse.getStreet());
+            out.writeUTF(adresse.getHouseNumber());
+            writeNullable(out, adresse.getAddressComplement());
+            out.writeUTF(adresse.getPostalCode());
+            out.writeUTF(adresse.getCity());
+            writeNullable(out, voter.getEmail() == null ? null : voter.getEmail().value());
+            writeNullable(out, voter.getGeburtsdatum() == null ? null : voter.getGeburtsdatum().toString());
+            writeNullable(out, voter.getWahlkreis());
+            out.writeBoolean(voter.isVerified());
+            writeNullable(out, voter.getRegisteredAt() == null ? null : voter.getRegisteredAt().toString());
+            out.writeLong(voter.getVersion());
+            Set<String> pollIds = voter.getVotedPollIds();
+            out.writeInt(pollIds.size());
+            for (String pollId : pollIds) {
+                out.writeUTF(pollId);
+            }
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Voter decode(byte[] bytes) {
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+            String voterId = in.readUTF();
+            Name name = new Name(in.readUTF(), in.readUTF());
+            Adresse adresse = new Adresse(in.readUTF(), in.readUTF(), readNullable(in), in.readUTF(), in.readUTF());
+            String mail = readNullable(in);
+            String geburtsdatum = readNullable(in);
+            String wahlkreis = readNullable(in);
+            boolean verified = in.readBoolean();
+            String registeredAt = readNullable(in);
+            long version = in.readLong();
+            int pollCount = in.readInt();
+            Set<String> pollIds = new HashSet<>(pollCount * 2);
+            for (int i = 0; i < pollCount; i++) {
+                pollIds.add(in.readUTF());
+            }
+            return Voter.reconstruct(voterId, name, adresse,
+                    mail == null ? null : new Email(mail),
+                    geburtsdatum == null ? null : LocalDate.parse(geburtsdatum),
+                    wahlkreis, verified,
+                    registeredAt == null ? null : LocalDateTime.parse(registeredAt),
+                    pollIds, version).snapshot();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
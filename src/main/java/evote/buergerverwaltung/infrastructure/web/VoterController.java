@@ -1,10 +1,15 @@
 package evote.buergerverwaltung.infrastructure.web;
 
 import evote.buergerverwaltung.application.VoterService;
+import evote.buergerverwaltung.application.dto.VersionedVoterResponse;
 import evote.buergerverwaltung.application.dto.VoterCreateRequest;
 import evote.buergerverwaltung.application.dto.VoterResponse;
 import evote.buergerverwaltung.application.dto.VoterUpdateRequest;
+import evote.config.EntityTags;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import jakarta.validation.Valid;
 
@@ -28,14 +33,35 @@ public class VoterController {
         return service.create(req);
     }
 
+    /**
+     * GET /api/voter/{id}
+     *
+     * Bedingter GET: stimmt If-None-Match mit der aktuellen Version überein,
+     * wird 304 ohne Mapping und Serialisierung geliefert.
+     */
     @GetMapping("/{id}")
-    public VoterResponse getById(@PathVariable("id") String id) {
-        return service.getById(id);
+    public ResponseEntity<VoterResponse> getById(@PathVariable("id") String id, WebRequest request) {
+        String etag = etag(id);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(service.getById(id));
     }
 
     @PutMapping("/{id}")
-    public VoterResponse updateProfile(@PathVariable("id") String id,
-                                       @RequestBody @Valid VoterUpdateRequest request) {
-        return service.updateEmail(id, request.email());
+    public ResponseEntity<VoterResponse> updateProfile(@PathVariable("id") String id,
+                                                       @RequestBody @Valid VoterUpdateRequest request) {
+        // ETag aus dem gespeicherten Stand: eine Stimmabgabe danach darf ihn nicht überholen
+        VersionedVoterResponse updated = service.updateEmailVersioned(id, request.email());
+        return ResponseEntity.ok()
+                .eTag(EntityTags.of("voter", id, updated.version()))
+                .body(updated.voter());
+    }
+
+    private String etag(String id) {
+        return EntityTags.of("voter", id, service.versionOf(id));
     }
 }
@@ -0,0 +1,36 @@
+package evote.buergerverwaltung.infrastructure.web;
+
+import evote.buergerverwaltung.application.VoterDashboardProjection;
+import evote.buergerverwaltung.application.dto.VoterDashboard;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST-Adapter für das Bürger-Dashboard: liefert Profil, Teilnahmen und offene
+ * Abstimmungen in einem Aufruf aus dem Lesemodell.
+ */
+@RestController
+@RequestMapping("/api/voter")
+@CrossOrigin(origins = "http://localhost:3000")
+public class VoterDashboardController {
+
+    private final VoterDashboardProjection projection;
+
+    public VoterDashboardController(VoterDashboardProjection projection) {
+        this.projection = projection;
+    }
+
+    /**
+     * GET /api/voter/{id}/dashboard
+     *
+     * Das Lesemodell wird asynchron nachgeführt; eine gerade abgegebene Stimme
+     * erscheint mit kurzer Verzögerung.
+     */
+    @GetMapping("/{id}/dashboard")
+    public VoterDashboard dashboard(@PathVariable("id") String id) {
+        return projection.dashboard(id);
+    }
+}
@@ -11,6 +11,7 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
  * - Kein Teil der Domänenlogik
  * - Gilt für alle REST-Adapter (/api/**)
  * - Erlaubt Frontend-Zugriff von localhost:3000
+ * - Gibt den ETag-Header für bedingte GETs an das Frontend frei
  */
 @Configuration
 public class CorsConfiguration implements WebMvcConfigurer {
@@ -20,6 +21,7 @@ public class CorsConfiguration implements WebMvcConfigurer {
         registry.addMapping("/api/**")
                 .allowedOrigins("http://localhost:3000")
                 .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
-                .allowedHeaders("*");
+                .allowedHeaders("*")
+                .exposedHeaders("ETag");
     }
 }
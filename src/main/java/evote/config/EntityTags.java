@@ -0,0 +1,31 @@
+package evote.config;
+
+/**
+ * Erzeugt HTTP-ETags aus Identität und Versionsstempel eines Aggregats.
+ *
+ * Die Tags sind schwach (W/"…"): sie stehen für den Inhalt, nicht für die Bytes auf
+ * der Leitung, und gelten damit für komprimierte wie unkomprimierte Antworten gleich.
+ * Tomcat komprimiert Antworten mit starkem ETag nicht. If-None-Match vergleicht
+ * ohnehin schwach, bedingte GETs liefern also weiterhin 304.
+ *
+ * Die Versionen der In-Memory-Aggregate beginnen nach jedem Neustart wieder bei 0.
+ * Damit ein Client nach einem Neustart kein veraltetes 304 erhält, enthält jedes
+ * Tag die Startzeit dieses Prozesses (Epoche).
+ */
+public final class EntityTags {
+
+    private static final String EPOCH = Long.toString(System.currentTimeMillis(), 36);
+
+    private EntityTags() {
+    }
+
+    /**
+     * @param kind    Art der Ressource (z.B. "voter", "poll")
+     * @param id      fachliche ID oder Name der Liste
+     * @param version Versionsstempel bzw. Fingerabdruck der Repräsentation
+     * @return schwacher ETag inklusive Anführungszeichen
+     */
+    public static String of(String kind, String id, long version) {
+        return "W/\"" + kind + "-" + EPOCH + "-" + Integer.toHexString(id.hashCode()) + "-" + Long.toHexString(version) + "\"";
+    }
+}
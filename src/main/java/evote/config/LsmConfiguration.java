@@ -0,0 +1,73 @@
+package evote.config;
+
+import evote.infrastructure.lsm.LsmBlockCache;
+import evote.infrastructure.lsm.LsmStore;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+
+/**
+ * Eingebetteter LSM-Store für Wähler und Stimmen (evote.persistence.backend=lsm).
+ *
+ * Schreibzugriffe landen sequenziell im Write-Ahead-Log und im Memtable, der Bestand
+ * liegt in sortierten SSTables auf der Platte und darf damit größer als der Heap sein.
+ * Gelesene Blöcke hält der {@link LsmBlockCache}; seine Größe ist der wichtigste
+ * Stellhebel zwischen Heap-Verbrauch und Leselatenz.
+ */
+@Configuration
+@ConditionalOnProperty(name = "evote.persistence.backend", havingValue = "lsm")
+public class LsmConfiguration {
+
+    @Bean
+    public LsmBlockCache lsmBlockCache(
+            @Value("${evote.persistence.lsm.block-cache-size:64MB}") DataSize blockCacheSize) {
+        return new LsmBlockCache(blockCacheSize.toBytes());
+    }
+
+    @Bean(destroyMethod = "close")
+    public LsmStore lsmStore(
+            @Value("${evote.persistence.lsm.directory:./data/lsm}") Path directory,
+            @Value("${evote.persistence.lsm.memtable-size:16MB}") DataSize memtableSize,
+            @Value("${evote.persistence.lsm.compaction-trigger:4}") int compactionTrigger,
+            @Value("${evote.persistence.lsm.sync-writes:false}") boolean syncWrites,
+            LsmBlockCache blockCache) {
+        return new LsmStore(directory,
+                new LsmStore.Options(memtableSize.toBytes(), compactionTrigger, syncWrites), blockCache);
+    }
+
+    @Bean
+    public MeterBinder lsmStoreMetrics(LsmStore store) {
+        return registry -> {
+            LsmBlockCache cache = store.blockCache();
+            FunctionCounter.builder("evote.lsm.block.cache", cache, LsmBlockCache::hits)
+                    .description("Lesezugriffe auf SSTable-Blöcke")
+                    .tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("evote.lsm.block.cache", cache, LsmBlockCache::misses)
+                    .description("Lesezugriffe auf SSTable-Blöcke")
+                    .tag("result", "miss")
+                    .register(registry);
+            Gauge.builder("evote.lsm.block.cache.size", cache, LsmBlockCache::sizeInBytes)
+                    .description("Belegte Bytes im Block-Cache")
+                    .baseUnit("bytes")
+                    .register(registry);
+            Gauge.builder("evote.lsm.tables", store, LsmStore::tableCount)
+                    .description("Anzahl SSTables auf der Platte")
+                    .register(registry);
+            Gauge.builder("evote.lsm.memtable.size", store, LsmStore::memtableBytes)
+                    .description("Ungefähre Größe des Memtables")
+                    .baseUnit("bytes")
+                    .register(registry);
+            FunctionCounter.builder("evote.lsm.compactions", store, LsmStore::compactionCount)
+                    .description("Abgeschlossene Kompaktierungen")
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,74 @@
+package evote.config;
+
+import evote.abstimmungsverwaltung.domain.repository.PollRepository;
+import evote.buergerverwaltung.domain.repository.VoterRepository;
+import evote.stimmvergabe.domain.repository.VoteRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Konfiguration der technischen Metriken.
+ *
+ * Infrastruktur-Konfiguration:
+ * - Registriert die Größen der Repositories als Gauges (evote.repository.size)
+ * - Zählt versionsgeprüfte Speichervorgänge und Konflikte pro Repository
+ *   (evote.repository.conditional.saves, evote.repository.conflicts); die Konfliktrate
+ *   zeigt, welche Aggregate feiner aufgeteilt werden sollten
+ * - Export im Prometheus-Textformat über /actuator/prometheus
+ */
+@Configuration
+public class MetricsConfiguration {
+
+    @Bean
+    public MeterBinder repositorySizeMetrics(VoteRepository voteRepository,
+                                             VoterRepository voterRepository,
+                                             PollRepository pollRepository) {
+        return registry -> {
+            Gauge.builder("evote.repository.size", voteRepository, VoteRepository::count)
+                    .description("Anzahl gespeicherter Aggregate")
+                    .tag("repository", "vote")
+                    .register(registry);
+            Gauge.builder("evote.repository.size", voterRepository, VoterRepository::count)
+                    .description("Anzahl gespeicherter Aggregate")
+                    .tag("repository", "voter")
+                    .register(registry);
+            Gauge.builder("evote.repository.size", pollRepository, PollRepository::count)
+                    .description("Anzahl gespeicherter Aggregate")
+                    .tag("repository", "poll")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder repositoryConflictMetrics(VoteRepository voteRepository,
+                                                 VoterRepository voterRepository,
+                                                 PollRepository pollRepository) {
+        return registry -> {
+            registerConflictCounters(registry, "vote", voteRepository,
+                    VoteRepository::conditionalSaves, VoteRepository::versionConflicts);
+            registerConflictCounters(registry, "voter", voterRepository,
+                    VoterRepository::conditionalSaves, VoterRepository::versionConflicts);
+            registerConflictCounters(registry, "poll", pollRepository,
+                    PollRepository::conditionalSaves, PollRepository::versionConflicts);
+        };
+    }
+
+    private static <T> void registerConflictCounters(MeterRegistry registry, String repository, T repo,
+                                                     ToDoubleFunction<T> saves,
+                                                     ToDoubleFunction<T> conflicts) {
+        FunctionCounter.builder("evote.repository.conditional.saves", repo, saves)
+                .description("Versionsgeprüfte Speichervorgänge (saveIfVersion)")
+                .tag("repository", repository)
+                .register(registry);
+        FunctionCounter.builder("evote.repository.conflicts", repo, conflicts)
+                .description("Wegen eines Versionskonflikts abgelehnte Speichervorgänge")
+                .tag("repository", repository)
+                .register(registry);
+    }
+}
@@ -1,37 +1,122 @@
 package evote.config;
 
 import evote.stimmvergabe.domain.repository.VoteRepository;
+import evote.stimmvergabe.infrastructure.persistence.BloomFilteredVoteRepository;
 import evote.stimmvergabe.infrastructure.persistence.InMemoryVoteRepository;
+import evote.stimmvergabe.infrastructure.persistence.JdbcVoteRepository;
+import evote.stimmvergabe.infrastructure.persistence.LsmVoteRepository;
+import evote.stimmvergabe.infrastructure.persistence.OffHeapVoteRepository;
+import evote.stimmvergabe.infrastructure.persistence.PackedVoteRepository;
+import evote.stimmvergabe.infrastructure.persistence.ScalableBloomFilter;
 import evote.stimmvergabe.application.DomainEventPublisher;
 import evote.buergerverwaltung.domain.repository.VoterRepository;
+import evote.buergerverwaltung.infrastructure.persistence.CachingVoterRepository;
 import evote.buergerverwaltung.infrastructure.persistence.InMemoryVoterRepository;
+import evote.buergerverwaltung.infrastructure.persistence.JdbcVoterRepository;
+import evote.buergerverwaltung.infrastructure.persistence.LsmVoterRepository;
 import evote.abstimmungsverwaltung.domain.repository.PollRepository;
 import evote.abstimmungsverwaltung.infrastructure.persistence.InMemoryPollRepository;
+import evote.abstimmungsverwaltung.infrastructure.persistence.JdbcPollRepository;
+import evote.infrastructure.lsm.LsmStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import javax.sql.DataSource;
 import java.time.Clock;
+import java.time.Duration;
 
 /**
  * Configuration für die Persistenz-Layer.
- * Registriert die In-Memory Repository-Implementierungen als Spring Beans.
+ * Registriert die Repository-Implementierungen als Spring Beans.
+ *
+ * Das Backend ist über evote.persistence.backend wählbar:
+ * - memory (Standard): In-Memory-Repositories, Vote-Store siehe unten
+ * - jdbc: JDBC-Repositories auf dem Pool aus {@link JdbcConfiguration}
+ *   (evote.persistence.jdbc.*, Standard H2 im Datei-Modus)
+ * - lsm: Wähler und Stimmen im eingebetteten LSM-Store aus {@link LsmConfiguration}
+ *   (evote.persistence.lsm.*); die wenigen, häufig gelesenen Abstimmungen bleiben in-memory
+ *
+ * Vor die persistenten Voter-Stores (jdbc, lsm) wird ein größenbegrenzter Cache
+ * geschaltet (evote.persistence.voter-cache.maximum-size, 0 = aus).
+ *
+ * Der Vote-Store des memory-Backends ist über evote.persistence.vote-store wählbar:
+ * - in-memory (Standard): Map-basiert, hält die Vote-Objekte; correlationIds
+ *   laufen nach evote.vote.idempotency-retention ab
+ * - packed: kompakte, spaltenweise Ablage mit internierten IDs
+ * - off-heap: Datensätze und Indizes in Direct-Buffern außerhalb des Heaps
+ *
+ * Optional wird ein Bloom-Filter für correlationId-Lookups vorgeschaltet
+ * (evote.persistence.correlation-filter.*). Vor dem in-memory Store rotiert er über
+ * dasselbe Idempotenz-Fenster, vor allen anderen wächst er bis max-stages.
  */
 @Configuration
 public class PersistenceConfiguration {
 
     @Bean
-    public VoteRepository voteRepository() {
-        return new InMemoryVoteRepository();
+    public VoteRepository voteRepository(
+            @Value("${evote.persistence.backend:memory}") String backend,
+            @Value("${evote.persistence.vote-store:in-memory}") String voteStore,
+            @Value("${evote.persistence.off-heap.expected-votes:0}") int expectedVotes,
+            @Value("${evote.persistence.correlation-filter.enabled:false}") boolean correlationFilter,
+            @Value("${evote.persistence.correlation-filter.initial-capacity:1000000}") int filterCapacity,
+            @Value("${evote.persistence.correlation-filter.fpp:0.01}") double filterFpp,
+            @Value("${evote.persistence.correlation-filter.max-stages:8}") int filterMaxStages,
+            @Value("${evote.vote.idempotency-retention:PT24H}") Duration idempotencyRetention,
+            @Value("${evote.persistence.jdbc.vote-batch-size:256}") int voteBatchSize,
+            ObjectProvider<DataSource> dataSource,
+            ObjectProvider<LsmStore> lsmStore,
+            MeterRegistry meterRegistry,
+            Clock clock) {
+        VoteRepository store = switch (backend(backend)) {
+            case "jdbc" -> new JdbcVoteRepository(dataSource.getObject(), voteBatchSize);
+            case "lsm" -> new LsmVoteRepository(lsmStore.getObject());
+            default -> switch (voteStore) {
+                case "in-memory" -> new InMemoryVoteRepository(idempotencyRetention, clock);
+                case "packed" -> new PackedVoteRepository();
+                case "off-heap" -> new OffHeapVoteRepository(expectedVotes);
+                default -> throw new IllegalArgumentException("unknown vote store: " + voteStore);
+            };
+        };
+        if (!correlationFilter) {
+            return store;
+        }
+        if (store instanceof InMemoryVoteRepository) {
+            // Store vergisst correlationIds nach dem Idempotenz-Fenster: Filter rotiert mit
+            return new BloomFilteredVoteRepository(store, filterCapacity, filterFpp, filterMaxStages,
+                    idempotencyRetention, clock, meterRegistry);
+        }
+        return new BloomFilteredVoteRepository(store,
+                new ScalableBloomFilter(filterCapacity, filterFpp, filterMaxStages), meterRegistry);
     }
 
     @Bean
-    public VoterRepository voterRepository() {
-        return new InMemoryVoterRepository();
+    public VoterRepository voterRepository(
+            @Value("${evote.persistence.backend:memory}") String backend,
+            @Value("${evote.persistence.voter-cache.maximum-size:100000}") long voterCacheSize,
+            ObjectProvider<DataSource> dataSource,
+            ObjectProvider<LsmStore> lsmStore,
+            MeterRegistry meterRegistry) {
+        VoterRepository store = switch (backend(backend)) {
+            case "jdbc" -> new JdbcVoterRepository(dataSource.getObject());
+            case "lsm" -> new LsmVoterRepository(lsmStore.getObject());
+            default -> new InMemoryVoterRepository();
+        };
+        if (store instanceof InMemoryVoterRepository || voterCacheSize <= 0) {
+            return store;
+        }
+        return new CachingVoterRepository(store, voterCacheSize, meterRegistry);
     }
 
     @Bean
-    public PollRepository pollRepository() {
-        return new InMemoryPollRepository();
+    public PollRepository pollRepository(
+            @Value("${evote.persistence.backend:memory}") String backend,
+            ObjectProvider<DataSource> dataSource,
+            Clock clock) {
+        return backend(backend).equals("jdbc") ? new JdbcPollRepository(dataSource.getObject(), clock) : new InMemoryPollRepository();
     }
 
     @Bean
@@ -39,9 +124,16 @@ public class PersistenceConfiguration {
         return Clock.systemUTC();
     }
 
+    private static String backend(String backend) {
+        return switch (backend) {
+            case "memory", "jdbc", "lsm" -> backend;
+            default -> throw new IllegalArgumentException("unknown persistence backend: " + backend);
+        };
+    }
+
     @Bean
-    public DomainEventPublisher domainEventPublisher() {
-        return new DomainEventPublisher();
+    public DomainEventPublisher domainEventPublisher(ApplicationEventPublisher applicationEventPublisher) {
+        return new DomainEventPublisher(applicationEventPublisher);
     }
 }
 
@@ -0,0 +1,45 @@
+package evote.config.ratelimit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Ratenbegrenzung für schreibende Endpunkte (POST /api/vote, PUT /api/voter/{id}).
+ *
+ * Infrastruktur-Konfiguration:
+ * - evote.ratelimit.enabled: an/aus (Standard: an)
+ * - evote.ratelimit.voter.*: Rate und Burst pro voterId
+ * - evote.ratelimit.address.*: Rate und Burst pro Client-Adresse (großzügiger wegen NAT)
+ * - evote.ratelimit.max-keys: Obergrenze gehaltener Buckets je Schlüsselart
+ *
+ * Der Filter läuft vor der Zugangskontrolle der Stimmabgabe, damit gedrosselte
+ * Clients keinen Platz im Concurrency-Limit belegen.
+ */
+@Configuration
+@ConditionalOnProperty(name = "evote.ratelimit.enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitConfiguration {
+
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(
+            @Value("${evote.ratelimit.voter.requests-per-second:1}") double voterRate,
+            @Value("${evote.ratelimit.voter.burst:5}") int voterBurst,
+            @Value("${evote.ratelimit.address.requests-per-second:50}") double addressRate,
+            @Value("${evote.ratelimit.address.burst:100}") int addressBurst,
+            @Value("${evote.ratelimit.max-keys:100000}") int maxKeys,
+            MeterRegistry meterRegistry) {
+        RateLimitFilter filter = new RateLimitFilter(
+                new TokenBucketRateLimiter(voterRate, voterBurst, maxKeys),
+                new TokenBucketRateLimiter(addressRate, addressBurst, maxKeys),
+                meterRegistry);
+
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/api/vote", "/api/voter/*");
+        registration.setName("rateLimitFilter");
+        registration.setOrder(0);
+        return registration;
+    }
+}
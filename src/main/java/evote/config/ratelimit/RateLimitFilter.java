@@ -0,0 +1,247 @@
+package evote.config.ratelimit;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ratenbegrenzung für schreibende Endpunkte, bevor JSON gebunden und validiert wird.
+ *
+ * Begrenzt werden POST /api/vote und PUT /api/voter/{id}, jeweils pro Client-Adresse
+ * und pro voterId. Die voterId stammt beim Profil aus dem Pfad; bei der Stimmabgabe
+ * wird sie mit dem Streaming-Parser aus dem Rumpf gelesen, ohne das DTO zu binden.
+ * Der Rumpf wird danach unverändert an den Controller weitergegeben.
+ *
+ * Gedrosselte Anfragen erhalten 429 mit Retry-After. Der Rumpf einer Stimmabgabe
+ * (wenige hundert Bytes) wird höchstens bis {@value #MAX_VOTE_BODY_BYTES} Bytes gelesen;
+ * größere Rümpfe werden mit 413 abgelehnt, ohne sie zu puffern.
+ *
+ * Metriken:
+ * - evote.ratelimit.throttled{endpoint=vote|voter, key=address|voter}
+ * - evote.ratelimit.keys{key=address|voter}
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final String VOTE_PATH = "/api/vote";
+    private static final String VOTER_PATH = "/api/voter/";
+    private static final JsonFactory JSON = new JsonFactory();
+    static final int MAX_VOTE_BODY_BYTES = 4 * 1024;
+
+    private final TokenBucketRateLimiter voterLimiter;
+    private final TokenBucketRateLimiter addressLimiter;
+    private final MeterRegistry registry;
+
+    public RateLimitFilter(TokenBucketRateLimiter voterLimiter,
+                           TokenBucketRateLimiter addressLimiter,
+                           MeterRegistry registry) {
+        if (voterLimiter == null || addressLimiter == null || registry == null) {
+            throw new IllegalArgumentException("limiters and registry must not be null");
+        }
+        this.voterLimiter = voterLimiter;
+        this.addressLimiter = addressLimiter;
+        this.registry = registry;
+
+        Gauge.builder("evote.ratelimit.keys", voterLimiter, TokenBucketRateLimiter::size)
+                .description("Gehaltene Token-Buckets")
+                .tag("key", "voter")
+                .register(registry);
+        Gauge.builder("evote.ratelimit.keys", addressLimiter, TokenBucketRateLimiter::size)
+                .description("Gehaltene Token-Buckets")
+                .tag("key", "address")
+                .register(registry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return endpoint(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain chain) throws ServletException, IOException {
+        String endpoint = endpoint(request);
+
+        long wait = addressLimiter.tryAcquire(request.getRemoteAddr());
+        if (wait > 0) {
+            reject(response, endpoint, "address", wait);
+            return;
+        }
+
+        HttpServletRequest forwarded = request;
+        String voterId;
+        if ("voter".equals(endpoint)) {
+            voterId = path(request).substring(VOTER_PATH.length());
+        } else {
+            if (request.getContentLengthLong() > MAX_VOTE_BODY_BYTES) {
+                rejectTooLarge(response);
+                return;
+            }
+            // ohne Content-Length (chunked) nur bis knapp über die Grenze lesen
+            byte[] body = request.getInputStream().readNBytes(MAX_VOTE_BODY_BYTES + 1);
+            if (body.length > MAX_VOTE_BODY_BYTES) {
+                rejectTooLarge(response);
+                return;
+            }
+            forwarded = new CachedBodyRequest(request, body);
+            voterId = readVoterId(body);
+        }
+
+        if (voterId != null && !voterId.isBlank()) {
+            wait = voterLimiter.tryAcquire(voterId);
+            if (wait > 0) {
+                reject(response, endpoint, "voter", wait);
+                return;
+            }
+        }
+
+        chain.doFilter(forwarded, response);
+    }
+
+    private void reject(HttpServletResponse response, String endpoint, String key, long waitNanos) throws IOException {
+        registry.counter("evote.ratelimit.throttled", "endpoint", endpoint, "key", key).increment();
+        long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfter));
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.getWriter().write("Too many requests: retry later");
+    }
+
+    private static void rejectTooLarge(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.PAYLOAD_TOO_LARGE.value());
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.getWriter().write("Request body too large");
+    }
+
+    /**
+     * @return "vote" oder "voter" für begrenzte Endpunkte, sonst null
+     */
+    private static String endpoint(HttpServletRequest request) {
+        String path = path(request);
+        if (HttpMethod.POST.matches(request.getMethod()) && VOTE_PATH.equals(path)) {
+            return "vote";
+        }
+        if (HttpMethod.PUT.matches(request.getMethod())
+                && path.startsWith(VOTER_PATH)
+                && path.indexOf('/', VOTER_PATH.length()) < 0
+                && path.length() > VOTER_PATH.length()) {
+            return "voter";
+        }
+        return null;
+    }
+
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    /**
+     * Sucht das erste Feld "voterId" im JSON-Rumpf; ungültiges JSON überlässt die
+     * Fehlermeldung der regulären Bindung.
+     */
+    static String readVoterId(byte[] body) {
+        try (JsonParser parser = JSON.createParser(body)) {
+            JsonToken token;
+            while ((token = parser.nextToken()) != null) {
+                if (token == JsonToken.FIELD_NAME && "voterId".equals(parser.currentName())) {
+                    return parser.nextToken() == JsonToken.VALUE_STRING ? parser.getText() : null;
+                }
+            }
+        } catch (IOException ex) {
+            return null;
+        }
+        return null;
+    }
+
+    /**
+     * Liefert den bereits gelesenen Rumpf erneut an die nachfolgenden Filter und Spring MVC.
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    // Rumpf liegt vollständig im Speicher: sofort lesbar und danach zu Ende
+                    try {
+                        if (!isFinished()) {
+                            listener.onDataAvailable();
+                        }
+                        if (isFinished()) {
+                            listener.onAllDataRead();
+                        }
+                    } catch (IOException ex) {
+                        listener.onError(ex);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return in.read(buffer, offset, length);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(new ByteArrayInputStream(body),
+                    encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
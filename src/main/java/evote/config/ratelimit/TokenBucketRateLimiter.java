@@ -0,0 +1,110 @@
+package evote.config.ratelimit;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Ratenbegrenzung pro Schlüssel (z.B. voterId oder Client-Adresse) mit lock-freien Token-Buckets.
+ *
+ * Jeder Bucket ist ein einzelner AtomicLong mit dem theoretischen Ankunftszeitpunkt
+ * der nächsten Anfrage (Generic Cell Rate Algorithm). Das ist gleichwertig zu einem
+ * Token-Bucket mit {@code burst} Tokens und {@code permitsPerSecond} Nachfüllrate,
+ * kommt aber mit einem CAS pro Anfrage aus.
+ *
+ * Die Anzahl der Schlüssel ist begrenzt. Läuft die Map über, werden zuerst Buckets
+ * entfernt, die bereits wieder voll sind; das ändert kein Ergebnis. Reicht das nicht,
+ * werden weitere Einträge verworfen; diese Schlüssel starten dann mit vollem Bucket.
+ */
+public final class TokenBucketRateLimiter {
+
+    private final long intervalNanos;
+    private final long burstToleranceNanos;
+    private final int maxKeys;
+    private final LongSupplier nanoClock;
+    private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+
+    public TokenBucketRateLimiter(double permitsPerSecond, int burst, int maxKeys) {
+        this(permitsPerSecond, burst, maxKeys, System::nanoTime);
+    }
+
+    /**
+     * @param permitsPerSecond Nachfüllrate je Schlüssel
+     * @param burst            maximale Anzahl direkt aufeinanderfolgender Anfragen
+     * @param maxKeys          Obergrenze gleichzeitig gehaltener Buckets
+     * @param nanoClock        Zeitquelle in Nanosekunden (Tests)
+     */
+    public TokenBucketRateLimiter(double permitsPerSecond, int burst, int maxKeys, LongSupplier nanoClock) {
+        if (!(permitsPerSecond > 0)) {
+            throw new IllegalArgumentException("permitsPerSecond must be positive");
+        }
+        if (burst < 1) {
+            throw new IllegalArgumentException("burst must be positive");
+        }
+        if (maxKeys < 1) {
+            throw new IllegalArgumentException("maxKeys must be positive");
+        }
+        if (nanoClock == null) {
+            throw new IllegalArgumentException("nanoClock must not be null");
+        }
+        this.intervalNanos = Math.max(1, (long) (1_000_000_000L / permitsPerSecond));
+        this.burstToleranceNanos = intervalNanos * (burst - 1);
+        this.maxKeys = maxKeys;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Entnimmt ein Token aus dem Bucket des Schlüssels.
+     *
+     * @return 0, wenn die Anfrage erlaubt ist, sonst die Wartezeit in Nanosekunden bis zum nächsten Token
+     */
+    public long tryAcquire(String key) {
+        long now = nanoClock.getAsLong();
+        AtomicLong bucket = buckets.get(key);
+        if (bucket == null) {
+            bucket = buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+            if (buckets.size() > maxKeys) {
+                evict(now);
+            }
+        }
+
+        while (true) {
+            long arrival = bucket.get();
+            long start = Math.max(arrival, now);
+            long wait = start - now - burstToleranceNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (bucket.compareAndSet(arrival, start + intervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+
+    private void evict(long now) {
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            // Volle Buckets entsprechen einem neuen Schlüssel und können verlustfrei weg
+            buckets.values().removeIf(bucket -> bucket.get() <= now);
+
+            Iterator<AtomicLong> overflow = buckets.values().iterator();
+            int excess = buckets.size() - (int) (maxKeys * 0.9);
+            while (excess-- > 0 && overflow.hasNext()) {
+                overflow.next();
+                overflow.remove();
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+}
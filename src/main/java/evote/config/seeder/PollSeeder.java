@@ -2,6 +2,7 @@ package evote.config.seeder;
 
 import evote.abstimmungsverwaltung.domain.model.Poll;
 import evote.abstimmungsverwaltung.domain.repository.PollRepository;
+import evote.stimmvergabe.application.DomainEventPublisher;
 import org.springframework.stereotype.Component;
 
 import java.time.Clock;
@@ -27,10 +28,12 @@ public class PollSeeder {
     private static final Logger logger = Logger.getLogger(PollSeeder.class.getName());
     private final PollRepository pollRepository;
     private final Clock clock;
+    private final DomainEventPublisher eventPublisher;
 
-    public PollSeeder(PollRepository pollRepository, Clock clock) {
+    public PollSeeder(PollRepository pollRepository, Clock clock, DomainEventPublisher eventPublisher) {
         this.pollRepository = pollRepository;
         this.clock = clock;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -102,6 +105,8 @@ public class PollSeeder {
         );
         poll3.close(); // Manuell geschlossen
         pollRepository.save(poll3);
+        // PollEndedEvent erst nach dem Speichern, damit Listener den geschlossenen Stand lesen
+        poll3.getDomainEvents().forEach(eventPublisher::publish);
         polls.add(poll3);
         logger.info("✓ Abstimmung erstellt: Bibliotheksöffnungszeiten (POLL-BZ-2025) [BEENDET]");
 
@@ -1,5 +1,7 @@
 package evote.config.seeder;
 
+import evote.abstimmungsverwaltung.domain.repository.PollRepository;
+import evote.buergerverwaltung.domain.repository.VoterRepository;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -16,6 +18,9 @@ import java.util.logging.Logger;
  * Diese Configuration wird automatisch von Spring erkannt und ausgeführt,
  * wenn die Anwendung startet. Die Seeder füllen die In-Memory-Repositories
  * mit Demo-Daten, damit die Frontend-Anwendung gegen realistische Daten arbeiten kann.
+ * Enthält ein persistentes Backend (evote.persistence.backend=jdbc|lsm) bereits Daten,
+ * wird das jeweilige Repository nicht erneut geseedet (bei lsm bleiben die
+ * Abstimmungen in-memory und werden bei jedem Start neu angelegt).
  */
 @Configuration
 public class SeederConfiguration {
@@ -23,17 +28,29 @@ public class SeederConfiguration {
     private static final Logger logger = Logger.getLogger(SeederConfiguration.class.getName());
 
     @Bean
-    public CommandLineRunner seedDatabase(VoterSeeder voterSeeder, PollSeeder pollSeeder) {
+    public CommandLineRunner seedDatabase(VoterSeeder voterSeeder, PollSeeder pollSeeder,
+                                          VoterRepository voterRepository, PollRepository pollRepository) {
         return args -> {
+            boolean seedVoters = voterRepository.count() == 0;
+            boolean seedPolls = pollRepository.count() == 0;
+            if (!seedVoters && !seedPolls) {
+                logger.info("Repositories enthalten bereits Daten - Database Seeding übersprungen");
+                return;
+            }
+
             logger.info("================================================");
             logger.info("🌱 Starte Database Seeding...");
             logger.info("================================================");
             
             // Wähler erstellen
-            voterSeeder.seedVoters();
-            
+            if (seedVoters) {
+                voterSeeder.seedVoters();
+            }
+
             // Abstimmungen erstellen
-            pollSeeder.seedPolls();
+            if (seedPolls) {
+                pollSeeder.seedPolls();
+            }
             
             logger.info("================================================");
             logger.info("✅ Database Seeding abgeschlossen!");
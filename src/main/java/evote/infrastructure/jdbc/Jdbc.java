@@ -0,0 +1,101 @@
+package evote.infrastructure.jdbc;
+
+import javax.sql.DataSource;
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Kleine Hilfsfunktionen für die JDBC-Repositories (ohne Spring JDBC).
+ *
+ * Verbindungen kommen aus dem Pool und werden nach jeder Einheit zurückgegeben;
+ * Statements werden pro Verbindung vorbereitet. Das Caching der Ausführungspläne
+ * übernimmt der Treiber (bei H2 der Query-Cache der Session, QUERY_CACHE_SIZE).
+ */
+public final class Jdbc {
+
+    /** SQLState für die Verletzung eines Unique- oder Primärschlüssels. */
+    private static final String UNIQUE_VIOLATION = "23505";
+
+    private Jdbc() {
+    }
+
+    /**
+     * Arbeitseinheit auf einer Verbindung.
+     */
+    @FunctionalInterface
+    public interface Work<T> {
+        T run(Connection connection) throws SQLException;
+    }
+
+    /**
+     * Führt die Arbeit im Auto-Commit-Modus aus (einzelne Statements, Lesezugriffe).
+     */
+    public static <T> T query(DataSource dataSource, Work<T> work) {
+        try (Connection connection = dataSource.getConnection()) {
+            return work.run(connection);
+        } catch (SQLException e) {
+            throw new JdbcAccessException("Datenbankzugriff fehlgeschlagen", e);
+        }
+    }
+
+    /**
+     * Führt die Arbeit in einer Transaktion aus. Bei einer Exception wird zurückgerollt.
+     */
+    public static <T> T inTransaction(DataSource dataSource, Work<T> work) {
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                T result = work.run(connection);
+                connection.commit();
+                return result;
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            throw new JdbcAccessException("Datenbanktransaktion fehlgeschlagen", e);
+        }
+    }
+
+    /**
+     * Legt das Schema an; alle Statements müssen idempotent sein (IF NOT EXISTS).
+     */
+    public static void executeDdl(DataSource dataSource, String... statements) {
+        query(dataSource, connection -> {
+            try (Statement statement = connection.createStatement()) {
+                for (String ddl : statements) {
+                    statement.execute(ddl);
+                }
+            }
+            return null;
+        });
+    }
+
+    /**
+     * true, wenn die Exception (oder jede verkettete eines Batches) eine Schlüsselverletzung ist.
+     */
+    public static boolean isUniqueViolation(SQLException e) {
+        if (e instanceof BatchUpdateException) {
+            SQLException next = e.getNextException();
+            if (next == null) {
+                return isUniqueViolationCode(e);
+            }
+            for (; next != null; next = next.getNextException()) {
+                if (!isUniqueViolationCode(next)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return isUniqueViolationCode(e);
+    }
+
+    private static boolean isUniqueViolationCode(SQLException e) {
+        return UNIQUE_VIOLATION.equals(e.getSQLState());
+    }
+}
@@ -0,0 +1,16 @@
+package evote.infrastructure.jdbc;
+
+/**
+ * Unerwarteter Fehler beim Zugriff auf die Datenbank.
+ *
+ * Bewusst weder IllegalArgument- noch IllegalStateException: der Client hat nichts
+ * falsch gemacht, der GlobalExceptionHandler meldet den Fehler daher als 500.
+ * Erwartete Konflikte (doppelte ID, veraltete Version) melden die Repositories
+ * stattdessen über ihre Rückgabewerte.
+ */
+public class JdbcAccessException extends RuntimeException {
+
+    public JdbcAccessException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
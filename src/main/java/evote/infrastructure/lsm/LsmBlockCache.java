@@ -0,0 +1,80 @@
+package evote.infrastructure.lsm;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * LRU-Cache für Datenblöcke der SSTables, begrenzt auf eine Größe in Byte.
+ *
+ * Nur die Blöcke liegen im Heap, die zuletzt gelesen wurden; der Datenbestand selbst
+ * bleibt auf der Platte und darf größer als der Heap sein. Blöcke aus Kompaktierungen
+ * laufen am Cache vorbei, damit ein Merge die heißen Blöcke nicht verdrängt.
+ * Kapazität 0 schaltet den Cache ab.
+ */
+public final class LsmBlockCache {
+
+    private final long capacityBytes;
+    private final LinkedHashMap<BlockKey, byte[]> blocks = new LinkedHashMap<>(256, 0.75f, true);
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private long sizeBytes;
+
+    public LsmBlockCache(long capacityBytes) {
+        if (capacityBytes < 0) {
+            throw new IllegalArgumentException("capacityBytes must not be negative");
+        }
+        this.capacityBytes = capacityBytes;
+    }
+
+    @FunctionalInterface
+    interface Loader {
+        byte[] load() throws IOException;
+    }
+
+    byte[] get(long tableId, long offset, Loader loader) throws IOException {
+        BlockKey key = new BlockKey(tableId, offset);
+        synchronized (this) {
+            byte[] cached = blocks.get(key);
+            if (cached != null) {
+                hits.increment();
+                return cached;
+            }
+        }
+        misses.increment();
+        byte[] loaded = loader.load();
+        if (capacityBytes > 0) {
+            synchronized (this) {
+                byte[] previous = blocks.put(key, loaded);
+                sizeBytes += loaded.length - (previous == null ? 0 : previous.length);
+                Iterator<Map.Entry<BlockKey, byte[]>> eldest = blocks.entrySet().iterator();
+                while (sizeBytes > capacityBytes && eldest.hasNext()) {
+                    sizeBytes -= eldest.next().getValue().length;
+                    eldest.remove();
+                }
+            }
+        }
+        return loaded;
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    public synchronized long sizeInBytes() {
+        return sizeBytes;
+    }
+
+    public long capacityInBytes() {
+        return capacityBytes;
+    }
+
+    private record BlockKey(long tableId, long offset) {
+    }
+}
@@ -0,0 +1,508 @@
+package evote.infrastructure.lsm;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * Eingebetteter Key-Value-Store nach dem LSM-Prinzip (Log-Structured Merge Tree).
+ *
+ * Schreiben ist rein sequenziell: ein {@link WriteBatch} wird ans Write-Ahead-Log
+ * angehängt und in den Memtable (sortierte Map im Heap) übernommen. Erreicht der
+ * Memtable {@link Options#memtableBytes()}, wird er als unveränderliche SSTable
+ * geschrieben und das Log geleert. Ab {@link Options#compactionTrigger()} Tabellen
+ * führt ein Hintergrund-Thread alle zu einer zusammen und verwirft dabei Löschmarken.
+ *
+ * Lesen prüft Memtable und SSTables von neu nach alt; Bloom-Filter ersparen die meisten
+ * Blockzugriffe, gelesene Blöcke liegen im {@link LsmBlockCache}. Schlüssel sind sortiert,
+ * {@link #scan} liefert daher alle Einträge mit gemeinsamem Präfix in einem Durchlauf.
+ * Der Datenbestand ist nur durch die Platte begrenzt, nicht durch den Heap.
+ *
+ * Schreiben ist serialisiert, Lesen läuft parallel. IO-Fehler werden als
+ * {@link UncheckedIOException} gemeldet.
+ */
+public class LsmStore implements Closeable {
+
+    /** Löschmarke in Memtable und SSTables (Identitätsvergleich). */
+    static final byte[] TOMBSTONE = new byte[0];
+
+    private static final Logger logger = Logger.getLogger(LsmStore.class.getName());
+    private static final String WAL_FILE = "wal.log";
+
+    /**
+     * @param memtableBytes     Größe, ab der der Memtable als SSTable geschrieben wird
+     * @param compactionTrigger Anzahl SSTables, ab der kompaktiert wird
+     * @param syncWrites        true: fsync des Logs nach jedem WriteBatch
+     */
+    public record Options(long memtableBytes, int compactionTrigger, boolean syncWrites) {
+
+        public Options {
+            if (memtableBytes <= 0) {
+                throw new IllegalArgumentException("memtableBytes must be positive");
+            }
+            if (compactionTrigger < 2) {
+                throw new IllegalArgumentException("compactionTrigger must be at least 2");
+            }
+        }
+
+        public static Options defaults() {
+            return new Options(16L * 1024 * 1024, 4, false);
+        }
+    }
+
+    /** Schlüssel-Wert-Paar aus {@link #scan}. */
+    public record Entry(String key, byte[] value) {
+    }
+
+    private final Path directory;
+    private final Options options;
+    private final LsmBlockCache cache;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final ReentrantLock compactionLock = new ReentrantLock();
+    // Leser halten die Read-Lock, solange sie Tabellen lesen; Schließen alter Tabellen braucht die Write-Lock
+    private final ReentrantReadWriteLock tablesLock = new ReentrantReadWriteLock();
+    private final ExecutorService compactor;
+    private final AtomicBoolean compactionScheduled = new AtomicBoolean();
+    private final AtomicLong nextTableId;
+    private final LongAdder flushes = new LongAdder();
+    private final LongAdder compactions = new LongAdder();
+    private final WriteAheadLog wal;
+    private volatile State state;
+    private volatile boolean closed;
+
+    /**
+     * @param tables SSTables von alt nach neu
+     * @param flushing Memtable, der gerade als SSTable geschrieben wird, sonst null
+     */
+    private record State(Memtable memtable, Memtable flushing, List<SsTable> tables) {
+    }
+
+    /**
+     * Öffnet den Store im Verzeichnis (wird bei Bedarf angelegt) und spielt das Log ein.
+     */
+    public LsmStore(Path directory, Options options, LsmBlockCache cache) {
+        if (directory == null || options == null || cache == null) {
+            throw new IllegalArgumentException("directory, options and cache must not be null");
+        }
+        this.directory = directory;
+        this.options = options;
+        this.cache = cache;
+        try {
+            Files.createDirectories(directory);
+            List<SsTable> tables = openTables();
+            this.nextTableId = new AtomicLong(tables.isEmpty() ? 1 : tables.get(tables.size() - 1).id + 1);
+            Memtable memtable = new Memtable();
+            long validLength = WriteAheadLog.replay(directory.resolve(WAL_FILE),
+                    (key, value) -> memtable.put(key, value == null ? TOMBSTONE : value));
+            this.state = new State(memtable, null, tables);
+            // defekten Rest nach einem Absturz abschneiden, bevor weiter angehängt wird
+            this.wal = WriteAheadLog.open(directory.resolve(WAL_FILE), validLength);
+        } catch (IOException e) {
+            throw new UncheckedIOException("LSM-Store konnte nicht geöffnet werden: " + directory, e);
+        }
+        this.compactor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "evote-lsm-compaction");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduleCompactionIfNeeded();
+    }
+
+    /**
+     * @return Wert oder null, wenn der Schlüssel nicht existiert
+     */
+    public byte[] get(String key) {
+        if (key == null) {
+            return null;
+        }
+        tablesLock.readLock().lock();
+        try {
+            State current = state;
+            byte[] value = current.memtable.get(key);
+            if (value == null && current.flushing != null) {
+                value = current.flushing.get(key);
+            }
+            for (int i = current.tables.size() - 1; value == null && i >= 0; i--) {
+                value = current.tables.get(i).get(key);
+            }
+            return value == TOMBSTONE ? null : value;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            tablesLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Alle Einträge, deren Schlüssel mit dem Präfix beginnt, in Schlüsselreihenfolge.
+     */
+    public List<Entry> scan(String prefix) {
+        List<Entry> result = new ArrayList<>();
+        forEach(prefix, result::add);
+        return result;
+    }
+
+    /**
+     * Wie {@link #scan}, übergibt die Einträge aber einzeln, ohne sie zu sammeln.
+     * Die Aktion läuft unter der Lesesperre der Tabellen und sollte kurz sein.
+     */
+    public void forEach(String prefix, Consumer<Entry> action) {
+        tablesLock.readLock().lock();
+        try {
+            Iterator<Entry> merged = mergedIterator(state, prefix, true);
+            while (merged.hasNext()) {
+                Entry entry = merged.next();
+                if (!entry.key().startsWith(prefix)) {
+                    break;
+                }
+                if (entry.value() != TOMBSTONE) {
+                    action.accept(entry);
+                }
+            }
+        } finally {
+            tablesLock.readLock().unlock();
+        }
+    }
+
+    public void put(String key, byte[] value) {
+        write(new WriteBatch().put(key, value));
+    }
+
+    public void delete(String key) {
+        write(new WriteBatch().delete(key));
+    }
+
+    /**
+     * Wendet alle Änderungen an: ein Log-Datensatz (nach einem Absturz ganz oder gar nicht
+     * wiederhergestellt), dann der Memtable in Reihenfolge des Batches. Parallele Leser
+     * können einen halb übernommenen Batch sehen; Repositories schreiben deshalb den
+     * Datensatz vor seinen Indexeinträgen.
+     */
+    public void write(WriteBatch batch) {
+        if (batch == null || batch.isEmpty()) {
+            return;
+        }
+        writeLock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("LSM-Store ist geschlossen");
+            }
+            wal.append(batch, options.syncWrites());
+            Memtable memtable = state.memtable;
+            for (int i = 0; i < batch.size(); i++) {
+                byte[] value = batch.values.get(i);
+                memtable.put(batch.keys.get(i), value == null ? TOMBSTONE : value);
+            }
+            if (memtable.bytes() >= options.memtableBytes()) {
+                flushMemtable();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Schreibt den Memtable sofort als SSTable (z.B. vor einem Backup oder in Tests).
+     */
+    public void flush() {
+        writeLock.lock();
+        try {
+            flushMemtable();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Führt alle SSTables sofort zu einer zusammen (blockiert bis zum Ende).
+     */
+    public void compact() {
+        try {
+            compactTables();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public int tableCount() {
+        return state.tables.size();
+    }
+
+    public long memtableBytes() {
+        return state.memtable.bytes();
+    }
+
+    public long flushCount() {
+        return flushes.sum();
+    }
+
+    public long compactionCount() {
+        return compactions.sum();
+    }
+
+    public LsmBlockCache blockCache() {
+        return cache;
+    }
+
+    /**
+     * Wartet eine laufende Kompaktierung ab und schließt Log und Tabellen. Nicht
+     * geschriebene Memtable-Einträge bleiben im Log und werden beim Öffnen eingespielt.
+     */
+    @Override
+    public void close() {
+        compactor.shutdown();
+        try {
+            compactor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        writeLock.lock();
+        tablesLock.writeLock().lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            wal.close();
+            for (SsTable table : state.tables) {
+                table.close();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            tablesLock.writeLock().unlock();
+            writeLock.unlock();
+        }
+    }
+
+    /** Nur unter writeLock aufrufen. */
+    private void flushMemtable() throws IOException {
+        State current = state;
+        if (current.memtable.isEmpty()) {
+            return;
+        }
+        state = new State(new Memtable(), current.memtable, current.tables);
+        SsTable table = SsTable.write(directory, nextTableId.getAndIncrement(), current.memtable.iterator(""),
+                current.memtable.size(), false, -1, cache);
+        List<SsTable> tables = new ArrayList<>(current.tables);
+        tables.add(table);
+        state = new State(state.memtable, null, List.copyOf(tables));
+        wal.reset();
+        flushes.increment();
+        scheduleCompactionIfNeeded();
+    }
+
+    private void scheduleCompactionIfNeeded() {
+        if (state.tables.size() >= options.compactionTrigger() && compactionScheduled.compareAndSet(false, true)) {
+            compactor.execute(() -> {
+                try {
+                    compactTables();
+                } catch (IOException | RuntimeException e) {
+                    logger.log(Level.WARNING, "LSM-Kompaktierung fehlgeschlagen", e);
+                } finally {
+                    compactionScheduled.set(false);
+                }
+            });
+        }
+    }
+
+    /**
+     * Führt alle aktuell vorhandenen SSTables zu einer zusammen. Schreiben läuft dabei weiter;
+     * währenddessen entstandene Tabellen bleiben neuer als das Ergebnis.
+     */
+    private void compactTables() throws IOException {
+        compactionLock.lock();
+        try {
+            List<SsTable> inputs = state.tables;
+            if (inputs.size() < 2 || closed) {
+                return;
+            }
+            long expected = 0;
+            List<Iterator<Entry>> sources = new ArrayList<>();
+            for (int i = inputs.size() - 1; i >= 0; i--) {
+                sources.add(inputs.get(i).iterator("", false));
+                expected += inputs.get(i).entryCount;
+            }
+            long compactedThrough = inputs.get(inputs.size() - 1).id;
+            SsTable merged = SsTable.write(directory, nextTableId.getAndIncrement(), new MergingIterator(sources),
+                    expected, true, compactedThrough, cache);
+
+            writeLock.lock();
+            try {
+                List<SsTable> tables = new ArrayList<>();
+                tables.add(merged);
+                tables.addAll(state.tables.subList(inputs.size(), state.tables.size()));
+                state = new State(state.memtable, state.flushing, List.copyOf(tables));
+            } finally {
+                writeLock.unlock();
+            }
+            tablesLock.writeLock().lock();
+            try {
+                for (SsTable input : inputs) {
+                    input.closeAndDelete();
+                }
+            } finally {
+                tablesLock.writeLock().unlock();
+            }
+            compactions.increment();
+        } finally {
+            compactionLock.unlock();
+        }
+    }
+
+    /**
+     * Öffnet alle SSTables, sortiert nach ID. Tabellen, die bereits in einer kompaktierten
+     * Tabelle aufgegangen sind (Absturz vor dem Löschen), werden entfernt.
+     */
+    private List<SsTable> openTables() throws IOException {
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.sorted().toList();
+        }
+        List<SsTable> tables = new ArrayList<>();
+        for (Path file : files) {
+            String name = file.getFileName().toString();
+            if (name.endsWith(".tmp")) {
+                Files.delete(file); // abgebrochenes Schreiben
+            } else if (name.endsWith(SsTable.SUFFIX)) {
+                long id = Long.parseLong(name.substring(0, name.length() - SsTable.SUFFIX.length()));
+                tables.add(SsTable.open(file, id, cache));
+            }
+        }
+        tables.sort(Comparator.comparingLong(table -> table.id));
+        long compactedThrough = tables.stream().mapToLong(table -> table.compactedThrough).max().orElse(-1);
+        List<SsTable> live = new ArrayList<>();
+        for (SsTable table : tables) {
+            if (table.id <= compactedThrough) {
+                table.closeAndDelete();
+            } else {
+                live.add(table);
+            }
+        }
+        return List.copyOf(live);
+    }
+
+    /** Quellen von neu nach alt: Memtable, Memtable im Flush, SSTables. */
+    private static Iterator<Entry> mergedIterator(State state, String from, boolean cached) {
+        List<Iterator<Entry>> sources = new ArrayList<>();
+        sources.add(state.memtable.iterator(from));
+        if (state.flushing != null) {
+            sources.add(state.flushing.iterator(from));
+        }
+        for (int i = state.tables.size() - 1; i >= 0; i--) {
+            sources.add(state.tables.get(i).iterator(from, cached));
+        }
+        return new MergingIterator(sources);
+    }
+
+    /**
+     * Sortierter Memtable; die Größe wird näherungsweise in Byte mitgezählt.
+     */
+    private static final class Memtable {
+
+        private final ConcurrentSkipListMap<String, byte[]> entries = new ConcurrentSkipListMap<>();
+        private final AtomicLong bytes = new AtomicLong();
+
+        void put(String key, byte[] value) {
+            byte[] previous = entries.put(key, value);
+            long overhead = 2L * key.length() + 48; // Schlüssel (UTF-16) und Knoten der Skip-List
+            bytes.addAndGet(previous == null ? overhead + value.length : value.length - previous.length);
+        }
+
+        byte[] get(String key) {
+            return entries.get(key);
+        }
+
+        Iterator<Entry> iterator(String from) {
+            return entries.tailMap(from).entrySet().stream()
+                    .map(entry -> new Entry(entry.getKey(), entry.getValue()))
+                    .iterator();
+        }
+
+        long bytes() {
+            return bytes.get();
+        }
+
+        int size() {
+            return entries.size();
+        }
+
+        boolean isEmpty() {
+            return entries.isEmpty();
+        }
+    }
+
+    /**
+     * K-Wege-Merge sortierter Quellen. Bei gleichem Schlüssel gewinnt die Quelle mit dem
+     * kleinsten Index (die neueste); die älteren Einträge werden übersprungen.
+     */
+    private static final class MergingIterator implements Iterator<Entry> {
+
+        private record Head(Entry entry, int rank, Iterator<Entry> source) {
+        }
+
+        private final PriorityQueue<Head> heads = new PriorityQueue<>(
+                Comparator.comparing((Head head) -> head.entry.key()).thenComparingInt(Head::rank));
+
+        MergingIterator(List<Iterator<Entry>> sources) {
+            for (int rank = 0; rank < sources.size(); rank++) {
+                advance(rank, sources.get(rank));
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !heads.isEmpty();
+        }
+
+        @Override
+        public Entry next() {
+            Head head = heads.poll();
+            if (head == null) {
+                throw new NoSuchElementException();
+            }
+            advance(head.rank, head.source);
+            while (!heads.isEmpty() && heads.peek().entry.key().equals(head.entry.key())) {
+                Head shadowed = heads.poll();
+                advance(shadowed.rank, shadowed.source);
+            }
+            return head.entry;
+        }
+
+        private void advance(int rank, Iterator<Entry> source) {
+            if (source.hasNext()) {
+                heads.add(new Head(source.next(), rank, source));
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "LsmStore[" + directory + ", tables=" + state.tables.size() + "]";
+    }
+}
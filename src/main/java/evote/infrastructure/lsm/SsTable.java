@@ -0,0 +1,364 @@
+package evote.infrastructure.lsm;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Unveränderliche, nach Schlüssel sortierte Datei (Sorted String Table).
+ *
+ * Aufbau: Datenblöcke von etwa {@link #BLOCK_SIZE} Byte, danach ein dünner Index
+ * (erster Schlüssel, Offset und Länge je Block), ein Bloom-Filter über alle Schlüssel
+ * und ein Footer fester Länge. Index und Filter liegen nach dem Öffnen im Heap,
+ * Datenblöcke werden bei Bedarf über den {@link LsmBlockCache} gelesen.
+ *
+ * Einträge: Schlüssel (modified UTF-8), Länge des Werts (-1 = gelöscht), Wert.
+ */
+final class SsTable implements Closeable {
+
+    static final int BLOCK_SIZE = 4096;
+    static final String SUFFIX = ".sst";
+
+    private static final long MAGIC = 0x65566f74654c534dL; // "eVoteLSM"
+    private static final int FOOTER_SIZE = 48;
+    private static final int BLOOM_BITS_PER_KEY = 10;
+    private static final int BLOOM_HASHES = 7;
+    private static final AtomicLong CACHE_IDS = new AtomicLong();
+
+    final long id;
+    final long entryCount;
+    /** Höchste Tabellen-ID, deren Inhalt in dieser (kompaktierten) Tabelle aufgegangen ist, sonst -1. */
+    final long compactedThrough;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final LsmBlockCache cache;
+    private final long cacheId = CACHE_IDS.incrementAndGet();
+    private final String[] firstKeys;
+    private final long[] offsets;
+    private final int[] lengths;
+    private final String lastKey;
+    private final long[] bloom;
+
+    private SsTable(long id, Path path, FileChannel channel, LsmBlockCache cache, String[] firstKeys, long[] offsets,
+                    int[] lengths, String lastKey, long[] bloom, long entryCount, long compactedThrough) {
+        this.id = id;
+        this.path = path;
+        this.channel = channel;
+        this.cache = cache;
+        this.firstKeys = firstKeys;
+        this.offsets = offsets;
+        this.lengths = lengths;
+        this.lastKey = lastKey;
+        this.bloom = bloom;
+        this.entryCount = entryCount;
+        this.compactedThrough = compactedThrough;
+    }
+
+    static Path fileName(Path directory, long id) {
+        return directory.resolve(String.format("%012d%s", id, SUFFIX));
+    }
+
+    /**
+     * Schreibt die (sortierten) Einträge in eine neue Tabelle. Die Datei entsteht unter
+     * einem temporären Namen und wird erst nach dem fsync umbenannt.
+     *
+     * @param expectedEntries  Obergrenze der Einträge zur Dimensionierung des Bloom-Filters
+     * @param dropTombstones   true nur, wenn keine ältere Tabelle mehr existiert (volle Kompaktierung)
+     */
+    static SsTable write(Path directory, long id, Iterator<LsmStore.Entry> entries, long expectedEntries,
+                         boolean dropTombstones, long compactedThrough, LsmBlockCache cache) throws IOException {
+        Path tmp = directory.resolve(id + ".tmp");
+        long[] bloom = new long[(int) Math.max(1, (Math.max(1, expectedEntries) * BLOOM_BITS_PER_KEY + 63) / 64)];
+        List<String> firstKeys = new ArrayList<>();
+        List<Long> offsets = new ArrayList<>();
+        List<Integer> lengths = new ArrayList<>();
+        String lastKey = null;
+        long count = 0;
+        long position = 0;
+
+        try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            ByteArrayOutputStream block = new ByteArrayOutputStream(BLOCK_SIZE + 256);
+            DataOutputStream blockOut = new DataOutputStream(block);
+            while (entries.hasNext()) {
+                LsmStore.Entry entry = entries.next();
+                boolean tombstone = entry.value() == LsmStore.TOMBSTONE;
+                if (tombstone && dropTombstones) {
+                    continue;
+                }
+                if (block.size() >= BLOCK_SIZE) {
+                    lengths.add(block.size());
+                    position += writeFully(out, block.toByteArray());
+                    block.reset();
+                }
+                if (block.size() == 0) {
+                    firstKeys.add(entry.key());
+                    offsets.add(position);
+                }
+                blockOut.writeUTF(entry.key());
+                blockOut.writeInt(tombstone ? -1 : entry.value().length);
+                if (!tombstone) {
+                    blockOut.write(entry.value());
+                }
+                addToBloom(bloom, entry.key());
+                lastKey = entry.key();
+                count++;
+            }
+            if (block.size() > 0) {
+                lengths.add(block.size());
+                position += writeFully(out, block.toByteArray());
+            }
+
+            ByteArrayOutputStream index = new ByteArrayOutputStream();
+            DataOutputStream indexOut = new DataOutputStream(index);
+            indexOut.writeInt(firstKeys.size());
+            for (int i = 0; i < firstKeys.size(); i++) {
+                indexOut.writeUTF(firstKeys.get(i));
+                indexOut.writeLong(offsets.get(i));
+                indexOut.writeInt(lengths.get(i));
+            }
+            indexOut.writeUTF(lastKey == null ? "" : lastKey);
+            long indexOffset = position;
+            int indexLength = index.size();
+            position += writeFully(out, index.toByteArray());
+
+            ByteBuffer bloomBytes = ByteBuffer.allocate(bloom.length * Long.BYTES);
+            bloomBytes.asLongBuffer().put(bloom);
+            long bloomOffset = position;
+            position += writeFully(out, bloomBytes.array());
+
+            ByteBuffer footer = ByteBuffer.allocate(FOOTER_SIZE);
+            footer.putLong(indexOffset).putInt(indexLength)
+                    .putLong(bloomOffset).putInt(bloom.length * Long.BYTES)
+                    .putLong(count).putLong(compactedThrough).putLong(MAGIC);
+            writeFully(out, footer.array());
+            out.force(true);
+        }
+        Path target = fileName(directory, id);
+        Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+        return open(target, id, cache);
+    }
+
+    static SsTable open(Path path, long id, LsmBlockCache cache) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            if (size < FOOTER_SIZE) {
+                throw new IOException("SSTable zu kurz: " + path);
+            }
+            ByteBuffer footer = readAt(channel, size - FOOTER_SIZE, FOOTER_SIZE);
+            long indexOffset = footer.getLong();
+            int indexLength = footer.getInt();
+            long bloomOffset = footer.getLong();
+            int bloomLength = footer.getInt();
+            long entryCount = footer.getLong();
+            long compactedThrough = footer.getLong();
+            if (footer.getLong() != MAGIC) {
+                throw new IOException("Keine SSTable: " + path);
+            }
+
+            DataInputStream index = new DataInputStream(new ByteArrayInputStream(
+                    readAt(channel, indexOffset, indexLength).array()));
+            int blocks = index.readInt();
+            String[] firstKeys = new String[blocks];
+            long[] offsets = new long[blocks];
+            int[] lengths = new int[blocks];
+            for (int i = 0; i < blocks; i++) {
+                firstKeys[i] = index.readUTF();
+                offsets[i] = index.readLong();
+                lengths[i] = index.readInt();
+            }
+            String lastKey = index.readUTF();
+
+            long[] bloom = new long[bloomLength / Long.BYTES];
+            readAt(channel, bloomOffset, bloomLength).asLongBuffer().get(bloom);
+            return new SsTable(id, path, channel, cache, firstKeys, offsets, lengths, lastKey, bloom,
+                    entryCount, compactedThrough);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return Wert, {@link LsmStore#TOMBSTONE} für gelöschte Schlüssel oder null, wenn unbekannt
+     */
+    byte[] get(String key) throws IOException {
+        if (firstKeys.length == 0 || key.compareTo(firstKeys[0]) < 0 || key.compareTo(lastKey) > 0
+                || !mightContain(key)) {
+            return null;
+        }
+        DataInputStream in = blockStream(floorBlock(key), true);
+        while (in.available() > 0) {
+            int cmp = in.readUTF().compareTo(key);
+            int length = in.readInt();
+            if (cmp == 0) {
+                return length < 0 ? LsmStore.TOMBSTONE : in.readNBytes(length);
+            }
+            if (cmp > 0) {
+                return null;
+            }
+            in.skipNBytes(Math.max(0, length));
+        }
+        return null;
+    }
+
+    /**
+     * Einträge ab dem ersten Schlüssel &gt;= from in Schlüsselreihenfolge, inklusive gelöschter.
+     *
+     * @param cached false für Kompaktierungen: Blöcke laufen am Cache vorbei
+     */
+    Iterator<LsmStore.Entry> iterator(String from, boolean cached) {
+        return new Iterator<>() {
+            private int block = Math.max(0, floorBlock(from));
+            private DataInputStream in;
+            private LsmStore.Entry next = advance();
+
+            private LsmStore.Entry advance() {
+                try {
+                    while (true) {
+                        if (in == null || in.available() == 0) {
+                            if (block >= firstKeys.length) {
+                                return null;
+                            }
+                            in = blockStream(block++, cached);
+                        }
+                        String key = in.readUTF();
+                        int length = in.readInt();
+                        if (key.compareTo(from) < 0) {
+                            in.skipNBytes(Math.max(0, length));
+                            continue;
+                        }
+                        return new LsmStore.Entry(key, length < 0 ? LsmStore.TOMBSTONE : in.readNBytes(length));
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public LsmStore.Entry next() {
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                LsmStore.Entry current = next;
+                next = advance();
+                return current;
+            }
+        };
+    }
+
+    long sizeInBytes() throws IOException {
+        return channel.size();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    void closeAndDelete() throws IOException {
+        close();
+        Files.deleteIfExists(path);
+    }
+
+    /** Index des letzten Blocks, dessen erster Schlüssel &lt;= key ist, sonst -1. */
+    private int floorBlock(String key) {
+        int low = 0;
+        int high = firstKeys.length - 1;
+        int found = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (firstKeys[mid].compareTo(key) <= 0) {
+                found = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return found;
+    }
+
+    private DataInputStream blockStream(int block, boolean cached) throws IOException {
+        byte[] bytes = cached
+                ? cache.get(cacheId, offsets[block], () -> readAt(channel, offsets[block], lengths[block]).array())
+                : readAt(channel, offsets[block], lengths[block]).array();
+        return new DataInputStream(new ByteArrayInputStream(bytes));
+    }
+
+    private boolean mightContain(String key) {
+        long hash = hash(key);
+        long h2 = (hash >>> 32) | 1;
+        long bits = (long) bloom.length * 64;
+        for (int i = 0; i < BLOOM_HASHES; i++) {
+            long bit = Math.floorMod(hash + i * h2, bits);
+            if ((bloom[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void addToBloom(long[] bloom, String key) {
+        long hash = hash(key);
+        long h2 = (hash >>> 32) | 1;
+        long bits = (long) bloom.length * 64;
+        for (int i = 0; i < BLOOM_HASHES; i++) {
+            long bit = Math.floorMod(hash + i * h2, bits);
+            bloom[(int) (bit >>> 6)] |= 1L << bit;
+        }
+    }
+
+    /** 64-Bit FNV-1a mit Murmur3-Finalizer. */
+    private static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static int writeFully(FileChannel channel, byte[] bytes) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        return bytes.length;
+    }
+
+    private static ByteBuffer readAt(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unerwartetes Dateiende");
+            }
+        }
+        return buffer.flip();
+    }
+}
@@ -0,0 +1,129 @@
+package evote.infrastructure.lsm;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.BiConsumer;
+import java.util.zip.CRC32;
+
+/**
+ * Write-Ahead-Log des Memtables: jeder {@link WriteBatch} wird als ein Datensatz
+ * (Länge, CRC32, Nutzdaten) ans Ende der Datei geschrieben, also rein sequenziell.
+ *
+ * Beim Öffnen werden alle vollständigen Datensätze wieder eingespielt; ein beim Absturz
+ * abgeschnittener letzter Datensatz wird an der Prüfsumme erkannt und abgeschnitten,
+ * damit neue Datensätze direkt hinter dem letzten gültigen stehen und beim nächsten
+ * Einspielen nicht hinter dem defekten Rest verloren gehen.
+ * Nach dem Schreiben des Memtables als SSTable wird das Log geleert.
+ */
+final class WriteAheadLog implements Closeable {
+
+    private static final byte PUT = 0;
+    private static final byte DELETE = 1;
+
+    private final FileChannel channel;
+
+    private WriteAheadLog(FileChannel channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * Öffnet das Log zum Anhängen und schneidet alles hinter validLength ab.
+     *
+     * @param validLength Ende des letzten gültigen Datensatzes, siehe {@link #replay}
+     */
+    static WriteAheadLog open(Path path, long validLength) throws IOException {
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        try {
+            if (channel.size() > validLength) {
+                channel.truncate(validLength);
+                channel.force(true);
+            }
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        return new WriteAheadLog(channel);
+    }
+
+    /**
+     * Spielt alle vollständigen Datensätze in Schreibreihenfolge ein (value null = gelöscht).
+     *
+     * @return Länge des gültigen Teils in Byte (Ende des letzten vollständigen Datensatzes)
+     */
+    static long replay(Path path, BiConsumer<String, byte[]> apply) throws IOException {
+        if (!Files.exists(path)) {
+            return 0L;
+        }
+        ByteBuffer log = ByteBuffer.wrap(Files.readAllBytes(path));
+        while (log.remaining() >= 8) {
+            int start = log.position();
+            int length = log.getInt();
+            int checksum = log.getInt();
+            if (length < 0 || length > log.remaining()) {
+                return start; // abgeschnittener Datensatz
+            }
+            byte[] payload = new byte[length];
+            log.get(payload);
+            CRC32 crc = new CRC32();
+            crc.update(payload);
+            if ((int) crc.getValue() != checksum) {
+                return start;
+            }
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                byte op = in.readByte();
+                String key = in.readUTF();
+                apply.accept(key, op == PUT ? in.readNBytes(in.readInt()) : null);
+            }
+        }
+        return log.position();
+    }
+
+    void append(WriteBatch batch, boolean sync) throws IOException {
+        ByteArrayOutputStream payload = new ByteArrayOutputStream(64 * batch.size());
+        DataOutputStream out = new DataOutputStream(payload);
+        out.writeInt(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            byte[] value = batch.values.get(i);
+            out.writeByte(value == null ? DELETE : PUT);
+            out.writeUTF(batch.keys.get(i));
+            if (value != null) {
+                out.writeInt(value.length);
+                out.write(value);
+            }
+        }
+        byte[] bytes = payload.toByteArray();
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+        ByteBuffer record = ByteBuffer.allocate(8 + bytes.length);
+        record.putInt(bytes.length).putInt((int) crc.getValue()).put(bytes).flip();
+        while (record.hasRemaining()) {
+            channel.write(record);
+        }
+        if (sync) {
+            channel.force(false);
+        }
+    }
+
+    /** Leert das Log, nachdem der Memtable als SSTable gesichert ist. */
+    void reset() throws IOException {
+        channel.truncate(0);
+        channel.force(true);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,41 @@
+package evote.infrastructure.lsm;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Schreibvorgänge, die {@link LsmStore#write} als einen Datensatz ins Write-Ahead-Log
+ * schreibt und danach in Reihenfolge in den Memtable übernimmt.
+ * Repositories fassen so Datensatz und Indexeinträge eines Aufrufs zusammen.
+ */
+public final class WriteBatch {
+
+    final List<String> keys = new ArrayList<>();
+    final List<byte[]> values = new ArrayList<>(); // null = löschen
+
+    public WriteBatch put(String key, byte[] value) {
+        if (key == null || value == null) {
+            throw new IllegalArgumentException("key and value must not be null");
+        }
+        keys.add(key);
+        values.add(value);
+        return this;
+    }
+
+    public WriteBatch delete(String key) {
+        if (key == null) {
+            throw new IllegalArgumentException("key must not be null");
+        }
+        keys.add(key);
+        values.add(null);
+        return this;
+    }
+
+    public int size() {
+        return keys.size();
+    }
+
+    public boolean isEmpty() {
+        return keys.isEmpty();
+    }
+}
@@ -0,0 +1,290 @@
+package evote.stimmvergabe.application;
+
+import evote.abstimmungsverwaltung.domain.model.Poll;
+import evote.buergerverwaltung.domain.model.Voter;
+import evote.stimmvergabe.domain.model.Vote;
+import evote.stimmvergabe.domain.validator.CompositeVoteValidator;
+import evote.stimmvergabe.domain.validator.VoteRejectionReason;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Validator-Chain, die ihre Reihenfolge am echten Verkehr ausrichtet.
+ *
+ * Anders als {@link CompositeVoteValidator#and} misst die Chain für jeden Schritt Laufzeit
+ * und Ablehnungsquote. Alle {@code reorderInterval} Prüfungen wird neu sortiert: zuerst die
+ * Schritte mit der höchsten Ablehnungsquote je Nanosekunde Laufzeit. So bricht die Chain
+ * bei Ablehnungen möglichst früh und billig ab. Die Werte werden über die Intervalle
+ * exponentiell geglättet, damit eine Verkehrsänderung (z.B. Ende einer Abstimmung) nach
+ * wenigen Intervallen greift.
+ *
+ * Der gemeldete Grund hängt nicht von der Reihenfolge ab: Verletzt eine Stimme mehrere
+ * Regeln, gewinnt wie bei {@link CompositeVoteValidator#and} der in Startreihenfolge erste
+ * Schritt. Lehnt ein vorgezogener Schritt ab, werden die übersprungenen vorrangigen
+ * Schritte deshalb nachgeholt; eingespart werden nur die nachrangigen.
+ *
+ * Metriken pro Schritt (Tag validator):
+ * - evote.vote.validator.duration (Timer)
+ * - evote.vote.validator.rejections (Counter)
+ * - evote.vote.validator.position (Gauge, 0 = wird zuerst geprüft)
+ */
+public class AdaptiveVoteValidatorChain implements CompositeVoteValidator {
+
+    private static final double SMOOTHING = 0.3;
+
+    private final Step[] steps;
+    private final long reorderInterval;
+    private final AtomicLong checks = new AtomicLong();
+    private final ReentrantLock reorderLock = new ReentrantLock();
+    private volatile Step[] order;
+
+    /**
+     * @param validators      benannte Schritte in Startreihenfolge
+     * @param registry        Ziel der Metriken
+     * @param reorderInterval Prüfungen zwischen zwei Neusortierungen (0 = feste Reihenfolge)
+     */
+    public AdaptiveVoteValidatorChain(List<NamedValidator> validators, MeterRegistry registry, long reorderInterval) {
+        if (validators == null || validators.isEmpty()) {
+            throw new IllegalArgumentException("validators must not be empty");
+        }
+        if (registry == null) {
+            throw new IllegalArgumentException("registry must not be null");
+        }
+        if (reorderInterval < 0) {
+            throw new IllegalArgumentException("reorderInterval must not be negative");
+        }
+        this.reorderInterval = reorderInterval;
+        this.steps = new Step[validators.size()];
+        for (int i = 0; i < steps.length; i++) {
+            steps[i] = new Step(validators.get(i), i, registry);
+        }
+        this.order = steps.clone();
+        for (Step step : steps) {
+            Gauge.builder("evote.vote.validator.position", this, chain -> chain.positionOf(step))
+                    .description("Aktuelle Position des Validators in der Chain")
+                    .tag("validator", step.name)
+                    .register(registry);
+        }
+    }
+
+    @Override
+    public void validate(Vote vote, Poll poll, Voter voter) {
+        Step[] current = order;
+        for (int i = 0; i < current.length; i++) {
+            Step step = current[i];
+            long start = System.nanoTime();
+            try {
+                step.validator.validate(vote, poll, voter);
+            } catch (RuntimeException ex) {
+                step.finish(start, true);
+                RuntimeException winner = ex;
+                for (Step skipped : steps) {
+                    if (skipped.priority >= step.priority) {
+                        break;
+                    }
+                    if (ranBefore(current, i, skipped)) {
+                        continue;
+                    }
+                    long skippedStart = System.nanoTime();
+                    try {
+                        skipped.validator.validate(vote, poll, voter);
+                        skipped.finish(skippedStart, false);
+                    } catch (RuntimeException preceding) {
+                        skipped.finish(skippedStart, true);
+                        winner = preceding;
+                        break;
+                    }
+                }
+                afterCheck();
+                throw winner;
+            }
+            step.finish(start, false);
+        }
+        afterCheck();
+    }
+
+    @Override
+    public VoteRejectionReason check(Vote vote, Poll poll, Voter voter) {
+        Step[] current = order;
+        VoteRejectionReason reason = null;
+        for (int i = 0; i < current.length && reason == null; i++) {
+            Step step = current[i];
+            long start = System.nanoTime();
+            reason = step.validator.check(vote, poll, voter);
+            step.finish(start, reason != null);
+            if (reason != null) {
+                reason = precedingRejection(current, i, step, reason, vote, poll, voter);
+            }
+        }
+        afterCheck();
+        return reason;
+    }
+
+    /** Namen der Schritte in aktueller Prüfreihenfolge. */
+    public List<String> currentOrder() {
+        List<String> names = new ArrayList<>();
+        for (Step step : order) {
+            names.add(step.name);
+        }
+        return names;
+    }
+
+    private void afterCheck() {
+        if (reorderInterval > 0 && checks.incrementAndGet() % reorderInterval == 0 && reorderLock.tryLock()) {
+            try {
+                reorder();
+            } finally {
+                reorderLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Sortiert nach geglätteter Ablehnungsquote je Nanosekunde (absteigend).
+     * Schritte ohne Ablehnungen landen hinten, untereinander der billigste zuerst.
+     */
+    private void reorder() {
+        for (Step step : steps) {
+            step.sample();
+        }
+        Step[] sorted = order.clone();
+        // stabile Sortierung: bei Gleichstand bleibt die bisherige Reihenfolge
+        Arrays.sort(sorted, Comparator.comparingDouble(Step::score).reversed()
+                .thenComparingDouble(step -> step.costNanos));
+        order = sorted;
+    }
+
+    /**
+     * Holt die vor {@code rejecting} übersprungenen vorrangigen Schritte in Startreihenfolge
+     * nach; der erste ablehnende davon bestimmt den Grund.
+     */
+    private VoteRejectionReason precedingRejection(Step[] current, int position, Step rejecting,
+                                                   VoteRejectionReason reason,
+                                                   Vote vote, Poll poll, Voter voter) {
+        for (Step skipped : steps) {
+            if (skipped.priority >= rejecting.priority) {
+                break;
+            }
+            if (ranBefore(current, position, skipped)) {
+                continue;
+            }
+            long start = System.nanoTime();
+            VoteRejectionReason preceding = skipped.validator.check(vote, poll, voter);
+            skipped.finish(start, preceding != null);
+            if (preceding != null) {
+                return preceding;
+            }
+        }
+        return reason;
+    }
+
+    /** Lief {@code step} in {@code current} vor Position {@code position} (und hat angenommen)? */
+    private static boolean ranBefore(Step[] current, int position, Step step) {
+        for (int i = 0; i < position; i++) {
+            if (current[i] == step) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int positionOf(Step step) {
+        Step[] current = order;
+        for (int i = 0; i < current.length; i++) {
+            if (current[i] == step) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Ein Validator mit Namen für Metriken und Logging.
+     */
+    public record NamedValidator(String name, CompositeVoteValidator validator) {
+
+        public NamedValidator {
+            if (name == null || name.isBlank() || validator == null) {
+                throw new IllegalArgumentException("name and validator must be set");
+            }
+        }
+    }
+
+    private static final class Step {
+
+        final String name;
+        final CompositeVoteValidator validator;
+        /** Position in der Startreihenfolge; kleiner = vorrangig beim gemeldeten Grund. */
+        final int priority;
+        final Timer timer;
+        final Counter rejectionCounter;
+        final LongAdder calls = new LongAdder();
+        final LongAdder rejections = new LongAdder();
+        final LongAdder nanos = new LongAdder();
+
+        // nur unter reorderLock verändert
+        long sampledCalls;
+        long sampledRejections;
+        long sampledNanos;
+        double rejectionRate;
+        double costNanos;
+        boolean sampled;
+
+        Step(NamedValidator named, int priority, MeterRegistry registry) {
+            this.name = named.name();
+            this.validator = named.validator();
+            this.priority = priority;
+            this.timer = Timer.builder("evote.vote.validator.duration")
+                    .description("Laufzeit eines Validators der Stimmabgabe")
+                    .tag("validator", name)
+                    .register(registry);
+            this.rejectionCounter = Counter.builder("evote.vote.validator.rejections")
+                    .description("Ablehnungen eines Validators der Stimmabgabe")
+                    .tag("validator", name)
+                    .register(registry);
+        }
+
+        void finish(long startNanos, boolean rejected) {
+            long duration = System.nanoTime() - startNanos;
+            calls.increment();
+            nanos.add(duration);
+            timer.record(duration, TimeUnit.NANOSECONDS);
+            if (rejected) {
+                rejections.increment();
+                rejectionCounter.increment();
+            }
+        }
+
+        void sample() {
+            long c = calls.sum();
+            long r = rejections.sum();
+            long n = nanos.sum();
+            long dc = c - sampledCalls;
+            if (dc > 0) {
+                double rate = (double) (r - sampledRejections) / dc;
+                double cost = Math.max(1.0, (double) (n - sampledNanos) / dc);
+                rejectionRate = sampled ? rejectionRate + SMOOTHING * (rate - rejectionRate) : rate;
+                costNanos = sampled ? costNanos + SMOOTHING * (cost - costNanos) : cost;
+                sampled = true;
+            }
+            sampledCalls = c;
+            sampledRejections = r;
+            sampledNanos = n;
+        }
+
+        double score() {
+            return sampled ? rejectionRate / costNanos : 0.0;
+        }
+    }
+}
@@ -1,10 +1,28 @@
 package evote.stimmvergabe.application;
 
+import org.springframework.context.ApplicationEventPublisher;
+
 /**
- * Platzhalter für einen Publisher, der Domänenereignisse aus der Stimmvergabe versendet.
+ * Publisher, der Domänenereignisse aus der Stimmvergabe und der Bürgerverwaltung über den
+ * Spring-Event-Bus versendet. Andere Kontexte (z.B. die Auswertung) reagieren darauf per
+ * {@code @EventListener}.
+ * Ohne Spring-Publisher (Tests) werden Ereignisse verworfen.
  */
 public class DomainEventPublisher {
-    void publish(Object event) {
 
+    private final ApplicationEventPublisher delegate;
+
+    public DomainEventPublisher() {
+        this(null);
+    }
+
+    public DomainEventPublisher(ApplicationEventPublisher delegate) {
+        this.delegate = delegate;
+    }
+
+    public void publish(Object event) {
+        if (delegate != null) {
+            delegate.publishEvent(event);
+        }
     }
 }
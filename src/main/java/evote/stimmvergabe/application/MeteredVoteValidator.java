@@ -0,0 +1,44 @@
+package evote.stimmvergabe.application;
+
+import evote.abstimmungsverwaltung.domain.model.Poll;
+import evote.buergerverwaltung.domain.model.Voter;
+import evote.stimmvergabe.domain.model.Vote;
+import evote.stimmvergabe.domain.validator.CompositeVoteValidator;
+import evote.stimmvergabe.domain.validator.VoteRejectionReason;
+
+/**
+ * Decorator, der Ablehnungen eines Validators mit seinem fachlichen Grund
+ * in {@link VoteMetrics} zählt. Die Exception wird unverändert weitergereicht;
+ * bei {@link #check} wird der zurückgegebene Grund gezählt.
+ */
+public class MeteredVoteValidator implements CompositeVoteValidator {
+
+    private final VoteRejectionReason reason;
+    private final CompositeVoteValidator delegate;
+    private final VoteMetrics metrics;
+
+    public MeteredVoteValidator(VoteRejectionReason reason, CompositeVoteValidator delegate, VoteMetrics metrics) {
+        this.reason = reason;
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void validate(Vote vote, Poll poll, Voter voter) {
+        try {
+            delegate.validate(vote, poll, voter);
+        } catch (RuntimeException ex) {
+            metrics.rejected(vote != null ? vote.getPollId() : VoteMetrics.UNKNOWN_POLL, reason);
+            throw ex;
+        }
+    }
+
+    @Override
+    public VoteRejectionReason check(Vote vote, Poll poll, Voter voter) {
+        VoteRejectionReason rejection = delegate.check(vote, poll, voter);
+        if (rejection != null) {
+            metrics.rejected(vote != null ? vote.getPollId() : VoteMetrics.UNKNOWN_POLL, rejection);
+        }
+        return rejection;
+    }
+}
@@ -0,0 +1,113 @@
+package evote.stimmvergabe.application;
+
+import evote.stimmvergabe.application.dto.VoteTraceRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * VoteFlightRecorder - In-Process Flight Recorder für langsame Stimmabgaben
+ *
+ * Hält die letzten N Requests, deren Gesamtdauer die Schwelle überschreitet,
+ * samt Aufschlüsselung nach Pipeline-Schritt in einem Ringpuffer.
+ *
+ * Konfiguration:
+ * - evote.tracing.enabled (Standard: false)
+ * - evote.tracing.slow-threshold-ms (Standard: 50)
+ * - evote.tracing.capacity (Standard: 128)
+ *
+ * Im deaktivierten Zustand wird pro Request weder allokiert noch synchronisiert.
+ * Schnelle Requests werden verworfen, ohne ein Ausgabe-Objekt zu erzeugen.
+ */
+@Component
+public class VoteFlightRecorder {
+
+    private final boolean enabled;
+    private final long slowThresholdNanos;
+    private final Clock clock;
+    private final AtomicReferenceArray<VoteTraceRecord> ring;
+    private final AtomicLong cursor = new AtomicLong();
+
+    public VoteFlightRecorder(@Value("${evote.tracing.enabled:false}") boolean enabled,
+                              @Value("${evote.tracing.slow-threshold-ms:50}") long slowThresholdMillis,
+                              @Value("${evote.tracing.capacity:128}") int capacity,
+                              Clock clock) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.enabled = enabled;
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMillis);
+        this.clock = clock;
+        this.ring = new AtomicReferenceArray<>(capacity);
+    }
+
+    /**
+     * Deaktivierter Recorder – für Tests und manuelle Verdrahtung.
+     */
+    public static VoteFlightRecorder disabled() {
+        return new VoteFlightRecorder(false, 0, 1, Clock.systemUTC());
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    VoteTrace begin(String correlationId, String pollId) {
+        if (!enabled) {
+            return VoteTrace.DISABLED;
+        }
+        return new VoteTrace(correlationId, pollId, Instant.now(clock), System.nanoTime());
+    }
+
+    void finish(VoteTrace trace) {
+        if (!trace.isEnabled()) {
+            return;
+        }
+        long total = System.nanoTime() - trace.startNanos();
+        if (total < slowThresholdNanos) {
+            return;
+        }
+        Map<String, Long> stages = new LinkedHashMap<>();
+        for (VoteStage stage : VoteStage.values()) {
+            long nanos = trace.stageNanos(stage);
+            if (nanos > 0) {
+                stages.put(stage.tag(), TimeUnit.NANOSECONDS.toMicros(nanos));
+            }
+        }
+        VoteTraceRecord record = new VoteTraceRecord(
+                trace.correlationId(),
+                trace.pollId(),
+                trace.startedAt(),
+                trace.outcome(),
+                TimeUnit.NANOSECONDS.toMicros(total),
+                stages
+        );
+        int slot = (int) (cursor.getAndIncrement() % ring.length());
+        ring.set(slot, record);
+    }
+
+    /**
+     * Liefert die aufgezeichneten langsamen Requests, neueste zuerst.
+     */
+    public List<VoteTraceRecord> slowRequests() {
+        List<VoteTraceRecord> result = new ArrayList<>(ring.length());
+        for (int i = 0; i < ring.length(); i++) {
+            VoteTraceRecord record = ring.get(i);
+            if (record != null) {
+                result.add(record);
+            }
+        }
+        result.sort(Comparator.comparing(VoteTraceRecord::startedAt).reversed());
+        return result;
+    }
+}
@@ -0,0 +1,78 @@
+package evote.stimmvergabe.application;
+
+import evote.stimmvergabe.domain.validator.VoteRejectionReason;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * VoteMetrics - fachliche Metriken der Stimmvergabe
+ *
+ * Erfasst:
+ * - angenommene Stimmen pro Poll (evote.votes.accepted)
+ * - abgelehnte Stimmen pro Poll und Grund (evote.votes.rejected); unbekannte Polls
+ *   laufen gemeinsam unter poll="unknown", damit Client-IDs keine neuen Zeitreihen erzeugen
+ * - erkannte idempotente Wiederholungen (evote.votes.idempotent.replays)
+ * - Latenz-Histogramme pro Pipeline-Schritt (evote.vote.stage)
+ *
+ * Die Ausgabe im Prometheus-Textformat erfolgt über /actuator/prometheus.
+ */
+@Component
+public class VoteMetrics {
+
+    static final String ACCEPTED = "evote.votes.accepted";
+    static final String REJECTED = "evote.votes.rejected";
+    static final String REPLAYS = "evote.votes.idempotent.replays";
+    static final String STAGE = "evote.vote.stage";
+    static final String UNKNOWN_POLL = "unknown";
+
+    private final MeterRegistry registry;
+    private final Map<VoteStage, Timer> stageTimers = new EnumMap<>(VoteStage.class);
+
+    public VoteMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        for (VoteStage stage : VoteStage.values()) {
+            stageTimers.put(stage, Timer.builder(STAGE)
+                    .description("Latenz der einzelnen Schritte der Stimmabgabe")
+                    .tag("stage", stage.tag())
+                    .publishPercentileHistogram()
+                    .register(registry));
+        }
+    }
+
+    /**
+     * Metriken ohne Export – für Tests und manuelle Verdrahtung.
+     */
+    public static VoteMetrics noop() {
+        return new VoteMetrics(new CompositeMeterRegistry());
+    }
+
+    public void accepted(String pollId) {
+        registry.counter(ACCEPTED, "poll", pollId).increment();
+    }
+
+    public void rejected(String pollId, VoteRejectionReason reason) {
+        Counter.builder(REJECTED)
+                .tag("poll", pollId == null || reason == VoteRejectionReason.POLL_NOT_FOUND ? UNKNOWN_POLL : pollId)
+                .tag("reason", reason.tag())
+                .register(registry)
+                .increment();
+    }
+
+    public void idempotentReplay() {
+        registry.counter(REPLAYS).increment();
+    }
+
+    /**
+     * Erfasst die Dauer eines Pipeline-Schritts.
+     */
+    public void recordStage(VoteStage stage, long durationNanos) {
+        stageTimers.get(stage).record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+}
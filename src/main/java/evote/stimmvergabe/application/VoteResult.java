@@ -0,0 +1,74 @@
+package evote.stimmvergabe.application;
+
+import evote.stimmvergabe.domain.validator.VoteRejectionReason;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Ergebnis einer Stimmabgabe ohne Exceptions (siehe {@link VoteService#tryCreate}).
+ *
+ * Alle möglichen Ergebnisse werden beim Laden der Klasse einmal erzeugt;
+ * eine Ablehnung kostet damit weder Allokation noch Stacktrace.
+ */
+public final class VoteResult {
+
+    private static final VoteResult ACCEPTED = new VoteResult(null, false, "accepted");
+    private static final VoteResult REPLAYED = new VoteResult(null, true, "replay");
+    private static final Map<VoteRejectionReason, VoteResult> REJECTIONS = new EnumMap<>(VoteRejectionReason.class);
+
+    static {
+        for (VoteRejectionReason reason : VoteRejectionReason.values()) {
+            REJECTIONS.put(reason, new VoteResult(reason, false, "rejected: " + reason.tag()));
+        }
+    }
+
+    private final VoteRejectionReason rejectionReason;
+    private final boolean replay;
+    private final String outcome;
+
+    private VoteResult(VoteRejectionReason rejectionReason, boolean replay, String outcome) {
+        this.rejectionReason = rejectionReason;
+        this.replay = replay;
+        this.outcome = outcome;
+    }
+
+    public static VoteResult accepted() {
+        return ACCEPTED;
+    }
+
+    public static VoteResult replayed() {
+        return REPLAYED;
+    }
+
+    public static VoteResult rejected(VoteRejectionReason reason) {
+        if (reason == null) {
+            throw new IllegalArgumentException("reason must not be null");
+        }
+        return REJECTIONS.get(reason);
+    }
+
+    /** true für neue Stimmen und idempotente Wiederholungen. */
+    public boolean isAccepted() {
+        return rejectionReason == null;
+    }
+
+    public boolean isReplay() {
+        return replay;
+    }
+
+    /** Ablehnungsgrund oder null, wenn die Stimme angenommen wurde. */
+    public VoteRejectionReason rejectionReason() {
+        return rejectionReason;
+    }
+
+    /** Kurzbeschreibung für den Flight Recorder. */
+    String outcome() {
+        return outcome;
+    }
+
+    @Override
+    public String toString() {
+        return "VoteResult{" + outcome + '}';
+    }
+}
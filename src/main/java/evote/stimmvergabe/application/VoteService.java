@@ -2,10 +2,14 @@ package evote.stimmvergabe.application;
 
 import evote.stimmvergabe.application.dto.VoteCreateRequest;
 import evote.stimmvergabe.domain.model.Vote;
+import evote.stimmvergabe.domain.model.VoteIdGenerator;
 import evote.stimmvergabe.domain.repository.VoteRepository;
 import evote.stimmvergabe.domain.validator.CompositeVoteValidator;
+import evote.stimmvergabe.domain.validator.VoteRejectionReason;
 import evote.buergerverwaltung.domain.model.Voter;
 import evote.buergerverwaltung.domain.repository.VoterRepository;
+import evote.buergerverwaltung.domain.repository.VoterVersionConflictException;
+import evote.buergerverwaltung.events.VoterParticipatedEvent;
 import evote.abstimmungsverwaltung.domain.model.Poll;
 import evote.abstimmungsverwaltung.domain.repository.PollRepository;
 import org.springframework.stereotype.Service;
@@ -13,14 +17,13 @@ import org.springframework.beans.factory.annotation.Autowired;
 
 import java.time.Clock;
 import java.util.Optional;
-import java.util.UUID;
 
 /**
  * VoteService – Application Layer
  *
  * Geschäftsprozess: Stimme abgeben.
  * - prüft, ob der Voter bereits für diese Poll abgestimmt hat (Double-Voting-Prevention)
- * - erzeugt ein Vote-Domainobjekt
+ * - erzeugt ein Vote-Domainobjekt (mit dem Wahlkreis des Voters für die Auswertung)
  * - speichert es im Repository
  * - markiert den Voter als abgestimmt für diese Poll
  * - publiziert das zugehörige Domain-Event
@@ -34,12 +37,32 @@ import java.util.UUID;
 @Service
 public class VoteService {
 
+    // Versuche, den Voter bei parallelen Änderungen neu zu laden und erneut zu speichern
+    static final int MAX_SAVE_ATTEMPTS = 3;
+
     private final VoteRepository voteRepository;
     private final VoterRepository voterRepository;
     private final PollRepository pollRepository;
     private final Clock clock;
     private final DomainEventPublisher publisher;
     private final CompositeVoteValidator compositeVoteValidator;
+    private final VoteMetrics metrics;
+    private final VoteFlightRecorder flightRecorder;
+    private final VoteIdGenerator idGenerator;
+
+    /**
+     * Konstruktor ohne Metriken und Tracing (z.B. für Unit-Tests)
+     */
+    public VoteService(VoteRepository voteRepository,
+                       VoterRepository voterRepository,
+                       PollRepository pollRepository,
+                       Clock clock,
+                       DomainEventPublisher publisher,
+                       CompositeVoteValidator compositeVoteValidator) {
+        this(voteRepository, voterRepository, pollRepository, clock, publisher,
+                compositeVoteValidator, VoteMetrics.noop(), VoteFlightRecorder.disabled(),
+                VoteIdGenerator.monotonic());
+    }
 
     /**
      * Konstruktor für Dependency Injection
@@ -52,13 +75,19 @@ public class VoteService {
                        PollRepository pollRepository,
                        Clock clock,
                        DomainEventPublisher publisher,
-                       CompositeVoteValidator compositeVoteValidator) {
+                       CompositeVoteValidator compositeVoteValidator,
+                       VoteMetrics metrics,
+                       VoteFlightRecorder flightRecorder,
+                       VoteIdGenerator idGenerator) {
         this.voteRepository = voteRepository;
         this.voterRepository = voterRepository;
         this.pollRepository = pollRepository;
         this.clock = clock;
         this.publisher = publisher;
         this.compositeVoteValidator = compositeVoteValidator;
+        this.metrics = metrics;
+        this.flightRecorder = flightRecorder;
+        this.idGenerator = idGenerator;
     }
 
     /**
@@ -89,51 +118,155 @@ public class VoteService {
      * @throws IllegalStateException wenn Validierungsbedingung verletzt wird
      */
     public void create(VoteCreateRequest req) {
+        VoteTrace trace = flightRecorder.begin(req.correlationId(), req.pollId());
+        try {
+            process(req, trace, true);
+        } catch (RuntimeException ex) {
+            trace.outcome("rejected: " + ex.getClass().getSimpleName());
+            throw ex;
+        } finally {
+            flightRecorder.finish(trace);
+        }
+    }
+
+    /**
+     * Wie {@link #create}, meldet fachliche Ablehnungen (Poll/Voter unbekannt, Poll
+     * geschlossen, bereits abgestimmt, ungültige Option) aber als {@link VoteResult}
+     * statt als Exception. Gedacht für Ablehnungen in großer Zahl, z.B. wenn Clients
+     * nach dem Ende einer Abstimmung weiter senden.
+     *
+     * @return angenommene Stimme, idempotente Wiederholung oder Ablehnung mit Grund
+     */
+    public VoteResult tryCreate(VoteCreateRequest req) {
+        VoteTrace trace = flightRecorder.begin(req.correlationId(), req.pollId());
+        try {
+            VoteResult result = process(req, trace, false);
+            trace.outcome(result.outcome());
+            return result;
+        } catch (RuntimeException ex) {
+            trace.outcome("rejected: " + ex.getClass().getSimpleName());
+            throw ex;
+        } finally {
+            flightRecorder.finish(trace);
+        }
+    }
+
+    /**
+     * @param throwing true: Ablehnungen als Exception (create), false: als VoteResult (tryCreate)
+     */
+    private VoteResult process(VoteCreateRequest req, VoteTrace trace, boolean throwing) {
+        long t = System.nanoTime();
 
         // 1. Idempotenz-Prüfung: Wurde bereits ein Vote mit dieser correlationId abgegeben?
         Optional<Vote> existingVote = voteRepository.findByCorrelationId(req.correlationId());
+        t = stage(VoteStage.IDEMPOTENCY_CHECK, t, trace);
         if (existingVote.isPresent()) {
-            return;
+            metrics.idempotentReplay();
+            trace.outcome("replay");
+            return VoteResult.replayed();
         }
 
         // 2. Poll laden (REQUIRED)
-        Poll poll = pollRepository.findById(req.pollId())
-                .orElseThrow(() -> new IllegalArgumentException(
-                        "Poll not found: " + req.pollId()
-                ));
-
-        // 3. Voter laden (REQUIRED - Voter muss immer existieren)
-        Voter voter = voterRepository.findById(req.voterId())
-                .orElseThrow(() -> new IllegalArgumentException(
-                        "Voter not found: " + req.voterId()
-                ));
-
-        // 4. Vote Domain Model erstellen
-        // Die compact constructor des Vote Records validiert bereits grundlegende Invarianten
-        Vote vote = Vote.of(
-                UUID.randomUUID().toString(),
-                req.pollId(),
-                req.optionId(),
-                req.correlationId(),
-                clock
-        );
-
-        // 5. Cross-Context Validierung auf dem Vote Domain Model
-        // CompositeVoteValidator kombiniert Validatoren aus verschiedenen Bounded Contexts
-        // durch Anti-Corruption Layer Adapter
-        // Diese Validierung kann für Create, Update und andere Operationen wiederverwendet werden
-        compositeVoteValidator.validate(vote, poll, voter);
-
-        // 6. Bei erfolgreicher Validierung: Persistieren
-
-        // Voter markieren und speichern
-        voter.markVoted(req.pollId());
-        voterRepository.save(voter);
-
-        // Vote persistieren
-        voteRepository.save(vote);
-
-        // Domain-Event publizieren
+        Optional<Poll> loadedPoll = pollRepository.findById(req.pollId());
+        t = stage(VoteStage.POLL_LOOKUP, t, trace);
+        if (loadedPoll.isEmpty()) {
+            metrics.rejected(req.pollId(), VoteRejectionReason.POLL_NOT_FOUND);
+            if (!throwing) {
+                return VoteResult.rejected(VoteRejectionReason.POLL_NOT_FOUND);
+            }
+            throw new IllegalArgumentException("Poll not found: " + req.pollId());
+        }
+        Poll poll = loadedPoll.get();
+
+        // 3.-6. Voter laden, validieren und markieren; bei parallel geändertem Voter neu laden
+        Vote vote = null;
+        for (int attempt = 1; ; attempt++) {
+            // 3. Voter laden (REQUIRED - Voter muss immer existieren)
+            Optional<Voter> loadedVoter = voterRepository.findById(req.voterId());
+            t = stage(VoteStage.VOTER_LOOKUP, t, trace);
+            if (loadedVoter.isEmpty()) {
+                metrics.rejected(req.pollId(), VoteRejectionReason.VOTER_NOT_FOUND);
+                if (!throwing) {
+                    return VoteResult.rejected(VoteRejectionReason.VOTER_NOT_FOUND);
+                }
+                throw new IllegalArgumentException("Voter not found: " + req.voterId());
+            }
+            Voter voter = loadedVoter.get();
+
+            // 4. Vote Domain Model erstellen
+            // Die compact constructor des Vote Records validiert bereits grundlegende Invarianten
+            if (vote == null) {
+                vote = Vote.of(
+                        idGenerator.next().toString(),
+                        req.pollId(),
+                        req.optionId(),
+                        req.correlationId(),
+                        voter.getWahlkreis(),
+                        clock
+                );
+                t = stage(VoteStage.VOTE_BUILD, t, trace);
+            }
+
+            // 5. Cross-Context Validierung auf dem Vote Domain Model
+            // CompositeVoteValidator kombiniert Validatoren aus verschiedenen Bounded Contexts
+            // durch Anti-Corruption Layer Adapter
+            // Diese Validierung kann für Create, Update und andere Operationen wiederverwendet werden
+            if (throwing) {
+                compositeVoteValidator.validate(vote, poll, voter);
+            } else {
+                VoteRejectionReason rejection = compositeVoteValidator.check(vote, poll, voter);
+                if (rejection != null) {
+                    stage(VoteStage.VALIDATION, t, trace);
+                    return VoteResult.rejected(rejection);
+                }
+            }
+            t = stage(VoteStage.VALIDATION, t, trace);
+
+            // 6. Bei erfolgreicher Validierung: Persistieren
+
+            // Voter markieren und speichern (Arbeitskopie, der Snapshot bleibt unverändert)
+            Voter updated = voter.copy();
+            updated.markVoted(req.pollId());
+            boolean saved = voterRepository.saveIfVersion(updated, voter.getVersion());
+            t = stage(VoteStage.VOTER_SAVE, t, trace);
+            if (saved) {
+                break;
+            }
+            if (attempt >= MAX_SAVE_ATTEMPTS) {
+                throw new VoterVersionConflictException(req.voterId(), voter.getVersion(),
+                        voterRepository.findById(req.voterId()).map(Voter::getVersion).orElse(VoterRepository.ABSENT));
+            }
+        }
+
+        // Vote persistieren; parallel gespeicherte gleiche correlationId gilt als Wiederholung
+        if (!voteRepository.saveIfVersion(vote, VoteRepository.ABSENT)) {
+            stage(VoteStage.VOTE_SAVE, t, trace);
+            metrics.idempotentReplay();
+            trace.outcome("replay");
+            return VoteResult.replayed();
+        }
+        t = stage(VoteStage.VOTE_SAVE, t, trace);
+
+        // Domain-Events publizieren: Teilnahme (ohne Option) und Stimme (ohne Voter) getrennt
+        publisher.publish(new VoterParticipatedEvent(req.voterId(), req.pollId()));
         publisher.publish(vote.getDomainEvent());
+        stage(VoteStage.PUBLISH, t, trace);
+
+        metrics.accepted(req.pollId());
+        trace.outcome("accepted");
+        return VoteResult.accepted();
+    }
+
+    /**
+     * Schließt einen Pipeline-Schritt ab und meldet die Dauer an Metriken und Trace.
+     *
+     * @return aktueller Zeitstempel, als Start für den nächsten Schritt
+     */
+    private long stage(VoteStage stage, long startNanos, VoteTrace trace) {
+        long now = System.nanoTime();
+        long duration = now - startNanos;
+        metrics.recordStage(stage, duration);
+        trace.record(stage, duration);
+        return now;
     }
 }
@@ -0,0 +1,27 @@
+package evote.stimmvergabe.application;
+
+/**
+ * Einzelne Schritte der Pipeline in {@link VoteService#create}.
+ * Dienen als Dimension für Latenz-Metriken.
+ */
+public enum VoteStage {
+
+    IDEMPOTENCY_CHECK("idempotency_check"),
+    POLL_LOOKUP("poll_lookup"),
+    VOTER_LOOKUP("voter_lookup"),
+    VOTE_BUILD("vote_build"),
+    VALIDATION("validation"),
+    VOTER_SAVE("voter_save"),
+    VOTE_SAVE("vote_save"),
+    PUBLISH("publish");
+
+    private final String tag;
+
+    VoteStage(String tag) {
+        this.tag = tag;
+    }
+
+    public String tag() {
+        return tag;
+    }
+}
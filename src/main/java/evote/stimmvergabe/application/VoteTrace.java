@@ -0,0 +1,70 @@
+package evote.stimmvergabe.application;
+
+import java.time.Instant;
+
+/**
+ * Zeitmessung eines einzelnen Aufrufs von {@link VoteService#create}.
+ *
+ * Die Dauer pro {@link VoteStage} wird in einem primitiven Array gehalten.
+ * Ist das Tracing deaktiviert, wird die gemeinsame Instanz {@link #DISABLED}
+ * verwendet, die alle Aufrufe ignoriert und nichts allokiert.
+ */
+final class VoteTrace {
+
+    static final VoteTrace DISABLED = new VoteTrace(null, null, null, 0L);
+
+    private final String correlationId;
+    private final String pollId;
+    private final Instant startedAt;
+    private final long startNanos;
+    private final long[] stageNanos;
+    private String outcome;
+
+    VoteTrace(String correlationId, String pollId, Instant startedAt, long startNanos) {
+        this.correlationId = correlationId;
+        this.pollId = pollId;
+        this.startedAt = startedAt;
+        this.startNanos = startNanos;
+        this.stageNanos = startedAt != null ? new long[VoteStage.values().length] : null;
+    }
+
+    boolean isEnabled() {
+        return stageNanos != null;
+    }
+
+    void record(VoteStage stage, long durationNanos) {
+        if (stageNanos != null) {
+            stageNanos[stage.ordinal()] = durationNanos;
+        }
+    }
+
+    void outcome(String outcome) {
+        if (stageNanos != null) {
+            this.outcome = outcome;
+        }
+    }
+
+    String correlationId() {
+        return correlationId;
+    }
+
+    String pollId() {
+        return pollId;
+    }
+
+    Instant startedAt() {
+        return startedAt;
+    }
+
+    long startNanos() {
+        return startNanos;
+    }
+
+    long stageNanos(VoteStage stage) {
+        return stageNanos[stage.ordinal()];
+    }
+
+    String outcome() {
+        return outcome;
+    }
+}
@@ -0,0 +1,18 @@
+package evote.stimmvergabe.application.dto;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Ausgabe-DTO eines langsamen Vote-Requests aus dem Flight Recorder.
+ * Die Dauern sind in Mikrosekunden angegeben, je Pipeline-Schritt in Ausführungsreihenfolge.
+ */
+public record VoteTraceRecord(
+        String correlationId,
+        String pollId,
+        Instant startedAt,
+        String outcome,
+        long totalMicros,
+        Map<String, Long> stageMicros
+) {
+}
@@ -0,0 +1,47 @@
+package evote.stimmvergabe.config;
+
+import evote.stimmvergabe.infrastructure.web.AdaptiveConcurrencyLimiter;
+import evote.stimmvergabe.infrastructure.web.VoteAdmissionFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * VoteAdmissionConfiguration - Lastabwurf vor der Stimmabgabe
+ *
+ * Bounded Context: Stimmvergabe
+ *
+ * evote.vote.admission.*:
+ * - enabled: Zugangskontrolle an/aus (Standard: an)
+ * - initial-limit / min-limit / max-limit: Grenzen des adaptiven Limits
+ * - rtt-tolerance: erlaubter Latenzanstieg gegenüber der Referenz, bevor das Limit sinkt
+ * - retry-after-seconds: Wert des Retry-After-Headers bei 503
+ */
+@Configuration
+@ConditionalOnProperty(name = "evote.vote.admission.enabled", havingValue = "true", matchIfMissing = true)
+public class VoteAdmissionConfiguration {
+
+    @Bean
+    public AdaptiveConcurrencyLimiter voteConcurrencyLimiter(
+            @Value("${evote.vote.admission.initial-limit:20}") int initialLimit,
+            @Value("${evote.vote.admission.min-limit:4}") int minLimit,
+            @Value("${evote.vote.admission.max-limit:200}") int maxLimit,
+            @Value("${evote.vote.admission.rtt-tolerance:1.5}") double rttTolerance) {
+        return new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit, rttTolerance);
+    }
+
+    @Bean
+    public FilterRegistrationBean<VoteAdmissionFilter> voteAdmissionFilter(
+            AdaptiveConcurrencyLimiter voteConcurrencyLimiter,
+            @Value("${evote.vote.admission.retry-after-seconds:1}") long retryAfterSeconds,
+            MeterRegistry meterRegistry) {
+        FilterRegistrationBean<VoteAdmissionFilter> registration = new FilterRegistrationBean<>(
+                new VoteAdmissionFilter(voteConcurrencyLimiter, retryAfterSeconds, meterRegistry));
+        registration.addUrlPatterns("/api/vote");
+        registration.setName("voteAdmissionFilter");
+        return registration;
+    }
+}
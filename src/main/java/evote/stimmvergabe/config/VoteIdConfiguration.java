@@ -0,0 +1,28 @@
+package evote.stimmvergabe.config;
+
+import evote.stimmvergabe.domain.model.VoteIdGenerator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * VoteIdConfiguration - Auswahl des ID-Generators für Stimmen
+ *
+ * Bounded Context: Stimmvergabe
+ *
+ * evote.vote.id-generator:
+ * - monotonic (Standard): zeitgeordnete IDs aus Thread-lokalem Zustand
+ * - uuid: zufällige UUIDs über UUID.randomUUID()
+ */
+@Configuration
+public class VoteIdConfiguration {
+
+    @Bean
+    public VoteIdGenerator voteIdGenerator(@Value("${evote.vote.id-generator:monotonic}") String type) {
+        return switch (type) {
+            case "monotonic" -> VoteIdGenerator.monotonic();
+            case "uuid" -> VoteIdGenerator.randomUuid();
+            default -> throw new IllegalArgumentException("Unknown vote id generator: " + type);
+        };
+    }
+}
@@ -1,15 +1,25 @@
 package evote.stimmvergabe.config;
 
+import evote.stimmvergabe.application.AdaptiveVoteValidatorChain;
+import evote.stimmvergabe.application.AdaptiveVoteValidatorChain.NamedValidator;
+import evote.stimmvergabe.application.MeteredVoteValidator;
+import evote.stimmvergabe.application.VoteMetrics;
 import evote.stimmvergabe.domain.validator.CompositeVoteValidator;
+import evote.stimmvergabe.domain.validator.PollCachingVoteValidator;
 import evote.stimmvergabe.domain.validator.VoteOptionValidator;
+import evote.stimmvergabe.domain.validator.VoteRejectionReason;
 import evote.stimmvergabe.domain.validator.adapter.PollValidatorAdapter;
 import evote.stimmvergabe.domain.validator.adapter.VoterValidatorAdapter;
 import evote.abstimmungsverwaltung.domain.validator.PollValidator;
 import evote.buergerverwaltung.domain.validator.VoterValidator;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
 
 /**
  * VoteValidationConfiguration - Cross-Context Validierungs-Orchestrierung
@@ -38,28 +48,45 @@ public class VoteValidationConfiguration {
     /**
      * Spring Bean: Composite Validator für die Vote-Erstellung
      *
-     * Die Validator-Chain wird in dieser Reihenfolge ausgeführt:
+     * Die Validator-Chain startet in dieser Reihenfolge:
      * 1. PollValidator - Prüft Poll-Status
      * 2. VoterValidator - Prüft Voter-Berechtigung
      * 3. VoteOptionValidator - Prüft Option-Gültigkeit
      *
+     * Danach sortiert die {@link AdaptiveVoteValidatorChain} alle
+     * {@code evote.vote.validation.reorder-interval} Prüfungen nach Ablehnungsquote und
+     * Laufzeit um. Das Poll-Ergebnis wird pro Poll für
+     * {@code evote.vote.validation.poll-cache-ttl} zwischengespeichert.
+     *
+     * Jeder Validator wird mit seinem Ablehnungsgrund für die Metriken dekoriert.
+     *
      * @param pollValidator Validator aus Abstimmungsverwaltung-Kontext
      * @param voterValidator Validator aus Bürgerverwaltung-Kontext
      * @param clock Clock für Zeitprüfungen
+     * @param metrics Metriken der Stimmvergabe
+     * @param registry Ziel der Metriken pro Validator
+     * @param pollCacheTtl Gültigkeit gecachter Poll-Ergebnisse (PT0S = kein Cache)
+     * @param reorderInterval Prüfungen zwischen zwei Neusortierungen (0 = feste Reihenfolge)
      * @return CompositeVoteValidator mit allen Validierungen
      */
     @Bean
     public CompositeVoteValidator compositeVoteValidator(
             PollValidator pollValidator,
             VoterValidator voterValidator,
-            Clock clock) {
+            Clock clock,
+            VoteMetrics metrics,
+            MeterRegistry registry,
+            @Value("${evote.vote.validation.poll-cache-ttl:PT1S}") Duration pollCacheTtl,
+            @Value("${evote.vote.validation.reorder-interval:1000}") long reorderInterval) {
 
-        return new PollValidatorAdapter(pollValidator, clock)
-                .and(new VoterValidatorAdapter(voterValidator))
-                .and(new VoteOptionValidator());
+        return new AdaptiveVoteValidatorChain(List.of(
+                new NamedValidator("poll", new MeteredVoteValidator(VoteRejectionReason.POLL_NOT_OPEN,
+                        new PollCachingVoteValidator(new PollValidatorAdapter(pollValidator, clock),
+                                pollCacheTtl, clock), metrics)),
+                new NamedValidator("voter", new MeteredVoteValidator(VoteRejectionReason.VOTER_NOT_ELIGIBLE,
+                        new VoterValidatorAdapter(voterValidator), metrics)),
+                new NamedValidator("option", new MeteredVoteValidator(VoteRejectionReason.INVALID_OPTION,
+                        new VoteOptionValidator(), metrics))),
+                registry, reorderInterval);
     }
 }
-
-
-
-
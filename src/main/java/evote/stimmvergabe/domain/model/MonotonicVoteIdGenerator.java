@@ -0,0 +1,71 @@
+package evote.stimmvergabe.domain.model;
+
+import java.security.SecureRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Zeitgeordneter ID-Generator im Layout von UUID Version 7.
+ *
+ * Aufbau der 128 Bit:
+ * - 48 Bit Zeitstempel in Millisekunden
+ * - 4 Bit Version (7), 2 Bit Variante
+ * - 42 Bit Sequenz, die innerhalb derselben Millisekunde hochzählt
+ * - 32 Bit Knoten-Kennung des erzeugenden Threads (16 Bit zufällig, 16 Bit fortlaufend)
+ *
+ * Jeder Thread hält Zeitstempel und Sequenz selbst, dadurch gibt es weder Locks
+ * noch gemeinsam genutzte Zustände auf dem Hot Path. SecureRandom wird nur
+ * einmal pro Thread für die Knoten-Kennung benötigt.
+ * IDs eines Threads sind streng monoton, über Threads hinweg nach Millisekunde geordnet.
+ */
+final class MonotonicVoteIdGenerator implements VoteIdGenerator {
+
+    private static final long VERSION_7 = 0x7000L;
+    private static final long VARIANT = 0x8000_0000_0000_0000L;
+    private static final long MAX_SEQUENCE = (1L << 42) - 1;
+
+    private static final SecureRandom NODE_SEED = new SecureRandom();
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    private final LongSupplier millis;
+    private final ThreadLocal<State> state = ThreadLocal.withInitial(State::new);
+
+    MonotonicVoteIdGenerator() {
+        this(System::currentTimeMillis);
+    }
+
+    MonotonicVoteIdGenerator(LongSupplier millis) {
+        this.millis = millis;
+    }
+
+    @Override
+    public VoteId next() {
+        State s = state.get();
+        long now = millis.getAsLong();
+        if (now > s.lastMillis) {
+            s.lastMillis = now;
+            s.sequence = 0;
+        } else if (++s.sequence > MAX_SEQUENCE) {
+            // Sequenz erschöpft oder Uhr zurückgestellt: logisch in die nächste Millisekunde wechseln
+            s.lastMillis++;
+            s.sequence = 0;
+        }
+
+        long seq = s.sequence;
+        long msb = (s.lastMillis << 16) | VERSION_7 | ((seq >>> 30) & 0xFFF);
+        long lsb = VARIANT | ((seq & 0x3FFF_FFFFL) << 32) | s.node;
+        return new VoteId(msb, lsb);
+    }
+
+    private static final class State {
+        private final long node;
+        private long lastMillis = Long.MIN_VALUE;
+        private long sequence;
+
+        private State() {
+            long random = NODE_SEED.nextInt() & 0xFFFFL;
+            long counter = THREAD_COUNTER.getAndIncrement() & 0xFFFFL;
+            this.node = (random << 16) | counter;
+        }
+    }
+}
@@ -7,17 +7,22 @@ import java.time.Instant;
 
 /**
  * Value Object der Stimmvergabe, das eine abgegebene Stimme samt Zeitstempel abbildet.
+ *
+ * district ist der Wahlkreis des Voters zum Zeitpunkt der Stimmabgabe (optional).
+ * Er wird beim Abgeben übernommen, damit die Auswertung nach Wahlkreisen keine
+ * Verbindung zurück zum Voter braucht; die Stimme bleibt dabei ohne voterId.
  */
 public record Vote(
         String voteId,
         String pollId,
         String optionId,
         String correlationId,
-        Instant castAt
+        Instant castAt,
+        String district
 ) {
 
     /**
-     * Kompakter Konstruktor zur Validierung aller Pflichtfelder.
+     * Kompakter Konstruktor zur Validierung aller Pflichtfelder; ein leerer Wahlkreis wird zu null.
      */
     public Vote {
         if (voteId == null || voteId.trim().isEmpty()) {
@@ -35,16 +40,34 @@ public record Vote(
         if (castAt == null) {
             throw new IllegalArgumentException("castAt must not be null");
         }
+        if (district != null && district.trim().isEmpty()) {
+            district = null; // Voter ohne Wahlkreis
+        }
+    }
+
+    /**
+     * Stimme ohne Wahlkreis.
+     */
+    public Vote(String voteId, String pollId, String optionId, String correlationId, Instant castAt) {
+        this(voteId, pollId, optionId, correlationId, castAt, null);
     }
 
     /**
      * Factory-Methode zum Erzeugen einer Stimme mit Zeitstempel aus einer Clock.
      */
     public static Vote of(String voteId, String pollId, String optionId, String correlationId, Clock clock) {
+        return of(voteId, pollId, optionId, correlationId, null, clock);
+    }
+
+    /**
+     * Factory-Methode wie oben, zusätzlich mit dem Wahlkreis des Voters.
+     */
+    public static Vote of(String voteId, String pollId, String optionId, String correlationId,
+                          String district, Clock clock) {
         if (clock == null) {
             throw new IllegalArgumentException("clock must not be null");
         }
-        return new Vote(voteId, pollId, optionId, correlationId, clock.instant());
+        return new Vote(voteId, pollId, optionId, correlationId, clock.instant(), district);
     }
 
     /**
@@ -82,10 +105,17 @@ public record Vote(
         return castAt;
     }
 
+    /**
+     * Getter für den Wahlkreis; null, wenn der Voter keinem Wahlkreis zugeordnet war.
+     */
+    public String getDistrict() {
+        return district;
+    }
+
     /**
      * Erzeugt das Domänenereignis für die abgegebene Stimme.
      */
     public VoteCastEvent getDomainEvent() {
-        return new VoteCastEvent(voteId, pollId, optionId, castAt);
+        return new VoteCastEvent(voteId, pollId, optionId, castAt, district);
     }
 }
@@ -0,0 +1,44 @@
+package evote.stimmvergabe.domain.model;
+
+import java.util.UUID;
+
+/**
+ * Value Object für die technische ID einer Stimme in binärer Form (128 Bit).
+ *
+ * Die Textdarstellung entspricht dem kanonischen UUID-Format und wird erst
+ * bei Bedarf über {@link #toString()} erzeugt.
+ */
+public record VoteId(long mostSignificantBits, long leastSignificantBits) {
+
+    /**
+     * Parst eine ID im kanonischen UUID-Format.
+     *
+     * @throws IllegalArgumentException wenn der Text keine gültige UUID ist
+     */
+    public static VoteId fromString(String value) {
+        if (value == null) {
+            throw new IllegalArgumentException("voteId must not be null");
+        }
+        UUID uuid = UUID.fromString(value);
+        return new VoteId(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+    }
+
+    /**
+     * Zeitstempel in Millisekunden seit Epoch, sofern die ID zeitgeordnet (Version 7) ist.
+     */
+    public long timestampMillis() {
+        return mostSignificantBits >>> 16;
+    }
+
+    /**
+     * Versionsfeld der UUID (4 = zufällig, 7 = zeitgeordnet).
+     */
+    public int version() {
+        return (int) ((mostSignificantBits >>> 12) & 0xF);
+    }
+
+    @Override
+    public String toString() {
+        return new UUID(mostSignificantBits, leastSignificantBits).toString();
+    }
+}
@@ -0,0 +1,27 @@
+package evote.stimmvergabe.domain.model;
+
+import java.util.UUID;
+
+/**
+ * Port zur Erzeugung technischer IDs für Stimmen.
+ *
+ * Implementierungen:
+ * - {@link #monotonic()}: zeitgeordnete IDs aus Thread-lokalem Zustand, ohne SecureRandom pro ID
+ * - {@link #randomUuid()}: zufällige UUIDs (Version 4) über {@link UUID#randomUUID()}
+ */
+@FunctionalInterface
+public interface VoteIdGenerator {
+
+    VoteId next();
+
+    static VoteIdGenerator monotonic() {
+        return new MonotonicVoteIdGenerator();
+    }
+
+    static VoteIdGenerator randomUuid() {
+        return () -> {
+            UUID uuid = UUID.randomUUID();
+            return new VoteId(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+        };
+    }
+}
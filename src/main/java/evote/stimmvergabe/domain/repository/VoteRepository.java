@@ -5,17 +5,33 @@ import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * Repository-Port der Domäne für abgegebene Stimmen.
  */
 public interface VoteRepository {
 
+    /** Erwartete Version für {@link #saveIfVersion}: Stimme ist noch nicht gespeichert. */
+    long ABSENT = -1;
+
+    /** Version jeder gespeicherten Stimme; Stimmen sind unveränderlich. */
+    long STORED = 0;
+
     /**
      * Persistiert oder aktualisiert eine Stimme.
      */
     Vote save(Vote vote);
 
+    /**
+     * Speichert nur, wenn der Store im erwarteten Zustand ist (optimistische Sperre):
+     * - {@link #ABSENT}: weder voteId noch correlationId sind bekannt (Einfügen ohne Duplikat)
+     * - {@link #STORED}: eine Stimme mit dieser voteId existiert und wird ersetzt
+     *
+     * @return false bei Konflikt; der Store bleibt dann unverändert
+     */
+    boolean saveIfVersion(Vote vote, long expectedVersion);
+
     /**
      * Findet eine Stimme anhand ihrer technischen ID.
      */
@@ -31,8 +47,25 @@ public interface VoteRepository {
      */
     Optional<Vote> findByCorrelationId(String correlationId);
 
-    /** Anzahl der aktuell gespeicherten Votes – nur für Tests verwendet. */
+    /** Anzahl der aktuell gespeicherten Votes (Tests und Metriken). */
     int count();
 
     List<Object> findAll();
+
+    /**
+     * Übergibt die correlationIds aller gespeicherten Stimmen nacheinander, z.B. um beim
+     * Start einen Filter zu befüllen. Standard: über {@link #findAll}; persistente Stores
+     * mit großem Bestand lesen nur die Schlüssel und halten nie alle Stimmen gleichzeitig.
+     */
+    default void forEachCorrelationId(Consumer<String> action) {
+        for (Object vote : findAll()) {
+            action.accept(((Vote) vote).getCorrelationId());
+        }
+    }
+
+    /** Anzahl der Aufrufe von {@link #saveIfVersion} (für Metriken). */
+    long conditionalSaves();
+
+    /** Anzahl der Aufrufe von {@link #saveIfVersion}, die wegen eines Konflikts abgelehnt wurden (für Metriken). */
+    long versionConflicts();
 }
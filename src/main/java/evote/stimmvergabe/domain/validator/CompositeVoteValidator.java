@@ -26,6 +26,10 @@ import evote.buergerverwaltung.domain.model.Voter;
  *     .and(new VoterValidatorAdapter(voterValidator))
  *     .and(new VoteOptionValidator());
  * chain.validate(vote, poll, voter);
+ *
+ * Neben {@link #validate} (Exception bei Ablehnung) gibt es {@link #check}, das den
+ * Ablehnungsgrund als vorab existierende Enum-Konstante zurückgibt. So kosten auch
+ * viele Ablehnungen keine Stacktraces und zusammengesetzten Meldungen.
  */
 @FunctionalInterface
 public interface CompositeVoteValidator {
@@ -41,6 +45,24 @@ public interface CompositeVoteValidator {
      */
     void validate(Vote vote, Poll poll, Voter voter);
 
+    /**
+     * Prüft wie {@link #validate}, meldet eine Ablehnung aber als Rückgabewert.
+     *
+     * Die Standardimplementierung ruft {@link #validate} auf und übersetzt eine
+     * Exception in {@link VoteRejectionReason#OTHER}; die Validatoren der Pipeline
+     * überschreiben sie ohne Exceptions.
+     *
+     * @return null, wenn die Stimme gültig ist, sonst der Ablehnungsgrund
+     */
+    default VoteRejectionReason check(Vote vote, Poll poll, Voter voter) {
+        try {
+            validate(vote, poll, voter);
+            return null;
+        } catch (IllegalArgumentException | IllegalStateException ex) {
+            return VoteRejectionReason.OTHER;
+        }
+    }
+
     /**
      * Kombiniert diesen Validator mit einem anderen Validator
      * Beide Validatoren werden sequenziell ausgeführt
@@ -49,9 +71,19 @@ public interface CompositeVoteValidator {
      * @return Ein neuer Validator, der beide Validatoren kombiniert
      */
     default CompositeVoteValidator and(CompositeVoteValidator other) {
-        return (vote, poll, voter) -> {
-            this.validate(vote, poll, voter);
-            other.validate(vote, poll, voter);
+        CompositeVoteValidator first = this;
+        return new CompositeVoteValidator() {
+            @Override
+            public void validate(Vote vote, Poll poll, Voter voter) {
+                first.validate(vote, poll, voter);
+                other.validate(vote, poll, voter);
+            }
+
+            @Override
+            public VoteRejectionReason check(Vote vote, Poll poll, Voter voter) {
+                VoteRejectionReason reason = first.check(vote, poll, voter);
+                return reason != null ? reason : other.check(vote, poll, voter);
+            }
         };
     }
 }
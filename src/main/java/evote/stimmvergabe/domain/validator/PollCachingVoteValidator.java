@@ -0,0 +1,110 @@
+package evote.stimmvergabe.domain.validator;
+
+import evote.abstimmungsverwaltung.domain.model.Poll;
+import evote.buergerverwaltung.domain.model.Voter;
+import evote.stimmvergabe.domain.model.Vote;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Decorator, der das Ergebnis eines Poll-bezogenen Validators pro Poll zwischenspeichert.
+ *
+ * Nur für Validatoren geeignet, deren Ergebnis allein von der Poll abhängt (z.B.
+ * {@link evote.stimmvergabe.domain.validator.adapter.PollValidatorAdapter}), nicht von
+ * Voter oder Option. Ein Eintrag gilt, solange
+ * - die Version der Poll unverändert ist (ein {@code close()} wirkt sofort) und
+ * - die TTL nicht abgelaufen ist, höchstens aber bis zum nächsten Start- oder Endzeitpunkt
+ *   der Poll; eine abgelaufene Abstimmung wird also nie aus dem Cache als offen gemeldet.
+ *
+ * {@link #check} nutzt positive und negative Ergebnisse. {@link #validate} überspringt nur
+ * bei einem gecachten "gültig" den Delegate; Ablehnungen laufen weiter über den Delegate,
+ * damit Exception und Meldung unverändert bleiben.
+ */
+public class PollCachingVoteValidator implements CompositeVoteValidator {
+
+    private final CompositeVoteValidator delegate;
+    private final long ttlMillis;
+    private final Clock clock;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    public PollCachingVoteValidator(CompositeVoteValidator delegate, Duration ttl, Clock clock) {
+        if (delegate == null || clock == null) {
+            throw new IllegalArgumentException("delegate and clock must not be null");
+        }
+        if (ttl == null || ttl.isNegative()) {
+            throw new IllegalArgumentException("ttl must not be negative");
+        }
+        this.delegate = delegate;
+        this.ttlMillis = ttl.toMillis();
+        this.clock = clock;
+    }
+
+    @Override
+    public void validate(Vote vote, Poll poll, Voter voter) {
+        if (poll == null) {
+            delegate.validate(vote, poll, voter);
+            return;
+        }
+        long now = clock.millis();
+        Entry entry = entries.get(poll.getPollId());
+        if (entry != null && entry.reason == null && entry.isValidFor(poll, now)) {
+            return;
+        }
+        delegate.validate(vote, poll, voter);
+        remember(poll, null, now);
+    }
+
+    @Override
+    public VoteRejectionReason check(Vote vote, Poll poll, Voter voter) {
+        if (poll == null) {
+            return delegate.check(vote, poll, voter);
+        }
+        long now = clock.millis();
+        Entry entry = entries.get(poll.getPollId());
+        if (entry != null && entry.isValidFor(poll, now)) {
+            return entry.reason;
+        }
+        VoteRejectionReason reason = delegate.check(vote, poll, voter);
+        remember(poll, reason, now);
+        return reason;
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private void remember(Poll poll, VoteRejectionReason reason, long now) {
+        if (ttlMillis == 0) {
+            return;
+        }
+        long expiresAt = Math.min(now + ttlMillis, nextBoundary(poll, now));
+        entries.put(poll.getPollId(), new Entry(poll.getVersion(), reason, expiresAt));
+    }
+
+    /**
+     * Nächster Zeitpunkt, an dem sich der Öffnungszustand der Poll von selbst ändert.
+     */
+    private long nextBoundary(Poll poll, long now) {
+        long start = toMillis(poll.getStartDate());
+        if (now < start) {
+            return start;
+        }
+        long end = toMillis(poll.getEndDate());
+        return now < end ? end : Long.MAX_VALUE;
+    }
+
+    private long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(clock.getZone()).toInstant().toEpochMilli();
+    }
+
+    private record Entry(long version, VoteRejectionReason reason, long expiresAtMillis) {
+
+        boolean isValidFor(Poll poll, long now) {
+            return version == poll.getVersion() && now < expiresAtMillis;
+        }
+    }
+}
@@ -39,5 +39,16 @@ public class VoteOptionValidator implements CompositeVoteValidator {
             );
         }
     }
+
+    @Override
+    public VoteRejectionReason check(Vote vote, Poll poll, Voter voter) {
+        if (vote == null) {
+            throw new IllegalArgumentException("Vote must not be null");
+        }
+        if (poll == null) {
+            return VoteRejectionReason.POLL_NOT_FOUND;
+        }
+        return poll.hasOption(vote.getOptionId()) ? null : VoteRejectionReason.INVALID_OPTION;
+    }
 }
 
@@ -0,0 +1,34 @@
+package evote.stimmvergabe.domain.validator;
+
+/**
+ * Fachliche Gründe, aus denen eine Stimmabgabe abgelehnt wird.
+ *
+ * Jeder Grund ist einer Stelle der Pipeline zugeordnet:
+ * - POLL_NOT_FOUND / VOTER_NOT_FOUND: Laden der Aggregate im VoteService
+ * - POLL_NOT_OPEN: PollValidatorAdapter (Abstimmungsverwaltung)
+ * - VOTER_NOT_ELIGIBLE: VoterValidatorAdapter (Bürgerverwaltung)
+ * - INVALID_OPTION: VoteOptionValidator (Stimmvergabe)
+ * - OTHER: Validator ohne eigene check-Implementierung
+ */
+public enum VoteRejectionReason {
+
+    POLL_NOT_FOUND("poll_not_found"),
+    VOTER_NOT_FOUND("voter_not_found"),
+    POLL_NOT_OPEN("poll_not_open"),
+    VOTER_NOT_ELIGIBLE("voter_not_eligible"),
+    INVALID_OPTION("invalid_option"),
+    OTHER("other");
+
+    private final String tag;
+
+    VoteRejectionReason(String tag) {
+        this.tag = tag;
+    }
+
+    /**
+     * Stabiler, kleingeschriebener Bezeichner für Metriken und Logs.
+     */
+    public String tag() {
+        return tag;
+    }
+}
@@ -1,6 +1,7 @@
 package evote.stimmvergabe.domain.validator.adapter;
 
 import evote.stimmvergabe.domain.validator.CompositeVoteValidator;
+import evote.stimmvergabe.domain.validator.VoteRejectionReason;
 import evote.stimmvergabe.domain.model.Vote;
 import evote.abstimmungsverwaltung.domain.model.Poll;
 import evote.abstimmungsverwaltung.domain.validator.PollValidator;
@@ -34,5 +35,13 @@ public class PollValidatorAdapter implements CompositeVoteValidator {
         // Delegiere Poll-Validierung an den Poll-Kontext
         pollValidator.validateForVoting(poll, clock);
     }
+
+    @Override
+    public VoteRejectionReason check(Vote vote, Poll poll, Voter voter) {
+        if (poll == null) {
+            return VoteRejectionReason.POLL_NOT_FOUND;
+        }
+        return pollValidator.isOpenForVoting(poll, clock) ? null : VoteRejectionReason.POLL_NOT_OPEN;
+    }
 }
 
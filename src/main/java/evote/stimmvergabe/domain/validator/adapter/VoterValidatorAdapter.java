@@ -1,6 +1,7 @@
 package evote.stimmvergabe.domain.validator.adapter;
 
 import evote.stimmvergabe.domain.validator.CompositeVoteValidator;
+import evote.stimmvergabe.domain.validator.VoteRejectionReason;
 import evote.stimmvergabe.domain.model.Vote;
 import evote.abstimmungsverwaltung.domain.model.Poll;
 import evote.buergerverwaltung.domain.model.Voter;
@@ -30,5 +31,13 @@ public class VoterValidatorAdapter implements CompositeVoteValidator {
         // Delegiere Voter-Validierung an den Voter-Kontext
         voterValidator.validateForVoting(voter, poll);
     }
+
+    @Override
+    public VoteRejectionReason check(Vote vote, Poll poll, Voter voter) {
+        if (voter == null) {
+            return VoteRejectionReason.VOTER_NOT_FOUND;
+        }
+        return voterValidator.isEligibleForVoting(voter, poll) ? null : VoteRejectionReason.VOTER_NOT_ELIGIBLE;
+    }
 }
 
@@ -5,12 +5,17 @@ import java.time.Instant;
 /**
  * Domänenereignis, das die erfolgreiche Stimmabgabe beschreibt.
  * Der Record stellt eine schlanke, validierende Darstellung bereit.
+ * district (Wahlkreis des Voters) ist optional und darf null sein.
  */
-public record VoteCastEvent(String voteId, String pollId, String optionId, Instant castAt) {
+public record VoteCastEvent(String voteId, String pollId, String optionId, Instant castAt, String district) {
 
     public VoteCastEvent {
         if (voteId == null || pollId == null || optionId == null || castAt == null) {
             throw new IllegalArgumentException("All event fields must be non-null");
         }
     }
+
+    public VoteCastEvent(String voteId, String pollId, String optionId, Instant castAt) {
+        this(voteId, pollId, optionId, castAt, null);
+    }
 }
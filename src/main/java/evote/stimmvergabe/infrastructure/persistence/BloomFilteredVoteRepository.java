@@ -0,0 +1,197 @@
+package evote.stimmvergabe.infrastructure.persistence;
+
+import evote.stimmvergabe.domain.model.Vote;
+import evote.stimmvergabe.domain.repository.VoteRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Decorator, der Idempotenz-Lookups per correlationId über einen Bloom-Filter abkürzt.
+ *
+ * Fast alle correlationIds sind neu. Für diese beantwortet der Filter
+ * {@link #findByCorrelationId} im Speicher, ohne den Index des eigentlichen
+ * Stores (Direct-Buffer, Datenbank, Festplatte) anzufassen. Nur bei einem Treffer
+ * im Filter wird der Store gefragt; liefert er nichts, war es ein Falsch-Positiv.
+ *
+ * Vergisst der Store correlationIds nach einem Idempotenz-Fenster (in-memory), vergisst
+ * der Filter sie ebenfalls: er rotiert Generationen über dasselbe Fenster, sein Speicher
+ * hängt damit vom Verkehr im Fenster ab. Treffer, die im Store schon abgelaufen sein
+ * können, zählen als {@code expired} und nicht in die beobachtete Fehlerrate.
+ * Vor Stores ohne Ablauf wächst der Filter bis zur Stufengrenze des
+ * {@link ScalableBloomFilter}; danach steigt nur noch die Fehlerrate.
+ *
+ * Beim Start werden die vorhandenen correlationIds per
+ * {@link VoteRepository#forEachCorrelationId} einzeln übernommen, ohne Stimmen zu laden.
+ *
+ * Metriken:
+ * - evote.votes.correlation.filter{result=negative|hit|false_positive|expired}
+ * - evote.votes.correlation.filter.fpp{kind=expected|observed}
+ * - evote.votes.correlation.filter.size (Byte)
+ *
+ * Aktivierung über evote.persistence.correlation-filter.enabled=true.
+ */
+public class BloomFilteredVoteRepository implements VoteRepository {
+
+    private final VoteRepository delegate;
+    private final ExpiringBloomFilter filter;
+    private final Counter negatives;
+    private final Counter hits;
+    private final Counter falsePositives;
+    private final Counter expired;
+
+    /**
+     * Filter ohne Ablauf, für Stores, die correlationIds dauerhaft halten.
+     */
+    public BloomFilteredVoteRepository(VoteRepository delegate, ScalableBloomFilter filter, MeterRegistry registry) {
+        this(delegate, filter == null ? null : ExpiringBloomFilter.permanent(filter), registry);
+    }
+
+    /**
+     * Filter, der correlationIds nach {@code retention} vergisst, für Stores mit demselben
+     * Idempotenz-Fenster.
+     *
+     * @param initialCapacity         erwartete Einträge je Generation
+     * @param targetFalsePositiveRate Ziel-Fehlerrate über alle Generationen
+     * @param maxStages               Stufengrenze je Generation
+     */
+    public BloomFilteredVoteRepository(VoteRepository delegate,
+                                       int initialCapacity,
+                                       double targetFalsePositiveRate,
+                                       int maxStages,
+                                       Duration retention,
+                                       Clock clock,
+                                       MeterRegistry registry) {
+        this(delegate, ExpiringBloomFilter.expiring(
+                () -> new ScalableBloomFilter(initialCapacity,
+                        targetFalsePositiveRate / ExpiringBloomFilter.MAX_GENERATIONS, maxStages),
+                retention, clock), registry);
+    }
+
+    private BloomFilteredVoteRepository(VoteRepository delegate, ExpiringBloomFilter filter, MeterRegistry registry) {
+        if (delegate == null || filter == null || registry == null) {
+            throw new IllegalArgumentException("delegate, filter and registry must not be null");
+        }
+        this.delegate = delegate;
+        this.filter = filter;
+        this.negatives = counter(registry, "negative");
+        this.hits = counter(registry, "hit");
+        this.falsePositives = counter(registry, "false_positive");
+        this.expired = counter(registry, "expired");
+
+        Gauge.builder("evote.votes.correlation.filter.fpp", filter, ExpiringBloomFilter::expectedFalsePositiveRate)
+                .description("Erwartete Falsch-Positiv-Rate des correlationId-Filters")
+                .tag("kind", "expected")
+                .register(registry);
+        Gauge.builder("evote.votes.correlation.filter.fpp", this, BloomFilteredVoteRepository::observedFalsePositiveRate)
+                .description("Beobachteter Anteil Falsch-Positiver an allen negativen Lookups")
+                .tag("kind", "observed")
+                .register(registry);
+        Gauge.builder("evote.votes.correlation.filter.size", filter, ExpiringBloomFilter::sizeInBytes)
+                .description("Größe des correlationId-Filters")
+                .baseUnit("bytes")
+                .register(registry);
+
+        // Bereits vorhandene Stimmen (z.B. aus einem persistenten Store) übernehmen
+        delegate.forEachCorrelationId(filter::put);
+    }
+
+    @Override
+    public Vote save(Vote vote) {
+        if (vote == null) {
+            throw new IllegalArgumentException("vote must not be null");
+        }
+        // Vor dem Speichern eintragen: ein paralleler Lookup darf nie fälschlich "neu" sehen
+        filter.put(vote.getCorrelationId());
+        return delegate.save(vote);
+    }
+
+    @Override
+    public boolean saveIfVersion(Vote vote, long expectedVersion) {
+        if (vote == null) {
+            throw new IllegalArgumentException("vote must not be null");
+        }
+        // Auch bei einem Konflikt eintragen: ein Falsch-Positiv kostet nur einen Lookup
+        filter.put(vote.getCorrelationId());
+        return delegate.saveIfVersion(vote, expectedVersion);
+    }
+
+    @Override
+    public Optional<Vote> findByCorrelationId(String correlationId) {
+        if (correlationId == null) {
+            return Optional.empty();
+        }
+        ExpiringBloomFilter.Match match = filter.mightContain(correlationId);
+        if (match == ExpiringBloomFilter.Match.NONE) {
+            negatives.increment();
+            return Optional.empty();
+        }
+        Optional<Vote> vote = delegate.findByCorrelationId(correlationId);
+        if (vote.isPresent()) {
+            hits.increment();
+        } else if (match == ExpiringBloomFilter.Match.EXPIRING) {
+            expired.increment(); // vermutlich im Store abgelaufen, kein Falsch-Positiv
+        } else {
+            falsePositives.increment();
+        }
+        return vote;
+    }
+
+    @Override
+    public Optional<Vote> findById(String voteId) {
+        return delegate.findById(voteId);
+    }
+
+    @Override
+    public List<Vote> findAllByPollId(String pollId) {
+        return delegate.findAllByPollId(pollId);
+    }
+
+    @Override
+    public int count() {
+        return delegate.count();
+    }
+
+    @Override
+    public List<Object> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public void forEachCorrelationId(Consumer<String> action) {
+        delegate.forEachCorrelationId(action);
+    }
+
+    /** Anzahl der gehaltenen Filter-Generationen (Tests und Diagnose). */
+    public int filterGenerations() {
+        return filter.generationCount();
+    }
+
+    @Override
+    public long conditionalSaves() {
+        return delegate.conditionalSaves();
+    }
+
+    @Override
+    public long versionConflicts() {
+        return delegate.versionConflicts();
+    }
+
+    double observedFalsePositiveRate() {
+        double misses = negatives.count() + falsePositives.count();
+        return misses == 0 ? 0.0 : falsePositives.count() / misses;
+    }
+
+    private static Counter counter(MeterRegistry registry, String result) {
+        return Counter.builder("evote.votes.correlation.filter")
+                .description("Ergebnisse des correlationId-Filters vor dem Vote-Store")
+                .tag("result", result)
+                .register(registry);
+    }
+}
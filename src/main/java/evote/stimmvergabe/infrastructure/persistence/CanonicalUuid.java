@@ -0,0 +1,51 @@
+package evote.stimmvergabe.infrastructure.persistence;
+
+/**
+ * Hilfsfunktionen für IDs im kanonischen UUID-Format (36 Zeichen, Kleinbuchstaben).
+ *
+ * Nur IDs, deren Textdarstellung exakt aus den 128 Bit rekonstruiert werden kann,
+ * werden binär gespeichert. Alle anderen IDs bleiben als Text erhalten.
+ */
+final class CanonicalUuid {
+
+    private CanonicalUuid() {
+    }
+
+    static boolean isCanonical(String value) {
+        if (value == null || value.length() != 36) {
+            return false;
+        }
+        for (int i = 0; i < 36; i++) {
+            char c = value.charAt(i);
+            if (i == 8 || i == 13 || i == 18 || i == 23) {
+                if (c != '-') {
+                    return false;
+                }
+            } else if (!((c >= '0' && c <= '9') || (c >= 'a' && c <= 'f'))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static long mostSignificantBits(String value) {
+        return (hex(value, 0, 8) << 32) | (hex(value, 9, 13) << 16) | hex(value, 14, 18);
+    }
+
+    static long leastSignificantBits(String value) {
+        return (hex(value, 19, 23) << 48) | hex(value, 24, 36);
+    }
+
+    static String toString(long mostSignificantBits, long leastSignificantBits) {
+        return new java.util.UUID(mostSignificantBits, leastSignificantBits).toString();
+    }
+
+    private static long hex(String value, int from, int to) {
+        long result = 0;
+        for (int i = from; i < to; i++) {
+            char c = value.charAt(i);
+            result = (result << 4) | (c <= '9' ? c - '0' : c - 'a' + 10);
+        }
+        return result;
+    }
+}
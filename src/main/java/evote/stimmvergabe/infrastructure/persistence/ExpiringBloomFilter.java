@@ -0,0 +1,131 @@
+package evote.stimmvergabe.infrastructure.persistence;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Bloom-Filter, der Einträge nach einem Aufbewahrungsfenster wieder vergisst.
+ *
+ * Das Fenster ist in {@value #GENERATIONS_PER_RETENTION} Generationen geteilt; eingefügt
+ * wird immer in die jüngste. Eine Generation wird verworfen, sobald auch ihr jüngster
+ * möglicher Eintrag älter als das Fenster ist. Jeder Eintrag bleibt also mindestens
+ * ein Fenster und höchstens ein Fenster plus eine Generation erhalten; der Speicher hängt
+ * vom Verkehr im Fenster ab, nicht von der Laufzeit.
+ *
+ * Treffer in einer Generation, die schon teilweise außerhalb des Fensters liegt, meldet
+ * {@link #mightContain} als {@link Match#EXPIRING}: der Eintrag kann im Store bereits
+ * abgelaufen sein. Ohne Fenster ({@link #permanent}) wird nie rotiert.
+ */
+final class ExpiringBloomFilter {
+
+    static final int GENERATIONS_PER_RETENTION = 4;
+    /** Höchstens gleichzeitig gehaltene Generationen (Fenster plus angebrochene Ränder). */
+    static final int MAX_GENERATIONS = GENERATIONS_PER_RETENTION + 2;
+
+    enum Match { NONE, LIVE, EXPIRING }
+
+    private record Generation(ScalableBloomFilter filter, long startMillis) {
+    }
+
+    private final Supplier<ScalableBloomFilter> factory;
+    private final long retentionMillis;
+    private final long generationMillis;
+    private final Clock clock;
+    /** Jüngste Generation zuerst. */
+    private volatile Generation[] generations;
+
+    private ExpiringBloomFilter(Supplier<ScalableBloomFilter> factory, ScalableBloomFilter first,
+                                Duration retention, Clock clock) {
+        this.factory = factory;
+        this.clock = clock;
+        this.retentionMillis = retention == null ? Long.MAX_VALUE : retention.toMillis();
+        this.generationMillis = retention == null ? Long.MAX_VALUE
+                : Math.max(1, retentionMillis / GENERATIONS_PER_RETENTION);
+        this.generations = new Generation[]{new Generation(first, clock == null ? 0 : clock.millis())};
+    }
+
+    /** Filter ohne Ablauf. */
+    static ExpiringBloomFilter permanent(ScalableBloomFilter filter) {
+        return new ExpiringBloomFilter(null, filter, null, null);
+    }
+
+    /**
+     * @param factory   erzeugt je Generation einen leeren Filter
+     * @param retention wie lange ein Eintrag mindestens erhalten bleibt
+     */
+    static ExpiringBloomFilter expiring(Supplier<ScalableBloomFilter> factory, Duration retention, Clock clock) {
+        if (factory == null || clock == null) {
+            throw new IllegalArgumentException("factory and clock must not be null");
+        }
+        if (retention == null || retention.isNegative() || retention.isZero()) {
+            throw new IllegalArgumentException("retention must be positive");
+        }
+        return new ExpiringBloomFilter(factory, factory.get(), retention, clock);
+    }
+
+    void put(String key) {
+        rotateIfDue();
+        generations[0].filter.put(key);
+    }
+
+    Match mightContain(String key) {
+        rotateIfDue();
+        long liveFrom = factory == null ? Long.MIN_VALUE : clock.millis() - retentionMillis;
+        for (Generation generation : generations) {
+            if (generation.filter.mightContain(key)) {
+                return generation.startMillis >= liveFrom ? Match.LIVE : Match.EXPIRING;
+            }
+        }
+        return Match.NONE;
+    }
+
+    /** Erwartete Fehlerrate über alle gehaltenen Generationen. */
+    double expectedFalsePositiveRate() {
+        double allNegative = 1.0;
+        for (Generation generation : generations) {
+            allNegative *= 1.0 - generation.filter.expectedFalsePositiveRate();
+        }
+        return 1.0 - allNegative;
+    }
+
+    long sizeInBytes() {
+        long total = 0;
+        for (Generation generation : generations) {
+            total += generation.filter.sizeInBytes();
+        }
+        return total;
+    }
+
+    int generationCount() {
+        return generations.length;
+    }
+
+    private void rotateIfDue() {
+        if (factory != null && clock.millis() - generations[0].startMillis >= generationMillis) {
+            rotate();
+        }
+    }
+
+    private synchronized void rotate() {
+        long now = clock.millis();
+        Generation[] current = generations;
+        if (now - current[0].startMillis < generationMillis) {
+            return; // anderer Thread hat bereits rotiert
+        }
+        List<Generation> kept = new ArrayList<>(current.length + 1);
+        kept.add(new Generation(factory.get(), now));
+        // Ende einer Generation = Start der nächstjüngeren
+        long end = now;
+        for (Generation generation : current) {
+            if (end + retentionMillis <= now) {
+                break; // diese und alle älteren enthalten nur abgelaufene Einträge
+            }
+            kept.add(generation);
+            end = generation.startMillis;
+        }
+        generations = kept.toArray(Generation[]::new);
+    }
+}
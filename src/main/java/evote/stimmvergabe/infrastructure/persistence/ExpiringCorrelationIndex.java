@@ -0,0 +1,173 @@
+package evote.stimmvergabe.infrastructure.persistence;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Idempotenz-Index correlationId → voteId mit begrenzter Aufbewahrungsdauer.
+ *
+ * Einträge werden in einem Zeitrad (Time Wheel) einsortiert: die Aufbewahrungsdauer
+ * ist in {@code slots} Ticks geteilt, jeder Tick hat einen Eimer mit den in ihm
+ * eingetragenen Schlüsseln. Abgelaufene Eimer werden beim nächsten Zugriff geleert,
+ * sodass der Speicherbedarf nur vom Verkehr im Zeitfenster abhängt. Ein Zugriff räumt
+ * höchstens {@value #MAX_SWEEP_PER_CALL} Schlüssel ab und überlässt den Rest den
+ * folgenden Zugriffen; auch nach einer Lastspitze bleibt die Latenz einzelner Anfragen
+ * so begrenzt. Bis dahin verdeckt die Altersprüfung in {@link #get} die Nachzügler.
+ *
+ * Nach Ablauf ist eine Wiederholung mit gleicher correlationId nicht mehr idempotent;
+ * sie wird dann von der Teilnahmeprüfung pro Abstimmung (Voter.hasVoted) abgewiesen.
+ */
+final class ExpiringCorrelationIndex {
+
+    /** Höchstens pro Zugriff geprüfte Schlüssel im Zeitrad. */
+    static final int MAX_SWEEP_PER_CALL = 4_096;
+
+    private final Clock clock;
+    private final long tickMillis;
+    private final int retentionTicks;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Queue<String>[] wheel;
+    private final ReentrantLock sweepLock = new ReentrantLock();
+    private volatile long sweptUntil;
+
+    @SuppressWarnings("unchecked")
+    ExpiringCorrelationIndex(Duration retention, int slots, Clock clock) {
+        if (retention == null || retention.isNegative() || retention.isZero()) {
+            throw new IllegalArgumentException("retention must be positive");
+        }
+        if (slots <= 0) {
+            throw new IllegalArgumentException("slots must be positive");
+        }
+        if (clock == null) {
+            throw new IllegalArgumentException("clock must not be null");
+        }
+        this.clock = clock;
+        this.tickMillis = Math.max(1, retention.toMillis() / slots);
+        this.retentionTicks = (int) Math.max(1, (retention.toMillis() + tickMillis - 1) / tickMillis);
+        this.wheel = new Queue[retentionTicks + 2];
+        for (int i = 0; i < wheel.length; i++) {
+            wheel[i] = new ConcurrentLinkedQueue<>();
+        }
+        this.sweptUntil = currentTick() - retentionTicks - 1;
+    }
+
+    /**
+     * Liefert die voteId zur correlationId, solange der Eintrag im Zeitfenster liegt.
+     */
+    String get(String correlationId) {
+        long now = currentTick();
+        sweep(now);
+        Entry entry = entries.get(correlationId);
+        if (entry == null || now - entry.tick > retentionTicks) {
+            return null;
+        }
+        return entry.voteId;
+    }
+
+    void put(String correlationId, String voteId) {
+        long now = currentTick();
+        sweep(now);
+        entries.put(correlationId, new Entry(voteId, now));
+        wheel[slot(now)].add(correlationId);
+    }
+
+    /**
+     * Trägt die correlationId nur ein, wenn sie im Zeitfenster noch nicht bekannt ist.
+     *
+     * @return true, wenn eingetragen wurde
+     */
+    boolean putIfAbsent(String correlationId, String voteId) {
+        long now = currentTick();
+        sweep(now);
+        boolean[] inserted = {false};
+        entries.compute(correlationId, (key, entry) -> {
+            if (entry != null && now - entry.tick <= retentionTicks) {
+                return entry;
+            }
+            inserted[0] = true;
+            return new Entry(voteId, now);
+        });
+        if (inserted[0]) {
+            wheel[slot(now)].add(correlationId);
+        }
+        return inserted[0];
+    }
+
+    /**
+     * Entfernt den Eintrag, falls er noch auf die angegebene voteId zeigt.
+     * Der Schlüssel im Zeitrad wird beim nächsten Aufräumen verworfen.
+     */
+    void remove(String correlationId, String voteId) {
+        entries.computeIfPresent(correlationId, (key, entry) -> entry.voteId.equals(voteId) ? null : entry);
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    void clear() {
+        sweepLock.lock();
+        try {
+            entries.clear();
+            for (Queue<String> bucket : wheel) {
+                bucket.clear();
+            }
+        } finally {
+            sweepLock.unlock();
+        }
+    }
+
+    /**
+     * Leert Eimer, deren Tick vollständig außerhalb des Zeitfensters liegt, bis
+     * {@value #MAX_SWEEP_PER_CALL} Schlüssel geprüft sind; ein angebrochener Eimer wird
+     * beim nächsten Aufruf fortgesetzt. Höchstens ein Thread räumt auf; alle anderen
+     * laufen ohne Warten weiter.
+     */
+    private void sweep(long now) {
+        long target = now - retentionTicks - 1;
+        if (target <= sweptUntil || !sweepLock.tryLock()) {
+            return;
+        }
+        try {
+            long from = Math.max(sweptUntil + 1, target - wheel.length + 1);
+            int budget = MAX_SWEEP_PER_CALL;
+            for (long tick = from; tick <= target; tick++) {
+                Iterator<String> keys = wheel[slot(tick)].iterator();
+                while (keys.hasNext()) {
+                    if (budget-- == 0) {
+                        sweptUntil = tick - 1;
+                        return;
+                    }
+                    String key = keys.next();
+                    Entry entry = entries.get(key);
+                    if (entry == null || entry.tick <= tick) {
+                        if (entry != null) {
+                            entries.remove(key, entry);
+                        }
+                        keys.remove();
+                    }
+                }
+            }
+            sweptUntil = target;
+        } finally {
+            sweepLock.unlock();
+        }
+    }
+
+    private long currentTick() {
+        return clock.millis() / tickMillis;
+    }
+
+    private int slot(long tick) {
+        return (int) Math.floorMod(tick, (long) wheel.length);
+    }
+
+    private record Entry(String voteId, long tick) {
+    }
+}
@@ -3,19 +3,42 @@ package evote.stimmvergabe.infrastructure.persistence;
 import evote.stimmvergabe.domain.model.Vote;
 import evote.stimmvergabe.domain.repository.VoteRepository;
 
+import java.time.Clock;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * In-Memory-Repository als Infrastruktur-Adapter für die Stimmvergabe.
+ *
+ * Die Idempotenz per correlationId gilt nur innerhalb eines Zeitfensters
+ * (Standard: 24 Stunden), damit der Index nicht mit der gesamten Historie wächst.
  */
 public class InMemoryVoteRepository implements VoteRepository {
 
+    public static final Duration DEFAULT_IDEMPOTENCY_RETENTION = Duration.ofHours(24);
+    private static final int WHEEL_SLOTS = 60;
+
     private final Map<String, Vote> votesById = new ConcurrentHashMap<>();
-    private final Map<String, Vote> votesByCorrelationId = new ConcurrentHashMap<>();
+    private final ExpiringCorrelationIndex votesByCorrelationId;
+    private final LongAdder conditionalSaves = new LongAdder();
+    private final LongAdder conflicts = new LongAdder();
+
+    public InMemoryVoteRepository() {
+        this(DEFAULT_IDEMPOTENCY_RETENTION, Clock.systemUTC());
+    }
+
+    /**
+     * @param idempotencyRetention wie lange eine correlationId als Duplikat erkannt wird
+     * @param clock                Zeitquelle für das Ablaufen der correlationIds
+     */
+    public InMemoryVoteRepository(Duration idempotencyRetention, Clock clock) {
+        this.votesByCorrelationId = new ExpiringCorrelationIndex(idempotencyRetention, WHEEL_SLOTS, clock);
+    }
 
     @Override
     public Vote save(Vote vote) {
@@ -24,18 +47,55 @@ public class InMemoryVoteRepository implements VoteRepository {
         }
 
         // Check for already existing vote with same correlationId first
-        Vote existing = votesByCorrelationId.get(vote.getCorrelationId());
+        Vote existing = findByCorrelationId(vote.getCorrelationId()).orElse(null);
         if (existing != null) {
             return existing; // gleiche Stimme zurück geben
         }
 
         // Neue Stimme speichern (update by id is allowed)
         votesById.put(vote.getVoteId(), vote);
-        votesByCorrelationId.put(vote.getCorrelationId(), vote);
+        votesByCorrelationId.put(vote.getCorrelationId(), vote.getVoteId());
         return vote;
     }
 
-    /** Anzahl der aktuell gespeicherten Votes – nur für Tests verwendet. */
+    /**
+     * Einfügen reserviert zuerst die correlationId und danach die voteId, jeweils atomar.
+     * Scheitert die zweite Reservierung, wird die erste zurückgenommen.
+     */
+    @Override
+    public boolean saveIfVersion(Vote vote, long expectedVersion) {
+        if (vote == null) {
+            throw new IllegalArgumentException("vote must not be null");
+        }
+        conditionalSaves.increment();
+        boolean saved = expectedVersion == ABSENT ? insert(vote) : expectedVersion == STORED && replace(vote);
+        if (!saved) {
+            conflicts.increment();
+        }
+        return saved;
+    }
+
+    private boolean insert(Vote vote) {
+        if (!votesByCorrelationId.putIfAbsent(vote.getCorrelationId(), vote.getVoteId())) {
+            return false;
+        }
+        if (votesById.putIfAbsent(vote.getVoteId(), vote) != null) {
+            votesByCorrelationId.remove(vote.getCorrelationId(), vote.getVoteId());
+            return false;
+        }
+        return true;
+    }
+
+    private boolean replace(Vote vote) {
+        if (votesById.computeIfPresent(vote.getVoteId(), (id, previous) -> vote) == null) {
+            return false;
+        }
+        votesByCorrelationId.put(vote.getCorrelationId(), vote.getVoteId());
+        return true;
+    }
+
+    /** Anzahl der aktuell gespeicherten Votes (Tests und Metriken). */
+    @Override
     public int count() {
         return votesById.size();
     }
@@ -69,7 +129,23 @@ public class InMemoryVoteRepository implements VoteRepository {
         if (correlationId == null) {
             return Optional.empty();
         }
-        return Optional.ofNullable(votesByCorrelationId.get(correlationId));
+        String voteId = votesByCorrelationId.get(correlationId);
+        return voteId != null ? Optional.ofNullable(votesById.get(voteId)) : Optional.empty();
+    }
+
+    @Override
+    public long conditionalSaves() {
+        return conditionalSaves.sum();
+    }
+
+    @Override
+    public long versionConflicts() {
+        return conflicts.sum();
+    }
+
+    /** Anzahl der correlationIds im Idempotenz-Fenster (Tests und Metriken). */
+    public int idempotencyKeys() {
+        return votesByCorrelationId.size();
     }
 
     /** Nur für Tests praktisch, um den Zustand zurückzusetzen. */
@@ -0,0 +1,383 @@
+package evote.stimmvergabe.infrastructure.persistence;
+
+import evote.infrastructure.jdbc.Jdbc;
+import evote.infrastructure.jdbc.JdbcAccessException;
+import evote.stimmvergabe.domain.model.Vote;
+import evote.stimmvergabe.domain.repository.VoteRepository;
+
+import javax.sql.DataSource;
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * JDBC-Repository für Stimmen (z.B. gegen H2 im Datei-Modus).
+ *
+ * Einfügungen werden gebündelt (Group Commit): jeder Aufrufer stellt seine Stimme in
+ * eine Warteschlange und bewirbt sich um den Flush-Lock. Wer ihn bekommt, schreibt alle
+ * bis dahin eingereihten Stimmen (höchstens {@code maxBatchSize}) als einen JDBC-Batch
+ * in einer Transaktion; die übrigen Aufrufer finden ihre Stimme danach bereits erledigt.
+ * Unter Last wächst der Batch also von selbst, ohne Wartezeit bei wenig Verkehr.
+ *
+ * Verletzt eine Stimme im Batch die Eindeutigkeit (voteId oder correlationId), wird der
+ * Batch zurückgerollt und einzeln wiederholt, damit nur diese Stimme als Konflikt zählt.
+ */
+public class JdbcVoteRepository implements VoteRepository {
+
+    public static final int DEFAULT_BATCH_SIZE = 256;
+
+    private static final String[] SCHEMA = {
+            """
+            CREATE TABLE IF NOT EXISTS votes (
+                vote_id        VARCHAR(255) PRIMARY KEY,
+                poll_id        VARCHAR(255) NOT NULL,
+                option_id      VARCHAR(255) NOT NULL,
+                correlation_id VARCHAR(255) NOT NULL,
+                cast_at        TIMESTAMP(9) WITH TIME ZONE NOT NULL,
+                district       VARCHAR(255),
+                CONSTRAINT uq_votes_correlation_id UNIQUE (correlation_id)
+            )""",
+            // Datenbanken aus älteren Versionen ohne Wahlkreis-Spalte
+            "ALTER TABLE votes ADD COLUMN IF NOT EXISTS district VARCHAR(255)",
+            "CREATE INDEX IF NOT EXISTS ix_votes_poll_id ON votes (poll_id)"
+    };
+    private static final String INSERT =
+            "INSERT INTO votes (vote_id, poll_id, option_id, correlation_id, cast_at, district) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE =
+            "UPDATE votes SET poll_id = ?, option_id = ?, correlation_id = ?, cast_at = ?, district = ? WHERE vote_id = ?";
+    private static final String SELECT =
+            "SELECT vote_id, poll_id, option_id, correlation_id, cast_at, district FROM votes";
+    private static final String SELECT_CORRELATION_IDS = "SELECT correlation_id FROM votes";
+    private static final int CORRELATION_FETCH_SIZE = 1_000;
+
+    private final DataSource dataSource;
+    private final int maxBatchSize;
+    private final Queue<PendingInsert> pending = new ConcurrentLinkedQueue<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final LongAdder conditionalSaves = new LongAdder();
+    private final LongAdder conflicts = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder batchedVotes = new LongAdder();
+
+    public JdbcVoteRepository(DataSource dataSource) {
+        this(dataSource, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * @param dataSource   Verbindungspool; das Schema wird bei Bedarf angelegt
+     * @param maxBatchSize höchstens so viele Stimmen pro Batch und Transaktion
+     */
+    public JdbcVoteRepository(DataSource dataSource, int maxBatchSize) {
+        if (dataSource == null) {
+            throw new IllegalArgumentException("dataSource must not be null");
+        }
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("maxBatchSize must be positive");
+        }
+        this.dataSource = dataSource;
+        this.maxBatchSize = maxBatchSize;
+        Jdbc.executeDdl(dataSource, SCHEMA);
+    }
+
+    @Override
+    public Vote save(Vote vote) {
+        if (vote == null) {
+            throw new IllegalArgumentException("vote must not be null");
+        }
+        Optional<Vote> existing = findByCorrelationId(vote.getCorrelationId());
+        if (existing.isPresent()) {
+            return existing.get(); // gleiche Stimme zurück geben
+        }
+        if (insert(vote)) {
+            return vote;
+        }
+        // parallel mit gleicher correlationId gespeichert, sonst Update per voteId
+        existing = findByCorrelationId(vote.getCorrelationId());
+        if (existing.isPresent()) {
+            return existing.get();
+        }
+        update(vote);
+        return vote;
+    }
+
+    @Override
+    public boolean saveIfVersion(Vote vote, long expectedVersion) {
+        if (vote == null) {
+            throw new IllegalArgumentException("vote must not be null");
+        }
+        conditionalSaves.increment();
+        boolean saved = expectedVersion == ABSENT ? insert(vote) : expectedVersion == STORED && update(vote);
+        if (!saved) {
+            conflicts.increment();
+        }
+        return saved;
+    }
+
+    @Override
+    public Optional<Vote> findById(String voteId) {
+        if (voteId == null) {
+            return Optional.empty();
+        }
+        return selectOne(SELECT + " WHERE vote_id = ?", voteId);
+    }
+
+    @Override
+    public List<Vote> findAllByPollId(String pollId) {
+        if (pollId == null) {
+            return List.of();
+        }
+        return Jdbc.query(dataSource, connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(SELECT + " WHERE poll_id = ?")) {
+                statement.setString(1, pollId);
+                return readAll(statement);
+            }
+        });
+    }
+
+    @Override
+    public Optional<Vote> findByCorrelationId(String correlationId) {
+        if (correlationId == null) {
+            return Optional.empty();
+        }
+        return selectOne(SELECT + " WHERE correlation_id = ?", correlationId);
+    }
+
+    @Override
+    public int count() {
+        return Jdbc.query(dataSource, connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("SELECT COUNT(*) FROM votes");
+                 ResultSet rs = statement.executeQuery()) {
+                rs.next();
+                return rs.getInt(1);
+            }
+        });
+    }
+
+    @Override
+    public List<Object> findAll() {
+        return Jdbc.query(dataSource, connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(SELECT)) {
+                return new ArrayList<>(readAll(statement));
+            }
+        });
+    }
+
+    /** Liest nur die Spalte correlation_id, zeilenweise in Blöcken von {@value #CORRELATION_FETCH_SIZE}. */
+    @Override
+    public void forEachCorrelationId(Consumer<String> action) {
+        Jdbc.query(dataSource, connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(SELECT_CORRELATION_IDS)) {
+                statement.setFetchSize(CORRELATION_FETCH_SIZE);
+                try (ResultSet rs = statement.executeQuery()) {
+                    while (rs.next()) {
+                        action.accept(rs.getString(1));
+                    }
+                }
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public long conditionalSaves() {
+        return conditionalSaves.sum();
+    }
+
+    @Override
+    public long versionConflicts() {
+        return conflicts.sum();
+    }
+
+    /** Anzahl der geschriebenen Batches (Tests und Benchmark). */
+    public long batches() {
+        return batches.sum();
+    }
+
+    /** Anzahl der per Batch geschriebenen Stimmen (Tests und Benchmark). */
+    public long batchedVotes() {
+        return batchedVotes.sum();
+    }
+
+    /**
+     * Reiht die Stimme ein und wartet, bis sie (von diesem oder einem anderen Thread) geschrieben ist.
+     *
+     * @return false, wenn voteId oder correlationId bereits vergeben sind
+     */
+    private boolean insert(Vote vote) {
+        PendingInsert request = new PendingInsert(vote);
+        pending.add(request);
+        flushLock.lock();
+        try {
+            while (!request.done) {
+                flush();
+            }
+        } finally {
+            flushLock.unlock();
+        }
+        if (request.failure != null) {
+            throw request.failure;
+        }
+        return request.inserted;
+    }
+
+    /** Schreibt den Kopf der Warteschlange; nur unter dem Flush-Lock aufrufen. */
+    private void flush() {
+        List<PendingInsert> batch = new ArrayList<>();
+        for (PendingInsert next; batch.size() < maxBatchSize && (next = pending.poll()) != null; ) {
+            batch.add(next);
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        try (Connection connection = dataSource.getConnection()) {
+            writeBatch(connection, batch);
+        } catch (SQLException e) {
+            JdbcAccessException failure = new JdbcAccessException("Speichern der Stimmen fehlgeschlagen", e);
+            for (PendingInsert request : batch) {
+                if (!request.done) {
+                    request.fail(failure);
+                }
+            }
+        }
+    }
+
+    private void writeBatch(Connection connection, List<PendingInsert> batch) throws SQLException {
+        connection.setAutoCommit(false);
+        try {
+            try (PreparedStatement insert = connection.prepareStatement(INSERT)) {
+                for (PendingInsert request : batch) {
+                    bindInsert(insert, request.vote);
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                if (!(e instanceof BatchUpdateException) || !Jdbc.isUniqueViolation(e)) {
+                    throw e;
+                }
+                // Mindestens eine Stimme existiert bereits: einzeln wiederholen
+                connection.setAutoCommit(true);
+                insertIndividually(connection, batch);
+                return;
+            }
+            for (PendingInsert request : batch) {
+                request.complete(true);
+            }
+            batches.increment();
+            batchedVotes.add(batch.size());
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+
+    private void insertIndividually(Connection connection, List<PendingInsert> batch) throws SQLException {
+        try (PreparedStatement insert = connection.prepareStatement(INSERT)) {
+            for (PendingInsert request : batch) {
+                try {
+                    bindInsert(insert, request.vote);
+                    insert.executeUpdate();
+                    request.complete(true);
+                } catch (SQLException e) {
+                    if (!Jdbc.isUniqueViolation(e)) {
+                        request.fail(new JdbcAccessException("Speichern der Stimme fehlgeschlagen", e));
+                    } else {
+                        request.complete(false);
+                    }
+                }
+            }
+        }
+    }
+
+    private boolean update(Vote vote) {
+        return Jdbc.query(dataSource, connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(UPDATE)) {
+                statement.setString(1, vote.getPollId());
+                statement.setString(2, vote.getOptionId());
+                statement.setString(3, vote.getCorrelationId());
+                statement.setObject(4, OffsetDateTime.ofInstant(vote.getCastAt(), ZoneOffset.UTC));
+                statement.setString(5, vote.getDistrict());
+                statement.setString(6, vote.getVoteId());
+                return statement.executeUpdate() == 1;
+            } catch (SQLException e) {
+                if (Jdbc.isUniqueViolation(e)) {
+                    return false; // correlationId gehört zu einer anderen Stimme
+                }
+                throw e;
+            }
+        });
+    }
+
+    private Optional<Vote> selectOne(String sql, String key) {
+        return Jdbc.query(dataSource, connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                statement.setString(1, key);
+                List<Vote> votes = readAll(statement);
+                return votes.isEmpty() ? Optional.empty() : Optional.of(votes.get(0));
+            }
+        });
+    }
+
+    private static void bindInsert(PreparedStatement statement, Vote vote) throws SQLException {
+        statement.setString(1, vote.getVoteId());
+        statement.setString(2, vote.getPollId());
+        statement.setString(3, vote.getOptionId());
+        statement.setString(4, vote.getCorrelationId());
+        statement.setObject(5, OffsetDateTime.ofInstant(vote.getCastAt(), ZoneOffset.UTC));
+        statement.setString(6, vote.getDistrict());
+    }
+
+    private static List<Vote> readAll(PreparedStatement statement) throws SQLException {
+        List<Vote> votes = new ArrayList<>();
+        try (ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+                votes.add(new Vote(
+                        rs.getString("vote_id"),
+                        rs.getString("poll_id"),
+                        rs.getString("option_id"),
+                        rs.getString("correlation_id"),
+                        rs.getObject("cast_at", OffsetDateTime.class).toInstant(),
+                        rs.getString("district")));
+            }
+        }
+        return votes;
+    }
+
+    /**
+     * Eine eingereihte Einfügung. Die Felder werden nur unter dem Flush-Lock geschrieben
+     * und vom Aufrufer erst nach dessen Freigabe gelesen.
+     */
+    private static final class PendingInsert {
+
+        final Vote vote;
+        boolean done;
+        boolean inserted;
+        RuntimeException failure;
+
+        PendingInsert(Vote vote) {
+            this.vote = vote;
+        }
+
+        void complete(boolean inserted) {
+            this.inserted = inserted;
+            this.done = true;
+        }
+
+        void fail(RuntimeException failure) {
+            this.failure = failure;
+            this.done = true;
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package evote.stimmvergabe.infrastructure.persistence;
+
+import evote.infrastructure.lsm.LsmStore;
+import evote.infrastructure.lsm.WriteBatch;
+import evote.stimmvergabe.domain.model.Vote;
+import evote.stimmvergabe.domain.repository.VoteRepository;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Vote-Repository auf dem eingebetteten {@link LsmStore}.
+ *
+ * Schlüssel (Trenner \0, damit kein Präfix einer ID eine andere ID trifft):
+ * - vote\0{voteId}               → Stimme (Wahlkreis optional am Ende des Datensatzes)
+ * - vote-corr\0{correlationId}   → voteId
+ * - vote-poll\0{pollId}\0{voteId} → leer; {@link #findAllByPollId} ist ein Präfix-Scan
+ * - vote-meta\0count             → Anzahl der Stimmen
+ *
+ * Jeder Aufruf schreibt Stimme, Indexeinträge und Zähler als einen {@link WriteBatch},
+ * also mit einem sequenziellen Log-Datensatz. Prüfen und Schreiben sind für
+ * {@link #saveIfVersion} per Lock zusammengefasst; Lesen läuft ohne Lock.
+ */
+public class LsmVoteRepository implements VoteRepository {
+
+    private static final String VOTE = "vote\0";
+    private static final String CORRELATION = "vote-corr\0";
+    private static final String POLL = "vote-poll\0";
+    private static final String COUNT = "vote-meta\0count";
+    private static final byte[] EMPTY = new byte[0];
+
+    private final LsmStore store;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final AtomicInteger count;
+    private final LongAdder conditionalSaves = new LongAdder();
+    private final LongAdder conflicts = new LongAdder();
+
+    public LsmVoteRepository(LsmStore store) {
+        if (store == null) {
+            throw new IllegalArgumentException("store must not be null");
+        }
+        this.store = store;
+        byte[] stored = store.get(COUNT);
+        this.count = new AtomicInteger(stored == null ? 0 : ByteBuffer.wrap(stored).getInt());
+    }
+
+    @Override
+    public Vote save(Vote vote) {
+        if (vote == null) {
+            throw new IllegalArgumentException("vote must not be null");
+        }
+        writeLock.lock();
+        try {
+            Optional<Vote> existing = findByCorrelationId(vote.getCorrelationId());
+            if (existing.isPresent()) {
+                return existing.get(); // gleiche Stimme zurück geben
+            }
+            write(vote, find(vote.getVoteId())); // update by id is allowed
+            return vote;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean saveIfVersion(Vote vote, long expectedVersion) {
+        if (vote == null) {
+            throw new IllegalArgumentException("vote must not be null");
+        }
+        conditionalSaves.increment();
+        boolean saved;
+        writeLock.lock();
+        try {
+            Vote current = find(vote.getVoteId());
+            if (expectedVersion == ABSENT) {
+                saved = current == null && store.get(CORRELATION + vote.getCorrelationId()) == null;
+            } else {
+                saved = expectedVersion == STORED && current != null;
+            }
+            if (saved) {
+                write(vote, current);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+        if (!saved) {
+            conflicts.increment();
+        }
+        return saved;
+    }
+
+    @Override
+    public Optional<Vote> findById(String voteId) {
+        return voteId == null ? Optional.empty() : Optional.ofNullable(find(voteId));
+    }
+
+    @Override
+    public List<Vote> findAllByPollId(String pollId) {
+        if (pollId == null) {
+            return List.of();
+        }
+        String prefix = POLL + pollId + "\0";
+        List<Vote> votes = new ArrayList<>();
+        for (LsmStore.Entry entry : store.scan(prefix)) {
+            Vote vote = find(entry.key().substring(prefix.length()));
+            if (vote != null) {
+                votes.add(vote);
+            }
+        }
+        return votes;
+    }
+
+    @Override
+    public Optional<Vote> findByCorrelationId(String correlationId) {
+        if (correlationId == null) {
+            return Optional.empty();
+        }
+        byte[] voteId = store.get(CORRELATION + correlationId);
+        return voteId == null ? Optional.empty() : findById(new String(voteId, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public int count() {
+        return count.get();
+    }
+
+    @Override
+    public List<Object> findAll() {
+        List<Object> votes = new ArrayList<>();
+        for (LsmStore.Entry entry : store.scan(VOTE)) {
+            votes.add(decode(entry.value()));
+        }
+        return votes;
+    }
+
+    /** Präfix-Scan über den correlationId-Index; die Stimmen selbst werden nicht gelesen. */
+    @Override
+    public void forEachCorrelationId(Consumer<String> action) {
+        store.forEach(CORRELATION, entry -> action.accept(entry.key().substring(CORRELATION.length())));
+    }
+
+    @Override
+    public long conditionalSaves() {
+        return conditionalSaves.sum();
+    }
+
+    @Override
+    public long versionConflicts() {
+        return conflicts.sum();
+    }
+
+    /** Nur unter writeLock: Stimme vor den Indizes schreiben, veraltete Indizes entfernen. */
+    private void write(Vote vote, Vote previous) {
+        WriteBatch batch = new WriteBatch()
+                .put(VOTE + vote.getVoteId(), encode(vote))
+                .put(CORRELATION + vote.getCorrelationId(), vote.getVoteId().getBytes(StandardCharsets.UTF_8))
+                .put(POLL + vote.getPollId() + "\0" + vote.getVoteId(), EMPTY);
+        if (previous == null) {
+            batch.put(COUNT, ByteBuffer.allocate(Integer.BYTES).putInt(count.get() + 1).array());
+        } else {
+            if (!previous.getCorrelationId().equals(vote.getCorrelationId())) {
+                batch.delete(CORRELATION + previous.getCorrelationId());
+            }
+            if (!previous.getPollId().equals(vote.getPollId())) {
+                batch.delete(POLL + previous.getPollId() + "\0" + previous.getVoteId());
+            }
+        }
+        store.write(batch);
+        if (previous == null) {
+            count.incrementAndGet();
+        }
+    }
+
+    private Vote find(String voteId) {
+        byte[] bytes = store.get(VOTE + voteId);
+        return bytes == null ? null : decode(bytes);
+    }
+
+    private static byte[] encode(Vote vote) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeUTF(vote.getVoteId());
+            out.writeUTF(vote.getPollId());
+            out.writeUTF(vote.getOptionId());
+            out.writeUTF(vote.getCorrelationId());
+            out.writeLong(vote.getCastAt().getEpochSecond());
+            out.writeInt(vote.getCastAt().getNano());
+            if (vote.getDistrict() != null) {
+                out.writeUTF(vote.getDistrict());
+            }
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Vote decode(byte[] bytes) {
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+            String voteId = in.readUTF();
+            String pollId = in.readUTF();
+            String optionId = in.readUTF();
+            String correlationId = in.readUTF();
+            Instant castAt = Instant.ofEpochSecond(in.readLong(), in.readInt());
+            // Datensätze ohne Wahlkreis (auch aus älteren Versionen) enden nach castAt
+            String district = in.available() > 0 ? in.readUTF() : null;
+            return new Vote(voteId, pollId, optionId, correlationId, castAt, district);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
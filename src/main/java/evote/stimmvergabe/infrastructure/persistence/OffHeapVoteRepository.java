@@ -0,0 +1,520 @@
+package evote.stimmvergabe.infrastructure.persistence;
+
+import evote.stimmvergabe.domain.model.Vote;
+import evote.stimmvergabe.domain.repository.VoteRepository;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Vote-Repository, das Stimmen und Hash-Indizes außerhalb des Java-Heaps ablegt.
+ *
+ * Für landesweite Abstimmungen mit zig Millionen Stimmen: der Heap enthält nur
+ * noch wenige große Direct-Buffer statt Millionen kleiner Objekte, die der GC
+ * bei jeder Markierung traversieren müsste.
+ *
+ * Aufbau eines Datensatzes (56 Byte, feste Breite):
+ * <pre>
+ *  0  voteId (hi)         8  voteId (lo)
+ * 16  correlationId (hi) 24  correlationId (lo)
+ * 32  castAt Sekunden    40  castAt Nanos (int)
+ * 44  poll-Ordinal (int) 48  option-Ordinal (int)
+ * 52  Flags (byte)       54  Wahlkreis-Ordinal + 1 (char, 0 = ohne)
+ * </pre>
+ *
+ * Die Kodierung entspricht {@link PackedVoteRepository}: kanonische UUIDs binär,
+ * poll-, optionId und Wahlkreis als internierte Ordinalzahlen, freie IDs als Text auf dem Heap.
+ * Die beiden Indizes (voteId, correlationId) sind offene Adressierung über
+ * Zeilennummern in eigenen Direct-Buffern.
+ *
+ * Aktivierung über evote.persistence.vote-store=off-heap;
+ * die erwartete Anzahl Stimmen (evote.persistence.off-heap.expected-votes)
+ * dimensioniert die Indizes vorab, damit kein Umkopieren nötig ist.
+ */
+public class OffHeapVoteRepository implements VoteRepository {
+
+    static final int RECORD_BYTES = 56;
+    private static final int CHUNK_SHIFT = 16;
+    private static final int CHUNK_RECORDS = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_RECORDS - 1;
+    private static final int MAX_INDEX_SLOTS = 1 << 28;
+
+    private static final int VOTE_HI = 0;
+    private static final int VOTE_LO = 8;
+    private static final int CORRELATION_HI = 16;
+    private static final int CORRELATION_LO = 24;
+    private static final int CAST_SECONDS = 32;
+    private static final int CAST_NANOS = 40;
+    private static final int POLL = 44;
+    private static final int OPTION = 48;
+    private static final int FLAGS = 52;
+    private static final int DISTRICT = 54;
+
+    private static final byte TEXTUAL_VOTE_ID = 1;
+    private static final byte TEXTUAL_CORRELATION_ID = 2;
+    private static final byte SUPERSEDED = 4;
+
+    private final int initialIndexSlots;
+    private final StringDictionary pollIds = new StringDictionary();
+    private final StringDictionary optionIds = new StringDictionary();
+    private final StringDictionary districts = new StringDictionary();
+    private final StringDictionary textualIds = new StringDictionary();
+    private final Map<String, Integer> textualVoteIndex = new ConcurrentHashMap<>();
+    private final Map<String, Integer> textualCorrelationIndex = new ConcurrentHashMap<>();
+    private final OffHeapRowIndex voteIndex;
+    private final OffHeapRowIndex correlationIndex;
+    private final StampedLock lock = new StampedLock();
+    private final LongAdder conditionalSaves = new LongAdder();
+    private final LongAdder conflicts = new LongAdder();
+
+    private volatile ByteBuffer[] chunks = new ByteBuffer[0];
+    private volatile int size;
+    private volatile int liveCount;
+
+    public OffHeapVoteRepository() {
+        this(0);
+    }
+
+    /**
+     * @param expectedVotes erwartete Anzahl Stimmen zur Vordimensionierung der Indizes
+     */
+    public OffHeapVoteRepository(int expectedVotes) {
+        if (expectedVotes < 0) {
+            throw new IllegalArgumentException("expectedVotes must not be negative");
+        }
+        long wanted = Math.max(64L, Long.highestOneBit(Math.max(1L, expectedVotes * 2L - 1)) << 1);
+        this.initialIndexSlots = (int) Math.min(wanted, MAX_INDEX_SLOTS);
+        this.voteIndex = new OffHeapRowIndex(VOTE_HI, VOTE_LO, TEXTUAL_VOTE_ID);
+        this.correlationIndex = new OffHeapRowIndex(CORRELATION_HI, CORRELATION_LO, TEXTUAL_CORRELATION_ID);
+    }
+
+    @Override
+    public Vote save(Vote vote) {
+        if (vote == null) {
+            throw new IllegalArgumentException("vote must not be null");
+        }
+        long stamp = lock.writeLock();
+        try {
+            return saveLocked(vote);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public boolean saveIfVersion(Vote vote, long expectedVersion) {
+        if (vote == null) {
+            throw new IllegalArgumentException("vote must not be null");
+        }
+        conditionalSaves.increment();
+        long stamp = lock.writeLock();
+        try {
+            boolean exists = voteRow(vote.getVoteId(), true) >= 0;
+            boolean matches = expectedVersion == ABSENT
+                    ? !exists && correlationRow(vote.getCorrelationId(), true) < 0
+                    : expectedVersion == STORED && exists;
+            if (matches) {
+                // Bedingung schon geprüft: bei STORED gehört die correlationId zur ersetzten Zeile
+                appendLocked(vote);
+                return true;
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        conflicts.increment();
+        return false;
+    }
+
+    private Vote saveLocked(Vote vote) {
+        int existing = correlationRow(vote.getCorrelationId(), true);
+        if (existing >= 0) {
+            return materialize(existing); // gleiche Stimme zurück geben
+        }
+        return appendLocked(vote);
+    }
+
+    /** Hängt die Stimme an; eine vorhandene Zeile mit derselben voteId gilt danach als ersetzt. */
+    private Vote appendLocked(Vote vote) {
+        int previous = voteRow(vote.getVoteId(), true);
+        int row = append(vote);
+        if (previous >= 0) {
+            ByteBuffer chunk = chunk(previous);
+            int flagsAt = offset(previous) + FLAGS;
+            chunk.put(flagsAt, (byte) (chunk.get(flagsAt) | SUPERSEDED));
+        } else {
+            liveCount++;
+        }
+        index(row, vote);
+        return vote;
+    }
+
+    /** Anzahl der aktuell gespeicherten Votes (Tests und Metriken). */
+    @Override
+    public int count() {
+        return liveCount;
+    }
+
+    @Override
+    public long conditionalSaves() {
+        return conditionalSaves.sum();
+    }
+
+    @Override
+    public long versionConflicts() {
+        return conflicts.sum();
+    }
+
+    /** Belegter Speicher außerhalb des Heaps in Byte (Datensätze und Indizes). */
+    public long offHeapBytes() {
+        return (long) chunks.length * CHUNK_RECORDS * RECORD_BYTES
+                + voteIndex.capacityBytes() + correlationIndex.capacityBytes();
+    }
+
+    @Override
+    public List<Object> findAll() {
+        int rows = size;
+        List<Object> result = new ArrayList<>(liveCount);
+        for (int row = 0; row < rows; row++) {
+            if ((flags(row) & SUPERSEDED) == 0) {
+                result.add(materialize(row));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Optional<Vote> findById(String voteId) {
+        if (voteId == null) {
+            return Optional.empty();
+        }
+        int row = voteRow(voteId, false);
+        return row >= 0 ? Optional.of(materialize(row)) : Optional.empty();
+    }
+
+    @Override
+    public List<Vote> findAllByPollId(String pollId) {
+        if (pollId == null) {
+            return List.of(); // unveränderliche leere Liste
+        }
+        int poll = pollIds.find(pollId);
+        if (poll < 0) {
+            return List.of();
+        }
+        int rows = size;
+        ByteBuffer[] current = chunks;
+        List<Vote> result = new ArrayList<>();
+        for (int row = 0; row < rows; row++) {
+            ByteBuffer chunk = current[row >>> CHUNK_SHIFT];
+            int offset = offset(row);
+            if (chunk.getInt(offset + POLL) == poll && (chunk.get(offset + FLAGS) & SUPERSEDED) == 0) {
+                result.add(materialize(row));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Optional<Vote> findByCorrelationId(String correlationId) {
+        if (correlationId == null) {
+            return Optional.empty();
+        }
+        int row = correlationRow(correlationId, false);
+        return row >= 0 ? Optional.of(materialize(row)) : Optional.empty();
+    }
+
+    /** Nur für Tests praktisch, um den Zustand zurückzusetzen. */
+    public void clear() {
+        long stamp = lock.writeLock();
+        try {
+            size = 0;
+            liveCount = 0;
+            chunks = new ByteBuffer[0];
+            pollIds.clear();
+            optionIds.clear();
+            districts.clear();
+            textualIds.clear();
+            textualVoteIndex.clear();
+            textualCorrelationIndex.clear();
+            voteIndex.clear();
+            correlationIndex.clear();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    private int append(Vote vote) {
+        int row = size;
+        if (row == Integer.MAX_VALUE - 1) {
+            throw new IllegalStateException("off-heap vote store is full");
+        }
+        ByteBuffer[] current = chunks;
+        int chunkIndex = row >>> CHUNK_SHIFT;
+        if (chunkIndex == current.length) {
+            current = Arrays.copyOf(current, current.length + 1);
+            current[chunkIndex] = ByteBuffer.allocateDirect(CHUNK_RECORDS * RECORD_BYTES)
+                    .order(ByteOrder.nativeOrder());
+            chunks = current;
+        }
+        ByteBuffer chunk = current[chunkIndex];
+        int offset = offset(row);
+        byte flags = 0;
+
+        String voteId = vote.getVoteId();
+        if (CanonicalUuid.isCanonical(voteId)) {
+            chunk.putLong(offset + VOTE_HI, CanonicalUuid.mostSignificantBits(voteId));
+            chunk.putLong(offset + VOTE_LO, CanonicalUuid.leastSignificantBits(voteId));
+        } else {
+            chunk.putLong(offset + VOTE_HI, 0L);
+            chunk.putLong(offset + VOTE_LO, textualIds.intern(voteId));
+            flags |= TEXTUAL_VOTE_ID;
+        }
+
+        String correlationId = vote.getCorrelationId();
+        if (CanonicalUuid.isCanonical(correlationId)) {
+            chunk.putLong(offset + CORRELATION_HI, CanonicalUuid.mostSignificantBits(correlationId));
+            chunk.putLong(offset + CORRELATION_LO, CanonicalUuid.leastSignificantBits(correlationId));
+        } else {
+            chunk.putLong(offset + CORRELATION_HI, 0L);
+            chunk.putLong(offset + CORRELATION_LO, textualIds.intern(correlationId));
+            flags |= TEXTUAL_CORRELATION_ID;
+        }
+
+        chunk.putLong(offset + CAST_SECONDS, vote.getCastAt().getEpochSecond());
+        chunk.putInt(offset + CAST_NANOS, vote.getCastAt().getNano());
+        chunk.putInt(offset + POLL, pollIds.intern(vote.getPollId()));
+        chunk.putInt(offset + OPTION, optionIds.intern(vote.getOptionId()));
+        chunk.put(offset + FLAGS, flags);
+        chunk.putChar(offset + DISTRICT, districtCode(vote.getDistrict()));
+
+        size = row + 1; // Veröffentlichung des Datensatzes
+        return row;
+    }
+
+    private void index(int row, Vote vote) {
+        byte flags = flags(row);
+        if ((flags & TEXTUAL_VOTE_ID) != 0) {
+            textualVoteIndex.put(vote.getVoteId(), row);
+        } else {
+            voteIndex.put(row);
+        }
+        if ((flags & TEXTUAL_CORRELATION_ID) != 0) {
+            textualCorrelationIndex.put(vote.getCorrelationId(), row);
+        } else {
+            correlationIndex.put(row);
+        }
+    }
+
+    private int voteRow(String voteId, boolean writeLocked) {
+        if (!CanonicalUuid.isCanonical(voteId)) {
+            Integer row = textualVoteIndex.get(voteId);
+            return row != null ? row : -1;
+        }
+        return lookup(voteIndex, CanonicalUuid.mostSignificantBits(voteId),
+                CanonicalUuid.leastSignificantBits(voteId), writeLocked);
+    }
+
+    private int correlationRow(String correlationId, boolean writeLocked) {
+        if (!CanonicalUuid.isCanonical(correlationId)) {
+            Integer row = textualCorrelationIndex.get(correlationId);
+            return row != null ? row : -1;
+        }
+        return lookup(correlationIndex,
+                CanonicalUuid.mostSignificantBits(correlationId),
+                CanonicalUuid.leastSignificantBits(correlationId), writeLocked);
+    }
+
+    private int lookup(OffHeapRowIndex index, long hi, long lo, boolean writeLocked) {
+        if (writeLocked) {
+            return index.find(hi, lo);
+        }
+        long stamp = lock.tryOptimisticRead();
+        int row;
+        try {
+            row = index.find(hi, lo);
+        } catch (IndexOutOfBoundsException concurrentClear) {
+            row = -1; // nur bei gleichzeitigem clear(); validate schlägt dann fehl
+        }
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                row = index.find(hi, lo);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return row;
+    }
+
+    private Vote materialize(int row) {
+        ByteBuffer chunk = chunk(row);
+        int offset = offset(row);
+        byte flags = chunk.get(offset + FLAGS);
+        String voteId = (flags & TEXTUAL_VOTE_ID) != 0
+                ? textualIds.value((int) chunk.getLong(offset + VOTE_LO))
+                : CanonicalUuid.toString(chunk.getLong(offset + VOTE_HI), chunk.getLong(offset + VOTE_LO));
+        String correlationId = (flags & TEXTUAL_CORRELATION_ID) != 0
+                ? textualIds.value((int) chunk.getLong(offset + CORRELATION_LO))
+                : CanonicalUuid.toString(chunk.getLong(offset + CORRELATION_HI), chunk.getLong(offset + CORRELATION_LO));
+        return new Vote(
+                voteId,
+                pollIds.value(chunk.getInt(offset + POLL)),
+                optionIds.value(chunk.getInt(offset + OPTION)),
+                correlationId,
+                Instant.ofEpochSecond(chunk.getLong(offset + CAST_SECONDS), chunk.getInt(offset + CAST_NANOS)),
+                district(chunk.getChar(offset + DISTRICT))
+        );
+    }
+
+    private char districtCode(String district) {
+        if (district == null) {
+            return 0;
+        }
+        int ordinal = districts.intern(district);
+        if (ordinal >= Character.MAX_VALUE) {
+            throw new IllegalStateException("too many districts for off-heap vote store");
+        }
+        return (char) (ordinal + 1);
+    }
+
+    private String district(char code) {
+        return code == 0 ? null : districts.value(code - 1);
+    }
+
+    private byte flags(int row) {
+        return chunk(row).get(offset(row) + FLAGS);
+    }
+
+    private ByteBuffer chunk(int row) {
+        return chunks[row >>> CHUNK_SHIFT];
+    }
+
+    private static int offset(int row) {
+        return (row & CHUNK_MASK) * RECORD_BYTES;
+    }
+
+    /**
+     * Offene Adressierung über Zeilennummern in einem Direct-Buffer (4 Byte pro Slot).
+     * Der Schlüssel wird aus dem Datensatz gelesen und nicht im Index dupliziert.
+     */
+    private final class OffHeapRowIndex {
+
+        private final int hiOffset;
+        private final int loOffset;
+        private final byte textualFlag;
+        private volatile ByteBuffer table;
+        private int entries;
+
+        OffHeapRowIndex(int hiOffset, int loOffset, byte textualFlag) {
+            this.hiOffset = hiOffset;
+            this.loOffset = loOffset;
+            this.textualFlag = textualFlag;
+            this.table = allocate(initialIndexSlots);
+        }
+
+        int find(long hi, long lo) {
+            ByteBuffer current = table;
+            int slots = current.capacity() / Integer.BYTES;
+            int mask = slots - 1;
+            int slot = hash(hi, lo) & mask;
+            for (int probes = 0; probes < slots; probes++) {
+                int entry = current.getInt(slot * Integer.BYTES);
+                if (entry == 0) {
+                    return -1;
+                }
+                if (matches(entry - 1, hi, lo)) {
+                    return entry - 1;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return -1;
+        }
+
+        /** Fügt eine Zeile ein oder ersetzt die Zeile mit gleichem Schlüssel (nur unter Schreibsperre). */
+        void put(int row) {
+            long hi = keyHi(row);
+            long lo = keyLo(row);
+            ByteBuffer current = table;
+            int mask = current.capacity() / Integer.BYTES - 1;
+            int slot = hash(hi, lo) & mask;
+            int entry;
+            while ((entry = current.getInt(slot * Integer.BYTES)) != 0) {
+                if (matches(entry - 1, hi, lo)) {
+                    current.putInt(slot * Integer.BYTES, row + 1);
+                    return;
+                }
+                slot = (slot + 1) & mask;
+            }
+            current.putInt(slot * Integer.BYTES, row + 1);
+            if (++entries * 2L > mask + 1L) {
+                resize();
+            }
+        }
+
+        long capacityBytes() {
+            return table.capacity();
+        }
+
+        void clear() {
+            table = allocate(initialIndexSlots);
+            entries = 0;
+        }
+
+        private void resize() {
+            ByteBuffer current = table;
+            int slots = current.capacity() / Integer.BYTES;
+            if (slots >= MAX_INDEX_SLOTS) {
+                throw new IllegalStateException("off-heap vote index is full");
+            }
+            ByteBuffer grown = allocate(slots * 2);
+            int mask = slots * 2 - 1;
+            for (int i = 0; i < slots; i++) {
+                int entry = current.getInt(i * Integer.BYTES);
+                if (entry == 0) {
+                    continue;
+                }
+                int slot = hash(keyHi(entry - 1), keyLo(entry - 1)) & mask;
+                while (grown.getInt(slot * Integer.BYTES) != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                grown.putInt(slot * Integer.BYTES, entry);
+            }
+            table = grown;
+        }
+
+        private boolean matches(int row, long hi, long lo) {
+            ByteBuffer chunk = chunk(row);
+            int offset = offset(row);
+            return (chunk.get(offset + FLAGS) & textualFlag) == 0
+                    && chunk.getLong(offset + hiOffset) == hi
+                    && chunk.getLong(offset + loOffset) == lo;
+        }
+
+        private long keyHi(int row) {
+            return chunk(row).getLong(offset(row) + hiOffset);
+        }
+
+        private long keyLo(int row) {
+            return chunk(row).getLong(offset(row) + loOffset);
+        }
+
+        private ByteBuffer allocate(int slots) {
+            return ByteBuffer.allocateDirect(slots * Integer.BYTES).order(ByteOrder.nativeOrder());
+        }
+
+        private int hash(long hi, long lo) {
+            long h = hi * 0x9E3779B97F4A7C15L ^ lo;
+            h ^= h >>> 33;
+            h *= 0xC2B2AE3D27D4EB4FL;
+            return (int) (h ^ (h >>> 29));
+        }
+    }
+}
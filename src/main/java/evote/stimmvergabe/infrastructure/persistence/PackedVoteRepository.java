@@ -0,0 +1,468 @@
+package evote.stimmvergabe.infrastructure.persistence;
+
+import evote.stimmvergabe.domain.model.Vote;
+import evote.stimmvergabe.domain.repository.VoteRepository;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Speichersparendes Vote-Repository mit spaltenweiser, binärer Ablage.
+ *
+ * Statt eines {@link Vote}-Objekts mit vier Strings und einem Instant pro Stimme
+ * wird jede Stimme als Zeile in primitiven Spalten abgelegt:
+ * - voteId und correlationId als je zwei longs, sofern sie im kanonischen UUID-Format vorliegen
+ * - pollId und optionId als int-Ordinalzahlen aus einem Interning-Wörterbuch
+ * - castAt als Sekunden (long) und Nanosekunden (int)
+ * - der Wahlkreis als char (Ordinalzahl + 1, 0 = ohne Wahlkreis)
+ *
+ * Das ergibt rund 55 Byte pro Stimme plus etwa 16 Byte für die beiden Indizes.
+ * Frei gewählte IDs (z.B. "vote-1") werden weiterhin unterstützt und als Text abgelegt.
+ *
+ * Zeilen werden nur angehängt und nach ihrer Veröffentlichung nicht mehr verändert;
+ * ein Update per voteId hängt eine neue Zeile an und markiert die alte als überholt.
+ * Schreibzugriffe sind serialisiert, Lesezugriffe laufen ohne Sperre
+ * (Indizes mit optimistischem Lesen über {@link StampedLock}).
+ *
+ * Aktivierung über evote.persistence.vote-store=packed.
+ */
+public class PackedVoteRepository implements VoteRepository {
+
+    private static final int CHUNK_SHIFT = 13;
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private static final byte TEXTUAL_VOTE_ID = 1;
+    private static final byte TEXTUAL_CORRELATION_ID = 2;
+    private static final byte SUPERSEDED = 4;
+
+    private final StringDictionary pollIds = new StringDictionary();
+    private final StringDictionary optionIds = new StringDictionary();
+    private final StringDictionary districts = new StringDictionary();
+    private final StringDictionary textualIds = new StringDictionary();
+    private final Map<String, Integer> textualVoteIndex = new ConcurrentHashMap<>();
+    private final Map<String, Integer> textualCorrelationIndex = new ConcurrentHashMap<>();
+    private final RowIndex voteIndex = new RowIndex(false);
+    private final RowIndex correlationIndex = new RowIndex(true);
+    private final StampedLock lock = new StampedLock();
+    private final LongAdder conditionalSaves = new LongAdder();
+    private final LongAdder conflicts = new LongAdder();
+
+    private volatile Chunk[] chunks = new Chunk[0];
+    private volatile int size;
+    private volatile int liveCount;
+
+    @Override
+    public Vote save(Vote vote) {
+        if (vote == null) {
+            throw new IllegalArgumentException("vote must not be null");
+        }
+        long stamp = lock.writeLock();
+        try {
+            return saveLocked(vote);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public boolean saveIfVersion(Vote vote, long expectedVersion) {
+        if (vote == null) {
+            throw new IllegalArgumentException("vote must not be null");
+        }
+        conditionalSaves.increment();
+        long stamp = lock.writeLock();
+        try {
+            boolean exists = voteRow(vote.getVoteId(), true) >= 0;
+            boolean matches = expectedVersion == ABSENT
+                    ? !exists && correlationRow(vote.getCorrelationId(), true) < 0
+                    : expectedVersion == STORED && exists;
+            if (matches) {
+                // Bedingung schon geprüft: bei STORED gehört die correlationId zur ersetzten Zeile
+                appendLocked(vote);
+                return true;
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        conflicts.increment();
+        return false;
+    }
+
+    private Vote saveLocked(Vote vote) {
+        int existing = correlationRow(vote.getCorrelationId(), true);
+        if (existing >= 0) {
+            return materialize(existing); // gleiche Stimme zurück geben
+        }
+        return appendLocked(vote);
+    }
+
+    /** Hängt die Stimme an; eine vorhandene Zeile mit derselben voteId gilt danach als ersetzt. */
+    private Vote appendLocked(Vote vote) {
+        int previous = voteRow(vote.getVoteId(), true);
+        int row = append(vote);
+        if (previous >= 0) {
+            Chunk chunk = chunk(previous);
+            chunk.flags[previous & CHUNK_MASK] |= SUPERSEDED;
+        } else {
+            liveCount++;
+        }
+        index(row, vote);
+        return vote;
+    }
+
+    /** Anzahl der aktuell gespeicherten Votes (Tests und Metriken). */
+    @Override
+    public int count() {
+        return liveCount;
+    }
+
+    @Override
+    public long conditionalSaves() {
+        return conditionalSaves.sum();
+    }
+
+    @Override
+    public long versionConflicts() {
+        return conflicts.sum();
+    }
+
+    @Override
+    public List<Object> findAll() {
+        int rows = size;
+        List<Object> result = new ArrayList<>(liveCount);
+        for (int row = 0; row < rows; row++) {
+            if (!isSuperseded(row)) {
+                result.add(materialize(row));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Optional<Vote> findById(String voteId) {
+        if (voteId == null) {
+            return Optional.empty();
+        }
+        int row = voteRow(voteId, false);
+        return row >= 0 ? Optional.of(materialize(row)) : Optional.empty();
+    }
+
+    @Override
+    public List<Vote> findAllByPollId(String pollId) {
+        if (pollId == null) {
+            return List.of(); // unveränderliche leere Liste
+        }
+        int poll = pollIds.find(pollId);
+        if (poll < 0) {
+            return List.of();
+        }
+        int rows = size;
+        Chunk[] current = chunks;
+        List<Vote> result = new ArrayList<>();
+        for (int row = 0; row < rows; row++) {
+            Chunk chunk = current[row >>> CHUNK_SHIFT];
+            int offset = row & CHUNK_MASK;
+            if (chunk.poll[offset] == poll && (chunk.flags[offset] & SUPERSEDED) == 0) {
+                result.add(materialize(row));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Optional<Vote> findByCorrelationId(String correlationId) {
+        if (correlationId == null) {
+            return Optional.empty();
+        }
+        int row = correlationRow(correlationId, false);
+        return row >= 0 ? Optional.of(materialize(row)) : Optional.empty();
+    }
+
+    /** Nur für Tests praktisch, um den Zustand zurückzusetzen. */
+    public void clear() {
+        long stamp = lock.writeLock();
+        try {
+            size = 0;
+            liveCount = 0;
+            chunks = new Chunk[0];
+            pollIds.clear();
+            optionIds.clear();
+            districts.clear();
+            textualIds.clear();
+            textualVoteIndex.clear();
+            textualCorrelationIndex.clear();
+            voteIndex.clear();
+            correlationIndex.clear();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    private int append(Vote vote) {
+        int row = size;
+        Chunk[] current = chunks;
+        int chunkIndex = row >>> CHUNK_SHIFT;
+        if (chunkIndex == current.length) {
+            current = Arrays.copyOf(current, current.length + 1);
+            current[chunkIndex] = new Chunk();
+            chunks = current;
+        }
+        Chunk chunk = current[chunkIndex];
+        int offset = row & CHUNK_MASK;
+        byte flags = 0;
+
+        String voteId = vote.getVoteId();
+        if (CanonicalUuid.isCanonical(voteId)) {
+            chunk.voteHi[offset] = CanonicalUuid.mostSignificantBits(voteId);
+            chunk.voteLo[offset] = CanonicalUuid.leastSignificantBits(voteId);
+        } else {
+            chunk.voteLo[offset] = textualIds.intern(voteId);
+            flags |= TEXTUAL_VOTE_ID;
+        }
+
+        String correlationId = vote.getCorrelationId();
+        if (CanonicalUuid.isCanonical(correlationId)) {
+            chunk.correlationHi[offset] = CanonicalUuid.mostSignificantBits(correlationId);
+            chunk.correlationLo[offset] = CanonicalUuid.leastSignificantBits(correlationId);
+        } else {
+            chunk.correlationLo[offset] = textualIds.intern(correlationId);
+            flags |= TEXTUAL_CORRELATION_ID;
+        }
+
+        chunk.poll[offset] = pollIds.intern(vote.getPollId());
+        chunk.option[offset] = optionIds.intern(vote.getOptionId());
+        chunk.castSeconds[offset] = vote.getCastAt().getEpochSecond();
+        chunk.castNanos[offset] = vote.getCastAt().getNano();
+        chunk.district[offset] = districtCode(vote.getDistrict());
+        chunk.flags[offset] = flags;
+
+        size = row + 1; // Veröffentlichung der Zeile
+        return row;
+    }
+
+    private void index(int row, Vote vote) {
+        Chunk chunk = chunk(row);
+        int offset = row & CHUNK_MASK;
+        if ((chunk.flags[offset] & TEXTUAL_VOTE_ID) != 0) {
+            textualVoteIndex.put(vote.getVoteId(), row);
+        } else {
+            voteIndex.put(row, chunk.voteHi[offset], chunk.voteLo[offset]);
+        }
+        if ((chunk.flags[offset] & TEXTUAL_CORRELATION_ID) != 0) {
+            textualCorrelationIndex.put(vote.getCorrelationId(), row);
+        } else {
+            correlationIndex.put(row, chunk.correlationHi[offset], chunk.correlationLo[offset]);
+        }
+    }
+
+    private int voteRow(String voteId, boolean writeLocked) {
+        if (!CanonicalUuid.isCanonical(voteId)) {
+            Integer row = textualVoteIndex.get(voteId);
+            return row != null ? row : -1;
+        }
+        return lookup(voteIndex, CanonicalUuid.mostSignificantBits(voteId),
+                CanonicalUuid.leastSignificantBits(voteId), writeLocked);
+    }
+
+    private int correlationRow(String correlationId, boolean writeLocked) {
+        if (!CanonicalUuid.isCanonical(correlationId)) {
+            Integer row = textualCorrelationIndex.get(correlationId);
+            return row != null ? row : -1;
+        }
+        return lookup(correlationIndex,
+                CanonicalUuid.mostSignificantBits(correlationId),
+                CanonicalUuid.leastSignificantBits(correlationId), writeLocked);
+    }
+
+    private int lookup(RowIndex index, long hi, long lo, boolean writeLocked) {
+        if (writeLocked) {
+            return index.find(hi, lo);
+        }
+        long stamp = lock.tryOptimisticRead();
+        int row;
+        try {
+            row = index.find(hi, lo);
+        } catch (ArrayIndexOutOfBoundsException concurrentClear) {
+            row = -1; // nur bei gleichzeitigem clear(); validate schlägt dann fehl
+        }
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                row = index.find(hi, lo);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return row;
+    }
+
+    private Vote materialize(int row) {
+        Chunk chunk = chunk(row);
+        int offset = row & CHUNK_MASK;
+        byte flags = chunk.flags[offset];
+        String voteId = (flags & TEXTUAL_VOTE_ID) != 0
+                ? textualIds.value((int) chunk.voteLo[offset])
+                : CanonicalUuid.toString(chunk.voteHi[offset], chunk.voteLo[offset]);
+        String correlationId = (flags & TEXTUAL_CORRELATION_ID) != 0
+                ? textualIds.value((int) chunk.correlationLo[offset])
+                : CanonicalUuid.toString(chunk.correlationHi[offset], chunk.correlationLo[offset]);
+        return new Vote(
+                voteId,
+                pollIds.value(chunk.poll[offset]),
+                optionIds.value(chunk.option[offset]),
+                correlationId,
+                Instant.ofEpochSecond(chunk.castSeconds[offset], chunk.castNanos[offset]),
+                district(chunk.district[offset])
+        );
+    }
+
+    private char districtCode(String district) {
+        if (district == null) {
+            return 0;
+        }
+        int ordinal = districts.intern(district);
+        if (ordinal >= Character.MAX_VALUE) {
+            throw new IllegalStateException("too many districts for packed vote store");
+        }
+        return (char) (ordinal + 1);
+    }
+
+    private String district(char code) {
+        return code == 0 ? null : districts.value(code - 1);
+    }
+
+    private boolean isSuperseded(int row) {
+        return (chunk(row).flags[row & CHUNK_MASK] & SUPERSEDED) != 0;
+    }
+
+    private Chunk chunk(int row) {
+        return chunks[row >>> CHUNK_SHIFT];
+    }
+
+    /**
+     * Ein Block fester Größe; Blöcke werden nie umkopiert, damit Leser ohne Sperre arbeiten können.
+     */
+    private static final class Chunk {
+        final long[] voteHi = new long[CHUNK_SIZE];
+        final long[] voteLo = new long[CHUNK_SIZE];
+        final long[] correlationHi = new long[CHUNK_SIZE];
+        final long[] correlationLo = new long[CHUNK_SIZE];
+        final long[] castSeconds = new long[CHUNK_SIZE];
+        final int[] castNanos = new int[CHUNK_SIZE];
+        final int[] poll = new int[CHUNK_SIZE];
+        final int[] option = new int[CHUNK_SIZE];
+        final char[] district = new char[CHUNK_SIZE];
+        final byte[] flags = new byte[CHUNK_SIZE];
+    }
+
+    /**
+     * Offene Adressierung über Zeilennummern: die Tabelle enthält nur (Zeile + 1),
+     * der Schlüssel wird direkt aus den Spalten gelesen. Dadurch kostet ein Eintrag
+     * bei halber Füllung nur 8 Byte.
+     */
+    private final class RowIndex {
+
+        private final boolean correlation;
+        private volatile int[] table = new int[64];
+        private int entries;
+
+        RowIndex(boolean correlation) {
+            this.correlation = correlation;
+        }
+
+        int find(long hi, long lo) {
+            int[] current = table;
+            int mask = current.length - 1;
+            int slot = hash(hi, lo) & mask;
+            for (int probes = 0; probes < current.length; probes++) {
+                int entry = current[slot];
+                if (entry == 0) {
+                    return -1;
+                }
+                if (matches(entry - 1, hi, lo)) {
+                    return entry - 1;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return -1;
+        }
+
+        /** Fügt eine Zeile ein oder ersetzt die Zeile mit gleichem Schlüssel (nur unter Schreibsperre). */
+        void put(int row, long hi, long lo) {
+            int[] current = table;
+            int mask = current.length - 1;
+            int slot = hash(hi, lo) & mask;
+            while (current[slot] != 0) {
+                if (matches(current[slot] - 1, hi, lo)) {
+                    current[slot] = row + 1;
+                    return;
+                }
+                slot = (slot + 1) & mask;
+            }
+            current[slot] = row + 1;
+            if (++entries * 2 > current.length) {
+                resize();
+            }
+        }
+
+        void clear() {
+            table = new int[64];
+            entries = 0;
+        }
+
+        private void resize() {
+            int[] current = table;
+            int[] grown = new int[current.length * 2];
+            int mask = grown.length - 1;
+            for (int entry : current) {
+                if (entry == 0) {
+                    continue;
+                }
+                int row = entry - 1;
+                int slot = hash(keyHi(row), keyLo(row)) & mask;
+                while (grown[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                grown[slot] = entry;
+            }
+            table = grown;
+        }
+
+        private boolean matches(int row, long hi, long lo) {
+            Chunk chunk = chunk(row);
+            int offset = row & CHUNK_MASK;
+            byte textual = correlation ? TEXTUAL_CORRELATION_ID : TEXTUAL_VOTE_ID;
+            if ((chunk.flags[offset] & textual) != 0) {
+                return false;
+            }
+            return correlation
+                    ? chunk.correlationHi[offset] == hi && chunk.correlationLo[offset] == lo
+                    : chunk.voteHi[offset] == hi && chunk.voteLo[offset] == lo;
+        }
+
+        private long keyHi(int row) {
+            Chunk chunk = chunk(row);
+            return correlation ? chunk.correlationHi[row & CHUNK_MASK] : chunk.voteHi[row & CHUNK_MASK];
+        }
+
+        private long keyLo(int row) {
+            Chunk chunk = chunk(row);
+            return correlation ? chunk.correlationLo[row & CHUNK_MASK] : chunk.voteLo[row & CHUNK_MASK];
+        }
+
+        private int hash(long hi, long lo) {
+            long h = hi * 0x9E3779B97F4A7C15L ^ lo;
+            h ^= h >>> 33;
+            h *= 0xC2B2AE3D27D4EB4FL;
+            return (int) (h ^ (h >>> 29));
+        }
+    }
+}
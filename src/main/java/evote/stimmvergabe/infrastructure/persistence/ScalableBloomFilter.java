@@ -0,0 +1,204 @@
+package evote.stimmvergabe.infrastructure.persistence;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Skalierbarer, partitionierter Bloom-Filter für Strings (z.B. correlationIds).
+ *
+ * Der Filter besteht aus einer Folge von Stufen. Jede Stufe ist ein partitionierter
+ * Bloom-Filter mit k gleich großen Bit-Bereichen (ein Hash pro Bereich). Ist eine Stufe
+ * voll, wird eine neue mit doppelter Kapazität und halbierter Fehlerrate angehängt,
+ * sodass die Gesamt-Fehlerrate unter dem Zielwert bleibt, ohne die Anzahl der
+ * Einträge vorab kennen zu müssen.
+ *
+ * Mit {@code maxStages} ist das Wachstum gedeckelt: danach nimmt die letzte Stufe weitere
+ * Einträge auf, der Speicher bleibt fest und die Fehlerrate steigt über den Zielwert
+ * (sichtbar in {@link #expectedFalsePositiveRate}).
+ *
+ * {@link #mightContain} liefert nie ein falsches "nein": was eingefügt wurde, wird immer gefunden.
+ * Lesen und Einfügen sind lock-frei; nur das Anhängen einer Stufe ist synchronisiert.
+ */
+public final class ScalableBloomFilter {
+
+    private static final double TIGHTENING_RATIO = 0.5;
+    private static final int GROWTH_FACTOR = 2;
+
+    private final double targetFalsePositiveRate;
+    private final int maxStages;
+    private volatile Stage[] stages;
+
+    /**
+     * @param initialCapacity          erwartete Einträge der ersten Stufe
+     * @param targetFalsePositiveRate  Ziel-Fehlerrate über alle Stufen (0 &lt; p &lt; 1)
+     */
+    public ScalableBloomFilter(int initialCapacity, double targetFalsePositiveRate) {
+        this(initialCapacity, targetFalsePositiveRate, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param maxStages höchstens so viele Stufen; danach wächst der Filter nicht mehr
+     */
+    public ScalableBloomFilter(int initialCapacity, double targetFalsePositiveRate, int maxStages) {
+        if (maxStages <= 0) {
+            throw new IllegalArgumentException("maxStages must be positive");
+        }
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("initialCapacity must be positive");
+        }
+        if (!(targetFalsePositiveRate > 0 && targetFalsePositiveRate < 1)) {
+            throw new IllegalArgumentException("targetFalsePositiveRate must be between 0 and 1");
+        }
+        this.targetFalsePositiveRate = targetFalsePositiveRate;
+        this.maxStages = maxStages;
+        this.stages = new Stage[]{new Stage(initialCapacity, targetFalsePositiveRate * (1 - TIGHTENING_RATIO))};
+    }
+
+    public boolean mightContain(String key) {
+        long hash = hash(key);
+        for (Stage stage : stages) {
+            if (stage.mightContain(hash)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public void put(String key) {
+        long hash = hash(key);
+        Stage[] current = stages;
+        Stage last = current[current.length - 1];
+        if (last.put(hash) >= last.capacity && current.length < maxStages) {
+            grow(last);
+        }
+    }
+
+    /** Aktuell zu erwartende Fehlerrate aus dem Füllstand aller Stufen. */
+    public double expectedFalsePositiveRate() {
+        double allNegative = 1.0;
+        for (Stage stage : stages) {
+            allNegative *= 1.0 - stage.expectedFalsePositiveRate();
+        }
+        return 1.0 - allNegative;
+    }
+
+    public double targetFalsePositiveRate() {
+        return targetFalsePositiveRate;
+    }
+
+    public int stageCount() {
+        return stages.length;
+    }
+
+    /** Anzahl der Einfügungen (Duplikate mitgezählt). */
+    public long insertions() {
+        long total = 0;
+        for (Stage stage : stages) {
+            total += stage.count.get();
+        }
+        return total;
+    }
+
+    /** Größe aller Bit-Felder in Byte. */
+    public long sizeInBytes() {
+        long total = 0;
+        for (Stage stage : stages) {
+            total += (long) stage.bits.length() * Long.BYTES;
+        }
+        return total;
+    }
+
+    private synchronized void grow(Stage full) {
+        Stage[] current = stages;
+        if (current[current.length - 1] != full) {
+            return; // andere Stufe wurde bereits angehängt
+        }
+        Stage next = new Stage(
+                (int) Math.min(Integer.MAX_VALUE / 2, (long) full.capacity * GROWTH_FACTOR),
+                full.falsePositiveRate * TIGHTENING_RATIO);
+        Stage[] grown = Arrays.copyOf(current, current.length + 1);
+        grown[current.length] = next;
+        stages = grown;
+    }
+
+    /** 64-Bit FNV-1a mit Murmur3-Finalizer. */
+    static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return mix(h);
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /**
+     * Eine Stufe: k Bereiche mit je 2^n Bits, Position im Bereich i per Double Hashing.
+     */
+    private static final class Stage {
+
+        final int capacity;
+        final double falsePositiveRate;
+        final int hashes;
+        final int sliceBits;
+        final int sliceShift;
+        final AtomicLongArray bits;
+        final AtomicLong count = new AtomicLong();
+
+        Stage(int capacity, double falsePositiveRate) {
+            this.capacity = capacity;
+            this.falsePositiveRate = falsePositiveRate;
+            this.hashes = Math.max(1, (int) Math.ceil(Math.log(1 / falsePositiveRate) / Math.log(2)));
+            double totalBits = capacity * Math.abs(Math.log(falsePositiveRate)) / (Math.log(2) * Math.log(2));
+            int perSlice = (int) Math.min(1L << 30, Math.max(64L, (long) Math.ceil(totalBits / hashes)));
+            this.sliceBits = Integer.highestOneBit(perSlice - 1) << 1;
+            this.sliceShift = Integer.numberOfTrailingZeros(sliceBits);
+            this.bits = new AtomicLongArray((int) (((long) hashes << sliceShift) >>> 6));
+        }
+
+        boolean mightContain(long hash) {
+            long h1 = hash;
+            long h2 = mix(hash) | 1;
+            for (int i = 0; i < hashes; i++) {
+                long bit = bitIndex(i, h1 + i * h2);
+                if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        long put(long hash) {
+            long h1 = hash;
+            long h2 = mix(hash) | 1;
+            for (int i = 0; i < hashes; i++) {
+                long bit = bitIndex(i, h1 + i * h2);
+                int word = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                long value = bits.get(word);
+                while ((value & mask) == 0 && !bits.compareAndSet(word, value, value | mask)) {
+                    value = bits.get(word);
+                }
+            }
+            return count.incrementAndGet();
+        }
+
+        double expectedFalsePositiveRate() {
+            double perSlice = 1.0 - Math.exp(-(double) count.get() / sliceBits);
+            return Math.pow(perSlice, hashes);
+        }
+
+        private long bitIndex(int slice, long combined) {
+            return ((long) slice << sliceShift) + (combined & (sliceBits - 1));
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package evote.stimmvergabe.infrastructure.persistence;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Interning-Wörterbuch, das wiederkehrende Strings (z.B. pollId, optionId)
+ * auf dichte int-Ordinalzahlen abbildet.
+ *
+ * Lesen ist lock-frei; nur das Anlegen eines neuen Eintrags wird synchronisiert.
+ */
+final class StringDictionary {
+
+    private final Map<String, Integer> ordinals = new ConcurrentHashMap<>();
+    private volatile String[] values = new String[16];
+    private int size;
+
+    /**
+     * Liefert die Ordinalzahl des Strings und legt ihn bei Bedarf an.
+     */
+    int intern(String value) {
+        Integer ordinal = ordinals.get(value);
+        if (ordinal != null) {
+            return ordinal;
+        }
+        synchronized (this) {
+            ordinal = ordinals.get(value);
+            if (ordinal != null) {
+                return ordinal;
+            }
+            String[] current = values;
+            if (size == current.length) {
+                current = Arrays.copyOf(current, current.length * 2);
+            }
+            current[size] = value;
+            values = current;
+            ordinals.put(value, size);
+            return size++;
+        }
+    }
+
+    /**
+     * Liefert die Ordinalzahl eines bekannten Strings oder -1.
+     */
+    int find(String value) {
+        Integer ordinal = ordinals.get(value);
+        return ordinal != null ? ordinal : -1;
+    }
+
+    String value(int ordinal) {
+        return values[ordinal];
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    synchronized void clear() {
+        ordinals.clear();
+        values = new String[16];
+        size = 0;
+    }
+}
@@ -0,0 +1,120 @@
+package evote.stimmvergabe.infrastructure.web;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Adaptives Limit für gleichzeitig bearbeitete Anfragen (Gradient-Verfahren).
+ *
+ * Referenz ist die Latenz ohne Last: die kleinste gemessene Latenz, die alle
+ * {@code REFERENCE_WINDOW} Messungen neu bestimmt wird. Verglichen wird sie mit einem
+ * kurzen gleitenden Mittel. Liegt dieses deutlich darüber, wartet Arbeit in einer
+ * Warteschlange; das Limit sinkt proportional (Gradient &lt; 1). Sonst wächst es um
+ * eine kleine Warteschlange (√limit).
+ *
+ * Anfragen über dem Limit werden sofort abgewiesen, statt in Tomcat zu warten;
+ * angenommene Anfragen behalten dadurch eine niedrige Latenz.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double SHORT_WINDOW = 10;
+    private static final int REFERENCE_WINDOW = 1_000;
+    private static final double SMOOTHING = 0.2;
+    private static final double MIN_GRADIENT = 0.5;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double rttTolerance;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile double limit;
+    private double shortRtt;
+    private double noLoadRtt;
+    private double windowMinRtt = Double.MAX_VALUE;
+    private int windowSamples;
+
+    /**
+     * @param initialLimit Startwert des Limits
+     * @param minLimit     Untergrenze, auch unter Überlast
+     * @param maxLimit     Obergrenze
+     * @param rttTolerance erlaubter Faktor zwischen aktueller Latenz und Latenz ohne Last, bevor das Limit sinkt (≥ 1)
+     */
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double rttTolerance) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("require 1 <= minLimit <= maxLimit");
+        }
+        if (initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("initialLimit must be between minLimit and maxLimit");
+        }
+        if (rttTolerance < 1) {
+            throw new IllegalArgumentException("rttTolerance must be >= 1");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.rttTolerance = rttTolerance;
+        this.limit = initialLimit;
+    }
+
+    /**
+     * Reserviert einen Platz, falls das Limit es zulässt.
+     *
+     * @return false, wenn die Anfrage abgewiesen werden soll
+     */
+    public boolean tryAcquire() {
+        int current = inFlight.get();
+        while (current < (int) limit) {
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+            current = inFlight.get();
+        }
+        return false;
+    }
+
+    /**
+     * Gibt einen mit {@link #tryAcquire()} reservierten Platz frei und passt das Limit
+     * an die gemessene Latenz an.
+     */
+    public void release(long rttNanos) {
+        int inFlightBefore = inFlight.getAndDecrement();
+        if (rttNanos > 0) {
+            onSample(rttNanos, inFlightBefore);
+        }
+    }
+
+    public int limit() {
+        return (int) limit;
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void onSample(long rttNanos, int inFlightBefore) {
+        if (noLoadRtt == 0) {
+            shortRtt = rttNanos;
+            noLoadRtt = rttNanos;
+            return;
+        }
+        shortRtt += (rttNanos - shortRtt) / SHORT_WINDOW;
+        noLoadRtt = Math.min(noLoadRtt, rttNanos);
+
+        // Referenz regelmäßig erneuern, damit sie sich an geänderte Bearbeitungszeiten anpasst
+        windowMinRtt = Math.min(windowMinRtt, rttNanos);
+        if (++windowSamples >= REFERENCE_WINDOW) {
+            noLoadRtt = windowMinRtt;
+            windowMinRtt = Double.MAX_VALUE;
+            windowSamples = 0;
+        }
+
+        double current = limit;
+        // Kaum ausgelastet: kein Signal für ein höheres Limit
+        if (inFlightBefore < current / 2) {
+            return;
+        }
+
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, rttTolerance * noLoadRtt / shortRtt));
+        double target = current * gradient + Math.sqrt(current);
+        double next = current * (1 - SMOOTHING) + target * SMOOTHING;
+        limit = Math.max(minLimit, Math.min(maxLimit, next));
+    }
+}
@@ -0,0 +1,89 @@
+package evote.stimmvergabe.infrastructure.web;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Zugangskontrolle vor POST /api/vote.
+ *
+ * Jede Stimmabgabe belegt einen Platz im {@link AdaptiveConcurrencyLimiter}; die Dauer
+ * bis zur Antwort fließt als Latenzmessung zurück. Ist das Limit erreicht, wird sofort
+ * mit 503 und Retry-After geantwortet, statt die Anfrage in Tomcat warten zu lassen.
+ *
+ * Metriken:
+ * - evote.vote.admission{result=accepted|rejected}
+ * - evote.vote.admission.limit / evote.vote.admission.inflight
+ */
+public class VoteAdmissionFilter extends OncePerRequestFilter {
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final String retryAfterSeconds;
+    private final Counter accepted;
+    private final Counter rejected;
+
+    public VoteAdmissionFilter(AdaptiveConcurrencyLimiter limiter, long retryAfterSeconds, MeterRegistry registry) {
+        if (limiter == null || registry == null) {
+            throw new IllegalArgumentException("limiter and registry must not be null");
+        }
+        if (retryAfterSeconds < 1) {
+            throw new IllegalArgumentException("retryAfterSeconds must be positive");
+        }
+        this.limiter = limiter;
+        this.retryAfterSeconds = Long.toString(retryAfterSeconds);
+        this.accepted = counter(registry, "accepted");
+        this.rejected = counter(registry, "rejected");
+
+        Gauge.builder("evote.vote.admission.limit", limiter, AdaptiveConcurrencyLimiter::limit)
+                .description("Aktuelles Limit gleichzeitiger Stimmabgaben")
+                .register(registry);
+        Gauge.builder("evote.vote.admission.inflight", limiter, AdaptiveConcurrencyLimiter::inFlight)
+                .description("Gerade bearbeitete Stimmabgaben")
+                .register(registry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.POST.matches(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain chain) throws ServletException, IOException {
+        if (!limiter.tryAcquire()) {
+            rejected.increment();
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+            response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+            response.getWriter().write("Service unavailable: too many concurrent votes, retry later");
+            return;
+        }
+
+        accepted.increment();
+        long start = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            limiter.release(System.nanoTime() - start);
+        }
+    }
+
+    private static Counter counter(MeterRegistry registry, String result) {
+        return Counter.builder("evote.vote.admission")
+                .description("Zugangskontrolle der Stimmabgabe")
+                .tag("result", result)
+                .register(registry);
+    }
+}
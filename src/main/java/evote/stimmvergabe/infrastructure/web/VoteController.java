@@ -1,23 +1,56 @@
 package evote.stimmvergabe.infrastructure.web;
 
+import evote.stimmvergabe.application.VoteResult;
 import evote.stimmvergabe.application.VoteService;
 import evote.stimmvergabe.application.dto.VoteCreateRequest;
+import evote.stimmvergabe.domain.validator.VoteRejectionReason;
 import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.EnumMap;
+import java.util.Map;
+
 /**
  * REST-Adapter der Stimmvergabe, der HTTP-Requests an den VoteService weiterleitet.
+ *
+ * evote.vote.validation-mode:
+ * - exception (Standard): Ablehnungen als Exception, Abbildung über die Exception-Handler
+ * - result: Ablehnungen als {@link VoteResult}, Abbildung auf vorab erzeugte Antworten
+ *   (400 bzw. 409 wie im Exception-Modus, Rumpf mit dem Grund statt der Meldung)
  */
 @RestController
 @RequestMapping("/api/vote")
 @CrossOrigin(origins = "http://localhost:3000")
 public class VoteController {
 
+    private static final ResponseEntity<Void> CREATED = ResponseEntity.created(null).build();
+    private static final Map<VoteRejectionReason, ResponseEntity<String>> REJECTIONS = new EnumMap<>(VoteRejectionReason.class);
+
+    static {
+        for (VoteRejectionReason reason : VoteRejectionReason.values()) {
+            REJECTIONS.put(reason, switch (reason) {
+                case POLL_NOT_OPEN, VOTER_NOT_ELIGIBLE ->
+                        ResponseEntity.status(HttpStatus.CONFLICT).body("Conflict: " + reason.tag());
+                case POLL_NOT_FOUND, VOTER_NOT_FOUND, INVALID_OPTION, OTHER ->
+                        ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Invalid input: " + reason.tag());
+            });
+        }
+    }
+
     private final VoteService service;
+    private final boolean resultMode;
 
-    public VoteController(VoteService service) {
+    public VoteController(VoteService service,
+                          @Value("${evote.vote.validation-mode:exception}") String validationMode) {
         this.service = service;
+        this.resultMode = switch (validationMode) {
+            case "exception" -> false;
+            case "result" -> true;
+            default -> throw new IllegalArgumentException("Unknown validation mode: " + validationMode);
+        };
     }
 
     /**
@@ -29,8 +62,12 @@ public class VoteController {
      */
 
     @PostMapping
-    public ResponseEntity<Void> create(@RequestBody @Valid VoteCreateRequest req) {
-        service.create(req);
-        return ResponseEntity.created(null).build();
+    public ResponseEntity<?> create(@RequestBody @Valid VoteCreateRequest req) {
+        if (!resultMode) {
+            service.create(req);
+            return CREATED;
+        }
+        VoteResult result = service.tryCreate(req);
+        return result.isAccepted() ? CREATED : REJECTIONS.get(result.rejectionReason());
     }
 }
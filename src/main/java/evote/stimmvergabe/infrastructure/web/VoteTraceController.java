@@ -0,0 +1,33 @@
+package evote.stimmvergabe.infrastructure.web;
+
+import evote.stimmvergabe.application.VoteFlightRecorder;
+import evote.stimmvergabe.application.dto.VoteTraceRecord;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Admin-Adapter, der die langsamen Stimmabgaben aus dem Flight Recorder ausliefert.
+ */
+@RestController
+@RequestMapping("/api/admin/vote-traces")
+public class VoteTraceController {
+
+    private final VoteFlightRecorder flightRecorder;
+
+    public VoteTraceController(VoteFlightRecorder flightRecorder) {
+        this.flightRecorder = flightRecorder;
+    }
+
+    /**
+     * GET /api/admin/vote-traces
+     *
+     * @return die letzten langsamen Requests mit Aufschlüsselung nach Pipeline-Schritt, neueste zuerst
+     */
+    @GetMapping
+    public List<VoteTraceRecord> slowRequests() {
+        return flightRecorder.slowRequests();
+    }
+}
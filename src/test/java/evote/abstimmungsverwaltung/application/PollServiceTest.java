@@ -11,6 +11,8 @@ import evote.buergerverwaltung.domain.valueobjects.Name;
 import evote.buergerverwaltung.infrastructure.persistence.InMemoryVoterRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.time.Clock;
 import java.time.LocalDate;
@@ -75,6 +77,53 @@ class PollServiceTest {
         assertThrows(IllegalArgumentException.class, () -> pollService.findActivePollsForVoter("missing"));
     }
 
+    @Test
+    void activePollsVersion_changesWhenVoterOrPollChanges() {
+        Voter voter = createVerifiedVoter();
+        Poll poll = createPoll("poll-open", now.minusHours(1), now.plusHours(2));
+        pollRepository.save(poll);
+
+        long initial = pollService.activePollsVersion(voter.getVoterId());
+        assertEquals(initial, pollService.activePollsVersion(voter.getVoterId()));
+
+        poll.recordVote("Ja");
+        long afterVote = pollService.activePollsVersion(voter.getVoterId());
+        assertNotEquals(initial, afterVote);
+
+        voter.markVoted(poll.getPollId());
+        voterRepository.save(voter);
+        assertNotEquals(afterVote, pollService.activePollsVersion(voter.getVoterId()));
+    }
+
+    @Test
+    void getById_returnsPollAndVersion() {
+        Poll poll = createPoll("poll-open", now.minusHours(1), now.plusHours(2));
+        pollRepository.save(poll);
+        poll.recordVote("Nein");
+
+        assertEquals("poll-open", pollService.getById("poll-open").pollId());
+        assertEquals(1, pollService.versionOf("poll-open"));
+    }
+
+    @Test
+    void getById_throwsNotFoundForUnknownPoll() {
+        var ex = assertThrows(ResponseStatusException.class, () -> pollService.versionOf("missing"));
+        assertEquals(HttpStatus.NOT_FOUND, ex.getStatusCode());
+    }
+
+    private Voter createVerifiedVoter() {
+        Voter voter = Voter.register(
+                new Name("Sandra", "Schmidt"),
+                new Adresse("Hauptstrasse", "1", "", "12345", "Berlin"),
+                new Email("sandra@example.com"),
+                LocalDate.of(2000, 1, 1),
+                "Berlin"
+        );
+        voter.verify();
+        voterRepository.save(voter);
+        return voter;
+    }
+
     private Poll createPoll(String pollId, LocalDateTime start, LocalDateTime end) {
         return new Poll(
                 pollId,
@@ -0,0 +1,136 @@
+package evote.abstimmungsverwaltung.domain.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Stresstest: 64 Threads geben gleichzeitig Stimmen auf dieselbe Poll ab.
+ *
+ * Alle Threads warten an einem gemeinsamen Startsignal und schreiben dann ohne Pause.
+ * Geprüft wird, dass keine Stimme verloren geht, die Obergrenze exakt eingehalten wird
+ * und nach einem parallelen close() keine Stimme mehr angenommen wird.
+ */
+class PollConcurrencyTest {
+
+    private static final int THREADS = 64;
+    private static final List<String> OPTIONS = List.of("Option-A", "Option-B", "Option-C");
+
+    private final LocalDateTime now = LocalDateTime.of(2030, 1, 1, 12, 0);
+    private final Clock clock = Clock.fixed(now.atZone(ZoneId.systemDefault()).toInstant(), ZoneId.systemDefault());
+
+    private Poll poll(int eligibleVoterCount) {
+        return new Poll("poll-1", "Stresstest", OPTIONS, now.minusDays(1), now.plusDays(1),
+                eligibleVoterCount, clock);
+    }
+
+    /**
+     * Startet {@link #THREADS} Threads, die jeweils {@code votesPerThread} Stimmen abgeben,
+     * und liefert die Anzahl angenommener Stimmen. Abgewiesene Stimmen (IllegalStateException)
+     * werden gezählt; {@code afterStart} läuft parallel zu den Threads.
+     */
+    private int hammer(Poll poll, int votesPerThread, AtomicInteger rejected, Runnable afterStart) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    int accepted = 0;
+                    for (int i = 0; i < votesPerThread; i++) {
+                        try {
+                            poll.recordVote(OPTIONS.get((thread + i) % OPTIONS.size()));
+                            accepted++;
+                        } catch (IllegalStateException ex) {
+                            rejected.incrementAndGet();
+                        }
+                    }
+                    return accepted;
+                }));
+            }
+            start.countDown();
+            afterStart.run();
+            int accepted = 0;
+            for (Future<Integer> future : futures) {
+                accepted += future.get(60, TimeUnit.SECONDS);
+            }
+            return accepted;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private int sumOfOptions(Poll poll) {
+        int sum = 0;
+        for (String option : OPTIONS) {
+            sum += poll.getVoteCountFor(option);
+        }
+        return sum;
+    }
+
+    @Test
+    @DisplayName("Ohne Obergrenze geht bei 64 Threads keine Stimme verloren")
+    void noCap_noLostVotes() throws Exception {
+        Poll poll = poll(0);
+        AtomicInteger rejected = new AtomicInteger();
+
+        int accepted = hammer(poll, 2_000, rejected, () -> { });
+
+        assertEquals(THREADS * 2_000, accepted);
+        assertEquals(0, rejected.get());
+        assertEquals(accepted, poll.getTotalVotes());
+        assertEquals(accepted, sumOfOptions(poll));
+        assertEquals(accepted, poll.getVersion());
+    }
+
+    @Test
+    @DisplayName("Obergrenze wird bei 64 Threads exakt erreicht und nie überschritten")
+    void cap_isNeverOvershot() throws Exception {
+        Poll poll = poll(10_000);
+        AtomicInteger rejected = new AtomicInteger();
+
+        int accepted = hammer(poll, 500, rejected, () -> { });
+
+        assertEquals(10_000, accepted);
+        assertEquals(THREADS * 500 - 10_000, rejected.get());
+        assertEquals(10_000, poll.getTotalVotes());
+        assertEquals(10_000, sumOfOptions(poll));
+    }
+
+    @Test
+    @DisplayName("Paralleles close(): jede angenommene Stimme ist gezählt, danach wird abgewiesen")
+    void concurrentClose_countsExactlyAcceptedVotes() throws Exception {
+        Poll poll = poll(0);
+        AtomicInteger rejected = new AtomicInteger();
+
+        int accepted = hammer(poll, 2_000, rejected, () -> {
+            while (poll.getTotalVotes() < 1_000) {
+                Thread.onSpinWait();
+            }
+            poll.close();
+        });
+
+        assertEquals(THREADS * 2_000, accepted + rejected.get());
+        assertEquals(accepted, poll.getTotalVotes());
+        assertEquals(accepted, sumOfOptions(poll));
+        assertEquals(accepted + 1, poll.getVersion());
+        assertFalse(poll.isOpen());
+        assertThrows(IllegalStateException.class, () -> poll.recordVote("Option-A"));
+        assertEquals(1, poll.getDomainEvents().size());
+    }
+}
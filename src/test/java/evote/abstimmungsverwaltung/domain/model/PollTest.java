@@ -494,6 +494,21 @@ class PollTest {
         assertThrows(UnsupportedOperationException.class, () -> events.add(new Object()));
     }
 
+    @Test
+    void version_shouldIncreaseOnRecordVoteAndClose() {
+        // Arrange
+        Poll poll = createDefaultPoll();
+        assertEquals(0, poll.getVersion());
+
+        // Act
+        poll.recordVote("Option-A");
+        assertThrows(IllegalArgumentException.class, () -> poll.recordVote("unbekannt"));
+        poll.close();
+
+        // Assert: abgewiesene Stimme zählt nicht
+        assertEquals(2, poll.getVersion());
+    }
+
     // ----------------------------------------------------------------------
     // Optional: gleichzeitige / konsistente Nutzung von recordVote & isOpen
     // ----------------------------------------------------------------------
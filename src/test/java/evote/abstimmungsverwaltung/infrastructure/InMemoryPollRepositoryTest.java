@@ -2,6 +2,7 @@ package evote.abstimmungsverwaltung.infrastructure;
 
 import evote.abstimmungsverwaltung.infrastructure.persistence.InMemoryPollRepository;
 import evote.abstimmungsverwaltung.domain.model.Poll;
+import evote.abstimmungsverwaltung.domain.repository.PollRepository;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
@@ -89,4 +90,23 @@ class InMemoryPollRepositoryTest {
         assertEquals(1, result.size());
         assertEquals(openPoll.getPollId(), result.get(0).getPollId());
     }
-}
\ No newline at end of file
+
+    @Test
+    void saveIfVersion_comparesAgainstVersionAtLastSave() {
+        Poll poll = new Poll("poll-1", "Testwahl", List.of("A", "B"),
+                now.minusDays(1), now.plusDays(1), 0, fixedClock);
+
+        assertFalse(repo.saveIfVersion(poll, 0), "noch nicht gespeichert");
+        assertTrue(repo.saveIfVersion(poll, PollRepository.ABSENT));
+
+        long loaded = poll.getVersion();
+        poll.close();
+        assertTrue(repo.saveIfVersion(poll, loaded));
+        // zweiter Schreiber mit veraltetem Stand
+        assertFalse(repo.saveIfVersion(poll, loaded));
+
+        assertEquals(4, repo.conditionalSaves());
+        assertEquals(2, repo.versionConflicts());
+        assertSame(poll, repo.findById("poll-1").orElseThrow());
+    }
+}
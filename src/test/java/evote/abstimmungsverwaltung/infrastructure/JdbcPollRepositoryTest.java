@@ -0,0 +1,131 @@
+package evote.abstimmungsverwaltung.infrastructure;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import evote.abstimmungsverwaltung.domain.model.Poll;
+import evote.abstimmungsverwaltung.domain.repository.PollRepository;
+import evote.abstimmungsverwaltung.infrastructure.persistence.JdbcPollRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests gegen H2 im Datei-Modus (temporäres Verzeichnis pro Test).
+ */
+class JdbcPollRepositoryTest {
+
+    @TempDir
+    Path dir;
+
+    private HikariDataSource dataSource;
+    private JdbcPollRepository repo;
+    private Clock fixedClock;
+    private LocalDateTime now;
+
+    @BeforeEach
+    void setUp() {
+        now = LocalDateTime.of(2030, 1, 1, 12, 0);
+        fixedClock = Clock.fixed(now.atZone(ZoneId.of("Europe/Berlin")).toInstant(), ZoneId.of("Europe/Berlin"));
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:file:" + dir.resolve("evote"));
+        config.setUsername("sa");
+        config.setMaximumPoolSize(2);
+        dataSource = new HikariDataSource(config);
+        repo = new JdbcPollRepository(dataSource, fixedClock);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.close();
+    }
+
+    private Poll poll(String pollId, LocalDateTime start, LocalDateTime end) {
+        return new Poll(pollId, "Testwahl", List.of("Option-B", "Option-A", "Option-C"), start, end, 100, fixedClock);
+    }
+
+    @Test
+    @DisplayName("save + findById: Abstimmung samt Optionsreihenfolge, Stimmen und Version wird gelesen")
+    void saveAndFindById_shouldRoundTrip() {
+        Poll poll = poll("poll-1", now.minusHours(1), now.plusHours(1));
+        poll.recordVote("Option-A");
+        poll.recordVote("Option-A");
+        poll.recordVote("Option-C");
+
+        repo.save(poll);
+
+        Poll loaded = repo.findById("poll-1").orElseThrow();
+        assertNotSame(poll, loaded);
+        assertEquals("Testwahl", loaded.getTitle());
+        assertEquals(List.of("Option-B", "Option-A", "Option-C"), loaded.getOptions());
+        assertEquals(poll.getStartDate(), loaded.getStartDate());
+        assertEquals(poll.getEndDate(), loaded.getEndDate());
+        assertEquals(100, loaded.getEligibleVoterCount());
+        assertEquals(2, loaded.getVoteCountFor("Option-A"));
+        assertEquals(3, loaded.getTotalVotes());
+        assertEquals(poll.getVersion(), loaded.getVersion());
+        assertTrue(loaded.isOpen());
+        assertTrue(repo.findById("unknown").isEmpty());
+    }
+
+    @Test
+    @DisplayName("findAllOpenAt: nur offene, nicht geschlossene Abstimmungen in der Zeitzone der Clock")
+    void findAllOpenAt_shouldReturnOnlyOpenPolls() {
+        repo.save(poll("open", now.minusHours(1), now.plusHours(1)));
+        repo.save(poll("past", now.minusHours(2), now.minusHours(1)));
+        repo.save(poll("ends-now", now.minusHours(2), now));
+        Poll closed = poll("closed", now.minusHours(1), now.plusHours(1));
+        closed.close();
+        repo.save(closed);
+
+        Instant t0 = fixedClock.instant();
+        List<Poll> open = repo.findAllOpenAt(t0);
+
+        assertEquals(List.of("open"), open.stream().map(Poll::getPollId).toList());
+        assertTrue(repo.findById("closed").orElseThrow().isClosed());
+        assertEquals(4, repo.findAll().size());
+        assertEquals(4, repo.count());
+    }
+
+    @Test
+    @DisplayName("save: gleiche pollId überschreibt den gespeicherten Stand")
+    void save_existingPoll_shouldUpdate() {
+        Poll poll = poll("poll-1", now.minusHours(1), now.plusHours(1));
+        repo.save(poll);
+        poll.recordVote("Option-B");
+        repo.save(poll);
+
+        Poll loaded = repo.findById("poll-1").orElseThrow();
+        assertEquals(1, loaded.getVoteCountFor("Option-B"));
+        assertEquals(1, repo.count());
+    }
+
+    @Test
+    @DisplayName("saveIfVersion: vergleicht gegen die zuletzt gespeicherte Version")
+    void saveIfVersion_shouldCompareStoredVersion() {
+        Poll poll = poll("poll-1", now.minusHours(1), now.plusHours(1));
+
+        assertFalse(repo.saveIfVersion(poll, 0));
+        assertTrue(repo.saveIfVersion(poll, PollRepository.ABSENT));
+        assertFalse(repo.saveIfVersion(poll, PollRepository.ABSENT));
+
+        long stored = poll.getVersion();
+        poll.recordVote("Option-A");
+        assertTrue(repo.saveIfVersion(poll, stored));
+        assertFalse(repo.saveIfVersion(poll, stored), "veraltete Version");
+
+        assertEquals(1, repo.findById("poll-1").orElseThrow().getVoteCountFor("Option-A"));
+        assertEquals(5, repo.conditionalSaves());
+        assertEquals(3, repo.versionConflicts());
+    }
+}
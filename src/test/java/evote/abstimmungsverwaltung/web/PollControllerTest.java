@@ -0,0 +1,89 @@
+package evote.abstimmungsverwaltung.web;
+
+import evote.abstimmungsverwaltung.application.PollService;
+import evote.abstimmungsverwaltung.application.dto.PollDTO;
+import evote.abstimmungsverwaltung.application.dto.VersionedPollDTO;
+import evote.abstimmungsverwaltung.infrastructure.web.PollController;
+import evote.abstimmungsverwaltung.infrastructure.web.PollJsonCache;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(PollController.class)
+@Import(PollJsonCache.class)
+class PollControllerTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @MockBean
+    PollService pollService;
+
+    private static VersionedPollDTO samplePoll() {
+        return new VersionedPollDTO(new PollDTO(
+                "POLL-CK-2026",
+                "Catering Kick-off 2026",
+                LocalDateTime.of(2026, 1, 1, 0, 0),
+                LocalDateTime.of(2026, 12, 31, 0, 0),
+                List.of("OPTION-REGIONAL", "OPTION-MIX")
+        ), 3L);
+    }
+
+    @Test
+    @DisplayName("GET /api/polls?voterId= – liefert offene Abstimmungen mit ETag")
+    void activePolls_returnsListWithEtag() throws Exception {
+        when(pollService.activePollsVersion("voter-1")).thenReturn(42L);
+        when(pollService.findVersionedActivePollsForVoter("voter-1")).thenReturn(List.of(samplePoll()));
+
+        mockMvc.perform(get("/api/polls").param("voterId", "voter-1"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(jsonPath("$[0].pollId").value("POLL-CK-2026"))
+                .andExpect(jsonPath("$[0].startDate").value("2026-01-01T00:00:00"))
+                .andExpect(jsonPath("$[0].options[1]").value("OPTION-MIX"));
+    }
+
+    @Test
+    @DisplayName("GET /api/polls?voterId= – passender If-None-Match → 304 ohne Assembler")
+    void activePolls_matchingEtag_returnsNotModified() throws Exception {
+        when(pollService.activePollsVersion("voter-1")).thenReturn(42L);
+        when(pollService.findVersionedActivePollsForVoter("voter-1")).thenReturn(List.of(samplePoll()));
+
+        String etag = mockMvc.perform(get("/api/polls").param("voterId", "voter-1"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/polls").param("voterId", "voter-1").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        verify(pollService, times(1)).findVersionedActivePollsForVoter("voter-1");
+    }
+
+    @Test
+    @DisplayName("GET /api/polls/{id} – passender If-None-Match → 304")
+    void getById_matchingEtag_returnsNotModified() throws Exception {
+        when(pollService.versionOf("POLL-CK-2026")).thenReturn(3L);
+        when(pollService.getVersionedById("POLL-CK-2026")).thenReturn(samplePoll());
+
+        String etag = mockMvc.perform(get("/api/polls/POLL-CK-2026"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Catering Kick-off 2026"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/polls/POLL-CK-2026").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        verify(pollService, times(1)).getVersionedById("POLL-CK-2026");
+    }
+}
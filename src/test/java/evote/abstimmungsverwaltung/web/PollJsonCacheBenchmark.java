@@ -0,0 +1,69 @@
+package evote.abstimmungsverwaltung.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import evote.abstimmungsverwaltung.application.dto.PollDTO;
+import evote.abstimmungsverwaltung.application.dto.VersionedPollDTO;
+import evote.abstimmungsverwaltung.infrastructure.web.PollJsonCache;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Benchmark: Serialisierung einer Abstimmungsliste mit Jackson gegen den PollJsonCache.
+ *
+ * Beide Varianten bauen pro Durchlauf die komplette Antwort für {@code benchmark.polls}
+ * Abstimmungen. Nach einer Aufwärmphase werden Durchsatz und Zeit pro Antwort gemessen.
+ *
+ * Ausführen mit: mvn test -Pbenchmark -Dtest=PollJsonCacheBenchmark
+ * Parameter: -Dbenchmark.polls (Standard: 20), -Dbenchmark.iterations (Standard: 200.000)
+ */
+class PollJsonCacheBenchmark {
+
+    private static final int POLLS = Integer.getInteger("benchmark.polls", 20);
+    private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 200_000);
+
+    @Test
+    void compareJacksonWithCachedBytes() throws Exception {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        PollJsonCache cache = new PollJsonCache(objectMapper);
+
+        List<PollDTO> polls = new ArrayList<>();
+        List<VersionedPollDTO> versioned = new ArrayList<>();
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 8, 0);
+        for (int i = 0; i < POLLS; i++) {
+            PollDTO poll = new PollDTO("POLL-" + i, "Abstimmung Nummer " + i,
+                    start.plusDays(i), start.plusDays(i + 30),
+                    List.of("OPTION-REGIONAL", "OPTION-MIX", "OPTION-FOODTRUCK"));
+            polls.add(poll);
+            versioned.add(new VersionedPollDTO(poll, i));
+        }
+
+        long sink = 0;
+        for (int i = 0; i < ITERATIONS / 10; i++) {
+            sink += objectMapper.writeValueAsBytes(polls).length;
+            sink += cache.toJsonArray(versioned).length;
+        }
+
+        long jacksonStart = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += objectMapper.writeValueAsBytes(polls).length;
+        }
+        long jacksonNanos = System.nanoTime() - jacksonStart;
+
+        long cachedStart = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += cache.toJsonArray(versioned).length;
+        }
+        long cachedNanos = System.nanoTime() - cachedStart;
+
+        System.out.printf("polls=%d iterations=%d bytes/response=%d (sink=%d)%n",
+                POLLS, ITERATIONS, cache.toJsonArray(versioned).length, sink);
+        System.out.printf("jackson: %.2f us/response (%.0f responses/s)%n",
+                jacksonNanos / 1e3 / ITERATIONS, ITERATIONS / (jacksonNanos / 1e9));
+        System.out.printf("cached:  %.2f us/response (%.0f responses/s), serializations=%d%n",
+                cachedNanos / 1e3 / ITERATIONS, ITERATIONS / (cachedNanos / 1e9), cache.serializations());
+    }
+}
@@ -0,0 +1,89 @@
+package evote.abstimmungsverwaltung.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import evote.abstimmungsverwaltung.application.dto.PollDTO;
+import evote.abstimmungsverwaltung.application.dto.VersionedPollDTO;
+import evote.abstimmungsverwaltung.infrastructure.web.PollJsonCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PollJsonCacheTest {
+
+    private ObjectMapper objectMapper;
+    private PollJsonCache cache;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        cache = new PollJsonCache(objectMapper);
+    }
+
+    private static PollDTO poll(String id, String title) {
+        return new PollDTO(id, title,
+                LocalDateTime.of(2026, 1, 1, 8, 0),
+                LocalDateTime.of(2026, 1, 31, 18, 0),
+                List.of("Ja", "Nein"));
+    }
+
+    @Test
+    @DisplayName("Liefert dieselben Bytes wie Jackson")
+    void toJson_matchesJackson() throws Exception {
+        PollDTO poll = poll("poll-1", "Kantine");
+
+        byte[] json = cache.toJson(new VersionedPollDTO(poll, 0));
+
+        assertArrayEquals(objectMapper.writeValueAsBytes(poll), json);
+    }
+
+    @Test
+    @DisplayName("Gleiche Version wird nur einmal serialisiert")
+    void toJson_sameVersion_servesCachedBytes() {
+        VersionedPollDTO poll = new VersionedPollDTO(poll("poll-1", "Kantine"), 4);
+
+        byte[] first = cache.toJson(poll);
+        byte[] second = cache.toJson(poll);
+
+        assertSame(first, second);
+        assertEquals(1, cache.serializations());
+    }
+
+    @Test
+    @DisplayName("Neue Version mit unverändertem DTO verwendet die Bytes weiter")
+    void toJson_newVersionSameContent_reusesBytes() {
+        byte[] first = cache.toJson(new VersionedPollDTO(poll("poll-1", "Kantine"), 1));
+        byte[] second = cache.toJson(new VersionedPollDTO(poll("poll-1", "Kantine"), 2));
+
+        assertSame(first, second);
+        assertEquals(1, cache.serializations());
+    }
+
+    @Test
+    @DisplayName("Neue Version mit geändertem DTO wird neu serialisiert")
+    void toJson_changedContent_serializesAgain() {
+        cache.toJson(new VersionedPollDTO(poll("poll-1", "Kantine"), 1));
+        byte[] changed = cache.toJson(new VersionedPollDTO(poll("poll-1", "Mensa"), 2));
+
+        assertTrue(new String(changed, StandardCharsets.UTF_8).contains("Mensa"));
+        assertEquals(2, cache.serializations());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    @DisplayName("Liste entspricht der Jackson-Serialisierung der DTO-Liste")
+    void toJsonArray_matchesJacksonList() throws Exception {
+        List<PollDTO> polls = List.of(poll("poll-1", "Kantine"), poll("poll-2", "Sommerfest"));
+
+        byte[] json = cache.toJsonArray(polls.stream().map(p -> new VersionedPollDTO(p, 0)).toList());
+
+        assertArrayEquals(objectMapper.writeValueAsBytes(polls), json);
+        assertEquals("[]", new String(cache.toJsonArray(List.of()), StandardCharsets.UTF_8));
+    }
+}
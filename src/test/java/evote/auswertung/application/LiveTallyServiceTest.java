@@ -0,0 +1,203 @@
+package evote.auswertung.application;
+
+import evote.abstimmungsverwaltung.domain.model.Poll;
+import evote.abstimmungsverwaltung.domain.repository.PollRepository;
+import evote.abstimmungsverwaltung.infrastructure.persistence.InMemoryPollRepository;
+import evote.auswertung.application.dto.DistrictResults;
+import evote.auswertung.application.dto.PollDistrictResults;
+import evote.abstimmungsverwaltung.events.PollEndedEvent;
+import evote.auswertung.application.dto.PollResults;
+import evote.auswertung.application.dto.PollResultsAsOf;
+import evote.auswertung.application.dto.TurnoutPoint;
+import evote.auswertung.application.dto.TurnoutSeries;
+import evote.stimmvergabe.domain.model.Vote;
+import evote.stimmvergabe.domain.repository.VoteRepository;
+import evote.stimmvergabe.events.VoteCastEvent;
+import evote.stimmvergabe.infrastructure.persistence.InMemoryVoteRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LiveTallyServiceTest {
+
+    private static final Instant NOW = Instant.parse("2030-01-01T12:00:00Z");
+
+    private VoteRepository voteRepository;
+    private PollRepository pollRepository;
+
+    @BeforeEach
+    void setUp() {
+        voteRepository = new InMemoryVoteRepository();
+        pollRepository = new InMemoryPollRepository();
+        pollRepository.save(new Poll(
+                "poll-1",
+                "Test Poll",
+                List.of("option-A", "option-B", "option-C"),
+                LocalDateTime.parse("2029-12-31T00:00:00"),
+                LocalDateTime.parse("2030-12-31T00:00:00"),
+                10,
+                Clock.fixed(NOW, ZoneOffset.UTC)
+        ));
+    }
+
+    @Test
+    @DisplayName("results(): bereits gespeicherte Stimmen werden beim Start gezählt")
+    void results_shouldIncludeStoredVotes() {
+        voteRepository.save(new Vote("vote-1", "poll-1", "option-A", "corr-1", NOW));
+        voteRepository.save(new Vote("vote-2", "poll-1", "option-B", "corr-2", NOW));
+
+        LiveTallyService service = new LiveTallyService(voteRepository, pollRepository);
+
+        PollResults results = service.results("poll-1");
+        assertEquals(Map.of("option-A", 1L, "option-B", 1L, "option-C", 0L), results.votesByOption());
+        assertEquals(2, results.totalVotes());
+    }
+
+    @Test
+    @DisplayName("onVoteCast(): jede abgegebene Stimme erhöht Zähler und Version")
+    void onVoteCast_shouldIncrementTallyAndVersion() {
+        LiveTallyService service = new LiveTallyService(voteRepository, pollRepository);
+        assertEquals(0, service.version("poll-1"));
+
+        service.onVoteCast(new VoteCastEvent("vote-1", "poll-1", "option-C", NOW));
+        service.onVoteCast(new VoteCastEvent("vote-2", "poll-1", "option-C", NOW));
+
+        PollResults results = service.results("poll-1");
+        assertEquals(2L, results.votesByOption().get("option-C"));
+        assertEquals(2, results.totalVotes());
+        assertEquals(2, service.version("poll-1"));
+    }
+
+    @Test
+    @DisplayName("results(): Optionen in der Reihenfolge der Poll-Definition")
+    void results_shouldKeepOptionOrder() {
+        LiveTallyService service = new LiveTallyService(voteRepository, pollRepository);
+
+        assertEquals(List.of("option-A", "option-B", "option-C"),
+                List.copyOf(service.results("poll-1").votesByOption().keySet()));
+    }
+
+    @Test
+    @DisplayName("results(): unbekannte Poll → IllegalArgumentException")
+    void results_unknownPoll_shouldThrow() {
+        LiveTallyService service = new LiveTallyService(voteRepository, pollRepository);
+
+        assertThrows(IllegalArgumentException.class, () -> service.results("unknown"));
+    }
+
+    @Test
+    @DisplayName("districtResults(): Zählung je Wahlkreis aus Startbestand und Events, ohne Wahlkreis separat")
+    void districtResults_shouldBreakDownByDistrict() {
+        voteRepository.save(new Vote("vote-1", "poll-1", "option-A", "corr-1", NOW, "Nord"));
+        LiveTallyService service = new LiveTallyService(voteRepository, pollRepository);
+
+        service.onVoteCast(new VoteCastEvent("vote-2", "poll-1", "option-B", NOW, "Mitte"));
+        service.onVoteCast(new VoteCastEvent("vote-3", "poll-1", "option-A", NOW, "Nord"));
+        service.onVoteCast(new VoteCastEvent("vote-4", "poll-1", "option-C", NOW));
+
+        PollDistrictResults results = service.districtResults("poll-1");
+        assertEquals(List.of("Mitte", "Nord"), results.districts().stream().map(DistrictResults::district).toList());
+        DistrictResults nord = results.districts().get(1);
+        assertEquals(List.of("option-A", "option-B", "option-C"), List.copyOf(nord.votesByOption().keySet()));
+        assertEquals(Map.of("option-A", 2L, "option-B", 0L, "option-C", 0L), nord.votesByOption());
+        assertEquals(2, nord.totalVotes());
+        assertEquals(1, results.districts().get(0).totalVotes());
+        assertEquals(1, results.votesWithoutDistrict());
+        assertEquals(4, results.totalVotes());
+        assertEquals(4, service.results("poll-1").totalVotes());
+    }
+
+    @Test
+    @DisplayName("districtResults(): ohne Stimmen leer, unbekannte Poll → IllegalArgumentException")
+    void districtResults_withoutVotesOrUnknownPoll() {
+        LiveTallyService service = new LiveTallyService(voteRepository, pollRepository);
+
+        assertEquals(new PollDistrictResults("poll-1", List.of(), 0, 0), service.districtResults("poll-1"));
+        assertThrows(IllegalArgumentException.class, () -> service.districtResults("unknown"));
+    }
+
+    @Test
+    @DisplayName("turnout(): Stimmen je Minute, kumuliert und gegen die Stimmberechtigten der Poll")
+    void turnout_shouldReturnPerMinuteSeries() {
+        voteRepository.save(new Vote("vote-0", "poll-1", "option-A", "corr-0", NOW.minusSeconds(3600), "Nord"));
+        LiveTallyService service = new LiveTallyService(voteRepository, pollRepository,
+                Clock.fixed(NOW.plusSeconds(30), ZoneOffset.UTC), 60, 60);
+
+        service.onVoteCast(new VoteCastEvent("vote-1", "poll-1", "option-A", NOW.minusSeconds(90), "Nord"));
+        service.onVoteCast(new VoteCastEvent("vote-2", "poll-1", "option-B", NOW.plusSeconds(10), "Mitte"));
+        service.onVoteCast(new VoteCastEvent("vote-3", "poll-1", "option-B", NOW.plusSeconds(20), "Nord"));
+
+        TurnoutSeries series = service.turnout("poll-1", null, 3);
+        assertEquals(List.of(NOW.minusSeconds(120), NOW.minusSeconds(60), NOW),
+                series.points().stream().map(TurnoutPoint::minute).toList());
+        assertEquals(List.of(1L, 0L, 2L), series.points().stream().map(TurnoutPoint::votes).toList());
+        // Stimme außerhalb des Fensters steckt im Ausgangswert der kumulierten Zahl
+        assertEquals(List.of(2L, 2L, 4L), series.points().stream().map(TurnoutPoint::cumulativeVotes).toList());
+        assertEquals(10, series.eligibleVoters());
+        assertEquals(4, series.totalVotes());
+        assertEquals(0.4, series.turnout(), 1e-9);
+
+        TurnoutSeries nord = service.turnout("poll-1", "Nord", 3);
+        assertEquals(List.of(1L, 0L, 1L), nord.points().stream().map(TurnoutPoint::votes).toList());
+        assertEquals(3, nord.totalVotes());
+        assertEquals(0, service.turnout("poll-1", "Süd", 3).totalVotes());
+    }
+
+    @Test
+    @DisplayName("turnout(): Fenster außerhalb des Ringpuffers oder unbekannte Poll → IllegalArgumentException")
+    void turnout_invalidArguments_shouldThrow() {
+        LiveTallyService service = new LiveTallyService(voteRepository, pollRepository,
+                Clock.fixed(NOW, ZoneOffset.UTC), 60, 60);
+
+        assertThrows(IllegalArgumentException.class, () -> service.turnout("poll-1", null, 0));
+        assertThrows(IllegalArgumentException.class, () -> service.turnout("poll-1", null, 61));
+        assertThrows(IllegalArgumentException.class, () -> service.turnout("unknown", null, 60));
+        assertEquals(60, service.turnout("poll-1", null, 60).points().size());
+    }
+
+    @Test
+    @DisplayName("resultsAsOf(): Stand zu Beginn des Buckets von asOf, aus Startbestand und Events")
+    void resultsAsOf_shouldReturnHistoricTally() {
+        voteRepository.save(new Vote("vote-1", "poll-1", "option-A", "corr-1", NOW.plusSeconds(10)));
+        LiveTallyService service = new LiveTallyService(voteRepository, pollRepository,
+                Clock.fixed(NOW.plusSeconds(3600), ZoneOffset.UTC), 60, 300);
+
+        service.onVoteCast(new VoteCastEvent("vote-2", "poll-1", "option-B", NOW.plusSeconds(400)));
+        service.onVoteCast(new VoteCastEvent("vote-3", "poll-1", "option-B", NOW.plusSeconds(1000)));
+
+        PollResultsAsOf early = service.resultsAsOf("poll-1", NOW.plusSeconds(500));
+        assertEquals(NOW.plusSeconds(300), early.asOf());
+        assertEquals(Map.of("option-A", 1L, "option-B", 0L, "option-C", 0L), early.votesByOption());
+        assertEquals(1, early.totalVotes());
+        assertEquals(List.of("option-A", "option-B", "option-C"), List.copyOf(early.votesByOption().keySet()));
+
+        PollResultsAsOf late = service.resultsAsOf("poll-1", NOW.plusSeconds(3600));
+        assertEquals(3, late.totalVotes());
+        assertEquals(0, service.resultsAsOf("poll-1", NOW).totalVotes());
+    }
+
+    @Test
+    @DisplayName("resultsAsOf(): nach Ende der Abstimmung verdichtet, Ergebnis unverändert")
+    void resultsAsOf_afterPollEnded_shouldStayConsistent() {
+        LiveTallyService service = new LiveTallyService(voteRepository, pollRepository,
+                Clock.fixed(Instant.parse("2031-01-01T00:00:00Z"), ZoneOffset.UTC), 60, 60);
+        service.onVoteCast(new VoteCastEvent("vote-1", "poll-1", "option-A", NOW));
+        service.onVoteCast(new VoteCastEvent("vote-2", "poll-1", "option-C", NOW.plusSeconds(60)));
+
+        service.onPollEnded(new PollEndedEvent("poll-1", NOW.plusSeconds(120)));
+
+        assertEquals(1, service.resultsAsOf("poll-1", NOW.plusSeconds(60)).totalVotes());
+        assertEquals(2, service.resultsAsOf("poll-1", NOW.plusSeconds(120)).totalVotes());
+        assertThrows(IllegalArgumentException.class, () -> service.resultsAsOf("unknown", NOW));
+        assertThrows(IllegalArgumentException.class, () -> service.resultsAsOf("poll-1", null));
+    }
+}
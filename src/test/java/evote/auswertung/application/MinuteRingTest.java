@@ -0,0 +1,82 @@
+package evote.auswertung.application;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MinuteRingTest {
+
+    private static final long MINUTE = 29_000_000L;
+
+    @Test
+    @DisplayName("increment/votesAt: zählt je Minute, unbekannte Minuten sind 0")
+    void increment_shouldCountPerMinute() {
+        MinuteRing ring = new MinuteRing(60);
+
+        ring.increment(MINUTE);
+        ring.increment(MINUTE);
+        ring.increment(MINUTE + 1);
+
+        assertEquals(2, ring.votesAt(MINUTE));
+        assertEquals(1, ring.votesAt(MINUTE + 1));
+        assertEquals(0, ring.votesAt(MINUTE + 2));
+        assertEquals(0, ring.votesAt(-1));
+    }
+
+    @Test
+    @DisplayName("Ring läuft über: neuere Minute ersetzt den Slot, ältere Stimmen danach werden verworfen")
+    void increment_shouldOverwriteOutdatedSlots() {
+        MinuteRing ring = new MinuteRing(60);
+        ring.increment(MINUTE);
+
+        ring.increment(MINUTE + 60);
+        ring.increment(MINUTE); // außerhalb des Fensters
+
+        assertEquals(0, ring.votesAt(MINUTE));
+        assertEquals(1, ring.votesAt(MINUTE + 60));
+    }
+
+    @Test
+    @DisplayName("Paralleles Zählen über einen Minutenwechsel verliert in der neuen Minute keine Stimme")
+    void concurrentIncrements_shouldNotLoseVotes() throws Exception {
+        MinuteRing ring = new MinuteRing(1);
+        ring.increment(MINUTE);
+        int threads = 4;
+        int perThread = 10_000;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < perThread; i++) {
+                    ring.increment(MINUTE + 1);
+                }
+            });
+            worker.start();
+            workers.add(worker);
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        assertEquals((long) threads * perThread, ring.votesAt(MINUTE + 1));
+        assertEquals(0, ring.votesAt(MINUTE));
+    }
+
+    @Test
+    @DisplayName("Kapazität muss positiv sein")
+    void invalidCapacity_shouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> new MinuteRing(0));
+    }
+}
@@ -0,0 +1,109 @@
+package evote.auswertung.application;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import evote.abstimmungsverwaltung.domain.model.Poll;
+import evote.abstimmungsverwaltung.domain.repository.PollRepository;
+import evote.abstimmungsverwaltung.infrastructure.persistence.InMemoryPollRepository;
+import evote.stimmvergabe.events.VoteCastEvent;
+import evote.stimmvergabe.infrastructure.persistence.InMemoryVoteRepository;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Benchmark: Live-Zwischenstände an 50.000 gleichzeitige Abonnenten einer Abstimmung.
+ *
+ * Während mehrere Threads Stimmen abgeben, wird alle {@code benchmark.interval} ms
+ * ein Broadcast ausgelöst. Jeder Abonnent kodiert die Nachricht wie eine
+ * SSE-Verbindung nach UTF-8. Gemessen werden Dauer pro Broadcast, Anzahl der
+ * Serialisierungen und der Durchsatz der Stimmabgabe.
+ *
+ * Ausführen mit: mvn test -Pbenchmark -Dtest=ResultBroadcasterBenchmark
+ * Parameter: -Dbenchmark.subscribers (Standard: 50.000), -Dbenchmark.interval (Standard: 250),
+ * -Dbenchmark.seconds (Standard: 10), -Dbenchmark.threads (Standard: CPUs)
+ */
+class ResultBroadcasterBenchmark {
+
+    private static final int SUBSCRIBERS = Integer.getInteger("benchmark.subscribers", 50_000);
+    private static final int INTERVAL_MILLIS = Integer.getInteger("benchmark.interval", 250);
+    private static final int SECONDS = Integer.getInteger("benchmark.seconds", 10);
+    private static final int THREADS = Integer.getInteger("benchmark.threads",
+            Runtime.getRuntime().availableProcessors());
+
+    @Test
+    void broadcastToManySubscribers() throws Exception {
+        Instant now = Instant.parse("2030-01-01T12:00:00Z");
+        PollRepository pollRepository = new InMemoryPollRepository();
+        pollRepository.save(new Poll("poll-1", "Benchmark", List.of("A", "B", "C", "D"),
+                LocalDateTime.parse("2029-12-31T00:00:00"), LocalDateTime.parse("2030-12-31T00:00:00"),
+                Integer.MAX_VALUE, Clock.fixed(now, ZoneOffset.UTC)));
+        LiveTallyService tally = new LiveTallyService(new InMemoryVoteRepository(), pollRepository);
+        ResultBroadcaster broadcaster = new ResultBroadcaster(tally, new ObjectMapper(), 3_600_000, Runnable::run);
+
+        LongAdder deliveredBytes = new LongAdder();
+        LongAdder deliveries = new LongAdder();
+        for (int i = 0; i < SUBSCRIBERS; i++) {
+            broadcaster.subscribe("poll-1", json -> {
+                deliveredBytes.add(json.getBytes(StandardCharsets.UTF_8).length);
+                deliveries.increment();
+            });
+        }
+        long serializationsBefore = broadcaster.serializations();
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        ExecutorService voters = Executors.newFixedThreadPool(THREADS);
+        List<Future<Long>> cast = new ArrayList<>();
+        String[] options = {"A", "B", "C", "D"};
+        for (int t = 0; t < THREADS; t++) {
+            cast.add(voters.submit(() -> {
+                long votes = 0;
+                while (running.get()) {
+                    tally.onVoteCast(new VoteCastEvent("v", "poll-1", options[(int) (votes & 3)], now));
+                    votes++;
+                }
+                return votes;
+            }));
+        }
+
+        long flushes = 0;
+        long flushNanos = 0;
+        long maxFlushNanos = 0;
+        long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(SECONDS);
+        while (System.nanoTime() < end) {
+            Thread.sleep(INTERVAL_MILLIS);
+            long start = System.nanoTime();
+            broadcaster.flush();
+            long elapsed = System.nanoTime() - start;
+            flushes++;
+            flushNanos += elapsed;
+            maxFlushNanos = Math.max(maxFlushNanos, elapsed);
+        }
+        running.set(false);
+        long votes = 0;
+        for (Future<Long> future : cast) {
+            votes += future.get();
+        }
+        voters.shutdown();
+        broadcaster.shutdown();
+
+        System.out.printf("subscribers=%d votes=%d (%.0f votes/s) broadcasts=%d serializations=%d%n",
+                SUBSCRIBERS, votes, votes / (double) SECONDS, flushes,
+                broadcaster.serializations() - serializationsBefore);
+        System.out.printf("per broadcast: avg=%.1fms max=%.1fms, deliveries=%d, %.1f MB sent%n",
+                flushNanos / 1e6 / flushes, maxFlushNanos / 1e6, deliveries.sum(), deliveredBytes.sum() / 1e6);
+        System.out.printf("naive push per vote and subscriber would be %.2e deliveries%n",
+                (double) votes * SUBSCRIBERS);
+    }
+}
@@ -0,0 +1,201 @@
+package evote.auswertung.application;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import evote.abstimmungsverwaltung.domain.model.Poll;
+import evote.abstimmungsverwaltung.domain.repository.PollRepository;
+import evote.abstimmungsverwaltung.infrastructure.persistence.InMemoryPollRepository;
+import evote.stimmvergabe.events.VoteCastEvent;
+import evote.stimmvergabe.infrastructure.persistence.InMemoryVoteRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResultBroadcasterTest {
+
+    private static final Instant NOW = Instant.parse("2030-01-01T12:00:00Z");
+
+    private LiveTallyService tallyService;
+    private ResultBroadcaster broadcaster;
+
+    @BeforeEach
+    void setUp() {
+        PollRepository pollRepository = new InMemoryPollRepository();
+        pollRepository.save(new Poll(
+                "poll-1",
+                "Test Poll",
+                List.of("option-A", "option-B"),
+                LocalDateTime.parse("2029-12-31T00:00:00"),
+                LocalDateTime.parse("2030-12-31T00:00:00"),
+                10,
+                Clock.fixed(NOW, ZoneOffset.UTC)
+        ));
+        tallyService = new LiveTallyService(new InMemoryVoteRepository(), pollRepository);
+        // langes Intervall: flush() wird im Test explizit aufgerufen
+        broadcaster = new ResultBroadcaster(tallyService, new ObjectMapper(), 3_600_000, Runnable::run);
+    }
+
+    @AfterEach
+    void tearDown() {
+        broadcaster.shutdown();
+    }
+
+    private void castVote(String optionId) {
+        tallyService.onVoteCast(new VoteCastEvent("vote", "poll-1", optionId, NOW));
+    }
+
+    @Test
+    @DisplayName("subscribe(): neuer Abonnent erhält sofort den aktuellen Stand")
+    void subscribe_shouldSendCurrentResults() {
+        List<String> received = new CopyOnWriteArrayList<>();
+
+        broadcaster.subscribe("poll-1", received::add);
+
+        assertEquals(1, received.size());
+        assertTrue(received.get(0).contains("\"totalVotes\":0"));
+        assertEquals(1, broadcaster.subscriberCount("poll-1"));
+    }
+
+    @Test
+    @DisplayName("flush(): viele Stimmen werden zu einem Update zusammengefasst, einmal serialisiert")
+    void flush_shouldCoalesceUpdatesAndSerializeOncePerPoll() {
+        List<String> first = new CopyOnWriteArrayList<>();
+        List<String> second = new CopyOnWriteArrayList<>();
+        broadcaster.subscribe("poll-1", first::add);
+        broadcaster.subscribe("poll-1", second::add);
+        long serializationsBefore = broadcaster.serializations();
+
+        for (int i = 0; i < 100; i++) {
+            castVote("option-A");
+        }
+        broadcaster.flush();
+
+        assertEquals(2, first.size());
+        assertEquals(2, second.size());
+        assertSame(first.get(1), second.get(1));
+        assertTrue(first.get(1).contains("\"totalVotes\":100"));
+        assertEquals(serializationsBefore + 1, broadcaster.serializations());
+    }
+
+    @Test
+    @DisplayName("flush(): ohne neue Stimmen wird nichts gesendet")
+    void flush_withoutChanges_shouldNotSend() {
+        List<String> received = new CopyOnWriteArrayList<>();
+        broadcaster.subscribe("poll-1", received::add);
+        broadcaster.flush();
+        int afterFirstFlush = received.size();
+
+        broadcaster.flush();
+
+        assertEquals(afterFirstFlush, received.size());
+    }
+
+    @Test
+    @DisplayName("Fehlerhafte oder abgemeldete Abonnenten werden entfernt")
+    void brokenAndUnsubscribedSubscribers_shouldBeRemoved() {
+        List<String> received = new CopyOnWriteArrayList<>();
+        Runnable unsubscribe = broadcaster.subscribe("poll-1", received::add);
+        boolean[] failNow = {false};
+        broadcaster.subscribe("poll-1", json -> {
+            if (failNow[0]) {
+                throw new IOException("broken pipe");
+            }
+        });
+        assertEquals(2, broadcaster.subscriberCount("poll-1"));
+
+        failNow[0] = true;
+        castVote("option-B");
+        broadcaster.flush();
+        assertEquals(1, broadcaster.subscriberCount("poll-1"));
+
+        unsubscribe.run();
+        broadcaster.flush();
+        assertEquals(0, broadcaster.subscriberCount("poll-1"));
+    }
+
+    @Test
+    @DisplayName("Langsamer Abonnent hält andere nicht auf und wird nach zu vielen verpassten Ständen getrennt")
+    void slowSubscriber_shouldNotBlockOthersAndBeDisconnected() throws Exception {
+        ExecutorService delivery = Executors.newFixedThreadPool(2);
+        ResultBroadcaster pooled = new ResultBroadcaster(tallyService, new ObjectMapper(), 3_600_000, delivery);
+        try {
+            CountDownLatch release = new CountDownLatch(1);
+            CountDownLatch slowBlocked = new CountDownLatch(1);
+            AtomicBoolean closed = new AtomicBoolean();
+            pooled.subscribe("poll-1", new ResultSubscriber() {
+                @Override
+                public void send(String resultsJson) throws IOException {
+                    slowBlocked.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+
+                @Override
+                public void close() {
+                    closed.set(true);
+                }
+            });
+            assertTrue(slowBlocked.await(5, TimeUnit.SECONDS));
+            BlockingQueue<String> fast = new LinkedBlockingQueue<>();
+            pooled.subscribe("poll-1", fast::add);
+            assertNotNull(fast.poll(5, TimeUnit.SECONDS));
+
+            for (int i = 0; i < ResultBroadcaster.MAX_SKIPPED_UPDATES + 1; i++) {
+                castVote("option-A");
+                pooled.flush();
+                assertNotNull(fast.poll(5, TimeUnit.SECONDS), "Update " + i + " beim schnellen Abonnenten");
+            }
+
+            assertTrue(closed.get());
+            assertEquals(1, pooled.subscriberCount("poll-1"));
+            release.countDown();
+        } finally {
+            pooled.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("subscribe(): Anfangsstand kommt nie nach einem neueren Stand an")
+    void initialSnapshot_shouldNotOvertakeNewerUpdate() {
+        List<Runnable> queued = new ArrayList<>();
+        ResultBroadcaster queuedBroadcaster = new ResultBroadcaster(tallyService, new ObjectMapper(), 3_600_000, queued::add);
+        List<String> received = new CopyOnWriteArrayList<>();
+
+        queuedBroadcaster.subscribe("poll-1", received::add);
+        castVote("option-A");
+        queuedBroadcaster.flush();
+        queued.forEach(Runnable::run);
+        queuedBroadcaster.shutdown();
+
+        assertEquals(1, received.size());
+        assertTrue(received.get(0).contains("\"totalVotes\":1"));
+    }
+
+    @Test
+    @DisplayName("subscribe(): unbekannte Poll → IllegalArgumentException, ungültiges Intervall wird abgelehnt")
+    void invalidArguments_shouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> broadcaster.subscribe("unknown", json -> { }));
+        assertThrows(IllegalArgumentException.class, () -> new ResultBroadcaster(tallyService, new ObjectMapper(), 0, Runnable::run));
+    }
+}
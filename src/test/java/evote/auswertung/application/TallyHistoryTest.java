@@ -0,0 +1,112 @@
+package evote.auswertung.application;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TallyHistoryTest {
+
+    private static final Instant T0 = Instant.parse("2030-01-01T12:00:00Z");
+    private static final List<String> OPTIONS = List.of("A", "B");
+
+    @Test
+    @DisplayName("votesBefore: zählt Stimmen vor Beginn des Buckets von asOf")
+    void votesBefore_shouldCountVotesBeforeBucket() {
+        TallyHistory history = new TallyHistory(60);
+        history.add("A", T0.plusSeconds(5));
+        history.add("B", T0.plusSeconds(70));
+        history.add("A", T0.plusSeconds(130));
+
+        assertEquals(Map.of("A", 0L, "B", 0L), history.votesBefore(T0.plusSeconds(59), OPTIONS));
+        assertEquals(Map.of("A", 1L, "B", 0L), history.votesBefore(T0.plusSeconds(60), OPTIONS));
+        assertEquals(Map.of("A", 1L, "B", 1L), history.votesBefore(T0.plusSeconds(179), OPTIONS));
+        assertEquals(Map.of("A", 2L, "B", 1L), history.votesBefore(T0.plusSeconds(180), OPTIONS));
+    }
+
+    @Test
+    @DisplayName("Ältere Buckets werden versiegelt, aktueller und vorheriger bleiben offen")
+    void add_shouldSealOlderBuckets() {
+        TallyHistory history = new TallyHistory(60);
+        for (int minute = 0; minute < 10; minute++) {
+            history.add("A", T0.plusSeconds(minute * 60L));
+        }
+
+        assertEquals(2, history.openBuckets());
+        assertEquals(8, history.sealedBuckets());
+        assertEquals(5L, history.votesBefore(T0.plusSeconds(300), OPTIONS).get("A"));
+        assertEquals(10L, history.votesBefore(T0.plusSeconds(600), OPTIONS).get("A"));
+    }
+
+    @Test
+    @DisplayName("Verspätete Stimme für einen versiegelten Bucket wird eingeordnet, spätere Stände enthalten sie")
+    void lateVote_shouldBeMergedIntoSealedHistory() {
+        TallyHistory history = new TallyHistory(60);
+        history.add("A", T0);
+        history.add("A", T0.plusSeconds(600));
+        history.add("B", T0.plusSeconds(120)); // nach dem Versiegeln von Minute 0..8
+
+        assertEquals(Map.of("A", 1L, "B", 1L), history.votesBefore(T0.plusSeconds(180), OPTIONS));
+        history.add("A", T0.plusSeconds(1200)); // versiegelt erneut, Neuaufbau
+        assertEquals(Map.of("A", 1L, "B", 0L), history.votesBefore(T0.plusSeconds(120), OPTIONS));
+        assertEquals(Map.of("A", 1L, "B", 1L), history.votesBefore(T0.plusSeconds(180), OPTIONS));
+        assertEquals(Map.of("A", 2L, "B", 1L), history.votesBefore(T0.plusSeconds(660), OPTIONS));
+    }
+
+    @Test
+    @DisplayName("compact: versiegelt alles, Stände bleiben gleich")
+    void compact_shouldSealEverythingWithoutChangingResults() {
+        TallyHistory history = new TallyHistory(60);
+        for (int minute = 0; minute < 40; minute++) {
+            history.add(minute % 3 == 0 ? "B" : "A", T0.plusSeconds(minute * 60L));
+        }
+        Map<String, Long> before = history.votesBefore(T0.plusSeconds(2400), OPTIONS);
+
+        history.compact();
+
+        assertEquals(0, history.openBuckets());
+        assertEquals(40, history.sealedBuckets());
+        assertEquals(before, history.votesBefore(T0.plusSeconds(2400), OPTIONS));
+        assertEquals(Map.of("A", 13L, "B", 7L), history.votesBefore(T0.plusSeconds(1200), OPTIONS));
+    }
+
+    @Test
+    @DisplayName("Paralleles Zählen über viele Buckets verliert beim Versiegeln keine Stimme")
+    void concurrentAdds_shouldNotLoseVotes() throws Exception {
+        TallyHistory history = new TallyHistory(1);
+        int threads = 4;
+        int perThread = 5_000;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < perThread; i++) {
+                    history.add("A", T0.plusSeconds(i / 10));
+                }
+            });
+            worker.start();
+            workers.add(worker);
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        assertEquals((long) threads * perThread, history.votesBefore(T0.plusSeconds(perThread), OPTIONS).get("A"));
+        history.compact();
+        assertEquals((long) threads * perThread, history.votesBefore(T0.plusSeconds(perThread), OPTIONS).get("A"));
+        assertEquals(threads * 10L, history.votesBefore(T0.plusSeconds(1), OPTIONS).get("A"));
+    }
+}
@@ -0,0 +1,155 @@
+package evote.auswertung.web;
+
+import evote.auswertung.application.LiveTallyService;
+import evote.auswertung.application.ResultBroadcaster;
+import evote.auswertung.application.ResultSubscriber;
+import evote.auswertung.application.dto.DistrictResults;
+import evote.auswertung.application.dto.PollDistrictResults;
+import evote.auswertung.application.dto.PollResults;
+import evote.auswertung.application.dto.PollResultsAsOf;
+import evote.auswertung.application.dto.TurnoutPoint;
+import evote.auswertung.application.dto.TurnoutSeries;
+import evote.auswertung.infrastructure.web.PollResultsController;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(PollResultsController.class)
+class PollResultsControllerTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @MockBean
+    LiveTallyService tallyService;
+
+    @MockBean
+    ResultBroadcaster broadcaster;
+
+    @Test
+    @DisplayName("GET /api/polls/{id}/results – liefert den Zwischenstand")
+    void results_returnsCurrentTally() throws Exception {
+        Map<String, Long> votes = new LinkedHashMap<>();
+        votes.put("OPTION-MIX", 3L);
+        votes.put("OPTION-REGIONAL", 1L);
+        when(tallyService.results("POLL-CK-2026")).thenReturn(new PollResults("POLL-CK-2026", votes, 4));
+
+        mockMvc.perform(get("/api/polls/POLL-CK-2026/results"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalVotes").value(4))
+                .andExpect(jsonPath("$.votesByOption.OPTION-MIX").value(3));
+    }
+
+    @Test
+    @DisplayName("GET /api/polls/{id}/results – unbekannte Poll → 400 Bad Request")
+    void results_unknownPoll_returnsBadRequest() throws Exception {
+        when(tallyService.results("unknown")).thenThrow(new IllegalArgumentException("Poll not found: unknown"));
+
+        mockMvc.perform(get("/api/polls/unknown/results"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /api/polls/{id}/results?asOf=… – liefert den Stand zum angefragten Zeitpunkt")
+    void resultsAsOf_returnsHistoricTally() throws Exception {
+        Instant asOf = Instant.parse("2026-03-01T10:15:00Z");
+        when(tallyService.resultsAsOf("POLL-CK-2026", asOf)).thenReturn(
+                new PollResultsAsOf("POLL-CK-2026", asOf, Map.of("OPTION-MIX", 2L), 2));
+
+        mockMvc.perform(get("/api/polls/POLL-CK-2026/results?asOf=2026-03-01T10:15:00Z"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.asOf").value("2026-03-01T10:15:00Z"))
+                .andExpect(jsonPath("$.votesByOption.OPTION-MIX").value(2))
+                .andExpect(jsonPath("$.totalVotes").value(2));
+        verify(tallyService, never()).results(any());
+    }
+
+    @Test
+    @DisplayName("GET /api/polls/{id}/results?asOf=… – ungültiger Zeitpunkt → 400 Bad Request")
+    void resultsAsOf_invalidTimestamp_returnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/polls/POLL-CK-2026/results?asOf=gestern"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /api/polls/{id}/results/districts – liefert den Zwischenstand je Wahlkreis")
+    void districtResults_returnsBreakdown() throws Exception {
+        Map<String, Long> votes = new LinkedHashMap<>();
+        votes.put("OPTION-MIX", 2L);
+        votes.put("OPTION-REGIONAL", 1L);
+        when(tallyService.districtResults("POLL-CK-2026")).thenReturn(new PollDistrictResults(
+                "POLL-CK-2026", List.of(new DistrictResults("Mitte", votes, 3)), 1, 4));
+
+        mockMvc.perform(get("/api/polls/POLL-CK-2026/results/districts"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.districts[0].district").value("Mitte"))
+                .andExpect(jsonPath("$.districts[0].votesByOption.OPTION-MIX").value(2))
+                .andExpect(jsonPath("$.votesWithoutDistrict").value(1))
+                .andExpect(jsonPath("$.totalVotes").value(4));
+    }
+
+    @Test
+    @DisplayName("GET /api/polls/{id}/results/turnout – liefert die Beteiligungskurve, Standard 60 Minuten")
+    void turnout_returnsSeries() throws Exception {
+        Instant minute = Instant.parse("2026-03-01T10:00:00Z");
+        when(tallyService.turnout("POLL-CK-2026", null, 60)).thenReturn(new TurnoutSeries(
+                "POLL-CK-2026", null, 100, 5, 0.05, List.of(new TurnoutPoint(minute, 2, 5, 0.05))));
+        when(tallyService.turnout("POLL-CK-2026", "Mitte", 5)).thenReturn(new TurnoutSeries(
+                "POLL-CK-2026", "Mitte", 100, 1, 0.01, List.of()));
+
+        mockMvc.perform(get("/api/polls/POLL-CK-2026/results/turnout"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.eligibleVoters").value(100))
+                .andExpect(jsonPath("$.points[0].votes").value(2))
+                .andExpect(jsonPath("$.points[0].cumulativeVotes").value(5));
+        mockMvc.perform(get("/api/polls/POLL-CK-2026/results/turnout?minutes=5&district=Mitte"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.district").value("Mitte"));
+    }
+
+    @Test
+    @DisplayName("GET /api/polls/{id}/results/turnout – ungültiges Fenster → 400 Bad Request")
+    void turnout_invalidWindow_returnsBadRequest() throws Exception {
+        when(tallyService.turnout("POLL-CK-2026", null, 0)).thenThrow(new IllegalArgumentException("minutes"));
+
+        mockMvc.perform(get("/api/polls/POLL-CK-2026/results/turnout?minutes=0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /api/polls/{id}/results/stream – öffnet einen SSE-Stream mit dem aktuellen Stand")
+    void stream_sendsResultsAsServerSentEvent() throws Exception {
+        when(broadcaster.subscribe(eq("POLL-CK-2026"), any(ResultSubscriber.class))).thenAnswer(invocation -> {
+            ResultSubscriber subscriber = invocation.getArgument(1);
+            subscriber.send("{\"pollId\":\"POLL-CK-2026\",\"totalVotes\":4}");
+            return (Runnable) () -> { };
+        });
+
+        MvcResult result = mockMvc.perform(get("/api/polls/POLL-CK-2026/results/stream"))
+                .andExpect(request().asyncStarted())
+                .andExpect(header().string("Content-Type", containsString("text/event-stream")))
+                .andReturn();
+
+        String body = result.getResponse().getContentAsString();
+        assertTrue(body.contains("event:results"), body);
+        assertTrue(body.contains("data:{\"pollId\":\"POLL-CK-2026\",\"totalVotes\":4}"), body);
+        verify(broadcaster).subscribe(eq("POLL-CK-2026"), any(ResultSubscriber.class));
+    }
+}
@@ -0,0 +1,254 @@
+package evote.buergerverwaltung.application;
+
+import evote.abstimmungsverwaltung.application.PollAssembler;
+import evote.abstimmungsverwaltung.application.dto.PollDTO;
+import evote.abstimmungsverwaltung.domain.model.Poll;
+import evote.abstimmungsverwaltung.events.PollEndedEvent;
+import evote.abstimmungsverwaltung.infrastructure.persistence.InMemoryPollRepository;
+import evote.buergerverwaltung.application.dto.VoterDashboard;
+import evote.buergerverwaltung.domain.model.Voter;
+import evote.buergerverwaltung.domain.valueobjects.Adresse;
+import evote.buergerverwaltung.domain.valueobjects.Email;
+import evote.buergerverwaltung.domain.valueobjects.Name;
+import evote.buergerverwaltung.events.VoterEmailChangedEvent;
+import evote.buergerverwaltung.events.VoterParticipatedEvent;
+import evote.buergerverwaltung.infrastructure.persistence.InMemoryVoterRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests mit synchronem Executor: jedes Ereignis ist nach dem Aufruf angewendet.
+ */
+class VoterDashboardProjectionTest {
+
+    private final AtomicInteger voterReads = new AtomicInteger();
+    private final AtomicInteger pollScans = new AtomicInteger();
+    private LocalDateTime now;
+    private InMemoryVoterRepository voterRepository;
+    private InMemoryPollRepository pollRepository;
+    private VoterDashboardProjection projection;
+    private Voter voter;
+
+    @BeforeEach
+    void setUp() {
+        now = LocalDateTime.of(2035, 5, 10, 12, 0);
+        Clock clock = Clock.fixed(now.atZone(ZoneId.systemDefault()).toInstant(), ZoneId.systemDefault());
+        voterRepository = new InMemoryVoterRepository() {
+            @Override
+            public Optional<Voter> findById(String voterId) {
+                voterReads.incrementAndGet();
+                return super.findById(voterId);
+            }
+        };
+        pollRepository = new InMemoryPollRepository() {
+            @Override
+            public List<Poll> findAll() {
+                pollScans.incrementAndGet();
+                return super.findAll();
+            }
+        };
+        projection = new VoterDashboardProjection(voterRepository, pollRepository, new VoterAssembler(),
+                new PollAssembler(), clock, Runnable::run);
+
+        voter = Voter.register(
+                new Name("Sandra", "Schmidt"),
+                new Adresse("Hauptstrasse", "1", "", "12345", "Berlin"),
+                new Email("sandra@example.com"),
+                LocalDate.of(2000, 1, 1),
+                "Berlin"
+        );
+        voter.verify();
+        voter.markVoted("poll-voted");
+        voterRepository.save(voter);
+
+        pollRepository.save(createPoll("poll-later", now.minusDays(1), now.plusDays(2), clock));
+        pollRepository.save(createPoll("poll-soon", now.minusHours(1), now.plusHours(2), clock));
+        pollRepository.save(createPoll("poll-voted", now.minusDays(1), now.plusHours(5), clock));
+        pollRepository.save(createPoll("poll-future", now.plusDays(1), now.plusDays(2), clock));
+        pollRepository.save(createPoll("poll-over", now.minusDays(3), now.minusDays(1), clock));
+    }
+
+    private static Poll createPoll(String id, LocalDateTime start, LocalDateTime end, Clock clock) {
+        return new Poll(id, "Titel " + id, List.of("Ja", "Nein"), start, end, 10, clock);
+    }
+
+    private static List<String> ids(List<PollDTO> polls) {
+        return polls.stream().map(PollDTO::pollId).toList();
+    }
+
+    @Test
+    @DisplayName("dashboard(): Profil, Teilnahmen und offene Abstimmungen nach Ende sortiert")
+    void dashboard_shouldCombineProfileHistoryAndOpenPolls() {
+        VoterDashboard dashboard = projection.dashboard(voter.getVoterId());
+
+        assertEquals(voter.getVoterId(), dashboard.voter().id());
+        assertEquals("sandra@example.com", dashboard.voter().email());
+        assertEquals(List.of("poll-voted"), dashboard.votedPollIds());
+        assertEquals(List.of("poll-soon", "poll-later"), ids(dashboard.activePolls()));
+    }
+
+    @Test
+    @DisplayName("dashboard(): wiederholte Aufrufe lesen nur das Lesemodell, nicht die Stores")
+    void dashboard_repeatedCalls_shouldNotTouchRepositories() {
+        projection.dashboard(voter.getVoterId());
+        int readsAfterLoad = voterReads.get();
+        int scansAfterLoad = pollScans.get();
+
+        projection.dashboard(voter.getVoterId());
+        projection.dashboard(voter.getVoterId());
+
+        assertEquals(readsAfterLoad, voterReads.get());
+        assertEquals(scansAfterLoad, pollScans.get());
+        assertEquals(1, projection.projectedVoters());
+    }
+
+    @Test
+    @DisplayName("VoterParticipatedEvent: Abstimmung wandert von offen zu Teilnahmen")
+    void participation_shouldMovePollToHistory() {
+        projection.dashboard(voter.getVoterId());
+
+        projection.onVoterParticipated(new VoterParticipatedEvent(voter.getVoterId(), "poll-soon"));
+        projection.onVoterParticipated(new VoterParticipatedEvent(voter.getVoterId(), "poll-soon"));
+
+        int readsAfterLoad = voterReads.get();
+        VoterDashboard dashboard = projection.dashboard(voter.getVoterId());
+        assertEquals(List.of("poll-soon", "poll-voted"), dashboard.votedPollIds());
+        assertEquals(List.of("poll-later"), ids(dashboard.activePolls()));
+        assertEquals(readsAfterLoad, voterReads.get());
+    }
+
+    @Test
+    @DisplayName("VoterEmailChangedEvent und PollEndedEvent: Profil und Katalog werden nachgeführt")
+    void emailChangeAndPollEnd_shouldUpdateModel() {
+        projection.dashboard(voter.getVoterId());
+
+        projection.onVoterEmailChanged(new VoterEmailChangedEvent(voter.getVoterId(), "neu@example.com"));
+        projection.onPollEnded(new PollEndedEvent("poll-soon", Instant.now()));
+
+        VoterDashboard dashboard = projection.dashboard(voter.getVoterId());
+        assertEquals("neu@example.com", dashboard.voter().email());
+        assertEquals(List.of("poll-later"), ids(dashboard.activePolls()));
+    }
+
+    @Test
+    @DisplayName("Ereignisse für noch nicht projizierte Voter werden ignoriert, der spätere Ladevorgang ist aktuell")
+    void eventsForUnknownVoter_shouldBeIgnoredUntilLoaded() {
+        projection.onVoterParticipated(new VoterParticipatedEvent(voter.getVoterId(), "poll-soon"));
+        assertEquals(0, projection.projectedVoters());
+
+        Voter updated = voterRepository.findById(voter.getVoterId()).orElseThrow().copy();
+        updated.markVoted("poll-soon");
+        voterRepository.save(updated);
+
+        assertEquals(List.of("poll-soon", "poll-voted"), projection.dashboard(voter.getVoterId()).votedPollIds());
+    }
+
+    @Test
+    @DisplayName("VoterRegisteredEvent: neuer Voter wird vorab ins Lesemodell übernommen")
+    void registration_shouldProjectVoter() {
+        Voter registered = Voter.register(
+                new Name("Max", "Mustermann"),
+                new Adresse("Weg", "2", "", "12345", "Berlin"),
+                new Email("max@example.com"),
+                LocalDate.of(1990, 1, 1),
+                "Berlin"
+        );
+        registered.verify();
+        voterRepository.save(registered);
+
+        projection.onVoterRegistered(registered.getPendingEvent());
+
+        assertEquals(1, projection.projectedVoters());
+        assertTrue(projection.dashboard(registered.getVoterId()).votedPollIds().isEmpty());
+    }
+
+    @Test
+    @DisplayName("dashboard(): unbekannter Voter → 404")
+    void dashboard_unknownVoter_shouldThrowNotFound() {
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                () -> projection.dashboard("missing"));
+
+        assertEquals(HttpStatus.NOT_FOUND, ex.getStatusCode());
+        assertEquals(0, projection.projectedVoters());
+    }
+
+    @Test
+    @DisplayName("dashboard(): Fehlgriffe laden auf dem aufrufenden Thread, unbekannte IDs belasten die Projektion nicht")
+    void dashboard_miss_shouldLoadOnCallerThread() {
+        List<Runnable> queued = new ArrayList<>();
+        VoterDashboardProjection queuedProjection = new VoterDashboardProjection(voterRepository, pollRepository,
+                new VoterAssembler(), new PollAssembler(), Clock.fixed(
+                        now.atZone(ZoneId.systemDefault()).toInstant(), ZoneId.systemDefault()), queued::add);
+
+        assertThrows(ResponseStatusException.class, () -> queuedProjection.dashboard("missing-1"));
+        assertThrows(ResponseStatusException.class, () -> queuedProjection.dashboard("missing-2"));
+        assertTrue(queued.isEmpty());
+
+        // Projektions-Thread steht: Antwort kommt trotzdem
+        VoterDashboard dashboard = queuedProjection.dashboard(voter.getVoterId());
+        assertEquals(List.of("poll-soon", "poll-later"), ids(dashboard.activePolls()));
+        assertEquals(1, queuedProjection.projectedVoters());
+    }
+
+    @Test
+    @DisplayName("Ereignis zwischen Laden und Eintragen geht durch den Abgleich nicht verloren")
+    void eventDuringLoad_shouldBeReconciled() {
+        List<Runnable> queued = new ArrayList<>();
+        VoterDashboardProjection queuedProjection = new VoterDashboardProjection(voterRepository, pollRepository,
+                new VoterAssembler(), new PollAssembler(), Clock.fixed(
+                        now.atZone(ZoneId.systemDefault()).toInstant(), ZoneId.systemDefault()), queued::add);
+
+        queuedProjection.dashboard(voter.getVoterId());
+        Voter updated = voterRepository.findById(voter.getVoterId()).orElseThrow().copy();
+        updated.markVoted("poll-soon");
+        voterRepository.save(updated);
+        queued.forEach(Runnable::run);
+
+        assertEquals(List.of("poll-soon", "poll-voted"), queuedProjection.dashboard(voter.getVoterId()).votedPollIds());
+    }
+
+    @Test
+    @DisplayName("Lesemodell ist begrenzt: verdrängte Voter werden beim nächsten Aufruf neu geladen")
+    void boundedModel_evictedVoter_shouldReloadOnNextCall() {
+        VoterDashboardProjection bounded = new VoterDashboardProjection(voterRepository, pollRepository,
+                new VoterAssembler(), new PollAssembler(), Clock.fixed(
+                        now.atZone(ZoneId.systemDefault()).toInstant(), ZoneId.systemDefault()), Runnable::run, 2);
+        List<String> voterIds = new ArrayList<>(List.of(voter.getVoterId()));
+        for (int i = 0; i < 4; i++) {
+            Voter other = Voter.register(
+                    new Name("Max", "Muster" + (char) ('a' + i)),
+                    new Adresse("Hauptstrasse", String.valueOf(i + 2), "", "12345", "Berlin"),
+                    new Email("max" + i + "@example.com"),
+                    LocalDate.of(2000, 1, 1),
+                    "Berlin"
+            );
+            voterRepository.save(other);
+            voterIds.add(other.getVoterId());
+        }
+
+        for (String voterId : voterIds) {
+            bounded.dashboard(voterId);
+        }
+        assertTrue(bounded.projectedVoters() <= 2, "voters: " + bounded.projectedVoters());
+
+        VoterDashboard dashboard = bounded.dashboard(voter.getVoterId());
+        assertEquals(List.of("poll-voted"), dashboard.votedPollIds());
+        assertThrows(IllegalArgumentException.class, () -> new VoterDashboardProjection(voterRepository,
+                pollRepository, new VoterAssembler(), new PollAssembler(), Clock.systemDefaultZone(), Runnable::run, 0));
+    }
+}
@@ -269,6 +269,79 @@ class VoterTest {
         assertNull(voter.getPendingEvent());
     }
 
+    @Test
+    @DisplayName("Version should increase with every state change")
+    void version_shouldIncreaseOnEveryChange() {
+        // Arrange
+        Voter voter = Voter.register(VALID_NAME, VALID_ADRESSE, VALID_EMAIL, java.time.LocalDate.of(1990, 1, 1), VALID_WAHLKREIS);
+        assertEquals(0, voter.getVersion());
+
+        // Act & Assert
+        voter.verify();
+        assertEquals(1, voter.getVersion());
+        voter.markVoted("poll-1");
+        assertEquals(2, voter.getVersion());
+        voter.setEmail(new Email("neu@mail.de"));
+        assertEquals(3, voter.getVersion());
+    }
+
+    @Test
+    @DisplayName("Rejected changes should not increase the version")
+    void version_shouldNotChangeOnRejectedChange() {
+        // Arrange
+        Voter voter = Voter.register(VALID_NAME, VALID_ADRESSE, VALID_EMAIL, java.time.LocalDate.of(1990, 1, 1), VALID_WAHLKREIS);
+        voter.verify();
+
+        // Act
+        assertThrows(IllegalStateException.class, voter::verify);
+        assertThrows(IllegalArgumentException.class, () -> voter.setEmail(null));
+
+        // Assert
+        assertEquals(1, voter.getVersion());
+    }
+
+    // ============ Snapshot / Copy-on-Write Tests ============
+
+    @Test
+    @DisplayName("Snapshot should be read-only and unaffected by later changes of the original")
+    void snapshot_shouldBeImmutable() {
+        // Arrange
+        Voter voter = Voter.register(VALID_NAME, VALID_ADRESSE, VALID_EMAIL, java.time.LocalDate.of(1990, 1, 1), VALID_WAHLKREIS);
+        voter.verify();
+
+        // Act
+        Voter snapshot = voter.snapshot();
+        voter.markVoted("poll-1");
+
+        // Assert
+        assertTrue(snapshot.isSnapshot());
+        assertSame(snapshot, snapshot.snapshot());
+        assertFalse(snapshot.hasVoted("poll-1"));
+        assertEquals(1, snapshot.getVersion());
+        assertThrows(IllegalStateException.class, () -> snapshot.markVoted("poll-2"));
+        assertThrows(IllegalStateException.class, () -> snapshot.setEmail(new Email("neu@mail.de")));
+    }
+
+    @Test
+    @DisplayName("Copy of a snapshot should be mutable and remember the version it is based on")
+    void copy_shouldCarryPersistedVersion() {
+        // Arrange
+        Voter voter = Voter.register(VALID_NAME, VALID_ADRESSE, VALID_EMAIL, java.time.LocalDate.of(1990, 1, 1), VALID_WAHLKREIS);
+        voter.verify();
+        Voter snapshot = voter.snapshot();
+
+        // Act
+        Voter copy = snapshot.copy();
+        copy.markVoted("poll-1");
+
+        // Assert
+        assertEquals(-1, voter.getPersistedVersion());
+        assertEquals(1, copy.getPersistedVersion());
+        assertEquals(2, copy.getVersion());
+        assertFalse(snapshot.hasVoted("poll-1"));
+        assertEquals(snapshot, copy);
+    }
+
     // ============ Reconstruction from Persistence Tests ============
 
     @Test
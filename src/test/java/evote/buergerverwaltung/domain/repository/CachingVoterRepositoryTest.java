@@ -0,0 +1,170 @@
+package evote.buergerverwaltung.domain.repository;
+
+import evote.buergerverwaltung.domain.model.Voter;
+import evote.buergerverwaltung.domain.valueobjects.Adresse;
+import evote.buergerverwaltung.domain.valueobjects.Email;
+import evote.buergerverwaltung.domain.valueobjects.Name;
+import evote.buergerverwaltung.infrastructure.persistence.CachingVoterRepository;
+import evote.buergerverwaltung.infrastructure.persistence.InMemoryVoterRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CachingVoterRepositoryTest {
+
+    private final AtomicInteger storeReads = new AtomicInteger();
+    private InMemoryVoterRepository store;
+    private SimpleMeterRegistry registry;
+    private CachingVoterRepository repo;
+    private Voter voter;
+
+    @BeforeEach
+    void setup() {
+        store = new InMemoryVoterRepository() {
+            @Override
+            public Optional<Voter> findById(String voterId) {
+                storeReads.incrementAndGet();
+                return super.findById(voterId);
+            }
+        };
+        registry = new SimpleMeterRegistry();
+        repo = new CachingVoterRepository(store, 100, registry);
+        voter = newVoter("max@test.de");
+    }
+
+    private static Voter newVoter(String email) {
+        Voter voter = Voter.register(
+                new Name("Max", "Mustermann"),
+                new Adresse("Straße", "1", "", "12345", "Stadt"),
+                new Email(email),
+                LocalDate.of(1990, 1, 1),
+                "WK1"
+        );
+        voter.verify();
+        return voter;
+    }
+
+    private double cacheGets(String result) {
+        return registry.get("cache.gets").tag("cache", "voters").tag("result", result).functionCounter().count();
+    }
+
+    @Test
+    @DisplayName("findById() should read a voter from the store only once")
+    void findById_shouldServeRepeatedReadsFromCache() {
+        store.save(voter);
+
+        Voter first = repo.findById(voter.getVoterId()).orElseThrow();
+        Voter second = repo.findById(voter.getVoterId()).orElseThrow();
+
+        assertSame(first, second);
+        assertTrue(first.isSnapshot());
+        assertEquals(1, storeReads.get());
+        assertEquals(1.0, cacheGets("hit"));
+        assertEquals(1.0, cacheGets("miss"));
+    }
+
+    @Test
+    @DisplayName("findById() should not cache unknown voters")
+    void findById_unknown_shouldNotBeCached() {
+        assertTrue(repo.findById("unknown").isEmpty());
+        assertTrue(repo.findById(null).isEmpty());
+        store.save(voter);
+
+        assertTrue(repo.findById(voter.getVoterId()).isPresent());
+        assertEquals(1, repo.cachedVoters());
+    }
+
+    @Test
+    @DisplayName("saveIfVersion() should write the new snapshot through to the cache")
+    void saveIfVersion_shouldWriteThrough() {
+        repo.save(voter);
+        Voter loaded = repo.findById(voter.getVoterId()).orElseThrow();
+        Voter updated = loaded.copy();
+        updated.markVoted("poll-1");
+
+        assertTrue(repo.saveIfVersion(updated, loaded.getVersion()));
+
+        Voter cached = repo.findById(voter.getVoterId()).orElseThrow();
+        assertTrue(cached.hasVoted("poll-1"));
+        assertEquals(updated.getVersion(), cached.getVersion());
+        assertEquals(0, storeReads.get());
+    }
+
+    @Test
+    @DisplayName("saveIfVersion() should evict a stale entry on conflict so a retry reads the store")
+    void saveIfVersion_conflict_shouldInvalidate() {
+        repo.save(voter);
+        Voter cached = repo.findById(voter.getVoterId()).orElseThrow();
+        Voter concurrent = store.findById(voter.getVoterId()).orElseThrow().copy();
+        concurrent.markVoted("poll-1");
+        store.save(concurrent); // bypasses the cache, which is stale now
+
+        Voter stale = cached.copy();
+        stale.markVoted("poll-2");
+        assertFalse(repo.saveIfVersion(stale, cached.getVersion()));
+
+        Voter reloaded = repo.findById(voter.getVoterId()).orElseThrow();
+        assertTrue(reloaded.hasVoted("poll-1"));
+        Voter retry = reloaded.copy();
+        retry.markVoted("poll-2");
+        assertTrue(repo.saveIfVersion(retry, reloaded.getVersion()));
+        assertEquals(1, repo.versionConflicts());
+    }
+
+    @Test
+    @DisplayName("save() should evict the entry when it throws a version conflict")
+    void save_conflict_shouldInvalidate() {
+        repo.save(voter);
+        Voter first = repo.findById(voter.getVoterId()).orElseThrow().copy();
+        Voter second = repo.findById(voter.getVoterId()).orElseThrow().copy();
+        first.markVoted("poll-1");
+        store.save(first);
+        second.markVoted("poll-2");
+
+        assertThrows(VoterVersionConflictException.class, () -> repo.save(second));
+        assertTrue(repo.findById(voter.getVoterId()).orElseThrow().hasVoted("poll-1"));
+    }
+
+    @Test
+    @DisplayName("delete() should remove the voter from store and cache")
+    void delete_shouldInvalidate() {
+        repo.save(voter);
+        repo.findById(voter.getVoterId());
+
+        repo.delete(voter.getVoterId());
+
+        assertTrue(repo.findById(voter.getVoterId()).isEmpty());
+        assertEquals(0, repo.count());
+    }
+
+    @Test
+    @DisplayName("cache should stay within its maximum size and count evictions")
+    void cache_shouldEvictBySize() {
+        SimpleMeterRegistry smallRegistry = new SimpleMeterRegistry();
+        CachingVoterRepository small = new CachingVoterRepository(store, 10, smallRegistry);
+        for (int i = 0; i < 100; i++) {
+            small.save(newVoter("voter" + i + "@test.de"));
+        }
+
+        assertTrue(small.cachedVoters() <= 10);
+        assertEquals(100, small.count());
+        assertTrue(smallRegistry.get("cache.evictions").tag("cache", "voters").functionCounter().count() > 0);
+    }
+
+    @Test
+    @DisplayName("email and district lookups should go to the store")
+    void finders_shouldDelegate() {
+        repo.save(voter);
+
+        assertTrue(repo.findByEmail("MAX@test.de").isPresent());
+        assertTrue(repo.findByWahlkreis("WK1").iterator().hasNext());
+        assertThrows(IllegalArgumentException.class, () -> new CachingVoterRepository(store, 0, registry));
+    }
+}
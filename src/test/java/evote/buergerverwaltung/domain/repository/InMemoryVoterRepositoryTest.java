@@ -11,7 +11,7 @@ import org.junit.jupiter.api.Test;
 
 import java.time.LocalDate;
 
-import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.*;
 
 class InMemoryVoterRepositoryTest {
 
@@ -67,4 +67,80 @@ class InMemoryVoterRepositoryTest {
         repo.delete(voter.getVoterId());
         assertTrue(repo.findById(voter.getVoterId()).isEmpty());
     }
+
+    @Test
+    @DisplayName("findById() should return an immutable snapshot, not the saved instance")
+    void findById_shouldReturnSnapshot() {
+        repo.save(voter);
+        Voter found = repo.findById(voter.getVoterId()).orElseThrow();
+
+        assertNotSame(voter, found);
+        assertTrue(found.isSnapshot());
+        assertThrows(IllegalStateException.class, () -> found.markVoted("poll-1"));
+
+        voter.markVoted("poll-1");
+        assertFalse(repo.findById(voter.getVoterId()).orElseThrow().hasVoted("poll-1"),
+                "Änderungen werden erst mit save() sichtbar");
+    }
+
+    @Test
+    @DisplayName("save() should accept repeated saves of the same instance")
+    void save_sameInstanceTwice_shouldSucceed() {
+        repo.save(voter);
+        voter.markVoted("poll-1");
+        repo.save(voter);
+
+        assertTrue(repo.findById(voter.getVoterId()).orElseThrow().hasVoted("poll-1"));
+    }
+
+    @Test
+    @DisplayName("save() should reject a copy based on an outdated version")
+    void save_staleCopy_shouldConflict() {
+        repo.save(voter);
+        Voter first = repo.findById(voter.getVoterId()).orElseThrow().copy();
+        Voter second = repo.findById(voter.getVoterId()).orElseThrow().copy();
+
+        first.markVoted("poll-1");
+        repo.save(first);
+        second.setEmail(new Email("neu@test.de"));
+
+        assertThrows(VoterVersionConflictException.class, () -> repo.save(second));
+        Voter stored = repo.findById(voter.getVoterId()).orElseThrow();
+        assertTrue(stored.hasVoted("poll-1"));
+        assertEquals("max@test.de", stored.getEmail().toString());
+    }
+
+    @Test
+    @DisplayName("save() of a new voter should conflict when the id already exists")
+    void save_newVoterWithExistingId_shouldConflict() {
+        repo.save(voter);
+        Voter duplicate = Voter.reconstruct(voter.getVoterId(), voter.getName(), voter.getAdresse(),
+                new Email("other@test.de"), voter.getGeburtsdatum(), voter.getWahlkreis(),
+                true, voter.getRegisteredAt(), java.util.Set.of());
+
+        assertThrows(VoterVersionConflictException.class, () -> repo.save(duplicate));
+        assertEquals("max@test.de", repo.findById(voter.getVoterId()).orElseThrow().getEmail().toString());
+    }
+
+    @Test
+    @DisplayName("saveIfVersion() should report conflicts by return value and count them")
+    void saveIfVersion_shouldReturnFalseOnConflict() {
+        assertFalse(repo.saveIfVersion(voter, 1), "voter is not stored yet");
+        assertTrue(repo.saveIfVersion(voter, VoterRepository.ABSENT));
+
+        Voter loaded = repo.findById(voter.getVoterId()).orElseThrow();
+        Voter first = loaded.copy();
+        first.markVoted("poll-1");
+        Voter second = loaded.copy();
+        second.markVoted("poll-2");
+
+        assertTrue(repo.saveIfVersion(first, loaded.getVersion()));
+        assertFalse(repo.saveIfVersion(second, loaded.getVersion()));
+
+        Voter stored = repo.findById(voter.getVoterId()).orElseThrow();
+        assertTrue(stored.hasVoted("poll-1"));
+        assertFalse(stored.hasVoted("poll-2"));
+        assertEquals(4, repo.conditionalSaves());
+        assertEquals(2, repo.versionConflicts());
+    }
 }
@@ -0,0 +1,161 @@
+package evote.buergerverwaltung.domain.repository;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import evote.buergerverwaltung.domain.model.Voter;
+import evote.buergerverwaltung.domain.valueobjects.Adresse;
+import evote.buergerverwaltung.domain.valueobjects.Email;
+import evote.buergerverwaltung.domain.valueobjects.Name;
+import evote.buergerverwaltung.infrastructure.persistence.JdbcVoterRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests gegen H2 im Datei-Modus (temporäres Verzeichnis pro Test).
+ */
+class JdbcVoterRepositoryTest {
+
+    @TempDir
+    Path dir;
+
+    private HikariDataSource dataSource;
+    private JdbcVoterRepository repo;
+    private Voter voter;
+
+    @BeforeEach
+    void setup() {
+        dataSource = dataSource();
+        repo = new JdbcVoterRepository(dataSource);
+
+        voter = Voter.register(
+                new Name("Max", "Mustermann"),
+                new Adresse("Straße", "1", "", "12345", "Stadt"),
+                new Email("max@test.de"),
+                LocalDate.of(1990, 1, 1),
+                "WK1"
+        );
+        voter.verify();
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.close();
+    }
+
+    private HikariDataSource dataSource() {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:file:" + dir.resolve("evote"));
+        config.setUsername("sa");
+        config.setMaximumPoolSize(2);
+        return new HikariDataSource(config);
+    }
+
+    @Test
+    @DisplayName("save() should persist all voter fields")
+    void save_shouldRoundTripVoter() {
+        voter.markVoted("poll-1");
+        repo.save(voter);
+
+        Voter found = repo.findById(voter.getVoterId()).orElseThrow();
+        assertTrue(found.isSnapshot());
+        assertEquals(voter.getName(), found.getName());
+        assertEquals(voter.getAdresse(), found.getAdresse());
+        assertEquals(voter.getEmail(), found.getEmail());
+        assertEquals(voter.getGeburtsdatum(), found.getGeburtsdatum());
+        assertEquals(voter.getWahlkreis(), found.getWahlkreis());
+        assertTrue(found.isVerified());
+        assertEquals(voter.getRegisteredAt(), found.getRegisteredAt());
+        assertEquals(Set.of("poll-1"), found.getVotedPollIds());
+        assertEquals(voter.getVersion(), found.getVersion());
+    }
+
+    @Test
+    @DisplayName("findByEmail() and findByWahlkreis() should search case-insensitively")
+    void finders_shouldIgnoreCase() {
+        repo.save(voter);
+
+        assertTrue(repo.findByEmail("MAX@TEST.DE").isPresent());
+        assertTrue(repo.findByWahlkreis("wk1").iterator().hasNext());
+        assertTrue(repo.findById("unknown").isEmpty());
+        assertEquals(1, repo.count());
+    }
+
+    @Test
+    @DisplayName("delete() should remove voter together with its polls")
+    void delete_shouldRemoveVoter() {
+        voter.markVoted("poll-1");
+        repo.save(voter);
+        repo.delete(voter.getVoterId());
+
+        assertTrue(repo.findById(voter.getVoterId()).isEmpty());
+        assertEquals(0, repo.count());
+    }
+
+    @Test
+    @DisplayName("save() should reject a copy based on an outdated version")
+    void save_staleCopy_shouldConflict() {
+        repo.save(voter);
+        Voter first = repo.findById(voter.getVoterId()).orElseThrow().copy();
+        Voter second = repo.findById(voter.getVoterId()).orElseThrow().copy();
+
+        first.markVoted("poll-1");
+        repo.save(first);
+        second.setEmail(new Email("neu@test.de"));
+
+        VoterVersionConflictException conflict =
+                assertThrows(VoterVersionConflictException.class, () -> repo.save(second));
+        assertTrue(conflict.getMessage().contains(voter.getVoterId()));
+        Voter stored = repo.findById(voter.getVoterId()).orElseThrow();
+        assertTrue(stored.hasVoted("poll-1"));
+        assertEquals("max@test.de", stored.getEmail().toString());
+    }
+
+    @Test
+    @DisplayName("saveIfVersion() should report conflicts by return value and count them")
+    void saveIfVersion_shouldReturnFalseOnConflict() {
+        assertFalse(repo.saveIfVersion(voter, 1), "voter is not stored yet");
+        assertTrue(repo.saveIfVersion(voter, VoterRepository.ABSENT));
+        assertFalse(repo.saveIfVersion(voter, VoterRepository.ABSENT), "id already exists");
+
+        Voter loaded = repo.findById(voter.getVoterId()).orElseThrow();
+        Voter first = loaded.copy();
+        first.markVoted("poll-1");
+        Voter second = loaded.copy();
+        second.markVoted("poll-2");
+
+        assertTrue(repo.saveIfVersion(first, loaded.getVersion()));
+        assertFalse(repo.saveIfVersion(second, loaded.getVersion()));
+
+        Voter stored = repo.findById(voter.getVoterId()).orElseThrow();
+        assertTrue(stored.hasVoted("poll-1"));
+        assertFalse(stored.hasVoted("poll-2"));
+        assertEquals(5, repo.conditionalSaves());
+        assertEquals(3, repo.versionConflicts());
+    }
+
+    @Test
+    @DisplayName("voters should survive closing and reopening the database file")
+    void voters_shouldSurviveReopen() {
+        voter.markVoted("poll-1");
+        repo.save(voter);
+        dataSource.close();
+
+        dataSource = dataSource();
+        repo = new JdbcVoterRepository(dataSource);
+
+        Voter found = repo.findById(voter.getVoterId()).orElseThrow();
+        assertTrue(found.hasVoted("poll-1"));
+        Voter updated = found.copy();
+        updated.markVoted("poll-2");
+        assertTrue(repo.saveIfVersion(updated, found.getVersion()), "stored version is restored");
+    }
+}
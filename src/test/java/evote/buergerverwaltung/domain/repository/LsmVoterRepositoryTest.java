@@ -0,0 +1,176 @@
+package evote.buergerverwaltung.domain.repository;
+
+import evote.buergerverwaltung.domain.model.Voter;
+import evote.buergerverwaltung.domain.valueobjects.Adresse;
+import evote.buergerverwaltung.domain.valueobjects.Email;
+import evote.buergerverwaltung.domain.valueobjects.Name;
+import evote.buergerverwaltung.infrastructure.persistence.LsmVoterRepository;
+import evote.infrastructure.lsm.LsmBlockCache;
+import evote.infrastructure.lsm.LsmStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests gegen einen LSM-Store im temporären Verzeichnis.
+ */
+class LsmVoterRepositoryTest {
+
+    @TempDir
+    Path dir;
+
+    private LsmStore store;
+    private LsmVoterRepository repo;
+    private Voter voter;
+
+    @BeforeEach
+    void setup() {
+        store = store();
+        repo = new LsmVoterRepository(store);
+
+        voter = Voter.register(
+                new Name("Max", "Mustermann"),
+                new Adresse("Straße", "1", "", "12345", "Stadt"),
+                new Email("max@test.de"),
+                LocalDate.of(1990, 1, 1),
+                "WK1"
+        );
+        voter.verify();
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.close();
+    }
+
+    private LsmStore store() {
+        return new LsmStore(dir, new LsmStore.Options(4096, 2, false), new LsmBlockCache(64 * 1024));
+    }
+
+    @Test
+    @DisplayName("save() should persist all voter fields")
+    void save_shouldRoundTripVoter() {
+        voter.markVoted("poll-1");
+        repo.save(voter);
+
+        Voter found = repo.findById(voter.getVoterId()).orElseThrow();
+        assertTrue(found.isSnapshot());
+        assertEquals(voter.getName(), found.getName());
+        assertEquals(voter.getAdresse(), found.getAdresse());
+        assertEquals(voter.getEmail(), found.getEmail());
+        assertEquals(voter.getGeburtsdatum(), found.getGeburtsdatum());
+        assertEquals(voter.getWahlkreis(), found.getWahlkreis());
+        assertTrue(found.isVerified());
+        assertEquals(voter.getRegisteredAt(), found.getRegisteredAt());
+        assertEquals(Set.of("poll-1"), found.getVotedPollIds());
+        assertEquals(voter.getVersion(), found.getVersion());
+    }
+
+    @Test
+    @DisplayName("findByEmail() and findByWahlkreis() should search case-insensitively")
+    void finders_shouldIgnoreCase() {
+        repo.save(voter);
+
+        assertTrue(repo.findByEmail("MAX@TEST.DE").isPresent());
+        assertTrue(repo.findByWahlkreis("wk1").iterator().hasNext());
+        assertFalse(repo.findByWahlkreis("WK").iterator().hasNext(), "prefix of a district is no match");
+        assertTrue(repo.findById("unknown").isEmpty());
+        assertEquals(1, repo.count());
+    }
+
+    @Test
+    @DisplayName("save() should move the email index when the email changes")
+    void save_changedEmail_shouldUpdateIndex() {
+        repo.save(voter);
+        Voter changed = repo.findById(voter.getVoterId()).orElseThrow().copy();
+        changed.setEmail(new Email("neu@test.de"));
+        repo.save(changed);
+
+        assertTrue(repo.findByEmail("max@test.de").isEmpty());
+        assertTrue(repo.findByEmail("neu@test.de").isPresent());
+        assertEquals(1, repo.findByWahlkreis("WK1").spliterator().getExactSizeIfKnown());
+        assertEquals(1, repo.count());
+    }
+
+    @Test
+    @DisplayName("delete() should remove voter together with its indexes")
+    void delete_shouldRemoveVoter() {
+        voter.markVoted("poll-1");
+        repo.save(voter);
+        repo.delete(voter.getVoterId());
+        repo.delete(voter.getVoterId());
+
+        assertTrue(repo.findById(voter.getVoterId()).isEmpty());
+        assertTrue(repo.findByEmail("max@test.de").isEmpty());
+        assertFalse(repo.findByWahlkreis("WK1").iterator().hasNext());
+        assertEquals(0, repo.count());
+    }
+
+    @Test
+    @DisplayName("save() should reject a copy based on an outdated version")
+    void save_staleCopy_shouldConflict() {
+        repo.save(voter);
+        Voter first = repo.findById(voter.getVoterId()).orElseThrow().copy();
+        Voter second = repo.findById(voter.getVoterId()).orElseThrow().copy();
+
+        first.markVoted("poll-1");
+        repo.save(first);
+        second.setEmail(new Email("neu@test.de"));
+
+        VoterVersionConflictException conflict =
+                assertThrows(VoterVersionConflictException.class, () -> repo.save(second));
+        assertTrue(conflict.getMessage().contains(voter.getVoterId()));
+        Voter stored = repo.findById(voter.getVoterId()).orElseThrow();
+        assertTrue(stored.hasVoted("poll-1"));
+        assertEquals("max@test.de", stored.getEmail().toString());
+    }
+
+    @Test
+    @DisplayName("saveIfVersion() should report conflicts by return value and count them")
+    void saveIfVersion_shouldReturnFalseOnConflict() {
+        assertFalse(repo.saveIfVersion(voter, 1), "voter is not stored yet");
+        assertTrue(repo.saveIfVersion(voter, VoterRepository.ABSENT));
+        assertFalse(repo.saveIfVersion(voter, VoterRepository.ABSENT), "id already exists");
+
+        Voter loaded = repo.findById(voter.getVoterId()).orElseThrow();
+        Voter first = loaded.copy();
+        first.markVoted("poll-1");
+        Voter second = loaded.copy();
+        second.markVoted("poll-2");
+
+        assertTrue(repo.saveIfVersion(first, loaded.getVersion()));
+        assertFalse(repo.saveIfVersion(second, loaded.getVersion()));
+
+        Voter stored = repo.findById(voter.getVoterId()).orElseThrow();
+        assertTrue(stored.hasVoted("poll-1"));
+        assertFalse(stored.hasVoted("poll-2"));
+        assertEquals(5, repo.conditionalSaves());
+        assertEquals(3, repo.versionConflicts());
+    }
+
+    @Test
+    @DisplayName("voters and count should survive closing and reopening the store")
+    void voters_shouldSurviveReopen() {
+        voter.markVoted("poll-1");
+        repo.save(voter);
+        store.close();
+
+        store = store();
+        repo = new LsmVoterRepository(store);
+
+        assertEquals(1, repo.count());
+        Voter found = repo.findById(voter.getVoterId()).orElseThrow();
+        assertTrue(found.hasVoted("poll-1"));
+        Voter updated = found.copy();
+        updated.markVoted("poll-2");
+        assertTrue(repo.saveIfVersion(updated, found.getVersion()), "stored version is restored");
+    }
+}
@@ -0,0 +1,32 @@
+package evote.buergerverwaltung.events;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VoterParticipatedEventTest {
+
+    @Test
+    @DisplayName("Konstruktor: alle Parameter != null → Event wird erzeugt")
+    void constructor_allNonNull_shouldCreateInstance() {
+        VoterParticipatedEvent event = new VoterParticipatedEvent("voter-1", "poll-1");
+
+        assertEquals("voter-1", event.voterId());
+        assertEquals("poll-1", event.pollId());
+    }
+
+    @Test
+    @DisplayName("Konstruktor: ein Parameter == null → IllegalArgumentException")
+    void constructor_nullField_shouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> new VoterParticipatedEvent(null, "poll-1"));
+        assertThrows(IllegalArgumentException.class, () -> new VoterParticipatedEvent("voter-1", null));
+        assertThrows(IllegalArgumentException.class, () -> new VoterEmailChangedEvent("voter-1", null));
+    }
+
+    @Test
+    @DisplayName("Event trägt keinen Zeitpunkt, der sich mit VoteCastEvent.castAt verknüpfen ließe")
+    void event_shouldNotCarryTimestamp() {
+        assertEquals(2, VoterParticipatedEvent.class.getRecordComponents().length);
+    }
+}
@@ -3,23 +3,31 @@ package evote.buergerverwaltung.service;
 import evote.buergerverwaltung.application.VoterAssembler;
 import evote.buergerverwaltung.application.VoterService;
 import evote.buergerverwaltung.application.dto.VoterCreateRequest;
+import evote.buergerverwaltung.domain.model.Voter;
+import evote.buergerverwaltung.domain.repository.VoterVersionConflictException;
+import evote.buergerverwaltung.events.VoterEmailChangedEvent;
+import evote.buergerverwaltung.events.VoterRegisteredEvent;
 import evote.buergerverwaltung.infrastructure.persistence.InMemoryVoterRepository;
+import evote.stimmvergabe.application.DomainEventPublisher;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class VoterServiceTest {
 
     private VoterService service;
-    private InMemoryVoterRepository repo;
+    private RacingVoterRepository repo;
 
     @BeforeEach
     void setup() {
-        repo = new InMemoryVoterRepository();
+        repo = new RacingVoterRepository();
         VoterAssembler assembler = new VoterAssembler();
         service = new VoterService(repo, assembler);
     }
@@ -62,4 +70,76 @@ class VoterServiceTest {
 
         assertEquals(HttpStatus.NOT_FOUND, ex.getStatusCode());
     }
+
+    @Test
+    @DisplayName("updateEmail() should reload and retry when the voter was changed concurrently")
+    void updateEmail_shouldRetryOnConflict() {
+        var created = service.create(sampleRequest());
+        repo.pendingRaces = 1;
+
+        var res = service.updateEmail(created.id(), "neu@test.de");
+
+        assertEquals("neu@test.de", res.email());
+        Voter stored = repo.findById(created.id()).orElseThrow();
+        assertTrue(stored.hasVoted("race-0"), "parallele Änderung darf nicht überschrieben werden");
+        assertEquals("neu@test.de", stored.getEmail().toString());
+    }
+
+    @Test
+    @DisplayName("updateEmailVersioned() should report the version of the saved voter")
+    void updateEmailVersioned_shouldReturnSavedVersion() {
+        var created = service.create(sampleRequest());
+        repo.pendingRaces = 1;
+
+        var res = service.updateEmailVersioned(created.id(), "neu@test.de");
+
+        assertEquals("neu@test.de", res.voter().email());
+        assertEquals(repo.findById(created.id()).orElseThrow().getVersion(), res.version());
+    }
+
+    @Test
+    @DisplayName("updateEmail() should give up with a conflict after repeated concurrent changes")
+    void updateEmail_shouldFailAfterMaxAttempts() {
+        var created = service.create(sampleRequest());
+        repo.pendingRaces = 3;
+
+        assertThrows(VoterVersionConflictException.class,
+                () -> service.updateEmail(created.id(), "neu@test.de"));
+        assertEquals("max@test.de", repo.findById(created.id()).orElseThrow().getEmail().toString());
+        assertEquals(3, repo.versionConflicts());
+    }
+
+    @Test
+    @DisplayName("create() and updateEmail() should publish events after saving")
+    void createAndUpdateEmail_shouldPublishEvents() {
+        List<Object> published = new ArrayList<>();
+        service = new VoterService(repo, new VoterAssembler(), new DomainEventPublisher(published::add));
+
+        var created = service.create(sampleRequest());
+        service.updateEmail(created.id(), "neu@test.de");
+
+        assertEquals(2, published.size());
+        VoterRegisteredEvent registered = assertInstanceOf(VoterRegisteredEvent.class, published.get(0));
+        assertEquals(created.id(), registered.voterId());
+        assertEquals(new VoterEmailChangedEvent(created.id(), "neu@test.de"), published.get(1));
+    }
+
+    /**
+     * Repository, das vor den nächsten {@code pendingRaces} versionsgeprüften Speichervorgängen eine
+     * parallele Stimmabgabe desselben Voters einschiebt.
+     */
+    static class RacingVoterRepository extends InMemoryVoterRepository {
+        int pendingRaces;
+
+        @Override
+        public boolean saveIfVersion(Voter voter, long expectedVersion) {
+            if (pendingRaces > 0) {
+                pendingRaces--;
+                Voter concurrent = findById(voter.getVoterId()).orElseThrow().copy();
+                concurrent.markVoted("race-" + pendingRaces);
+                save(concurrent);
+            }
+            return super.saveIfVersion(voter, expectedVersion);
+        }
+    }
 }
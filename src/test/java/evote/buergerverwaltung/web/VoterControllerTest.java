@@ -0,0 +1,108 @@
+package evote.buergerverwaltung.web;
+
+import evote.buergerverwaltung.application.VoterService;
+import evote.buergerverwaltung.application.dto.VersionedVoterResponse;
+import evote.buergerverwaltung.application.dto.VoterResponse;
+import evote.buergerverwaltung.infrastructure.web.VoterController;
+import evote.config.EntityTags;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(VoterController.class)
+class VoterControllerTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @MockBean
+    VoterService voterService;
+
+    private static VoterResponse sampleResponse() {
+        return new VoterResponse(
+                "voter-1",
+                new VoterResponse.NameDTO("Max", "Mustermann", "Max Mustermann"),
+                "max@test.de",
+                new VoterResponse.AddressDTO("Musterstraße", "12", "12345", "Berlin", "Musterstraße 12, 12345 Berlin"),
+                "WK1",
+                "2026-01-01T10:00",
+                true
+        );
+    }
+
+    @Test
+    @DisplayName("GET /api/voter/{id} – liefert Profil mit ETag")
+    void getById_returnsEtag() throws Exception {
+        when(voterService.versionOf("voter-1")).thenReturn(1L);
+        when(voterService.getById("voter-1")).thenReturn(sampleResponse());
+
+        mockMvc.perform(get("/api/voter/voter-1"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andExpect(jsonPath("$.email").value("max@test.de"));
+    }
+
+    @Test
+    @DisplayName("GET /api/voter/{id} – passender If-None-Match → 304 ohne Mapping")
+    void getById_matchingEtag_returnsNotModified() throws Exception {
+        when(voterService.versionOf("voter-1")).thenReturn(1L);
+        when(voterService.getById("voter-1")).thenReturn(sampleResponse());
+
+        String etag = mockMvc.perform(get("/api/voter/voter-1"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/voter/voter-1").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        verify(voterService, times(1)).getById("voter-1");
+    }
+
+    @Test
+    @DisplayName("GET /api/voter/{id} – geänderte Version → 200 mit neuem ETag")
+    void getById_changedVersion_returnsNewRepresentation() throws Exception {
+        when(voterService.versionOf("voter-1")).thenReturn(1L);
+        when(voterService.getById("voter-1")).thenReturn(sampleResponse());
+
+        String etag = mockMvc.perform(get("/api/voter/voter-1"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        when(voterService.versionOf("voter-1")).thenReturn(2L);
+
+        String newEtag = mockMvc.perform(get("/api/voter/voter-1").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertNotEquals(etag, newEtag);
+    }
+
+    @Test
+    @DisplayName("PUT /api/voter/{id} – ETag aus dem gespeicherten Stand, nicht aus erneutem Lesen")
+    void updateProfile_etagMatchesSavedVersion() throws Exception {
+        when(voterService.updateEmailVersioned("voter-1", "max@test.de"))
+                .thenReturn(new VersionedVoterResponse(sampleResponse(), 5L));
+        // parallele Stimmabgabe hat den Voter inzwischen weitergezählt
+        when(voterService.versionOf("voter-1")).thenReturn(6L);
+
+        mockMvc.perform(put("/api/voter/voter-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"max@test.de\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, EntityTags.of("voter", "voter-1", 5L)))
+                .andExpect(jsonPath("$.email").value("max@test.de"));
+
+        verify(voterService, never()).versionOf("voter-1");
+    }
+}
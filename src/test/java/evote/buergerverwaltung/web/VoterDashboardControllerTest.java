@@ -0,0 +1,64 @@
+package evote.buergerverwaltung.web;
+
+import evote.abstimmungsverwaltung.application.dto.PollDTO;
+import evote.buergerverwaltung.application.VoterDashboardProjection;
+import evote.buergerverwaltung.application.dto.VoterDashboard;
+import evote.buergerverwaltung.application.dto.VoterResponse;
+import evote.buergerverwaltung.infrastructure.web.VoterDashboardController;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(VoterDashboardController.class)
+class VoterDashboardControllerTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @MockBean
+    VoterDashboardProjection projection;
+
+    @Test
+    @DisplayName("GET /api/voter/{id}/dashboard – liefert Profil, Teilnahmen und offene Abstimmungen")
+    void dashboard_returnsProjection() throws Exception {
+        VoterResponse voter = new VoterResponse(
+                "voter-1",
+                new VoterResponse.NameDTO("Max", "Mustermann", "Max Mustermann"),
+                "max@test.de",
+                new VoterResponse.AddressDTO("Musterstraße", "12", "12345", "Berlin", "Musterstraße 12, 12345 Berlin"),
+                "WK1",
+                "2026-01-01T10:00",
+                true
+        );
+        PollDTO poll = new PollDTO("poll-2", "Mensa", LocalDateTime.parse("2026-01-01T00:00"),
+                LocalDateTime.parse("2026-12-31T00:00"), List.of("Ja", "Nein"));
+        when(projection.dashboard("voter-1")).thenReturn(new VoterDashboard(voter, List.of("poll-1"), List.of(poll)));
+
+        mockMvc.perform(get("/api/voter/voter-1/dashboard"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.voter.email").value("max@test.de"))
+                .andExpect(jsonPath("$.votedPollIds[0]").value("poll-1"))
+                .andExpect(jsonPath("$.activePolls[0].pollId").value("poll-2"));
+    }
+
+    @Test
+    @DisplayName("GET /api/voter/{id}/dashboard – unbekannter Voter → 404")
+    void dashboard_unknownVoter_returnsNotFound() throws Exception {
+        when(projection.dashboard("missing")).thenThrow(new ResponseStatusException(HttpStatus.NOT_FOUND));
+
+        mockMvc.perform(get("/api/voter/missing/dashboard"))
+                .andExpect(status().isNotFound());
+    }
+}
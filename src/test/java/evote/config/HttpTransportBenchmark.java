@@ -0,0 +1,113 @@
+package evote.config;
+
+import evote.EvoteApplication;
+import evote.abstimmungsverwaltung.domain.model.Poll;
+import evote.abstimmungsverwaltung.domain.repository.PollRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lasttest: Standardkonfiguration (HTTP/1.1, ohne Kompression) gegen das Profil "prod"
+ * (h2c, gzip ab 1 KB).
+ *
+ * Für beide Varianten wird die Anwendung auf einem freien Port gestartet, um
+ * {@code benchmark.polls} Abstimmungen ergänzt und anschließend mit
+ * {@code benchmark.threads} parallelen Clients belastet. Gemessen werden
+ * Anfragen pro Sekunde und Bytes im Antwortrumpf (so wie sie über die Leitung gehen).
+ *
+ * Ausführen mit: mvn test -Pbenchmark -Dtest=HttpTransportBenchmark
+ * Parameter: -Dbenchmark.polls (Standard: 20), -Dbenchmark.seconds (Standard: 5 je Endpunkt),
+ * -Dbenchmark.threads (Standard: 16)
+ */
+class HttpTransportBenchmark {
+
+    private static final int POLLS = Integer.getInteger("benchmark.polls", 20);
+    private static final int SECONDS = Integer.getInteger("benchmark.seconds", 5);
+    private static final int THREADS = Integer.getInteger("benchmark.threads", 16);
+    private static final List<String> PATHS = List.of("/api/voter/VOTER-001", "/api/polls?voterId=VOTER-001");
+
+    @Test
+    void compareDefaultWithProdProfile() throws Exception {
+        run("default", HttpClient.Version.HTTP_1_1);
+        run("prod", HttpClient.Version.HTTP_2);
+    }
+
+    private void run(String profile, HttpClient.Version version) throws Exception {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(EvoteApplication.class)
+                .properties("server.port=0", "logging.level.root=WARN");
+        if (!"default".equals(profile)) {
+            builder.profiles(profile);
+        }
+        try (ConfigurableApplicationContext context = builder.run()) {
+            seedPolls(context.getBean(PollRepository.class));
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            HttpClient client = HttpClient.newBuilder().version(version).build();
+
+            for (String path : PATHS) {
+                measure(profile, client, URI.create("http://localhost:" + port + path));
+            }
+        }
+    }
+
+    private void measure(String profile, HttpClient client, URI uri) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri).header("Accept-Encoding", "gzip").GET().build();
+
+        // Aufwärmen und Protokoll/Kodierung ermitteln
+        HttpResponse<byte[]> sample = null;
+        for (int i = 0; i < 2_000; i++) {
+            sample = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        }
+
+        ExecutorService workers = Executors.newFixedThreadPool(THREADS);
+        long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(SECONDS);
+        List<Future<long[]>> results = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            results.add(workers.submit(() -> {
+                long requests = 0;
+                long bytes = 0;
+                while (System.nanoTime() < end) {
+                    bytes += client.send(request, HttpResponse.BodyHandlers.ofByteArray()).body().length;
+                    requests++;
+                }
+                return new long[]{requests, bytes};
+            }));
+        }
+        long requests = 0;
+        long bytes = 0;
+        for (Future<long[]> result : results) {
+            long[] counts = result.get();
+            requests += counts[0];
+            bytes += counts[1];
+        }
+        workers.shutdown();
+
+        System.out.printf("%-7s %-32s %-8s encoding=%-8s %8.0f req/s %6d bytes/response %7.1f MB total%n",
+                profile, uri.getPath() + (uri.getQuery() == null ? "" : "?" + uri.getQuery()),
+                sample.version(), sample.headers().firstValue("Content-Encoding").orElse("identity"),
+                requests / (double) SECONDS, bytes / Math.max(1, requests), bytes / 1e6);
+    }
+
+    private static void seedPolls(PollRepository pollRepository) {
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < POLLS; i++) {
+            pollRepository.save(new Poll("POLL-BENCH-" + i, "Abstimmung im Lasttest Nummer " + i,
+                    List.of("OPTION-REGIONAL", "OPTION-MIX", "OPTION-FOODTRUCK"),
+                    now.minusDays(1), now.plusDays(i + 1), 0, Clock.systemDefaultZone()));
+        }
+    }
+}
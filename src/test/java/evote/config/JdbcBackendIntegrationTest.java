@@ -0,0 +1,60 @@
+package evote.config;
+
+import evote.abstimmungsverwaltung.domain.repository.PollRepository;
+import evote.abstimmungsverwaltung.infrastructure.persistence.JdbcPollRepository;
+import evote.buergerverwaltung.domain.repository.VoterRepository;
+import evote.buergerverwaltung.infrastructure.persistence.CachingVoterRepository;
+import evote.stimmvergabe.application.VoteResult;
+import evote.stimmvergabe.application.VoteService;
+import evote.stimmvergabe.application.dto.VoteCreateRequest;
+import evote.stimmvergabe.domain.repository.VoteRepository;
+import evote.stimmvergabe.infrastructure.persistence.JdbcVoteRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integrationstest für evote.persistence.backend=jdbc: Seeding und Stimmabgabe laufen
+ * über die JDBC-Repositories (H2 im Speicher, damit keine Dateien zurückbleiben).
+ */
+@SpringBootTest(properties = {
+        "evote.persistence.backend=jdbc",
+        "evote.persistence.jdbc.url=jdbc:h2:mem:evote-backend-it;DB_CLOSE_DELAY=-1;QUERY_CACHE_SIZE=64",
+        "evote.persistence.jdbc.pool-size=2"
+})
+@ActiveProfiles("test")
+class JdbcBackendIntegrationTest {
+
+    @Autowired
+    private VoteRepository voteRepository;
+
+    @Autowired
+    private VoterRepository voterRepository;
+
+    @Autowired
+    private PollRepository pollRepository;
+
+    @Autowired
+    private VoteService voteService;
+
+    @Test
+    @DisplayName("Backend jdbc: Repositories sind JDBC-Adapter, Demo-Daten und Stimmen landen in der Datenbank")
+    void jdbcBackend_persistsSeedDataAndVotes() {
+        assertInstanceOf(JdbcVoteRepository.class, voteRepository);
+        assertInstanceOf(CachingVoterRepository.class, voterRepository);
+        assertInstanceOf(JdbcPollRepository.class, pollRepository);
+        assertTrue(voterRepository.findById("VOTER-001").isPresent());
+        assertTrue(pollRepository.findById("POLL-CK-2026").isPresent());
+
+        VoteCreateRequest request = new VoteCreateRequest("POLL-CK-2026", "OPTION-MIX", "VOTER-001", "corr-jdbc-it");
+
+        assertSame(VoteResult.accepted(), voteService.tryCreate(request));
+        assertSame(VoteResult.replayed(), voteService.tryCreate(request));
+        assertTrue(voterRepository.findById("VOTER-001").orElseThrow().hasVoted("POLL-CK-2026"));
+        assertEquals(1, voteRepository.findAllByPollId("POLL-CK-2026").size());
+    }
+}
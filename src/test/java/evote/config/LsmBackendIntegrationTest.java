@@ -0,0 +1,79 @@
+package evote.config;
+
+import evote.abstimmungsverwaltung.domain.repository.PollRepository;
+import evote.abstimmungsverwaltung.infrastructure.persistence.InMemoryPollRepository;
+import evote.buergerverwaltung.domain.repository.VoterRepository;
+import evote.buergerverwaltung.infrastructure.persistence.CachingVoterRepository;
+import evote.stimmvergabe.application.VoteResult;
+import evote.stimmvergabe.application.VoteService;
+import evote.stimmvergabe.application.dto.VoteCreateRequest;
+import evote.stimmvergabe.domain.repository.VoteRepository;
+import evote.stimmvergabe.infrastructure.persistence.LsmVoteRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integrationstest für evote.persistence.backend=lsm: Wähler und Stimmen liegen im
+ * LSM-Store (temporäres Verzeichnis), Abstimmungen bleiben in-memory.
+ */
+@SpringBootTest(properties = {
+        "evote.persistence.backend=lsm",
+        "evote.persistence.lsm.memtable-size=64KB",
+        "evote.persistence.lsm.block-cache-size=1MB"
+})
+@ActiveProfiles("test")
+class LsmBackendIntegrationTest {
+
+    @TempDir
+    static Path dir;
+
+    @DynamicPropertySource
+    static void lsmDirectory(DynamicPropertyRegistry registry) {
+        registry.add("evote.persistence.lsm.directory", () -> dir.toString());
+    }
+
+    @Autowired
+    private VoteRepository voteRepository;
+
+    @Autowired
+    private VoterRepository voterRepository;
+
+    @Autowired
+    private PollRepository pollRepository;
+
+    @Autowired
+    private VoteService voteService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("Backend lsm: Wähler (gecacht) und Stimmen im LSM-Store, Abstimmungen in-memory, Metriken registriert")
+    void lsmBackend_persistsVotersAndVotes() {
+        assertInstanceOf(LsmVoteRepository.class, voteRepository);
+        assertInstanceOf(CachingVoterRepository.class, voterRepository);
+        assertInstanceOf(InMemoryPollRepository.class, pollRepository);
+        assertTrue(voterRepository.findById("VOTER-001").isPresent());
+
+        VoteCreateRequest request = new VoteCreateRequest("POLL-CK-2026", "OPTION-MIX", "VOTER-001", "corr-lsm-it");
+
+        assertSame(VoteResult.accepted(), voteService.tryCreate(request));
+        assertSame(VoteResult.replayed(), voteService.tryCreate(request));
+        assertTrue(voterRepository.findById("VOTER-001").orElseThrow().hasVoted("POLL-CK-2026"));
+        assertEquals(1, voteRepository.findAllByPollId("POLL-CK-2026").size());
+        assertNotNull(meterRegistry.find("evote.lsm.block.cache").tag("result", "hit").functionCounter());
+        assertNotNull(meterRegistry.find("evote.lsm.tables").gauge());
+        assertNotNull(meterRegistry.find("cache.gets").tag("cache", "voters").tag("result", "hit").functionCounter());
+    }
+}
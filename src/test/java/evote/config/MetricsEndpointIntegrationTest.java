@@ -0,0 +1,40 @@
+package evote.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integrationstest für den Prometheus-Export der fachlichen Metriken.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@ActiveProfiles("test")
+class MetricsEndpointIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("GET /actuator/prometheus liefert Repository-Größen, Konfliktzähler und Stage-Histogramme")
+    void prometheusEndpoint_exposesDomainMetrics() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("evote_repository_size{")))
+                .andExpect(content().string(containsString("repository=\"voter\"")))
+                .andExpect(content().string(containsString("evote_repository_conflicts_total{")))
+                .andExpect(content().string(containsString("evote_repository_conditional_saves_total{")))
+                .andExpect(content().string(containsString("evote_vote_stage_seconds_bucket")));
+    }
+}
@@ -0,0 +1,103 @@
+package evote.config;
+
+import evote.abstimmungsverwaltung.domain.model.Poll;
+import evote.abstimmungsverwaltung.domain.repository.PollRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integrationstest für das Produktionsprofil: HTTP/2 (h2c) und Antwortkompression.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles({"test", "prod"})
+class ProdProfileIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private PollRepository pollRepository;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_2)
+            .build();
+
+    @BeforeEach
+    void seedPolls() {
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < 10; i++) {
+            pollRepository.save(new Poll("POLL-PROD-" + i, "Abstimmung für Kompressionstest " + i,
+                    List.of("OPTION-JA", "OPTION-NEIN", "OPTION-ENTHALTUNG"),
+                    now.minusDays(1), now.plusDays(i + 1), 0, Clock.systemDefaultZone()));
+        }
+    }
+
+    private HttpResponse<byte[]> get(String path) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Accept-Encoding", "gzip")
+                .GET()
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    @Test
+    @DisplayName("Abstimmungsliste wird per h2c und gzip-komprimiert ausgeliefert")
+    void pollListing_isCompressedOverHttp2() throws Exception {
+        HttpResponse<byte[]> response = get("/api/polls?voterId=VOTER-001");
+
+        assertEquals(200, response.statusCode());
+        assertEquals(HttpClient.Version.HTTP_2, response.version());
+        assertEquals("gzip", response.headers().firstValue("Content-Encoding").orElse(null));
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(response.body()))) {
+            String json = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            assertTrue(json.contains("POLL-PROD-9"));
+            assertTrue(json.length() > response.body().length);
+        }
+    }
+
+    @Test
+    @DisplayName("Antworten bekannter Länge unter der Schwelle bleiben unkomprimiert")
+    void singlePoll_belowThreshold_isNotCompressed() throws Exception {
+        HttpResponse<byte[]> response = get("/api/polls/POLL-PROD-0");
+
+        assertEquals(200, response.statusCode());
+        assertTrue(response.body().length < 1024);
+        assertTrue(response.headers().firstValue("Content-Encoding").isEmpty());
+        assertTrue(new String(response.body(), StandardCharsets.UTF_8).contains("POLL-PROD-0"));
+    }
+
+    @Test
+    @DisplayName("SSE-Stream der Zwischenstände wird nicht komprimiert")
+    void resultStream_isNotCompressed() throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/polls/POLL-PROD-0/results/stream"))
+                .header("Accept-Encoding", "gzip")
+                .GET()
+                .build();
+        HttpResponse<InputStream> response = client.send(request, HttpResponse.BodyHandlers.ofInputStream());
+        try (InputStream body = response.body()) {
+            assertEquals(200, response.statusCode());
+            assertTrue(response.headers().firstValue("Content-Type").orElse("").startsWith("text/event-stream"));
+            assertTrue(response.headers().firstValue("Content-Encoding").isEmpty());
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package evote.config;
+
+import evote.buergerverwaltung.application.VoterDashboardProjection;
+import evote.buergerverwaltung.application.VoterService;
+import evote.buergerverwaltung.application.dto.VoterDashboard;
+import evote.stimmvergabe.application.VoteResult;
+import evote.stimmvergabe.application.VoteService;
+import evote.stimmvergabe.application.dto.VoteCreateRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integrationstest: das Dashboard-Lesemodell folgt Stimmabgabe und Profiländerung
+ * über den Spring-Event-Bus (asynchron, daher mit Wartezeit).
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class VoterDashboardIntegrationTest {
+
+    @Autowired
+    private VoterDashboardProjection projection;
+
+    @Autowired
+    private VoteService voteService;
+
+    @Autowired
+    private VoterService voterService;
+
+    @Test
+    @DisplayName("Dashboard: Stimmabgabe und neue E-Mail erscheinen ohne erneutes Laden aus dem Store")
+    void dashboard_followsVotesAndEmailChanges() throws InterruptedException {
+        VoterDashboard before = projection.dashboard("VOTER-002");
+        assertTrue(before.activePolls().stream().anyMatch(poll -> poll.pollId().equals("POLL-CK-2026")));
+
+        assertSame(VoteResult.accepted(), voteService.tryCreate(
+                new VoteCreateRequest("POLL-CK-2026", "OPTION-MIX", "VOTER-002", "corr-dashboard-it")));
+        voterService.updateEmail("VOTER-002", "dashboard@test.de");
+
+        VoterDashboard after = await(dashboard -> dashboard.votedPollIds().contains("POLL-CK-2026")
+                && dashboard.voter().email().equals("dashboard@test.de"));
+        assertTrue(after.activePolls().stream().noneMatch(poll -> poll.pollId().equals("POLL-CK-2026")));
+    }
+
+    private VoterDashboard await(Predicate<VoterDashboard> condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        VoterDashboard dashboard = projection.dashboard("VOTER-002");
+        while (!condition.test(dashboard) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            dashboard = projection.dashboard("VOTER-002");
+        }
+        assertTrue(condition.test(dashboard), "dashboard did not catch up: " + dashboard);
+        return dashboard;
+    }
+}
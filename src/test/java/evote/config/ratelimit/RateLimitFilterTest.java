@@ -0,0 +1,194 @@
+package evote.config.ratelimit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.ServletRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitFilterTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private MeterRegistry registry;
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        filter = new RateLimitFilter(
+                new TokenBucketRateLimiter(1, 2, 100, now::get),
+                new TokenBucketRateLimiter(1, 5, 100, now::get),
+                registry);
+    }
+
+    private static MockHttpServletRequest vote(String voterId, String address) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/vote");
+        request.setRemoteAddr(address);
+        request.setContentType("application/json");
+        request.setContent(("{\"pollId\":\"POLL-1\",\"optionId\":\"A\",\"voterId\":\"" + voterId
+                + "\",\"correlationId\":\"c-1\"}").getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    private MockHttpServletResponse perform(MockHttpServletRequest request, MockFilterChain chain) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    @Test
+    @DisplayName("Erlaubte Stimmabgabe erreicht den Controller mit unverändertem Rumpf")
+    void allowedVote_forwardsBody() throws Exception {
+        MockHttpServletRequest request = vote("voter-1", "10.0.0.1");
+        MockFilterChain chain = new MockFilterChain();
+
+        MockHttpServletResponse response = perform(request, chain);
+
+        assertEquals(200, response.getStatus());
+        String forwarded = new String(chain.getRequest().getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        assertTrue(forwarded.contains("\"voterId\":\"voter-1\""));
+    }
+
+    @Test
+    @DisplayName("Zu viele Stimmabgaben derselben voterId → 429 mit Retry-After")
+    void voterLimit_returnsTooManyRequests() throws Exception {
+        perform(vote("voter-1", "10.0.0.1"), new MockFilterChain());
+        perform(vote("voter-1", "10.0.0.2"), new MockFilterChain());
+        MockFilterChain chain = new MockFilterChain();
+
+        MockHttpServletResponse response = perform(vote("voter-1", "10.0.0.3"), chain);
+
+        assertNull(chain.getRequest());
+        assertEquals(429, response.getStatus());
+        assertEquals("1", response.getHeader("Retry-After"));
+        assertEquals(1.0, registry.get("evote.ratelimit.throttled")
+                .tag("endpoint", "vote").tag("key", "voter").counter().count());
+
+        // anderer Voter ist nicht betroffen
+        assertEquals(200, perform(vote("voter-2", "10.0.0.3"), new MockFilterChain()).getStatus());
+    }
+
+    @Test
+    @DisplayName("Zu viele Anfragen derselben Adresse → 429, unabhängig von der voterId")
+    void addressLimit_returnsTooManyRequests() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            assertEquals(200, perform(vote("voter-" + i, "10.0.0.9"), new MockFilterChain()).getStatus());
+        }
+
+        MockHttpServletResponse response = perform(vote("voter-99", "10.0.0.9"), new MockFilterChain());
+
+        assertEquals(429, response.getStatus());
+        assertEquals(1.0, registry.get("evote.ratelimit.throttled")
+                .tag("endpoint", "vote").tag("key", "address").counter().count());
+    }
+
+    @Test
+    @DisplayName("PUT /api/voter/{id} wird per voterId aus dem Pfad begrenzt")
+    void voterProfileUpdate_isLimitedByPathId() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest("PUT", "/api/voter/VOTER-001");
+            request.setRemoteAddr("10.0.1." + i);
+            assertEquals(200, perform(request, new MockFilterChain()).getStatus());
+        }
+        MockHttpServletRequest request = new MockHttpServletRequest("PUT", "/api/voter/VOTER-001");
+        request.setRemoteAddr("10.0.1.9");
+
+        assertEquals(429, perform(request, new MockFilterChain()).getStatus());
+        assertEquals(1.0, registry.get("evote.ratelimit.throttled")
+                .tag("endpoint", "voter").tag("key", "voter").counter().count());
+    }
+
+    @Test
+    @DisplayName("Lesende Zugriffe werden nicht begrenzt")
+    void getRequests_areNotFiltered() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/voter/VOTER-001");
+            assertEquals(200, perform(request, new MockFilterChain()).getStatus());
+        }
+    }
+
+    @Test
+    @DisplayName("voterId wird ohne DTO-Bindung gelesen; ungültiges JSON liefert null")
+    void readVoterId_parsesStreaming() {
+        assertEquals("v-1", RateLimitFilter.readVoterId("{\"a\":{\"b\":1},\"voterId\":\"v-1\"}".getBytes(StandardCharsets.UTF_8)));
+        assertNull(RateLimitFilter.readVoterId("{\"voterId\":42}".getBytes(StandardCharsets.UTF_8)));
+        assertNull(RateLimitFilter.readVoterId("{kaputt".getBytes(StandardCharsets.UTF_8)));
+        assertNull(RateLimitFilter.readVoterId(new byte[0]));
+    }
+
+    @Test
+    @DisplayName("Zu großer Rumpf → 413, mit und ohne Content-Length; Controller wird nicht erreicht")
+    void oversizedVoteBody_isRejected() throws Exception {
+        byte[] oversized = new byte[RateLimitFilter.MAX_VOTE_BODY_BYTES + 1];
+        MockHttpServletRequest declared = vote("voter-1", "10.0.0.1");
+        declared.setContent(oversized);
+        MockFilterChain chain = new MockFilterChain();
+
+        assertEquals(413, perform(declared, chain).getStatus());
+        assertNull(chain.getRequest());
+
+        MockHttpServletRequest chunked = new MockHttpServletRequest("POST", "/api/vote") {
+            @Override
+            public long getContentLengthLong() {
+                return -1;
+            }
+        };
+        chunked.setRemoteAddr("10.0.0.2");
+        chunked.setContent(new byte[RateLimitFilter.MAX_VOTE_BODY_BYTES * 4]);
+        chain = new MockFilterChain();
+
+        assertEquals(413, perform(chunked, chain).getStatus());
+        assertNull(chain.getRequest());
+    }
+
+    @Test
+    @DisplayName("Weitergereichter Rumpf ist per Reader und asynchron per ReadListener lesbar")
+    void forwardedBody_supportsReaderAndReadListener() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+        perform(vote("voter-1", "10.0.0.1"), chain);
+        ServletRequest forwarded = chain.getRequest();
+
+        assertTrue(forwarded.getReader().readLine().contains("\"voterId\":\"voter-1\""));
+
+        ServletInputStream in = forwarded.getInputStream();
+        ByteArrayOutputStream read = new ByteArrayOutputStream();
+        AtomicBoolean allRead = new AtomicBoolean();
+        in.setReadListener(new ReadListener() {
+            @Override
+            public void onDataAvailable() throws IOException {
+                byte[] buffer = new byte[64];
+                int n;
+                while (in.isReady() && (n = in.read(buffer)) != -1) {
+                    read.write(buffer, 0, n);
+                }
+            }
+
+            @Override
+            public void onAllDataRead() {
+                allRead.set(true);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                fail(t);
+            }
+        });
+
+        assertTrue(allRead.get());
+        assertTrue(read.toString(StandardCharsets.UTF_8).contains("\"voterId\":\"voter-1\""));
+    }
+}
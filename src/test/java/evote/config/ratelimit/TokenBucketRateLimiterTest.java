@@ -0,0 +1,110 @@
+package evote.config.ratelimit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketRateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final AtomicLong now = new AtomicLong(1_000 * SECOND);
+
+    @Test
+    @DisplayName("Erlaubt einen Burst und liefert danach die Wartezeit bis zum nächsten Token")
+    void burst_thenWait() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(2, 3, 100, now::get);
+
+        assertEquals(0, limiter.tryAcquire("voter-1"));
+        assertEquals(0, limiter.tryAcquire("voter-1"));
+        assertEquals(0, limiter.tryAcquire("voter-1"));
+
+        assertEquals(SECOND / 2, limiter.tryAcquire("voter-1"));
+    }
+
+    @Test
+    @DisplayName("Tokens werden mit der konfigurierten Rate nachgefüllt")
+    void refill_afterInterval() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(2, 1, 100, now::get);
+        assertEquals(0, limiter.tryAcquire("voter-1"));
+        assertTrue(limiter.tryAcquire("voter-1") > 0);
+
+        now.addAndGet(SECOND / 2);
+
+        assertEquals(0, limiter.tryAcquire("voter-1"));
+    }
+
+    @Test
+    @DisplayName("Schlüssel haben unabhängige Buckets")
+    void keys_areIndependent() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 1, 100, now::get);
+
+        assertEquals(0, limiter.tryAcquire("voter-1"));
+        assertTrue(limiter.tryAcquire("voter-1") > 0);
+        assertEquals(0, limiter.tryAcquire("voter-2"));
+    }
+
+    @Test
+    @DisplayName("Map bleibt begrenzt; volle Buckets werden zuerst entfernt")
+    void eviction_boundsSizeAndKeepsActiveBuckets() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 1, 10, now::get);
+        assertEquals(0, limiter.tryAcquire("active"));
+        now.addAndGet(SECOND / 10);
+
+        // Neue Schlüssel in späteren Zeitpunkten; ältere Buckets sind dann wieder voll
+        for (int i = 0; i < 50; i++) {
+            now.addAndGet(SECOND * 2);
+            limiter.tryAcquire("key-" + i);
+        }
+        assertTrue(limiter.size() <= 10, "size " + limiter.size());
+
+        TokenBucketRateLimiter busy = new TokenBucketRateLimiter(0.001, 1, 10, now::get);
+        for (int i = 0; i < 100; i++) {
+            busy.tryAcquire("key-" + i);
+        }
+        assertTrue(busy.size() <= 10, "size " + busy.size());
+    }
+
+    @Test
+    @DisplayName("Parallele Zugriffe auf einen Schlüssel vergeben genau burst Tokens")
+    void concurrentAcquire_grantsExactlyBurst() throws Exception {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 100, 10, now::get);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<Integer>> futures = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            futures.add(pool.submit(() -> {
+                int granted = 0;
+                for (int i = 0; i < 1_000; i++) {
+                    if (limiter.tryAcquire("shared") == 0) {
+                        granted++;
+                    }
+                }
+                return granted;
+            }));
+        }
+        int granted = 0;
+        for (Future<Integer> future : futures) {
+            granted += future.get();
+        }
+        pool.shutdown();
+
+        assertEquals(100, granted);
+    }
+
+    @Test
+    @DisplayName("Ungültige Parameter werden abgewiesen")
+    void constructor_validatesArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucketRateLimiter(0, 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucketRateLimiter(1, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucketRateLimiter(1, 1, 0));
+    }
+}
@@ -0,0 +1,238 @@
+package evote.infrastructure.lsm;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LsmStoreTest {
+
+    @TempDir
+    Path dir;
+
+    private LsmStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = open(new LsmStore.Options(16 * 1024, 100, false), 1024 * 1024);
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.close();
+    }
+
+    private LsmStore open(LsmStore.Options options, long cacheBytes) {
+        return new LsmStore(dir, options, new LsmBlockCache(cacheBytes));
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String string(byte[] value) {
+        return value == null ? null : new String(value, StandardCharsets.UTF_8);
+    }
+
+    private static List<String> keys(List<LsmStore.Entry> entries) {
+        return entries.stream().map(LsmStore.Entry::key).toList();
+    }
+
+    @Test
+    @DisplayName("put/get/delete: jüngster Wert gewinnt, gelöschte Schlüssel liefern null")
+    void putGetDelete_shouldReturnLatestValue() {
+        store.put("a", bytes("1"));
+        store.put("a", bytes("2"));
+        store.put("b", bytes("3"));
+        store.delete("b");
+
+        assertEquals("2", string(store.get("a")));
+        assertNull(store.get("b"));
+        assertNull(store.get("unknown"));
+        assertNull(store.get(null));
+    }
+
+    @Test
+    @DisplayName("scan: liefert nur Schlüssel mit Präfix, sortiert und ohne Tombstones – auch über SSTables hinweg")
+    void scan_shouldMergeMemtableAndTables() {
+        store.put("poll\0b", bytes("old"));
+        store.put("poll\0c", bytes("c"));
+        store.put("pollx", bytes("x"));
+        store.flush();
+        store.put("poll\0a", bytes("a"));
+        store.put("poll\0b", bytes("new"));
+        store.delete("poll\0c");
+
+        List<LsmStore.Entry> entries = store.scan("poll\0");
+
+        assertEquals(List.of("poll\0a", "poll\0b"), keys(entries));
+        assertEquals("new", string(entries.get(1).value()));
+        assertEquals(1, store.tableCount());
+    }
+
+    @Test
+    @DisplayName("WriteBatch: alle Änderungen eines Batches werden gemeinsam übernommen")
+    void writeBatch_shouldApplyAllChanges() {
+        store.put("old", bytes("x"));
+
+        store.write(new WriteBatch().put("k1", bytes("1")).put("k2", bytes("2")).delete("old"));
+
+        assertEquals("1", string(store.get("k1")));
+        assertEquals("2", string(store.get("k2")));
+        assertNull(store.get("old"));
+        assertThrows(IllegalArgumentException.class, () -> new WriteBatch().put("k", null));
+    }
+
+    @Test
+    @DisplayName("Neustart: Memtable wird aus dem Write-Ahead-Log wiederhergestellt")
+    void reopen_shouldReplayWriteAheadLog() {
+        store.put("flushed", bytes("1"));
+        store.flush();
+        store.put("logged", bytes("2"));
+        store.delete("flushed");
+        store.close();
+
+        store = open(LsmStore.Options.defaults(), 1024 * 1024);
+
+        assertEquals("2", string(store.get("logged")));
+        assertNull(store.get("flushed"), "tombstone from the log hides the flushed value");
+    }
+
+    @Test
+    @DisplayName("Neustart: ein abgeschnittener letzter Log-Datensatz wird verworfen, der Rest bleibt")
+    void reopen_shouldIgnoreTornLogRecord() throws IOException {
+        store.put("complete", bytes("1"));
+        store.close();
+        Files.write(dir.resolve("wal.log"), new byte[]{0, 0, 0, 42, 1, 2}, StandardOpenOption.APPEND);
+
+        store = open(LsmStore.Options.defaults(), 1024 * 1024);
+
+        assertEquals("1", string(store.get("complete")));
+        store.put("after", bytes("2"));
+        assertEquals("2", string(store.get("after")));
+    }
+
+    @Test
+    @DisplayName("Neustart: nach einem defekten Log-Ende geschriebene Datensätze überstehen den nächsten Neustart")
+    void reopen_afterCorruptTail_shouldKeepLaterWrites() throws IOException {
+        store.put("before", bytes("1"));
+        store.close();
+        // vollständiger Rahmen (Länge 4) mit falscher Prüfsumme, danach weiterer Müll
+        Files.write(dir.resolve("wal.log"), new byte[]{0, 0, 0, 4, 9, 9, 9, 9, 1, 2, 3, 4, 5, 6, 7},
+                StandardOpenOption.APPEND);
+
+        store = open(LsmStore.Options.defaults(), 1024 * 1024);
+        store.put("after", bytes("2"));
+        store.close();
+
+        store = open(LsmStore.Options.defaults(), 1024 * 1024);
+        assertEquals("1", string(store.get("before")));
+        assertEquals("2", string(store.get("after")), "write acknowledged after the crash must survive");
+    }
+
+    @Test
+    @DisplayName("Memtable-Grenze: volle Memtables werden als SSTables geschrieben, Werte bleiben lesbar")
+    void write_overMemtableSize_shouldFlush() {
+        for (int i = 0; i < 1000; i++) {
+            store.put(String.format("key-%04d", i), bytes("value-" + i));
+        }
+
+        assertTrue(store.flushCount() > 0);
+        assertTrue(store.tableCount() > 0);
+        assertTrue(store.memtableBytes() < 16 * 1024);
+        assertEquals("value-0", string(store.get("key-0000")));
+        assertEquals("value-999", string(store.get("key-0999")));
+        assertEquals(1000, store.scan("key-").size());
+    }
+
+    @Test
+    @DisplayName("Kompaktierung: Tabellen werden zusammengeführt, Tombstones und alte Versionen fallen weg")
+    void compact_shouldMergeTablesAndDropTombstones() throws IOException {
+        store.put("a", bytes("1"));
+        store.put("b", bytes("1"));
+        store.flush();
+        store.put("a", bytes("2"));
+        store.delete("b");
+        store.flush();
+
+        store.compact();
+
+        assertEquals(1, store.tableCount());
+        assertEquals(1, store.compactionCount());
+        assertEquals("2", string(store.get("a")));
+        assertNull(store.get("b"));
+        assertEquals(List.of("a"), keys(store.scan("")));
+        try (Stream<Path> files = Files.list(dir)) {
+            assertEquals(1, files.filter(p -> p.getFileName().toString().endsWith(".sst")).count());
+        }
+
+        store.close();
+        store = open(LsmStore.Options.defaults(), 1024 * 1024);
+        assertEquals("2", string(store.get("a")));
+        assertNull(store.get("b"));
+    }
+
+    @Test
+    @DisplayName("Hintergrund-Kompaktierung: startet beim Erreichen des Schwellwerts")
+    void compactionTrigger_shouldCompactInBackground() throws InterruptedException {
+        store.close();
+        store = open(new LsmStore.Options(1024, 2, false), 1024 * 1024);
+        for (int i = 0; i < 200; i++) {
+            store.put(String.format("key-%04d", i), bytes("value-" + i));
+        }
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (store.compactionCount() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertTrue(store.compactionCount() > 0);
+        assertEquals(200, store.scan("key-").size());
+    }
+
+    @Test
+    @DisplayName("Block-Cache: wiederholte Lesezugriffe auf SSTables treffen den Cache, Kapazität 0 cached nicht")
+    void blockCache_shouldServeRepeatedReads() {
+        store.put("a", bytes("1"));
+        store.flush();
+
+        store.get("a");
+        long misses = store.blockCache().misses();
+        store.get("a");
+        store.get("a");
+
+        assertEquals(misses, store.blockCache().misses());
+        assertTrue(store.blockCache().hits() >= 2);
+        assertTrue(store.blockCache().sizeInBytes() > 0);
+        assertTrue(store.blockCache().sizeInBytes() <= store.blockCache().capacityInBytes());
+
+        store.close();
+        store = open(LsmStore.Options.defaults(), 0);
+        store.get("a");
+        store.get("a");
+        assertEquals(0, store.blockCache().hits());
+        assertEquals(0, store.blockCache().sizeInBytes());
+    }
+
+    @Test
+    @DisplayName("Optionen: ungültige Werte und Schreiben nach close() werden abgewiesen")
+    void invalidOptionsAndClosedStore_shouldBeRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new LsmStore.Options(0, 4, false));
+        assertThrows(IllegalArgumentException.class, () -> new LsmStore.Options(1024, 1, false));
+        assertThrows(IllegalArgumentException.class, () -> new LsmBlockCache(-1));
+
+        store.close();
+        assertThrows(IllegalStateException.class, () -> store.put("a", bytes("1")));
+    }
+}
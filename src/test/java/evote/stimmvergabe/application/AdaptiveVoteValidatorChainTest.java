@@ -0,0 +1,130 @@
+package evote.stimmvergabe.application;
+
+import evote.abstimmungsverwaltung.domain.model.Poll;
+import evote.buergerverwaltung.domain.model.Voter;
+import evote.stimmvergabe.application.AdaptiveVoteValidatorChain.NamedValidator;
+import evote.stimmvergabe.domain.model.Vote;
+import evote.stimmvergabe.domain.validator.CompositeVoteValidator;
+import evote.stimmvergabe.domain.validator.VoteRejectionReason;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveVoteValidatorChainTest {
+
+    /** Validator, der immer annimmt bzw. immer mit festem Grund ablehnt. */
+    static class FixedValidator implements CompositeVoteValidator {
+        VoteRejectionReason reason;
+        int calls;
+
+        FixedValidator(VoteRejectionReason reason) {
+            this.reason = reason;
+        }
+
+        @Override
+        public void validate(Vote vote, Poll poll, Voter voter) {
+            calls++;
+            if (reason != null) {
+                throw new IllegalStateException(reason.tag());
+            }
+        }
+
+        @Override
+        public VoteRejectionReason check(Vote vote, Poll poll, Voter voter) {
+            calls++;
+            return reason;
+        }
+    }
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("Ohne Verkehr bleibt die Startreihenfolge erhalten")
+    void initialOrder_isDeclarationOrder() {
+        AdaptiveVoteValidatorChain chain = new AdaptiveVoteValidatorChain(List.of(
+                new NamedValidator("poll", new FixedValidator(null)),
+                new NamedValidator("voter", new FixedValidator(null))), registry, 10);
+
+        assertEquals(List.of("poll", "voter"), chain.currentOrder());
+        assertNull(chain.check(null, null, null));
+    }
+
+    @Test
+    @DisplayName("Ein häufig ablehnender Validator wird nach vorne sortiert")
+    void rejectingValidator_movesToFront() {
+        FixedValidator accepting = new FixedValidator(null);
+        FixedValidator rejecting = new FixedValidator(VoteRejectionReason.VOTER_NOT_ELIGIBLE);
+        AdaptiveVoteValidatorChain chain = new AdaptiveVoteValidatorChain(List.of(
+                new NamedValidator("poll", accepting),
+                new NamedValidator("voter", rejecting)), registry, 10);
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals(VoteRejectionReason.VOTER_NOT_ELIGIBLE, chain.check(null, null, null));
+        }
+        assertEquals(List.of("voter", "poll"), chain.currentOrder());
+
+        assertEquals(0.0, registry.get("evote.vote.validator.position").tag("validator", "voter").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Neusortierung ändert den gemeldeten Grund nicht: der vorrangige Schritt gewinnt weiter")
+    void reorder_keepsReportedReason() {
+        FixedValidator poll = new FixedValidator(VoteRejectionReason.POLL_NOT_OPEN);
+        FixedValidator voter = new FixedValidator(VoteRejectionReason.VOTER_NOT_ELIGIBLE);
+        FixedValidator option = new FixedValidator(null);
+        AdaptiveVoteValidatorChain chain = new AdaptiveVoteValidatorChain(List.of(
+                new NamedValidator("poll", poll),
+                new NamedValidator("voter", voter),
+                new NamedValidator("option", option)), registry, 10);
+        assertEquals(VoteRejectionReason.POLL_NOT_OPEN, chain.check(null, null, null));
+        assertThrows(IllegalStateException.class, () -> chain.validate(null, null, null));
+
+        // Verkehr, in dem nur 'voter' ablehnt: 'voter' wird vorgezogen
+        poll.reason = null;
+        for (int i = 0; i < 10; i++) {
+            chain.check(null, null, null);
+        }
+        assertEquals("voter", chain.currentOrder().get(0));
+
+        poll.reason = VoteRejectionReason.POLL_NOT_OPEN;
+        int optionCalls = option.calls;
+        assertEquals(VoteRejectionReason.POLL_NOT_OPEN, chain.check(null, null, null));
+        IllegalStateException ex = assertThrows(IllegalStateException.class, () -> chain.validate(null, null, null));
+        assertEquals(VoteRejectionReason.POLL_NOT_OPEN.tag(), ex.getMessage());
+        assertEquals(optionCalls, option.calls, "nachrangige Schritte werden weiter übersprungen");
+    }
+
+    @Test
+    @DisplayName("reorderInterval 0 hält die Reihenfolge fest")
+    void zeroInterval_keepsOrder() {
+        AdaptiveVoteValidatorChain chain = new AdaptiveVoteValidatorChain(List.of(
+                new NamedValidator("poll", new FixedValidator(null)),
+                new NamedValidator("voter", new FixedValidator(VoteRejectionReason.VOTER_NOT_ELIGIBLE))),
+                registry, 0);
+
+        for (int i = 0; i < 100; i++) {
+            chain.check(null, null, null);
+        }
+
+        assertEquals(List.of("poll", "voter"), chain.currentOrder());
+    }
+
+    @Test
+    @DisplayName("validate(): Exception wird weitergereicht und als Ablehnung des Validators gezählt")
+    void validate_countsRejectionAndRethrows() {
+        AdaptiveVoteValidatorChain chain = new AdaptiveVoteValidatorChain(List.of(
+                new NamedValidator("poll", new FixedValidator(null)),
+                new NamedValidator("option", new FixedValidator(VoteRejectionReason.INVALID_OPTION))),
+                registry, 0);
+
+        assertThrows(IllegalStateException.class, () -> chain.validate(null, null, null));
+
+        assertEquals(1.0, registry.get("evote.vote.validator.rejections").tag("validator", "option").counter().count());
+        assertEquals(0.0, registry.get("evote.vote.validator.rejections").tag("validator", "poll").counter().count());
+        assertEquals(1L, registry.get("evote.vote.validator.duration").tag("validator", "poll").timer().count());
+    }
+}
@@ -0,0 +1,32 @@
+package evote.stimmvergabe.application;
+
+import evote.stimmvergabe.events.VoteCastEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DomainEventPublisherTest {
+
+    @Test
+    @DisplayName("publish(): Ereignis wird an den Spring-Event-Bus weitergereicht")
+    void publish_shouldForwardToApplicationEventPublisher() {
+        List<Object> published = new ArrayList<>();
+        DomainEventPublisher publisher = new DomainEventPublisher(published::add);
+        VoteCastEvent event = new VoteCastEvent("vote-1", "poll-1", "option-A", Instant.parse("2030-01-01T12:00:00Z"));
+
+        publisher.publish(event);
+
+        assertEquals(List.of(event), published);
+    }
+
+    @Test
+    @DisplayName("publish(): ohne Spring-Publisher wird das Ereignis verworfen")
+    void publish_withoutDelegate_shouldDoNothing() {
+        assertDoesNotThrow(() -> new DomainEventPublisher().publish("event"));
+    }
+}
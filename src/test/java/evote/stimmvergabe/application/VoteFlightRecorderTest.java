@@ -0,0 +1,70 @@
+package evote.stimmvergabe.application;
+
+import evote.stimmvergabe.application.dto.VoteTraceRecord;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VoteFlightRecorderTest {
+
+    @Test
+    @DisplayName("Deaktivierter Recorder liefert die gemeinsame No-Op-Trace und zeichnet nichts auf")
+    void disabledRecorder_recordsNothing() {
+        VoteFlightRecorder recorder = VoteFlightRecorder.disabled();
+
+        VoteTrace trace = recorder.begin("corr-1", "poll-1");
+        trace.record(VoteStage.POLL_LOOKUP, 1_000);
+        recorder.finish(trace);
+
+        assertSame(VoteTrace.DISABLED, trace);
+        assertTrue(recorder.slowRequests().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Langsame Requests werden mit Aufschlüsselung nach Pipeline-Schritt aufgezeichnet")
+    void slowRequest_isRecordedWithStageBreakdown() {
+        VoteFlightRecorder recorder = new VoteFlightRecorder(true, 0, 4, Clock.systemUTC());
+
+        VoteTrace trace = recorder.begin("corr-1", "poll-1");
+        trace.record(VoteStage.POLL_LOOKUP, 5_000);
+        trace.record(VoteStage.VOTE_SAVE, 7_000);
+        trace.outcome("accepted");
+        recorder.finish(trace);
+
+        List<VoteTraceRecord> records = recorder.slowRequests();
+        assertEquals(1, records.size());
+        VoteTraceRecord record = records.get(0);
+        assertEquals("corr-1", record.correlationId());
+        assertEquals("accepted", record.outcome());
+        assertEquals(List.of("poll_lookup", "vote_save"), List.copyOf(record.stageMicros().keySet()));
+        assertEquals(5L, record.stageMicros().get("poll_lookup"));
+    }
+
+    @Test
+    @DisplayName("Schnelle Requests unterhalb der Schwelle werden verworfen")
+    void fastRequest_isDiscarded() {
+        VoteFlightRecorder recorder = new VoteFlightRecorder(true, 60_000, 4, Clock.systemUTC());
+
+        recorder.finish(recorder.begin("corr-1", "poll-1"));
+
+        assertTrue(recorder.slowRequests().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Ringpuffer behält nur die letzten N Einträge")
+    void ringBuffer_keepsOnlyLastEntries() {
+        VoteFlightRecorder recorder = new VoteFlightRecorder(true, 0, 2, Clock.systemUTC());
+
+        for (int i = 0; i < 5; i++) {
+            recorder.finish(recorder.begin("corr-" + i, "poll-1"));
+        }
+
+        List<String> ids = recorder.slowRequests().stream().map(VoteTraceRecord::correlationId).toList();
+        assertEquals(2, ids.size());
+        assertTrue(ids.containsAll(List.of("corr-3", "corr-4")));
+    }
+}
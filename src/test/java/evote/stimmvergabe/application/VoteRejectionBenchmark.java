@@ -0,0 +1,118 @@
+package evote.stimmvergabe.application;
+
+import evote.abstimmungsverwaltung.domain.model.Poll;
+import evote.abstimmungsverwaltung.domain.repository.PollRepository;
+import evote.abstimmungsverwaltung.domain.validator.PollValidator;
+import evote.abstimmungsverwaltung.infrastructure.persistence.InMemoryPollRepository;
+import evote.buergerverwaltung.domain.model.Voter;
+import evote.buergerverwaltung.domain.repository.VoterRepository;
+import evote.buergerverwaltung.domain.validator.VoterValidator;
+import evote.buergerverwaltung.domain.valueobjects.Adresse;
+import evote.buergerverwaltung.domain.valueobjects.Email;
+import evote.buergerverwaltung.domain.valueobjects.Name;
+import evote.buergerverwaltung.infrastructure.persistence.InMemoryVoterRepository;
+import evote.stimmvergabe.application.dto.VoteCreateRequest;
+import evote.stimmvergabe.domain.validator.VoteOptionValidator;
+import evote.stimmvergabe.domain.validator.adapter.PollValidatorAdapter;
+import evote.stimmvergabe.domain.validator.adapter.VoterValidatorAdapter;
+import evote.stimmvergabe.infrastructure.persistence.InMemoryVoteRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Benchmark: Stimmabgabe mit 50 % Abweisungen (Doppelstimmen) im Exception- und im Result-Modus.
+ *
+ * Jede zweite Anfrage stammt von einem Bürger, der bereits abgestimmt hat. Im Exception-Modus
+ * wird die Abweisung als IllegalStateException samt Stacktrace geworfen und gefangen, im
+ * Result-Modus kommt ein vorab erzeugtes {@link VoteResult} zurück. Die Aufrufe laufen in
+ * {@code benchmark.stackDepth} zusätzlichen Frames, um den Stack von Tomcat, Filtern und
+ * Spring MVC nachzubilden, den eine Exception mitschreiben muss.
+ *
+ * Ausführen mit: mvn test -Pbenchmark -Dtest=VoteRejectionBenchmark
+ * Parameter: -Dbenchmark.requests (Standard: 200000), -Dbenchmark.stackDepth (Standard: 120),
+ * -Dbenchmark.rounds (Standard: 5)
+ */
+class VoteRejectionBenchmark {
+
+    private static final int REQUESTS = Integer.getInteger("benchmark.requests", 200_000);
+    private static final int STACK_DEPTH = Integer.getInteger("benchmark.stackDepth", 120);
+    private static final int ROUNDS = Integer.getInteger("benchmark.rounds", 5);
+
+    private final Clock clock = Clock.fixed(Instant.parse("2030-01-01T12:00:00Z"), ZoneOffset.UTC);
+
+    @Test
+    void rejectionStorm() {
+        for (int round = 1; round <= ROUNDS; round++) {
+            long exception = run(true);
+            long result = run(false);
+            System.out.printf("Runde %d: exception %.2f us/Anfrage, result %.2f us/Anfrage%n",
+                    round, exception / 1000.0 / REQUESTS, result / 1000.0 / REQUESTS);
+        }
+    }
+
+    private long run(boolean throwing) {
+        VoterRepository voters = new InMemoryVoterRepository();
+        PollRepository polls = new InMemoryPollRepository();
+        polls.save(new Poll("poll-1", "Benchmark", List.of("option-1", "option-2"),
+                LocalDateTime.parse("2029-12-31T00:00:00"), LocalDateTime.parse("2030-12-31T00:00:00"),
+                0, clock));
+        VoteService service = new VoteService(new InMemoryVoteRepository(), voters, polls, clock,
+                new DomainEventPublisher() {
+                    @Override
+                    public void publish(Object event) {
+                    }
+                },
+                new PollValidatorAdapter(new PollValidator(), clock)
+                        .and(new VoterValidatorAdapter(new VoterValidator()))
+                        .and(new VoteOptionValidator()));
+
+        String[] fresh = new String[REQUESTS / 2];
+        for (int i = 0; i < fresh.length; i++) {
+            fresh[i] = verifiedVoter(voters);
+        }
+        String repeat = verifiedVoter(voters);
+        service.create(new VoteCreateRequest("poll-1", "option-1", repeat, "warmup"));
+
+        long start = System.nanoTime();
+        for (int i = 0; i < REQUESTS; i++) {
+            boolean reject = (i & 1) == 1;
+            String voterId = reject ? repeat : fresh[i / 2];
+            VoteCreateRequest req = new VoteCreateRequest("poll-1", "option-2", voterId, "corr-" + i);
+            nested(STACK_DEPTH, service, req, throwing);
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static boolean nested(int depth, VoteService service, VoteCreateRequest req, boolean throwing) {
+        if (depth > 0) {
+            return nested(depth - 1, service, req, throwing);
+        }
+        if (!throwing) {
+            return service.tryCreate(req).isAccepted();
+        }
+        try {
+            service.create(req);
+            return true;
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            return false;
+        }
+    }
+
+    private static String verifiedVoter(VoterRepository voters) {
+        Voter voter = Voter.register(
+                new Name("Max", "Mustermann"),
+                new Adresse("Musterstraße", "1", "", "12345", "Berlin"),
+                new Email("max@example.com"),
+                LocalDate.of(1990, 1, 1),
+                "Mitte");
+        voter.verify();
+        voters.save(voter);
+        return voter.getVoterId();
+    }
+}
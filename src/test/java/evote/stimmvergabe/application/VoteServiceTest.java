@@ -2,6 +2,7 @@ package evote.stimmvergabe.application;
 
 import evote.stimmvergabe.application.dto.VoteCreateRequest;
 import evote.stimmvergabe.domain.model.Vote;
+import evote.stimmvergabe.domain.model.VoteIdGenerator;
 import evote.stimmvergabe.domain.repository.VoteRepository;
 import evote.stimmvergabe.domain.validator.*;
 import evote.stimmvergabe.domain.validator.adapter.PollValidatorAdapter;
@@ -15,19 +16,24 @@ import evote.buergerverwaltung.infrastructure.persistence.InMemoryVoterRepositor
 import evote.buergerverwaltung.domain.valueobjects.Name;
 import evote.buergerverwaltung.domain.valueobjects.Adresse;
 import evote.buergerverwaltung.domain.valueobjects.Email;
+import evote.buergerverwaltung.events.VoterParticipatedEvent;
 import evote.abstimmungsverwaltung.domain.model.Poll;
 import evote.abstimmungsverwaltung.domain.repository.PollRepository;
 import evote.abstimmungsverwaltung.domain.validator.PollValidator;
 import evote.abstimmungsverwaltung.infrastructure.persistence.InMemoryPollRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import java.time.Clock;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.ZoneOffset;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -36,9 +42,11 @@ class VoteServiceTest {
     // Fake Event Publisher zum Testen
     static class FakeEventPublisher extends DomainEventPublisher {
         Object published;
+        final List<Object> all = new ArrayList<>();
         @Override
         public void publish(Object event) {
             this.published = event;
+            all.add(event);
         }
     }
 
@@ -147,6 +155,14 @@ class VoteServiceTest {
         assertEquals(stored.getPollId(), evt.pollId());
         assertEquals(stored.getOptionId(), evt.optionId());
         assertEquals(stored.getCastAt(), evt.castAt());
+
+        // 4) Wahlkreis des Voters wird mit der Stimme und im Event mitgeführt
+        assertEquals("Mitte", stored.getDistrict());
+        assertEquals("Mitte", evt.district());
+
+        // 5) Teilnahme wird getrennt von der Stimme publiziert (ohne Option)
+        assertEquals(2, publisher.all.size());
+        assertEquals(new VoterParticipatedEvent(voter.getVoterId(), "poll-1"), publisher.all.get(0));
     }
 
     @Test
@@ -407,4 +423,244 @@ class VoteServiceTest {
         assertNotNull(updatedVoter);
         assertTrue(updatedVoter.hasVoted("poll-1"), "Voter sollte für poll-1 abgestimmt haben");
     }
+
+    @Test
+    @DisplayName("create() nach Ablauf des Idempotenz-Fensters: Wiederholung wird über die Teilnahmeprüfung abgewiesen")
+    void create_replayAfterIdempotencyWindow_isRejectedByParticipationCheck() {
+        // ---------- Arrange ----------
+        Instant[] now = {Instant.parse("2030-01-01T12:00:00Z")};
+        Clock repositoryClock = new Clock() {
+            @Override
+            public ZoneOffset getZone() {
+                return ZoneOffset.UTC;
+            }
+
+            @Override
+            public Clock withZone(java.time.ZoneId zone) {
+                return this;
+            }
+
+            @Override
+            public Instant instant() {
+                return now[0];
+            }
+        };
+        VoteRepository voteRepo = new InMemoryVoteRepository(Duration.ofMinutes(5), repositoryClock);
+        VoterRepository voterRepo = new InMemoryVoterRepository();
+        PollRepository pollRepo = new InMemoryPollRepository();
+        Voter voter = createVerifiedVoter(voterRepo, "Max", "Mustermann");
+        createOpenPoll(pollRepo, "poll-1", "option-A");
+        VoteService service = new VoteService(voteRepo, voterRepo, pollRepo, fixedClock,
+                new FakeEventPublisher(), createCompositeValidator());
+        VoteCreateRequest req = new VoteCreateRequest("poll-1", "option-A", voter.getVoterId(), "corr-window");
+
+        // ---------- Act ----------
+        service.create(req);
+        service.create(req); // innerhalb des Fensters: idempotent
+        now[0] = now[0].plus(Duration.ofMinutes(10));
+
+        // ---------- Assert ----------
+        assertThrows(IllegalStateException.class, () -> service.create(req));
+        assertEquals(1, voteRepo.count());
+    }
+
+    @Test
+    @DisplayName("create() zählt angenommene Stimmen, idempotente Wiederholungen und Stage-Latenzen")
+    void create_recordsAcceptedReplayAndStageMetrics() {
+        // ---------- Arrange ----------
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        VoteMetrics metrics = new VoteMetrics(registry);
+        VoterRepository voterRepo = new InMemoryVoterRepository();
+        PollRepository pollRepo = new InMemoryPollRepository();
+
+        Voter voter = createVerifiedVoter(voterRepo, "Max", "Mustermann");
+        createOpenPoll(pollRepo, "poll-1", "option-A");
+
+        VoteService service = new VoteService(new InMemoryVoteRepository(), voterRepo, pollRepo, fixedClock,
+                new FakeEventPublisher(), createCompositeValidator(), metrics, VoteFlightRecorder.disabled(), VoteIdGenerator.monotonic());
+        VoteCreateRequest req = new VoteCreateRequest("poll-1", "option-A", voter.getVoterId(), "corr-metrics");
+
+        // ---------- Act ----------
+        service.create(req);
+        service.create(req);
+
+        // ---------- Assert ----------
+        assertEquals(1.0, registry.get("evote.votes.accepted").tag("poll", "poll-1").counter().count());
+        assertEquals(1.0, registry.get("evote.votes.idempotent.replays").counter().count());
+        assertEquals(1, registry.get("evote.vote.stage").tag("stage", "publish").timer().count());
+        assertEquals(2, registry.get("evote.vote.stage").tag("stage", "idempotency_check").timer().count());
+    }
+
+    @Test
+    @DisplayName("create() zählt Ablehnungen pro Poll und Grund")
+    void create_recordsRejectionsPerReason() {
+        // ---------- Arrange ----------
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        VoteMetrics metrics = new VoteMetrics(registry);
+        VoterRepository voterRepo = new InMemoryVoterRepository();
+        PollRepository pollRepo = new InMemoryPollRepository();
+
+        Voter voter = createVerifiedVoter(voterRepo, "Max", "Mustermann");
+        createOpenPoll(pollRepo, "poll-1", "option-A");
+
+        CompositeVoteValidator validator = new MeteredVoteValidator(VoteRejectionReason.POLL_NOT_OPEN,
+                        new PollValidatorAdapter(new PollValidator(), fixedClock), metrics)
+                .and(new MeteredVoteValidator(VoteRejectionReason.VOTER_NOT_ELIGIBLE,
+                        new VoterValidatorAdapter(new VoterValidator()), metrics))
+                .and(new MeteredVoteValidator(VoteRejectionReason.INVALID_OPTION,
+                        new VoteOptionValidator(), metrics));
+        VoteService service = new VoteService(new InMemoryVoteRepository(), voterRepo, pollRepo, fixedClock,
+                new FakeEventPublisher(), validator, metrics, VoteFlightRecorder.disabled(), VoteIdGenerator.monotonic());
+
+        // ---------- Act ----------
+        assertThrows(IllegalArgumentException.class, () -> service.create(
+                new VoteCreateRequest("poll-1", "option-X", voter.getVoterId(), "corr-1")));
+        assertThrows(IllegalArgumentException.class, () -> service.create(
+                new VoteCreateRequest("poll-404", "option-A", voter.getVoterId(), "corr-2")));
+        assertThrows(IllegalArgumentException.class, () -> service.create(
+                new VoteCreateRequest("poll-1", "option-A", "unknown-voter", "corr-3")));
+
+        // ---------- Assert ----------
+        assertEquals(1.0, registry.get("evote.votes.rejected")
+                .tags("poll", "poll-1", "reason", "invalid_option").counter().count());
+        assertEquals(1.0, registry.get("evote.votes.rejected")
+                .tags("poll", "unknown", "reason", "poll_not_found").counter().count());
+        assertEquals(1.0, registry.get("evote.votes.rejected")
+                .tags("poll", "poll-1", "reason", "voter_not_found").counter().count());
+    }
+
+    @Test
+    @DisplayName("create() zählt unbekannte Polls gemeinsam unter poll=unknown, nicht je Client-ID")
+    void create_unknownPolls_shareOneMeter() {
+        // ---------- Arrange ----------
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        VoteMetrics metrics = new VoteMetrics(registry);
+        VoterRepository voterRepo = new InMemoryVoterRepository();
+        Voter voter = createVerifiedVoter(voterRepo, "Max", "Mustermann");
+        VoteService service = new VoteService(new InMemoryVoteRepository(), voterRepo, new InMemoryPollRepository(),
+                fixedClock, new FakeEventPublisher(), (vote, poll, v) -> { }, metrics,
+                VoteFlightRecorder.disabled(), VoteIdGenerator.monotonic());
+
+        // ---------- Act ----------
+        assertThrows(IllegalArgumentException.class, () -> service.create(
+                new VoteCreateRequest("poll-random-1", "option-A", voter.getVoterId(), "corr-1")));
+        assertThrows(IllegalArgumentException.class, () -> service.create(
+                new VoteCreateRequest("poll-random-2", "option-A", voter.getVoterId(), "corr-2")));
+
+        // ---------- Assert ----------
+        assertEquals(1, registry.find("evote.votes.rejected").counters().size());
+        assertEquals(2.0, registry.get("evote.votes.rejected")
+                .tags("poll", "unknown", "reason", "poll_not_found").counter().count());
+    }
+
+    @Test
+    @DisplayName("tryCreate(): meldet Annahme, Wiederholung und jede Ablehnung ohne Exception")
+    void tryCreate_reportsOutcomesWithoutExceptions() {
+        // ---------- Arrange ----------
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        VoteMetrics metrics = new VoteMetrics(registry);
+        VoteRepository voteRepo = new InMemoryVoteRepository();
+        VoterRepository voterRepo = new InMemoryVoterRepository();
+        PollRepository pollRepo = new InMemoryPollRepository();
+
+        Voter voter = createVerifiedVoter(voterRepo, "Max", "Mustermann");
+        Voter unverified = Voter.register(new Name("Erika", "Muster"),
+                new Adresse("Musterstraße", "2", "", "12345", "Berlin"),
+                new Email("erika@example.com"), LocalDate.of(1990, 1, 1), "Mitte");
+        voterRepo.save(unverified);
+        createOpenPoll(pollRepo, "poll-1", "option-A");
+        Poll closed = createOpenPoll(pollRepo, "poll-closed", "option-A");
+        closed.close();
+
+        CompositeVoteValidator validator = new MeteredVoteValidator(VoteRejectionReason.POLL_NOT_OPEN,
+                        new PollValidatorAdapter(new PollValidator(), fixedClock), metrics)
+                .and(new MeteredVoteValidator(VoteRejectionReason.VOTER_NOT_ELIGIBLE,
+                        new VoterValidatorAdapter(new VoterValidator()), metrics))
+                .and(new MeteredVoteValidator(VoteRejectionReason.INVALID_OPTION,
+                        new VoteOptionValidator(), metrics));
+        VoteService service = new VoteService(voteRepo, voterRepo, pollRepo, fixedClock,
+                new FakeEventPublisher(), validator, metrics, VoteFlightRecorder.disabled(), VoteIdGenerator.monotonic());
+
+        // ---------- Act & Assert ----------
+        VoteCreateRequest accepted = new VoteCreateRequest("poll-1", "option-A", voter.getVoterId(), "corr-1");
+        assertSame(VoteResult.accepted(), service.tryCreate(accepted));
+        assertSame(VoteResult.replayed(), service.tryCreate(accepted));
+        assertTrue(VoteResult.replayed().isAccepted());
+
+        assertEquals(VoteRejectionReason.VOTER_NOT_ELIGIBLE, service.tryCreate(
+                new VoteCreateRequest("poll-1", "option-A", voter.getVoterId(), "corr-2")).rejectionReason());
+        assertEquals(VoteRejectionReason.VOTER_NOT_ELIGIBLE, service.tryCreate(
+                new VoteCreateRequest("poll-1", "option-A", unverified.getVoterId(), "corr-3")).rejectionReason());
+        assertEquals(VoteRejectionReason.POLL_NOT_OPEN, service.tryCreate(
+                new VoteCreateRequest("poll-closed", "option-A", voter.getVoterId(), "corr-4")).rejectionReason());
+        Voter other = createVerifiedVoter(voterRepo, "Erik", "Beispiel");
+        assertEquals(VoteRejectionReason.INVALID_OPTION, service.tryCreate(
+                new VoteCreateRequest("poll-1", "option-X", other.getVoterId(), "corr-5")).rejectionReason());
+        assertEquals(VoteRejectionReason.POLL_NOT_FOUND, service.tryCreate(
+                new VoteCreateRequest("poll-404", "option-A", voter.getVoterId(), "corr-6")).rejectionReason());
+        assertEquals(VoteRejectionReason.VOTER_NOT_FOUND, service.tryCreate(
+                new VoteCreateRequest("poll-1", "option-A", "unknown-voter", "corr-7")).rejectionReason());
+
+        assertEquals(1, voteRepo.count());
+        assertEquals(2.0, registry.get("evote.votes.rejected")
+                .tags("poll", "poll-1", "reason", "voter_not_eligible").counter().count());
+        assertEquals(1.0, registry.get("evote.votes.rejected")
+                .tags("poll", "unknown", "reason", "poll_not_found").counter().count());
+    }
+
+    @Test
+    @DisplayName("tryCreate(): Ablehnungen sind vorab erzeugte Instanzen")
+    void tryCreate_rejectionsArePreallocated() {
+        for (VoteRejectionReason reason : VoteRejectionReason.values()) {
+            VoteResult result = VoteResult.rejected(reason);
+            assertSame(result, VoteResult.rejected(reason));
+            assertFalse(result.isAccepted());
+            assertEquals(reason, result.rejectionReason());
+        }
+        assertThrows(IllegalArgumentException.class, () -> VoteResult.rejected(null));
+    }
+
+    @Test
+    @DisplayName("check(): Validator ohne eigene Implementierung meldet OTHER")
+    void check_defaultImplementation_mapsExceptionToOther() {
+        CompositeVoteValidator lambda = (vote, poll, voter) -> {
+            throw new IllegalStateException("nope");
+        };
+
+        assertEquals(VoteRejectionReason.OTHER, lambda.check(null, null, null));
+        assertNull(((CompositeVoteValidator) (vote, poll, voter) -> { }).check(null, null, null));
+    }
+
+    @Test
+    @DisplayName("create(): parallele Stimme desselben Voters führt nach dem Neuladen zur Ablehnung statt Doppelstimme")
+    void create_concurrentVoteOfSameVoter_isRejectedAfterRetry() {
+        VoteRepository voteRepo = new InMemoryVoteRepository();
+        // Vor dem ersten Speichern gewinnt eine parallele Stimmabgabe für dieselbe Poll
+        VoterRepository voterRepo = new InMemoryVoterRepository() {
+            boolean raced;
+
+            @Override
+            public boolean saveIfVersion(Voter voter, long expectedVersion) {
+                if (!raced) {
+                    raced = true;
+                    Voter concurrent = findById(voter.getVoterId()).orElseThrow().copy();
+                    concurrent.markVoted("poll-1");
+                    save(concurrent);
+                }
+                return super.saveIfVersion(voter, expectedVersion);
+            }
+        };
+        PollRepository pollRepo = new InMemoryPollRepository();
+        Voter voter = createVerifiedVoter(voterRepo, "Max", "Mustermann");
+        createOpenPoll(pollRepo, "poll-1", "option-5");
+        VoteService service = new VoteService(voteRepo, voterRepo, pollRepo, fixedClock,
+                new FakeEventPublisher(), createCompositeValidator());
+
+        VoteResult result = service.tryCreate(new VoteCreateRequest("poll-1", "option-5", voter.getVoterId(), "corr-race"));
+
+        assertEquals(VoteRejectionReason.VOTER_NOT_ELIGIBLE, result.rejectionReason());
+        assertEquals(0, voteRepo.count());
+        assertTrue(voterRepo.findById(voter.getVoterId()).orElseThrow().hasVoted("poll-1"));
+        assertEquals(1, voterRepo.versionConflicts());
+    }
 }
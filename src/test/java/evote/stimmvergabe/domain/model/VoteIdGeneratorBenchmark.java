@@ -0,0 +1,66 @@
+package evote.stimmvergabe.domain.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * Benchmark: UUID.randomUUID().toString() (bisheriges Vorgehen) gegen den
+ * zeitgeordneten Generator – einmal binär, einmal mit Textdarstellung.
+ *
+ * Ausführen mit: mvn test -Pbenchmark -Dtest=VoteIdGeneratorBenchmark
+ * Parameter: -Dbenchmark.threads (Standard: 2x CPUs), -Dbenchmark.ops (pro Thread, Standard: 1.000.000)
+ */
+class VoteIdGeneratorBenchmark {
+
+    private static final int THREADS = Integer.getInteger("benchmark.threads",
+            Runtime.getRuntime().availableProcessors() * 2);
+    private static final int OPS = Integer.getInteger("benchmark.ops", 1_000_000);
+
+    @Test
+    void compareGenerators() throws Exception {
+        VoteIdGenerator monotonic = VoteIdGenerator.monotonic();
+
+        // Aufwärmen
+        run("warmup uuid", () -> UUID.randomUUID().toString());
+        run("warmup monotonic", monotonic::next);
+
+        run("UUID.randomUUID().toString()", () -> UUID.randomUUID().toString());
+        run("monotonic().next()", monotonic::next);
+        run("monotonic().next().toString()", () -> monotonic.next().toString());
+    }
+
+    private void run(String name, Supplier<Object> generator) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Object>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                Object last = null;
+                for (int i = 0; i < OPS; i++) {
+                    last = generator.get();
+                }
+                return last;
+            }));
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Future<Object> future : futures) {
+            future.get();
+        }
+        long elapsed = System.nanoTime() - begin;
+        pool.shutdown();
+
+        long total = (long) THREADS * OPS;
+        System.out.printf("%-32s threads=%d ops=%d  %.1f ns/op  %.2f Mops/s%n",
+                name, THREADS, total, (double) elapsed / total * THREADS, total / (elapsed / 1_000.0));
+    }
+}
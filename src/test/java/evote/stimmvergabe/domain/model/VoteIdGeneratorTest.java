@@ -0,0 +1,104 @@
+package evote.stimmvergabe.domain.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VoteIdGeneratorTest {
+
+    @Test
+    @DisplayName("monotonic(): IDs haben Version 7 und tragen den Zeitstempel")
+    void monotonic_producesVersion7WithTimestamp() {
+        MonotonicVoteIdGenerator generator = new MonotonicVoteIdGenerator(() -> 1_700_000_000_000L);
+
+        VoteId id = generator.next();
+
+        assertEquals(7, id.version());
+        assertEquals(1_700_000_000_000L, id.timestampMillis());
+    }
+
+    @Test
+    @DisplayName("monotonic(): IDs eines Threads sind streng aufsteigend, auch bei gleicher Millisekunde")
+    void monotonic_isStrictlyIncreasingWithinThread() {
+        AtomicLong millis = new AtomicLong(1_000L);
+        MonotonicVoteIdGenerator generator = new MonotonicVoteIdGenerator(millis::get);
+
+        VoteId previous = generator.next();
+        for (int i = 0; i < 10_000; i++) {
+            if (i % 1000 == 0) {
+                millis.incrementAndGet();
+            }
+            VoteId current = generator.next();
+            assertTrue(Long.compareUnsigned(current.mostSignificantBits(), previous.mostSignificantBits()) > 0
+                    || (current.mostSignificantBits() == previous.mostSignificantBits()
+                    && Long.compareUnsigned(current.leastSignificantBits(), previous.leastSignificantBits()) > 0));
+            previous = current;
+        }
+    }
+
+    @Test
+    @DisplayName("monotonic(): zurückgestellte Uhr führt nicht zu kleineren IDs")
+    void monotonic_handlesClockGoingBackwards() {
+        AtomicLong millis = new AtomicLong(5_000L);
+        MonotonicVoteIdGenerator generator = new MonotonicVoteIdGenerator(millis::get);
+
+        VoteId before = generator.next();
+        millis.set(4_000L);
+        VoteId after = generator.next();
+
+        assertEquals(5_000L, after.timestampMillis());
+        assertTrue(Long.compareUnsigned(after.leastSignificantBits(), before.leastSignificantBits()) > 0);
+    }
+
+    @Test
+    @DisplayName("monotonic(): keine Kollisionen über mehrere Threads")
+    void monotonic_isUniqueAcrossThreads() throws Exception {
+        VoteIdGenerator generator = VoteIdGenerator.monotonic();
+        Set<VoteId> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(pool.submit(() -> {
+                    for (int i = 0; i < 20_000; i++) {
+                        ids.add(generator.next());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        assertEquals(8 * 20_000, ids.size());
+    }
+
+    @Test
+    @DisplayName("VoteId: Textdarstellung im UUID-Format ist umkehrbar")
+    void voteId_roundTripsThroughString() {
+        VoteId id = VoteIdGenerator.monotonic().next();
+
+        String text = id.toString();
+
+        assertEquals(36, text.length());
+        assertEquals(id, VoteId.fromString(text));
+    }
+
+    @Test
+    @DisplayName("randomUuid(): erzeugt UUIDs der Version 4")
+    void randomUuid_producesVersion4() {
+        assertEquals(4, VoteIdGenerator.randomUuid().next().version());
+    }
+}
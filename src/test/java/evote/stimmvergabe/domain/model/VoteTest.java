@@ -118,4 +118,23 @@ class VoteTest {
                 )
         );
     }
+
+    @ParameterizedTest
+    @NullAndEmptySource
+    @ValueSource(strings = {" "})
+    void missingDistrict_shouldBeNull(String district) {
+        Vote vote = Vote.of("vote-1", "poll-1", "Option-A", "corr-123", district, fixedClock);
+
+        assertNull(vote.getDistrict());
+        assertNull(vote.getDomainEvent().district());
+    }
+
+    @Test
+    void district_shouldBeCarriedIntoDomainEvent() {
+        Vote vote = Vote.of("vote-1", "poll-1", "Option-A", "corr-123", "WK-12", fixedClock);
+
+        assertEquals("WK-12", vote.getDistrict());
+        assertEquals("WK-12", vote.getDomainEvent().district());
+        assertEquals(nowInstant, vote.getDomainEvent().castAt());
+    }
 }
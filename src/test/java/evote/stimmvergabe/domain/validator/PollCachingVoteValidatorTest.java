@@ -0,0 +1,139 @@
+package evote.stimmvergabe.domain.validator;
+
+import evote.abstimmungsverwaltung.domain.model.Poll;
+import evote.buergerverwaltung.domain.model.Voter;
+import evote.stimmvergabe.domain.model.Vote;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PollCachingVoteValidatorTest {
+
+    static class MutableClock extends Clock {
+        private Instant now = Instant.parse("2030-01-01T12:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+
+    /** Zählt Aufrufe und prüft wie der PollValidatorAdapter nur die Poll. */
+    static class CountingPollCheck implements CompositeVoteValidator {
+        int calls;
+
+        @Override
+        public void validate(Vote vote, Poll poll, Voter voter) {
+            calls++;
+            if (!poll.isOpen()) {
+                throw new IllegalStateException("Poll is not open for voting");
+            }
+        }
+
+        @Override
+        public VoteRejectionReason check(Vote vote, Poll poll, Voter voter) {
+            calls++;
+            return poll.isOpen() ? null : VoteRejectionReason.POLL_NOT_OPEN;
+        }
+    }
+
+    private final MutableClock clock = new MutableClock();
+    private final CountingPollCheck delegate = new CountingPollCheck();
+
+    private Poll poll(String start, String end) {
+        return new Poll("poll-1", "Test Poll", List.of("option-1"),
+                LocalDateTime.parse(start), LocalDateTime.parse(end), 0, clock);
+    }
+
+    @Test
+    @DisplayName("check(): Ergebnis wird innerhalb der TTL aus dem Cache geliefert")
+    void check_withinTtl_usesCache() {
+        PollCachingVoteValidator validator = new PollCachingVoteValidator(delegate, Duration.ofSeconds(1), clock);
+        Poll poll = poll("2029-12-31T00:00:00", "2030-12-31T00:00:00");
+
+        assertNull(validator.check(null, poll, null));
+        assertNull(validator.check(null, poll, null));
+        assertEquals(1, delegate.calls);
+
+        clock.advance(Duration.ofSeconds(2));
+        assertNull(validator.check(null, poll, null));
+        assertEquals(2, delegate.calls);
+    }
+
+    @Test
+    @DisplayName("check(): close() ändert die Version und wirkt sofort, Ablehnung wird gecacht")
+    void check_afterClose_isRejectedImmediately() {
+        PollCachingVoteValidator validator = new PollCachingVoteValidator(delegate, Duration.ofMinutes(1), clock);
+        Poll poll = poll("2029-12-31T00:00:00", "2030-12-31T00:00:00");
+        assertNull(validator.check(null, poll, null));
+
+        poll.close();
+
+        assertEquals(VoteRejectionReason.POLL_NOT_OPEN, validator.check(null, poll, null));
+        assertEquals(VoteRejectionReason.POLL_NOT_OPEN, validator.check(null, poll, null));
+        assertEquals(2, delegate.calls);
+    }
+
+    @Test
+    @DisplayName("check(): Cache-Eintrag endet spätestens am Endzeitpunkt der Poll")
+    void check_cacheNeverOutlivesEndDate() {
+        PollCachingVoteValidator validator = new PollCachingVoteValidator(delegate, Duration.ofHours(1), clock);
+        Poll poll = poll("2029-12-31T00:00:00", "2030-01-01T12:00:10");
+        assertNull(validator.check(null, poll, null));
+
+        clock.advance(Duration.ofSeconds(10));
+
+        assertEquals(VoteRejectionReason.POLL_NOT_OPEN, validator.check(null, poll, null));
+    }
+
+    @Test
+    @DisplayName("validate(): nur gültige Ergebnisse werden gecacht, Ablehnungen werfen weiter die Exception")
+    void validate_cachesOnlySuccess() {
+        PollCachingVoteValidator validator = new PollCachingVoteValidator(delegate, Duration.ofMinutes(1), clock);
+        Poll open = poll("2029-12-31T00:00:00", "2030-12-31T00:00:00");
+        validator.validate(null, open, null);
+        validator.validate(null, open, null);
+        assertEquals(1, delegate.calls);
+
+        open.close();
+        assertThrows(IllegalStateException.class, () -> validator.validate(null, open, null));
+        assertThrows(IllegalStateException.class, () -> validator.validate(null, open, null));
+        assertEquals(3, delegate.calls);
+    }
+
+    @Test
+    @DisplayName("TTL 0 schaltet den Cache ab")
+    void zeroTtl_disablesCache() {
+        PollCachingVoteValidator validator = new PollCachingVoteValidator(delegate, Duration.ZERO, clock);
+        Poll poll = poll("2029-12-31T00:00:00", "2030-12-31T00:00:00");
+
+        validator.check(null, poll, null);
+        validator.check(null, poll, null);
+
+        assertEquals(2, delegate.calls);
+        assertEquals(0, validator.size());
+    }
+}
@@ -0,0 +1,157 @@
+package evote.stimmvergabe.infrastructure;
+
+import evote.stimmvergabe.domain.model.Vote;
+import evote.stimmvergabe.domain.repository.VoteRepository;
+import evote.stimmvergabe.infrastructure.persistence.BloomFilteredVoteRepository;
+import evote.stimmvergabe.infrastructure.persistence.InMemoryVoteRepository;
+import evote.stimmvergabe.infrastructure.persistence.ScalableBloomFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class BloomFilteredVoteRepositoryTest {
+
+    private static final Instant CAST_AT = Instant.parse("2030-01-01T12:00:00Z");
+
+    private VoteRepository store;
+    private SimpleMeterRegistry registry;
+    private BloomFilteredVoteRepository repo;
+
+    @BeforeEach
+    void setUp() {
+        store = spy(new InMemoryVoteRepository());
+        registry = new SimpleMeterRegistry();
+        repo = new BloomFilteredVoteRepository(store, new ScalableBloomFilter(100, 0.01), registry);
+    }
+
+    private Vote createVote(String voteId, String correlationId) {
+        return new Vote(voteId, "poll-1", "Option-A", correlationId, CAST_AT);
+    }
+
+    private double filterCount(String result) {
+        return registry.get("evote.votes.correlation.filter").tag("result", result).counter().count();
+    }
+
+    @Test
+    @DisplayName("Neue correlationId wird ohne Zugriff auf den Store beantwortet")
+    void unknownCorrelationId_shouldNotHitStore() {
+        assertTrue(repo.findByCorrelationId("corr-new").isEmpty());
+
+        verify(store, never()).findByCorrelationId(anyString());
+        assertEquals(1.0, filterCount("negative"));
+    }
+
+    @Test
+    @DisplayName("Gespeicherte correlationId wird im Store nachgeschlagen und gefunden")
+    void knownCorrelationId_shouldBeLoadedFromStore() {
+        Vote vote = createVote("vote-1", "corr-1");
+        repo.save(vote);
+
+        assertEquals(Optional.of(vote), repo.findByCorrelationId("corr-1"));
+        assertEquals(1.0, filterCount("hit"));
+    }
+
+    @Test
+    @DisplayName("Treffer im Filter ohne Stimme im Store wird als Falsch-Positiv gezählt")
+    void filterHitWithoutVote_shouldCountFalsePositive() {
+        ScalableBloomFilter filter = new ScalableBloomFilter(100, 0.01);
+        filter.put("corr-ghost");
+        BloomFilteredVoteRepository filtered = new BloomFilteredVoteRepository(store, filter, registry);
+
+        assertTrue(filtered.findByCorrelationId("corr-ghost").isEmpty());
+        assertTrue(filtered.findByCorrelationId("corr-other").isEmpty());
+
+        assertEquals(1.0, filterCount("false_positive"));
+        assertEquals(0.5, registry.get("evote.votes.correlation.filter.fpp").tag("kind", "observed").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Bereits vorhandene Stimmen des Stores werden beim Start in den Filter übernommen")
+    void existingVotes_shouldBeSeeded() {
+        InMemoryVoteRepository existing = new InMemoryVoteRepository();
+        existing.save(createVote("vote-1", "corr-1"));
+
+        BloomFilteredVoteRepository filtered =
+                new BloomFilteredVoteRepository(existing, new ScalableBloomFilter(100, 0.01), new SimpleMeterRegistry());
+
+        assertTrue(filtered.findByCorrelationId("corr-1").isPresent());
+    }
+
+    @Test
+    @DisplayName("Start: correlationIds werden einzeln übernommen, ohne alle Stimmen zu laden")
+    void seeding_shouldStreamCorrelationIds() {
+        VoteRepository existing = spy(new InMemoryVoteRepository());
+        doAnswer(invocation -> {
+            Consumer<String> action = invocation.getArgument(0);
+            action.accept("corr-1");
+            action.accept("corr-2");
+            return null;
+        }).when(existing).forEachCorrelationId(any());
+
+        BloomFilteredVoteRepository filtered =
+                new BloomFilteredVoteRepository(existing, new ScalableBloomFilter(100, 0.01), new SimpleMeterRegistry());
+
+        verify(existing, never()).findAll();
+        filtered.findByCorrelationId("corr-2");
+        verify(existing).findByCorrelationId("corr-2");
+    }
+
+    @Test
+    @DisplayName("Mit Idempotenz-Fenster: Filter vergisst mit dem Store, abgelaufene Treffer sind kein Falsch-Positiv")
+    void expiringFilter_shouldForgetWithStore() {
+        InMemoryVoteRepositoryTest.MutableClock clock = new InMemoryVoteRepositoryTest.MutableClock();
+        Duration retention = Duration.ofHours(1);
+        InMemoryVoteRepository expiringStore = new InMemoryVoteRepository(retention, clock);
+        BloomFilteredVoteRepository filtered = new BloomFilteredVoteRepository(
+                expiringStore, 100, 0.01, 4, retention, clock, registry);
+
+        filtered.save(createVote("vote-1", "corr-1"));
+        assertTrue(filtered.findByCorrelationId("corr-1").isPresent());
+
+        // abgelaufen im Store, Generation des Filters liegt teilweise außerhalb des Fensters
+        clock.advance(Duration.ofMinutes(61));
+        assertTrue(filtered.findByCorrelationId("corr-1").isEmpty());
+        assertEquals(1.0, filterCount("expired"));
+        assertEquals(0.0, filterCount("false_positive"));
+
+        // die Generation war bis zur ersten Rotation offen; ein Fenster danach ist sie verworfen
+        clock.advance(Duration.ofMinutes(75));
+        assertTrue(filtered.findByCorrelationId("corr-1").isEmpty());
+        assertEquals(1.0, filterCount("negative"));
+
+        // Dauerbetrieb: die Zahl der Generationen bleibt begrenzt
+        for (int i = 0; i < 100; i++) {
+            clock.advance(Duration.ofMinutes(5));
+            filtered.save(createVote("vote-x" + i, "corr-x" + i));
+        }
+        assertTrue(filtered.filterGenerations() <= 6, "Generationen: " + filtered.filterGenerations());
+    }
+
+    @Test
+    @DisplayName("Übrige Methoden werden an den Store delegiert")
+    void otherMethods_shouldDelegate() {
+        Vote vote = createVote("vote-1", "corr-1");
+        repo.save(vote);
+
+        assertEquals(Optional.of(vote), repo.findById("vote-1"));
+        assertEquals(List.of(vote), repo.findAllByPollId("poll-1"));
+        assertEquals(List.of(vote), repo.findAll());
+        assertEquals(1, repo.count());
+        assertTrue(repo.findByCorrelationId(null).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> repo.save(null));
+        assertTrue(registry.get("evote.votes.correlation.filter.size").gauge().value() > 0);
+        assertTrue(registry.get("evote.votes.correlation.filter.fpp").tag("kind", "expected").gauge().value() >= 0);
+    }
+}
@@ -2,13 +2,17 @@ package evote.stimmvergabe.infrastructure;
 
 import evote.stimmvergabe.infrastructure.persistence.InMemoryVoteRepository;
 import evote.stimmvergabe.domain.model.Vote;
+import evote.stimmvergabe.domain.repository.VoteRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.util.List;
 import java.util.Optional;
 
@@ -174,4 +178,159 @@ class InMemoryVoteRepositoryTest {
         assertEquals(1, repo.count());
     }
 
+    /** Verstellbare Uhr für Tests des Idempotenz-Fensters. */
+    static class MutableClock extends Clock {
+        private Instant now = Instant.parse("2030-01-01T12:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+
+    @Test
+    @DisplayName("Idempotenz-Fenster: correlationId wird innerhalb der Aufbewahrungsdauer erkannt")
+    void correlationId_withinRetention_shouldBeFound() {
+        MutableClock clock = new MutableClock();
+        InMemoryVoteRepository windowed = new InMemoryVoteRepository(Duration.ofHours(1), clock);
+        windowed.save(createVote("vote-1", "poll-1", "Option-A", "corr-1"));
+
+        clock.advance(Duration.ofMinutes(59));
+
+        assertTrue(windowed.findByCorrelationId("corr-1").isPresent());
+        Vote replay = windowed.save(createVote("vote-2", "poll-1", "Option-B", "corr-1"));
+        assertEquals("vote-1", replay.getVoteId());
+        assertEquals(1, windowed.count());
+    }
+
+    @Test
+    @DisplayName("Idempotenz-Fenster: nach Ablauf wird die correlationId vergessen, die Stimme bleibt erhalten")
+    void correlationId_afterRetention_shouldExpireButVoteRemains() {
+        MutableClock clock = new MutableClock();
+        InMemoryVoteRepository windowed = new InMemoryVoteRepository(Duration.ofHours(1), clock);
+        windowed.save(createVote("vote-1", "poll-1", "Option-A", "corr-1"));
+
+        clock.advance(Duration.ofMinutes(62));
+
+        assertTrue(windowed.findByCorrelationId("corr-1").isEmpty());
+        assertTrue(windowed.findById("vote-1").isPresent());
+        assertEquals(0, windowed.idempotencyKeys());
+    }
+
+    @Test
+    @DisplayName("Idempotenz-Fenster: Speicherbedarf hängt nur vom Verkehr im Fenster ab")
+    void idempotencyKeys_shouldBeBoundedByTrafficInWindow() {
+        MutableClock clock = new MutableClock();
+        InMemoryVoteRepository windowed = new InMemoryVoteRepository(Duration.ofMinutes(10), clock);
+
+        for (int minute = 0; minute < 60; minute++) {
+            for (int i = 0; i < 100; i++) {
+                String id = minute + "-" + i;
+                windowed.save(createVote("vote-" + id, "poll-1", "Option-A", "corr-" + id));
+            }
+            clock.advance(Duration.ofMinutes(1));
+        }
+
+        assertEquals(6_000, windowed.count());
+        assertTrue(windowed.idempotencyKeys() <= 1_200, "keys: " + windowed.idempotencyKeys());
+        assertTrue(windowed.findByCorrelationId("corr-59-0").isPresent());
+        assertTrue(windowed.findByCorrelationId("corr-0-0").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Idempotenz-Fenster: Aufräumen nach einer Lastspitze verteilt sich auf mehrere Zugriffe")
+    void expiry_afterBurst_shouldBeSpreadOverCalls() {
+        MutableClock clock = new MutableClock();
+        InMemoryVoteRepository windowed = new InMemoryVoteRepository(Duration.ofHours(1), clock);
+        for (int i = 0; i < 10_000; i++) {
+            windowed.save(createVote("vote-" + i, "poll-1", "Option-A", "corr-" + i));
+        }
+
+        clock.advance(Duration.ofMinutes(62));
+
+        // erster Zugriff räumt nur einen Teil ab, abgelaufene Nachzügler werden trotzdem nicht gefunden
+        assertTrue(windowed.findByCorrelationId("corr-9999").isEmpty());
+        int remaining = windowed.idempotencyKeys();
+        assertTrue(remaining > 0 && remaining < 10_000, "keys: " + remaining);
+
+        for (int call = 0; call < 3; call++) {
+            windowed.findByCorrelationId("corr-0");
+        }
+        assertEquals(0, windowed.idempotencyKeys());
+    }
+
+    @Test
+    @DisplayName("Idempotenz-Fenster: ungültige Aufbewahrungsdauer → IllegalArgumentException")
+    void invalidRetention_shouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> new InMemoryVoteRepository(Duration.ZERO, fixedClock));
+        assertThrows(IllegalArgumentException.class, () -> new InMemoryVoteRepository(Duration.ofHours(1), null));
+    }
+
+    @Test
+    @DisplayName("saveIfVersion(ABSENT): fügt nur ein, wenn weder voteId noch correlationId bekannt sind")
+    void saveIfVersion_absent_rejectsDuplicates() {
+        Vote vote = createVote("vote-1", "poll-1", "Option-A", "corr-1");
+
+        assertTrue(repo.saveIfVersion(vote, VoteRepository.ABSENT));
+        assertFalse(repo.saveIfVersion(createVote("vote-2", "poll-1", "Option-B", "corr-1"), VoteRepository.ABSENT));
+        assertFalse(repo.saveIfVersion(createVote("vote-1", "poll-1", "Option-B", "corr-2"), VoteRepository.ABSENT));
+
+        assertEquals(1, repo.count());
+        assertEquals(Optional.of(vote), repo.findByCorrelationId("corr-1"));
+        assertTrue(repo.findByCorrelationId("corr-2").isEmpty(), "abgelehnte Stimme hinterlässt keinen Index-Eintrag");
+        assertEquals(3, repo.conditionalSaves());
+        assertEquals(2, repo.versionConflicts());
+    }
+
+    @Test
+    @DisplayName("saveIfVersion(STORED): ersetzt nur eine vorhandene Stimme")
+    void saveIfVersion_stored_requiresExistingVote() {
+        assertFalse(repo.saveIfVersion(createVote("vote-1", "poll-1", "Option-A", "corr-1"), VoteRepository.STORED));
+        assertEquals(0, repo.count());
+
+        repo.save(createVote("vote-1", "poll-1", "Option-A", "corr-1"));
+        assertTrue(repo.saveIfVersion(createVote("vote-1", "poll-1", "Option-A", "corr-1"), VoteRepository.STORED));
+        assertEquals(1, repo.count());
+    }
+
+    @Test
+    @DisplayName("saveIfVersion(ABSENT): bei parallelen Stimmen mit gleicher correlationId gewinnt genau eine")
+    void saveIfVersion_concurrentSameCorrelationId_exactlyOneWins() throws Exception {
+        int threads = 16;
+        java.util.concurrent.ExecutorService pool = java.util.concurrent.Executors.newFixedThreadPool(threads);
+        java.util.concurrent.CountDownLatch start = new java.util.concurrent.CountDownLatch(1);
+        List<java.util.concurrent.Future<Boolean>> results = new java.util.ArrayList<>();
+        try {
+            for (int i = 0; i < threads; i++) {
+                Vote vote = createVote("vote-" + i, "poll-1", "Option-A", "corr-shared");
+                results.add(pool.submit(() -> {
+                    start.await();
+                    return repo.saveIfVersion(vote, VoteRepository.ABSENT);
+                }));
+            }
+            start.countDown();
+            int winners = 0;
+            for (java.util.concurrent.Future<Boolean> result : results) {
+                winners += result.get() ? 1 : 0;
+            }
+            assertEquals(1, winners);
+            assertEquals(1, repo.count());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
 }
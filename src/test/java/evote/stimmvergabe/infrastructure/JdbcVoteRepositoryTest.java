@@ -0,0 +1,256 @@
+package evote.stimmvergabe.infrastructure;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import evote.stimmvergabe.domain.model.Vote;
+import evote.stimmvergabe.domain.repository.VoteRepository;
+import evote.stimmvergabe.infrastructure.persistence.JdbcVoteRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests gegen H2 im Datei-Modus (temporäres Verzeichnis pro Test).
+ */
+class JdbcVoteRepositoryTest {
+
+    private static final Instant CAST_AT = Instant.parse("2030-01-01T12:00:00.123456789Z");
+
+    @TempDir
+    Path dir;
+
+    private HikariDataSource dataSource;
+    private JdbcVoteRepository repo;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = dataSource(dir);
+        repo = new JdbcVoteRepository(dataSource, 64);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.close();
+    }
+
+    static HikariDataSource dataSource(Path dir) {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:file:" + dir.resolve("evote") + ";QUERY_CACHE_SIZE=64");
+        config.setUsername("sa");
+        config.setMaximumPoolSize(4);
+        return new HikariDataSource(config);
+    }
+
+    private Vote createVote(String voteId, String pollId, String optionId, String correlationId) {
+        return new Vote(voteId, pollId, optionId, correlationId, CAST_AT);
+    }
+
+    @Test
+    @DisplayName("save + findById: Stimme inklusive Nanosekunden-Zeitstempel wird verlustfrei gelesen")
+    void saveAndFindById_shouldRoundTrip() {
+        Vote vote = createVote(UUID.randomUUID().toString(), "poll-1", "Option-A", UUID.randomUUID().toString());
+
+        repo.save(vote);
+
+        assertEquals(Optional.of(vote), repo.findById(vote.getVoteId()));
+        assertEquals(Optional.of(vote), repo.findByCorrelationId(vote.getCorrelationId()));
+        assertEquals(List.of(vote), repo.findAll());
+    }
+
+    @Test
+    @DisplayName("forEachCorrelationId: liefert alle correlationIds ohne ganze Stimmen zu laden")
+    void forEachCorrelationId_shouldVisitAll() {
+        repo.save(createVote("vote-1", "poll-1", "Option-A", "corr-1"));
+        repo.save(createVote("vote-2", "poll-2", "Option-B", "corr-2"));
+
+        java.util.Set<String> seen = new java.util.HashSet<>();
+        repo.forEachCorrelationId(seen::add);
+
+        assertEquals(java.util.Set.of("corr-1", "corr-2"), seen);
+    }
+
+    @Test
+    @DisplayName("findById / findByCorrelationId: unbekannt oder null → Optional.empty()")
+    void unknownOrNull_shouldReturnEmpty() {
+        assertTrue(repo.findById("unknown").isEmpty());
+        assertTrue(repo.findById(null).isEmpty());
+        assertTrue(repo.findByCorrelationId("unknown").isEmpty());
+        assertTrue(repo.findByCorrelationId(null).isEmpty());
+        assertTrue(repo.findAllByPollId(null).isEmpty());
+    }
+
+    @Test
+    @DisplayName("findAllByPollId: nur Stimmen der jeweiligen Poll werden zurückgegeben")
+    void findAllByPollId_shouldReturnOnlyVotesOfThatPoll() {
+        repo.save(createVote("v1", "poll-1", "Option-A", "corr-1"));
+        repo.save(createVote("v2", "poll-1", "Option-B", "corr-2"));
+        repo.save(createVote("v3", "poll-2", "Option-A", "corr-3"));
+
+        assertEquals(2, repo.findAllByPollId("poll-1").size());
+        assertEquals(1, repo.findAllByPollId("poll-2").size());
+        assertTrue(repo.findAllByPollId("poll-3").isEmpty());
+        assertEquals(3, repo.count());
+    }
+
+    @Test
+    @DisplayName("save: gleiche correlationId → Idempotenz, nur eine Vote im Store")
+    void save_shouldBeIdempotentForSameCorrelationId() {
+        Vote first = createVote("v1", "poll-1", "Option-A", "corr-1");
+        Vote second = createVote("v2", "poll-1", "Option-B", "corr-1");
+
+        assertEquals(first, repo.save(first));
+        assertEquals(first, repo.save(second));
+        assertEquals(1, repo.count());
+        assertTrue(repo.findById("v2").isEmpty());
+    }
+
+    @Test
+    @DisplayName("save: gleiche voteId → bestehende Stimme wird aktualisiert, kein neuer Eintrag")
+    void save_sameVoteId_shouldUpdateExistingVote() {
+        repo.save(createVote("v1", "poll-1", "Option-A", "corr-1"));
+        repo.save(createVote("v1", "poll-1", "Option-B", "corr-2"));
+
+        assertEquals("Option-B", repo.findById("v1").orElseThrow().getOptionId());
+        assertEquals(1, repo.count());
+    }
+
+    @Test
+    @DisplayName("saveIfVersion(ABSENT): fügt nur ein, wenn weder voteId noch correlationId bekannt sind")
+    void saveIfVersion_absent_rejectsDuplicates() {
+        Vote vote = createVote("vote-1", "poll-1", "Option-A", "corr-1");
+
+        assertTrue(repo.saveIfVersion(vote, VoteRepository.ABSENT));
+        assertFalse(repo.saveIfVersion(createVote("vote-2", "poll-1", "Option-B", "corr-1"), VoteRepository.ABSENT));
+        assertFalse(repo.saveIfVersion(createVote("vote-1", "poll-1", "Option-B", "corr-2"), VoteRepository.ABSENT));
+
+        assertEquals(1, repo.count());
+        assertTrue(repo.findByCorrelationId("corr-2").isEmpty());
+        assertEquals(3, repo.conditionalSaves());
+        assertEquals(2, repo.versionConflicts());
+    }
+
+    @Test
+    @DisplayName("saveIfVersion(STORED): ersetzt nur eine vorhandene Stimme")
+    void saveIfVersion_stored_requiresExistingVote() {
+        assertFalse(repo.saveIfVersion(createVote("vote-1", "poll-1", "Option-A", "corr-1"), VoteRepository.STORED));
+        assertEquals(0, repo.count());
+
+        repo.save(createVote("vote-1", "poll-1", "Option-A", "corr-1"));
+        assertTrue(repo.saveIfVersion(createVote("vote-1", "poll-1", "Option-B", "corr-1"), VoteRepository.STORED));
+        assertEquals("Option-B", repo.findById("vote-1").orElseThrow().getOptionId());
+    }
+
+    @Test
+    @DisplayName("Paralleles Einfügen: alle Stimmen landen per Batch in der Datenbank")
+    void concurrentInserts_shouldBeBatchedWithoutLoss() throws Exception {
+        int threads = 8;
+        int perThread = 250;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            results.add(pool.submit(() -> {
+                start.await();
+                int failed = 0;
+                for (int i = 0; i < perThread; i++) {
+                    Vote vote = createVote(UUID.randomUUID().toString(), "poll-1", "Option-A",
+                            UUID.randomUUID().toString());
+                    if (!repo.saveIfVersion(vote, VoteRepository.ABSENT)) {
+                        failed++;
+                    }
+                }
+                return failed;
+            }));
+        }
+        start.countDown();
+        for (Future<Integer> result : results) {
+            assertEquals(0, result.get());
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(threads * perThread, repo.count());
+        assertEquals(threads * perThread, repo.batchedVotes());
+        assertTrue(repo.batches() <= threads * perThread);
+    }
+
+    @Test
+    @DisplayName("Parallele Stimmen mit gleicher correlationId: genau eine wird gespeichert, der Rest des Batches bleibt erhalten")
+    void concurrentDuplicates_shouldInsertExactlyOnce() throws Exception {
+        int threads = 16;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> duplicates = new ArrayList<>();
+        List<Future<Boolean>> uniques = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            String voteId = "vote-" + t;
+            duplicates.add(pool.submit(() -> {
+                start.await();
+                return repo.saveIfVersion(createVote(voteId, "poll-1", "Option-A", "corr-shared"), VoteRepository.ABSENT);
+            }));
+            uniques.add(pool.submit(() -> {
+                start.await();
+                return repo.saveIfVersion(createVote(voteId + "-u", "poll-1", "Option-A", "corr-" + voteId),
+                        VoteRepository.ABSENT);
+            }));
+        }
+        start.countDown();
+        int inserted = 0;
+        for (Future<Boolean> result : duplicates) {
+            inserted += result.get() ? 1 : 0;
+        }
+        for (Future<Boolean> result : uniques) {
+            assertTrue(result.get());
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(1, inserted);
+        assertEquals(threads + 1, repo.count());
+        assertEquals(threads - 1, repo.versionConflicts());
+    }
+
+    @Test
+    @DisplayName("Datei-Modus: Stimmen überstehen das Schließen und erneute Öffnen der Datenbank")
+    void votes_shouldSurviveReopen() {
+        Vote vote = createVote("v1", "poll-1", "Option-A", "corr-1");
+        repo.save(vote);
+        dataSource.close();
+
+        dataSource = dataSource(dir);
+        repo = new JdbcVoteRepository(dataSource);
+
+        assertEquals(Optional.of(vote), repo.findByCorrelationId("corr-1"));
+        assertEquals(1, repo.count());
+    }
+
+    @Test
+    @DisplayName("save + find: Wahlkreis der Stimme bleibt erhalten, Stimme ohne Wahlkreis bleibt ohne")
+    void district_shouldRoundTrip() {
+        Vote withDistrict = new Vote("vote-1", "poll-1", "Option-A", "corr-1", CAST_AT, "Mitte");
+        Vote withoutDistrict = createVote("vote-2", "poll-1", "Option-B", "corr-2");
+
+        repo.save(withDistrict);
+        repo.save(withoutDistrict);
+
+        assertEquals("Mitte", repo.findById("vote-1").orElseThrow().getDistrict());
+        assertNull(repo.findById("vote-2").orElseThrow().getDistrict());
+        assertEquals(Optional.of(withDistrict), repo.findByCorrelationId("corr-1"));
+    }
+}
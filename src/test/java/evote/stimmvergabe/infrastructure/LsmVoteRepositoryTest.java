@@ -0,0 +1,216 @@
+package evote.stimmvergabe.infrastructure;
+
+import evote.infrastructure.lsm.LsmBlockCache;
+import evote.infrastructure.lsm.LsmStore;
+import evote.stimmvergabe.domain.model.Vote;
+import evote.stimmvergabe.domain.repository.VoteRepository;
+import evote.stimmvergabe.infrastructure.persistence.LsmVoteRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests gegen einen LSM-Store im temporären Verzeichnis; der Memtable ist klein
+ * gewählt, damit die Stimmen über mehrere SSTables verteilt werden.
+ */
+class LsmVoteRepositoryTest {
+
+    private static final Instant CAST_AT = Instant.parse("2030-01-01T12:00:00.123456789Z");
+
+    @TempDir
+    Path dir;
+
+    private LsmStore store;
+    private LsmVoteRepository repo;
+
+    @BeforeEach
+    void setUp() {
+        store = store();
+        repo = new LsmVoteRepository(store);
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.close();
+    }
+
+    private LsmStore store() {
+        return new LsmStore(dir, new LsmStore.Options(8 * 1024, 3, false), new LsmBlockCache(256 * 1024));
+    }
+
+    private Vote createVote(String voteId, String pollId, String optionId, String correlationId) {
+        return new Vote(voteId, pollId, optionId, correlationId, CAST_AT);
+    }
+
+    @Test
+    @DisplayName("save + findById: Stimme inklusive Nanosekunden-Zeitstempel wird verlustfrei gelesen")
+    void saveAndFindById_shouldRoundTrip() {
+        Vote vote = createVote(UUID.randomUUID().toString(), "poll-1", "Option-A", UUID.randomUUID().toString());
+
+        repo.save(vote);
+
+        assertEquals(Optional.of(vote), repo.findById(vote.getVoteId()));
+        assertEquals(Optional.of(vote), repo.findByCorrelationId(vote.getCorrelationId()));
+        assertEquals(List.of(vote), repo.findAll());
+    }
+
+    @Test
+    @DisplayName("forEachCorrelationId: liefert alle correlationIds ohne ganze Stimmen zu laden")
+    void forEachCorrelationId_shouldVisitAll() {
+        repo.save(createVote("vote-1", "poll-1", "Option-A", "corr-1"));
+        repo.save(createVote("vote-2", "poll-2", "Option-B", "corr-2"));
+
+        java.util.Set<String> seen = new java.util.HashSet<>();
+        repo.forEachCorrelationId(seen::add);
+
+        assertEquals(java.util.Set.of("corr-1", "corr-2"), seen);
+    }
+
+    @Test
+    @DisplayName("findById / findByCorrelationId: unbekannt oder null → Optional.empty()")
+    void unknownOrNull_shouldReturnEmpty() {
+        assertTrue(repo.findById("unknown").isEmpty());
+        assertTrue(repo.findById(null).isEmpty());
+        assertTrue(repo.findByCorrelationId("unknown").isEmpty());
+        assertTrue(repo.findByCorrelationId(null).isEmpty());
+        assertTrue(repo.findAllByPollId(null).isEmpty());
+    }
+
+    @Test
+    @DisplayName("findAllByPollId: Präfix-Scan liefert nur Stimmen der jeweiligen Poll")
+    void findAllByPollId_shouldReturnOnlyVotesOfThatPoll() {
+        repo.save(createVote("v1", "poll-1", "Option-A", "corr-1"));
+        repo.save(createVote("v2", "poll-1", "Option-B", "corr-2"));
+        repo.save(createVote("v3", "poll-10", "Option-A", "corr-3"));
+
+        assertEquals(2, repo.findAllByPollId("poll-1").size());
+        assertEquals(1, repo.findAllByPollId("poll-10").size());
+        assertTrue(repo.findAllByPollId("poll-2").isEmpty());
+        assertEquals(3, repo.count());
+    }
+
+    @Test
+    @DisplayName("save: gleiche correlationId → Idempotenz, nur eine Vote im Store")
+    void save_shouldBeIdempotentForSameCorrelationId() {
+        Vote first = createVote("v1", "poll-1", "Option-A", "corr-1");
+        Vote second = createVote("v2", "poll-1", "Option-B", "corr-1");
+
+        assertEquals(first, repo.save(first));
+        assertEquals(first, repo.save(second));
+        assertEquals(1, repo.count());
+        assertTrue(repo.findById("v2").isEmpty());
+    }
+
+    @Test
+    @DisplayName("save: gleiche voteId → Stimme und Indizes werden ersetzt, kein neuer Eintrag")
+    void save_sameVoteId_shouldUpdateExistingVote() {
+        repo.save(createVote("v1", "poll-1", "Option-A", "corr-1"));
+        repo.save(createVote("v1", "poll-2", "Option-B", "corr-2"));
+
+        assertEquals("Option-B", repo.findById("v1").orElseThrow().getOptionId());
+        assertTrue(repo.findByCorrelationId("corr-1").isEmpty());
+        assertTrue(repo.findAllByPollId("poll-1").isEmpty());
+        assertEquals(1, repo.findAllByPollId("poll-2").size());
+        assertEquals(1, repo.count());
+    }
+
+    @Test
+    @DisplayName("saveIfVersion(ABSENT): fügt nur ein, wenn weder voteId noch correlationId bekannt sind")
+    void saveIfVersion_absent_rejectsDuplicates() {
+        Vote vote = createVote("vote-1", "poll-1", "Option-A", "corr-1");
+
+        assertTrue(repo.saveIfVersion(vote, VoteRepository.ABSENT));
+        assertFalse(repo.saveIfVersion(createVote("vote-2", "poll-1", "Option-B", "corr-1"), VoteRepository.ABSENT));
+        assertFalse(repo.saveIfVersion(createVote("vote-1", "poll-1", "Option-B", "corr-2"), VoteRepository.ABSENT));
+
+        assertEquals(1, repo.count());
+        assertTrue(repo.findByCorrelationId("corr-2").isEmpty());
+        assertEquals(3, repo.conditionalSaves());
+        assertEquals(2, repo.versionConflicts());
+    }
+
+    @Test
+    @DisplayName("saveIfVersion(STORED): ersetzt nur eine vorhandene Stimme")
+    void saveIfVersion_stored_requiresExistingVote() {
+        assertFalse(repo.saveIfVersion(createVote("vote-1", "poll-1", "Option-A", "corr-1"), VoteRepository.STORED));
+        assertEquals(0, repo.count());
+
+        repo.save(createVote("vote-1", "poll-1", "Option-A", "corr-1"));
+        assertTrue(repo.saveIfVersion(createVote("vote-1", "poll-1", "Option-B", "corr-1"), VoteRepository.STORED));
+        assertEquals("Option-B", repo.findById("vote-1").orElseThrow().getOptionId());
+    }
+
+    @Test
+    @DisplayName("Parallele Stimmen mit gleicher correlationId: genau eine wird gespeichert")
+    void concurrentDuplicates_shouldInsertExactlyOnce() throws Exception {
+        int threads = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            String voteId = "vote-" + t;
+            results.add(pool.submit(() -> {
+                start.await();
+                return repo.saveIfVersion(createVote(voteId, "poll-1", "Option-A", "corr-shared"), VoteRepository.ABSENT);
+            }));
+        }
+        start.countDown();
+        int inserted = 0;
+        for (Future<Boolean> result : results) {
+            inserted += result.get() ? 1 : 0;
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(1, inserted);
+        assertEquals(1, repo.count());
+        assertEquals(threads - 1, repo.versionConflicts());
+    }
+
+    @Test
+    @DisplayName("Mehr Stimmen als der Memtable fasst: über SSTables verteilt und nach Neustart vollständig")
+    void votes_shouldSpillToTablesAndSurviveReopen() {
+        for (int i = 0; i < 500; i++) {
+            repo.save(createVote("v" + i, "poll-" + (i % 2), "Option-A", "corr-" + i));
+        }
+        assertTrue(store.flushCount() > 0, "memtable should have been flushed");
+        store.close();
+
+        store = store();
+        repo = new LsmVoteRepository(store);
+
+        assertEquals(500, repo.count());
+        assertEquals(250, repo.findAllByPollId("poll-1").size());
+        assertEquals("v123", repo.findByCorrelationId("corr-123").orElseThrow().getVoteId());
+    }
+
+    @Test
+    @DisplayName("save + find: Wahlkreis der Stimme bleibt erhalten, Stimme ohne Wahlkreis bleibt ohne")
+    void district_shouldRoundTrip() {
+        Vote withDistrict = new Vote("vote-1", "poll-1", "Option-A", "corr-1", CAST_AT, "Mitte");
+        Vote withoutDistrict = createVote("vote-2", "poll-1", "Option-B", "corr-2");
+
+        repo.save(withDistrict);
+        repo.save(withoutDistrict);
+
+        assertEquals("Mitte", repo.findById("vote-1").orElseThrow().getDistrict());
+        assertNull(repo.findById("vote-2").orElseThrow().getDistrict());
+        assertEquals(Optional.of(withDistrict), repo.findByCorrelationId("corr-1"));
+    }
+}
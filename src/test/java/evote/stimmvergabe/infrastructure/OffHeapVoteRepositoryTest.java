@@ -0,0 +1,241 @@
+package evote.stimmvergabe.infrastructure;
+
+import evote.stimmvergabe.domain.model.Vote;
+import evote.stimmvergabe.domain.repository.VoteRepository;
+import evote.stimmvergabe.infrastructure.persistence.OffHeapVoteRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapVoteRepositoryTest {
+
+    private static final Instant CAST_AT = Instant.parse("2030-01-01T12:00:00.123456789Z");
+
+    private OffHeapVoteRepository repo;
+
+    @BeforeEach
+    void setUp() {
+        repo = new OffHeapVoteRepository();
+    }
+
+    private Vote createVote(String voteId, String pollId, String optionId, String correlationId) {
+        return new Vote(voteId, pollId, optionId, correlationId, CAST_AT);
+    }
+
+    private Vote randomVote(String pollId, String optionId) {
+        return createVote(UUID.randomUUID().toString(), pollId, optionId, UUID.randomUUID().toString());
+    }
+
+    @Test
+    @DisplayName("save + find: Stimme mit UUID-IDs wird verlustfrei rekonstruiert")
+    void saveAndFind_withUuids_shouldRoundTrip() {
+        Vote vote = randomVote("poll-1", "Option-A");
+
+        repo.save(vote);
+
+        assertEquals(Optional.of(vote), repo.findById(vote.getVoteId()));
+        assertEquals(Optional.of(vote), repo.findByCorrelationId(vote.getCorrelationId()));
+        assertEquals(List.of(vote), repo.findAllByPollId("poll-1"));
+    }
+
+    @Test
+    @DisplayName("save + find: frei gewählte IDs werden weiterhin unterstützt")
+    void saveAndFind_withTextualIds_shouldRoundTrip() {
+        Vote vote = createVote("vote-1", "poll-1", "Option-A", "corr-1");
+
+        repo.save(vote);
+
+        assertEquals(Optional.of(vote), repo.findById("vote-1"));
+        assertEquals(Optional.of(vote), repo.findByCorrelationId("corr-1"));
+    }
+
+    @Test
+    @DisplayName("findById / findByCorrelationId / findAllByPollId: unbekannt oder null → leer")
+    void unknownOrNull_shouldReturnEmpty() {
+        repo.save(randomVote("poll-1", "Option-A"));
+
+        assertTrue(repo.findById(UUID.randomUUID().toString()).isEmpty());
+        assertTrue(repo.findById("does-not-exist").isEmpty());
+        assertTrue(repo.findById(null).isEmpty());
+        assertTrue(repo.findByCorrelationId(UUID.randomUUID().toString()).isEmpty());
+        assertTrue(repo.findByCorrelationId(null).isEmpty());
+        assertTrue(repo.findAllByPollId("poll-2").isEmpty());
+        assertTrue(repo.findAllByPollId(null).isEmpty());
+    }
+
+    @Test
+    @DisplayName("save: gleiche correlationId → Idempotenz, nur eine Vote im Store")
+    void save_shouldBeIdempotentForSameCorrelationId() {
+        String correlationId = UUID.randomUUID().toString();
+        Vote first = createVote(UUID.randomUUID().toString(), "poll-1", "Option-A", correlationId);
+        Vote second = createVote(UUID.randomUUID().toString(), "poll-1", "Option-B", correlationId);
+
+        assertEquals(first, repo.save(first));
+        assertEquals(first, repo.save(second));
+        assertEquals(1, repo.count());
+    }
+
+    @Test
+    @DisplayName("save: gleiche voteId → bestehende Stimme wird aktualisiert, kein neuer Eintrag")
+    void save_sameVoteId_shouldUpdateExistingVote() {
+        String voteId = UUID.randomUUID().toString();
+        repo.save(createVote(voteId, "poll-1", "Option-A", UUID.randomUUID().toString()));
+        repo.save(createVote(voteId, "poll-1", "Option-B", UUID.randomUUID().toString()));
+
+        assertEquals("Option-B", repo.findById(voteId).orElseThrow().getOptionId());
+        assertEquals(1, repo.count());
+        assertEquals(1, repo.findAll().size());
+    }
+
+    @Test
+    @DisplayName("save(null) und negative Vordimensionierung → IllegalArgumentException")
+    void invalidArguments_shouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> repo.save(null));
+        assertThrows(IllegalArgumentException.class, () -> new OffHeapVoteRepository(-1));
+    }
+
+    @Test
+    @DisplayName("Viele Stimmen über mehrere Blöcke und Index-Vergrößerungen bleiben auffindbar")
+    void manyVotes_shouldRemainFindable() {
+        List<Vote> votes = new ArrayList<>();
+        for (int i = 0; i < 150_000; i++) {
+            Vote vote = randomVote("poll-" + (i % 3), "Option-" + (i % 5));
+            votes.add(vote);
+            repo.save(vote);
+        }
+
+        assertEquals(150_000, repo.count());
+        for (Vote vote : votes) {
+            assertEquals(Optional.of(vote), repo.findByCorrelationId(vote.getCorrelationId()));
+        }
+        assertEquals(Optional.of(votes.get(123_456)), repo.findById(votes.get(123_456).getVoteId()));
+        assertEquals(50_000, repo.findAllByPollId("poll-0").size());
+        assertTrue(repo.offHeapBytes() > 150_000L * 56);
+    }
+
+    @Test
+    @DisplayName("Vordimensionierter Index: Suche funktioniert ohne Vergrößerung")
+    void presizedIndex_shouldWork() {
+        OffHeapVoteRepository presized = new OffHeapVoteRepository(10_000);
+        long indexBytes = presized.offHeapBytes();
+        for (int i = 0; i < 5_000; i++) {
+            presized.save(randomVote("poll-1", "Option-A"));
+        }
+        assertEquals(5_000, presized.count());
+        assertTrue(indexBytes >= 2L * 20_000 * Integer.BYTES);
+    }
+
+    @Test
+    @DisplayName("Paralleles Schreiben und Lesen verliert keine Stimmen")
+    void concurrentSaveAndFind_shouldNotLoseVotes() throws Exception {
+        int threads = 8;
+        int perThread = 2_000;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            results.add(pool.submit(() -> {
+                start.await();
+                int misses = 0;
+                for (int i = 0; i < perThread; i++) {
+                    Vote vote = randomVote("poll-1", "Option-A");
+                    repo.save(vote);
+                    if (repo.findByCorrelationId(vote.getCorrelationId()).isEmpty()) {
+                        misses++;
+                    }
+                }
+                return misses;
+            }));
+        }
+        start.countDown();
+        for (Future<Integer> result : results) {
+            assertEquals(0, result.get());
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(threads * perThread, repo.count());
+    }
+
+    @Test
+    @DisplayName("clear() entfernt alle Stimmen aus dem Repository")
+    void clear_shouldRemoveAllVotes() {
+        Vote vote = randomVote("poll-1", "Option-A");
+        repo.save(vote);
+        repo.save(createVote("v1", "poll-1", "Option-B", "corr-1"));
+
+        repo.clear();
+
+        assertEquals(0, repo.count());
+        assertTrue(repo.findAllByPollId("poll-1").isEmpty());
+        assertTrue(repo.findById(vote.getVoteId()).isEmpty());
+        assertTrue(repo.findByCorrelationId("corr-1").isEmpty());
+    }
+
+    @Test
+    @DisplayName("saveIfVersion(ABSENT): fügt nur ein, wenn weder voteId noch correlationId bekannt sind")
+    void saveIfVersion_absent_rejectsDuplicates() {
+        Vote vote = createVote("vote-1", "poll-1", "Option-A", "corr-1");
+
+        assertTrue(repo.saveIfVersion(vote, VoteRepository.ABSENT));
+        assertFalse(repo.saveIfVersion(createVote("vote-2", "poll-1", "Option-B", "corr-1"), VoteRepository.ABSENT));
+        assertFalse(repo.saveIfVersion(createVote("vote-1", "poll-1", "Option-B", "corr-2"), VoteRepository.ABSENT));
+
+        assertEquals(1, repo.count());
+        assertEquals(Optional.of(vote), repo.findByCorrelationId("corr-1"));
+        assertTrue(repo.findByCorrelationId("corr-2").isEmpty(), "abgelehnte Stimme hinterlässt keinen Index-Eintrag");
+        assertEquals(3, repo.conditionalSaves());
+        assertEquals(2, repo.versionConflicts());
+    }
+
+    @Test
+    @DisplayName("saveIfVersion(STORED): ersetzt nur eine vorhandene Stimme")
+    void saveIfVersion_stored_requiresExistingVote() {
+        assertFalse(repo.saveIfVersion(createVote("vote-1", "poll-1", "Option-A", "corr-1"), VoteRepository.STORED));
+        assertEquals(0, repo.count());
+
+        repo.save(createVote("vote-1", "poll-1", "Option-A", "corr-1"));
+        assertTrue(repo.saveIfVersion(createVote("vote-1", "poll-1", "Option-A", "corr-1"), VoteRepository.STORED));
+        assertEquals(1, repo.count());
+    }
+
+    @Test
+    @DisplayName("saveIfVersion(STORED): andere Option ersetzt die gespeicherte Stimme")
+    void saveIfVersion_stored_shouldReplaceOption() {
+        repo.save(createVote("vote-1", "poll-1", "Option-A", "corr-1"));
+
+        assertTrue(repo.saveIfVersion(createVote("vote-1", "poll-1", "Option-B", "corr-1"), VoteRepository.STORED));
+
+        assertEquals("Option-B", repo.findById("vote-1").orElseThrow().getOptionId());
+        assertEquals("Option-B", repo.findByCorrelationId("corr-1").orElseThrow().getOptionId());
+        assertEquals(1, repo.count());
+        assertEquals(1, repo.findAll().size());
+    }
+
+    @Test
+    @DisplayName("save + find: Wahlkreis der Stimme bleibt erhalten, Stimme ohne Wahlkreis bleibt ohne")
+    void district_shouldRoundTrip() {
+        Vote withDistrict = new Vote("vote-1", "poll-1", "Option-A", "corr-1", CAST_AT, "Mitte");
+        Vote withoutDistrict = createVote("vote-2", "poll-1", "Option-B", "corr-2");
+
+        repo.save(withDistrict);
+        repo.save(withoutDistrict);
+
+        assertEquals("Mitte", repo.findById("vote-1").orElseThrow().getDistrict());
+        assertNull(repo.findById("vote-2").orElseThrow().getDistrict());
+        assertEquals(Optional.of(withDistrict), repo.findByCorrelationId("corr-1"));
+    }
+}
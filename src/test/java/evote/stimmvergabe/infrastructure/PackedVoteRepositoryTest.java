@@ -0,0 +1,257 @@
+package evote.stimmvergabe.infrastructure;
+
+import evote.stimmvergabe.domain.model.Vote;
+import evote.stimmvergabe.domain.repository.VoteRepository;
+import evote.stimmvergabe.domain.model.VoteIdGenerator;
+import evote.stimmvergabe.infrastructure.persistence.PackedVoteRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PackedVoteRepositoryTest {
+
+    private static final Instant CAST_AT = Instant.parse("2030-01-01T12:00:00.123456789Z");
+
+    private PackedVoteRepository repo;
+
+    @BeforeEach
+    void setUp() {
+        repo = new PackedVoteRepository();
+    }
+
+    private Vote createVote(String voteId, String pollId, String optionId, String correlationId) {
+        return new Vote(voteId, pollId, optionId, correlationId, CAST_AT);
+    }
+
+    @Test
+    @DisplayName("save + findById: Stimme mit UUID-IDs wird verlustfrei rekonstruiert")
+    void saveAndFindById_withUuids_shouldRoundTrip() {
+        String voteId = VoteIdGenerator.monotonic().next().toString();
+        String correlationId = UUID.randomUUID().toString();
+        Vote vote = createVote(voteId, "poll-1", "Option-A", correlationId);
+
+        repo.save(vote);
+
+        assertEquals(Optional.of(vote), repo.findById(voteId));
+        assertEquals(Optional.of(vote), repo.findByCorrelationId(correlationId));
+    }
+
+    @Test
+    @DisplayName("save + findById: frei gewählte IDs werden weiterhin unterstützt")
+    void saveAndFindById_withTextualIds_shouldRoundTrip() {
+        Vote vote = createVote("vote-1", "poll-1", "Option-A", "corr-1");
+
+        repo.save(vote);
+
+        assertEquals(Optional.of(vote), repo.findById("vote-1"));
+        assertEquals(Optional.of(vote), repo.findByCorrelationId("corr-1"));
+    }
+
+    @Test
+    @DisplayName("UUID in Großbuchstaben bleibt exakt erhalten")
+    void uppercaseUuid_shouldKeepOriginalSpelling() {
+        String voteId = UUID.randomUUID().toString().toUpperCase();
+        Vote vote = createVote(voteId, "poll-1", "Option-A", "corr-1");
+
+        repo.save(vote);
+
+        assertEquals(voteId, repo.findById(voteId).orElseThrow().getVoteId());
+        assertTrue(repo.findById(voteId.toLowerCase()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("findById / findByCorrelationId: unbekannt oder null → Optional.empty()")
+    void unknownOrNull_shouldReturnEmpty() {
+        repo.save(createVote(UUID.randomUUID().toString(), "poll-1", "Option-A", UUID.randomUUID().toString()));
+
+        assertTrue(repo.findById("does-not-exist").isEmpty());
+        assertTrue(repo.findById(UUID.randomUUID().toString()).isEmpty());
+        assertTrue(repo.findById(null).isEmpty());
+        assertTrue(repo.findByCorrelationId(UUID.randomUUID().toString()).isEmpty());
+        assertTrue(repo.findByCorrelationId(null).isEmpty());
+    }
+
+    @Test
+    @DisplayName("findAllByPollId: nur Stimmen der jeweiligen Poll werden zurückgegeben")
+    void findAllByPollId_shouldReturnOnlyVotesOfThatPoll() {
+        repo.save(createVote("vote-1", "poll-1", "Option-A", "corr-1"));
+        repo.save(createVote("vote-2", "poll-1", "Option-B", "corr-2"));
+        repo.save(createVote("vote-3", "poll-2", "Option-A", "corr-3"));
+
+        List<Vote> poll1Votes = repo.findAllByPollId("poll-1");
+        assertEquals(2, poll1Votes.size());
+        assertTrue(poll1Votes.stream().anyMatch(v -> v.getVoteId().equals("vote-1")));
+        assertTrue(poll1Votes.stream().anyMatch(v -> v.getVoteId().equals("vote-2")));
+
+        assertEquals(1, repo.findAllByPollId("poll-2").size());
+        assertTrue(repo.findAllByPollId("poll-3").isEmpty());
+        assertTrue(repo.findAllByPollId(null).isEmpty());
+    }
+
+    @Test
+    @DisplayName("save: gleiche correlationId → Idempotenz, nur eine Vote im Store")
+    void save_shouldBeIdempotentForSameCorrelationId() {
+        String correlationId = UUID.randomUUID().toString();
+        Vote first = createVote(UUID.randomUUID().toString(), "poll-1", "Option-A", correlationId);
+        Vote second = createVote(UUID.randomUUID().toString(), "poll-1", "Option-B", correlationId);
+
+        Vote saved1 = repo.save(first);
+        Vote saved2 = repo.save(second);
+
+        assertEquals(saved1, saved2);
+        assertEquals(1, repo.count());
+        assertTrue(repo.findById(second.getVoteId()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("save: gleiche voteId → bestehende Stimme wird aktualisiert, kein neuer Eintrag")
+    void save_sameVoteId_shouldUpdateExistingVote() {
+        String voteId = UUID.randomUUID().toString();
+        repo.save(createVote(voteId, "poll-1", "Option-A", "corr-1"));
+        repo.save(createVote(voteId, "poll-1", "Option-B", "corr-2"));
+
+        assertEquals("Option-B", repo.findById(voteId).orElseThrow().getOptionId());
+        assertEquals(1, repo.count());
+        assertEquals(1, repo.findAllByPollId("poll-1").size());
+        assertEquals(1, repo.findAll().size());
+    }
+
+    @Test
+    @DisplayName("save(null) → IllegalArgumentException")
+    void save_null_shouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> repo.save(null));
+    }
+
+    @Test
+    @DisplayName("Viele Stimmen über mehrere Blöcke und Index-Vergrößerungen bleiben auffindbar")
+    void manyVotes_shouldRemainFindable() {
+        List<Vote> votes = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            Vote vote = createVote(UUID.randomUUID().toString(), "poll-" + (i % 3),
+                    "Option-" + (i % 5), UUID.randomUUID().toString());
+            votes.add(vote);
+            repo.save(vote);
+        }
+
+        assertEquals(20_000, repo.count());
+        for (Vote vote : votes) {
+            assertEquals(Optional.of(vote), repo.findById(vote.getVoteId()));
+            assertEquals(Optional.of(vote), repo.findByCorrelationId(vote.getCorrelationId()));
+        }
+        assertEquals(6667, repo.findAllByPollId("poll-0").size());
+    }
+
+    @Test
+    @DisplayName("Paralleles Schreiben und Lesen verliert keine Stimmen")
+    void concurrentSaveAndFind_shouldNotLoseVotes() throws Exception {
+        int threads = 8;
+        int perThread = 2_000;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            results.add(pool.submit(() -> {
+                start.await();
+                int misses = 0;
+                for (int i = 0; i < perThread; i++) {
+                    Vote vote = createVote(UUID.randomUUID().toString(), "poll-1", "Option-A",
+                            UUID.randomUUID().toString());
+                    repo.save(vote);
+                    if (repo.findByCorrelationId(vote.getCorrelationId()).isEmpty()) {
+                        misses++;
+                    }
+                }
+                return misses;
+            }));
+        }
+        start.countDown();
+        for (Future<Integer> result : results) {
+            assertEquals(0, result.get());
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(threads * perThread, repo.count());
+        assertEquals(threads * perThread, repo.findAllByPollId("poll-1").size());
+    }
+
+    @Test
+    @DisplayName("clear() entfernt alle Stimmen aus dem Repository")
+    void clear_shouldRemoveAllVotes() {
+        repo.save(createVote("v1", "poll-1", "Option-A", "corr-1"));
+        repo.save(createVote(UUID.randomUUID().toString(), "poll-1", "Option-B", UUID.randomUUID().toString()));
+
+        repo.clear();
+
+        assertEquals(0, repo.count());
+        assertTrue(repo.findAllByPollId("poll-1").isEmpty());
+        assertTrue(repo.findById("v1").isEmpty());
+    }
+
+    @Test
+    @DisplayName("saveIfVersion(ABSENT): fügt nur ein, wenn weder voteId noch correlationId bekannt sind")
+    void saveIfVersion_absent_rejectsDuplicates() {
+        Vote vote = createVote("vote-1", "poll-1", "Option-A", "corr-1");
+
+        assertTrue(repo.saveIfVersion(vote, VoteRepository.ABSENT));
+        assertFalse(repo.saveIfVersion(createVote("vote-2", "poll-1", "Option-B", "corr-1"), VoteRepository.ABSENT));
+        assertFalse(repo.saveIfVersion(createVote("vote-1", "poll-1", "Option-B", "corr-2"), VoteRepository.ABSENT));
+
+        assertEquals(1, repo.count());
+        assertEquals(Optional.of(vote), repo.findByCorrelationId("corr-1"));
+        assertTrue(repo.findByCorrelationId("corr-2").isEmpty(), "abgelehnte Stimme hinterlässt keinen Index-Eintrag");
+        assertEquals(3, repo.conditionalSaves());
+        assertEquals(2, repo.versionConflicts());
+    }
+
+    @Test
+    @DisplayName("saveIfVersion(STORED): ersetzt nur eine vorhandene Stimme")
+    void saveIfVersion_stored_requiresExistingVote() {
+        assertFalse(repo.saveIfVersion(createVote("vote-1", "poll-1", "Option-A", "corr-1"), VoteRepository.STORED));
+        assertEquals(0, repo.count());
+
+        repo.save(createVote("vote-1", "poll-1", "Option-A", "corr-1"));
+        assertTrue(repo.saveIfVersion(createVote("vote-1", "poll-1", "Option-A", "corr-1"), VoteRepository.STORED));
+        assertEquals(1, repo.count());
+    }
+
+    @Test
+    @DisplayName("saveIfVersion(STORED): andere Option ersetzt die gespeicherte Stimme")
+    void saveIfVersion_stored_shouldReplaceOption() {
+        repo.save(createVote("vote-1", "poll-1", "Option-A", "corr-1"));
+
+        assertTrue(repo.saveIfVersion(createVote("vote-1", "poll-1", "Option-B", "corr-1"), VoteRepository.STORED));
+
+        assertEquals("Option-B", repo.findById("vote-1").orElseThrow().getOptionId());
+        assertEquals("Option-B", repo.findByCorrelationId("corr-1").orElseThrow().getOptionId());
+        assertEquals(1, repo.count());
+        assertEquals(1, repo.findAll().size());
+    }
+
+    @Test
+    @DisplayName("save + find: Wahlkreis der Stimme bleibt erhalten, Stimme ohne Wahlkreis bleibt ohne")
+    void district_shouldRoundTrip() {
+        Vote withDistrict = new Vote("vote-1", "poll-1", "Option-A", "corr-1", CAST_AT, "Mitte");
+        Vote withoutDistrict = createVote("vote-2", "poll-1", "Option-B", "corr-2");
+
+        repo.save(withDistrict);
+        repo.save(withoutDistrict);
+
+        assertEquals("Mitte", repo.findById("vote-1").orElseThrow().getDistrict());
+        assertNull(repo.findById("vote-2").orElseThrow().getDistrict());
+        assertEquals(Optional.of(withDistrict), repo.findByCorrelationId("corr-1"));
+    }
+}
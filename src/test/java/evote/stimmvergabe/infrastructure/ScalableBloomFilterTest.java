@@ -0,0 +1,85 @@
+package evote.stimmvergabe.infrastructure;
+
+import evote.stimmvergabe.infrastructure.persistence.ScalableBloomFilter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScalableBloomFilterTest {
+
+    @Test
+    @DisplayName("Eingefügte Schlüssel werden immer gefunden (keine falschen Negative)")
+    void insertedKeys_shouldAlwaysBeFound() {
+        ScalableBloomFilter filter = new ScalableBloomFilter(1_000, 0.01);
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            String key = UUID.randomUUID().toString();
+            keys.add(key);
+            filter.put(key);
+        }
+
+        for (String key : keys) {
+            assertTrue(filter.mightContain(key));
+        }
+        assertEquals(50_000, filter.insertions());
+    }
+
+    @Test
+    @DisplayName("Filter wächst über die Anfangskapazität hinaus und hält die Ziel-Fehlerrate")
+    void growingFilter_shouldStayBelowTargetFalsePositiveRate() {
+        ScalableBloomFilter filter = new ScalableBloomFilter(1_000, 0.01);
+        for (int i = 0; i < 100_000; i++) {
+            filter.put(UUID.randomUUID().toString());
+        }
+
+        int falsePositives = 0;
+        int probes = 100_000;
+        for (int i = 0; i < probes; i++) {
+            if (filter.mightContain(UUID.randomUUID().toString())) {
+                falsePositives++;
+            }
+        }
+
+        assertTrue(filter.stageCount() > 1);
+        assertTrue((double) falsePositives / probes < 0.015, "observed fpp " + (double) falsePositives / probes);
+        assertTrue(filter.expectedFalsePositiveRate() <= filter.targetFalsePositiveRate());
+        assertTrue(filter.sizeInBytes() > 0);
+    }
+
+    @Test
+    @DisplayName("Leerer Filter meldet nichts")
+    void emptyFilter_shouldContainNothing() {
+        ScalableBloomFilter filter = new ScalableBloomFilter(10, 0.001);
+
+        assertFalse(filter.mightContain("corr-1"));
+        assertEquals(0.0, filter.expectedFalsePositiveRate());
+    }
+
+    @Test
+    @DisplayName("maxStages deckelt das Wachstum; Schlüssel werden weiter gefunden")
+    void maxStages_shouldCapGrowth() {
+        ScalableBloomFilter filter = new ScalableBloomFilter(100, 0.01, 2);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("key-" + i);
+        }
+
+        assertEquals(2, filter.stageCount());
+        assertTrue(filter.mightContain("key-0"));
+        assertTrue(filter.mightContain("key-9999"));
+        assertTrue(filter.expectedFalsePositiveRate() > filter.targetFalsePositiveRate());
+    }
+
+    @Test
+    @DisplayName("Ungültige Parameter → IllegalArgumentException")
+    void invalidParameters_shouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> new ScalableBloomFilter(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new ScalableBloomFilter(10, 0));
+        assertThrows(IllegalArgumentException.class, () -> new ScalableBloomFilter(10, 1));
+        assertThrows(IllegalArgumentException.class, () -> new ScalableBloomFilter(10, 0.01, 0));
+    }
+}
@@ -0,0 +1,104 @@
+package evote.stimmvergabe.infrastructure;
+
+import evote.stimmvergabe.domain.model.Vote;
+import evote.stimmvergabe.domain.model.VoteIdGenerator;
+import evote.stimmvergabe.domain.repository.VoteRepository;
+import evote.stimmvergabe.infrastructure.persistence.InMemoryVoteRepository;
+import evote.stimmvergabe.infrastructure.persistence.OffHeapVoteRepository;
+import evote.stimmvergabe.infrastructure.persistence.PackedVoteRepository;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Benchmark: GC-Last der Vote-Stores bei großen Stimmenzahlen.
+ *
+ * Pro Store wird gemessen:
+ * - GC-Läufe und GC-Zeit während des Befüllens
+ * - Dauer einer vollen GC, während der Store gefüllt ist (skaliert mit lebenden Heap-Objekten)
+ * - GC-Zeit einer anschließenden Allokationslast mit kurzlebigen Objekten
+ *
+ * Ausführen mit: mvn test -Pbenchmark -Dtest=VoteStoreGcBenchmark
+ * Parameter: -Dbenchmark.votes (Standard: 2.000.000), -Dbenchmark.stores (Standard: in-memory,packed,off-heap)
+ * 50 Mio. Stimmen z.B. mit
+ * -Dbenchmark.votes=50000000 -DargLine="-Xmx24g -XX:MaxDirectMemorySize=8g"
+ */
+class VoteStoreGcBenchmark {
+
+    private static final int VOTES = Integer.getInteger("benchmark.votes", 2_000_000);
+    private static final String STORES = System.getProperty("benchmark.stores", "in-memory,packed,off-heap");
+
+    @Test
+    void compareGcPressure() throws Exception {
+        for (String store : STORES.split(",")) {
+            switch (store.trim()) {
+                case "in-memory" -> measure("InMemoryVoteRepository", InMemoryVoteRepository::new);
+                case "packed" -> measure("PackedVoteRepository", PackedVoteRepository::new);
+                case "off-heap" -> measure("OffHeapVoteRepository", () -> new OffHeapVoteRepository(VOTES));
+                default -> throw new IllegalArgumentException("unknown store: " + store);
+            }
+        }
+    }
+
+    private void measure(String name, Supplier<VoteRepository> factory) throws Exception {
+        fullGc();
+        VoteIdGenerator ids = VoteIdGenerator.monotonic();
+        VoteRepository repository = factory.get();
+
+        long[] before = gcStats();
+        long begin = System.nanoTime();
+        for (int i = 0; i < VOTES; i++) {
+            repository.save(new Vote(
+                    ids.next().toString(),
+                    "poll-" + (i % 10),
+                    "option-" + (i % 4),
+                    UUID.randomUUID().toString(),
+                    Instant.now()));
+        }
+        long loadMillis = (System.nanoTime() - begin) / 1_000_000;
+        long[] afterLoad = gcStats();
+
+        long fullGcStart = System.nanoTime();
+        System.gc();
+        long fullGcMillis = (System.nanoTime() - fullGcStart) / 1_000_000;
+
+        long[] beforeChurn = gcStats();
+        Object[] survivors = new Object[4096]; // verhindert Escape-Analyse der Allokationen
+        long sink = 0;
+        for (int i = 0; i < 20_000_000; i++) {
+            byte[] garbage = new byte[64];
+            survivors[i & (survivors.length - 1)] = garbage;
+            sink += garbage.length + repository.count();
+        }
+        long[] afterChurn = gcStats();
+        long heapUsed = Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory();
+
+        System.out.printf("%-24s votes=%d load=%dms gc(load)=%d/%dms fullGc=%dms gc(churn)=%d/%dms heap=%dMB (sink=%d)%n",
+                name, repository.count(), loadMillis,
+                afterLoad[0] - before[0], afterLoad[1] - before[1],
+                fullGcMillis,
+                afterChurn[0] - beforeChurn[0], afterChurn[1] - beforeChurn[1],
+                heapUsed / (1024 * 1024), sink % 7);
+    }
+
+    private static long[] gcStats() {
+        long count = 0;
+        long time = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, gc.getCollectionCount());
+            time += Math.max(0, gc.getCollectionTime());
+        }
+        return new long[]{count, time};
+    }
+
+    private static void fullGc() throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+    }
+}
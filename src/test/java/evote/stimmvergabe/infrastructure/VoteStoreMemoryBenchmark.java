@@ -0,0 +1,61 @@
+package evote.stimmvergabe.infrastructure;
+
+import evote.stimmvergabe.domain.model.Vote;
+import evote.stimmvergabe.domain.model.VoteIdGenerator;
+import evote.stimmvergabe.domain.repository.VoteRepository;
+import evote.stimmvergabe.infrastructure.persistence.InMemoryVoteRepository;
+import evote.stimmvergabe.infrastructure.persistence.PackedVoteRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Benchmark: Heap-Verbrauch pro Stimme im Map-basierten gegen den spaltenweisen Vote-Store.
+ *
+ * Die Stimmen werden wie im Betrieb erzeugt (eigene Strings pro Request),
+ * gemessen wird der belegte Heap nach vollständiger GC.
+ *
+ * Ausführen mit: mvn test -Pbenchmark -Dtest=VoteStoreMemoryBenchmark
+ * Parameter: -Dbenchmark.votes (Standard: 1.000.000)
+ */
+class VoteStoreMemoryBenchmark {
+
+    private static final int VOTES = Integer.getInteger("benchmark.votes", 1_000_000);
+
+    @Test
+    void compareStores() throws Exception {
+        measure("InMemoryVoteRepository", InMemoryVoteRepository::new);
+        measure("PackedVoteRepository", PackedVoteRepository::new);
+    }
+
+    private void measure(String name, Supplier<VoteRepository> factory) throws Exception {
+        VoteIdGenerator ids = VoteIdGenerator.monotonic();
+        long before = usedHeap();
+        VoteRepository repository = factory.get();
+        long begin = System.nanoTime();
+        for (int i = 0; i < VOTES; i++) {
+            repository.save(new Vote(
+                    ids.next().toString(),
+                    new String("poll-" + (i % 10)),
+                    new String("option-" + (i % 4)),
+                    UUID.randomUUID().toString(),
+                    Instant.now()));
+        }
+        long elapsed = System.nanoTime() - begin;
+        long after = usedHeap();
+
+        System.out.printf("%-24s votes=%d  %.1f bytes/vote  %.0f ns/save  (count=%d)%n",
+                name, VOTES, (double) (after - before) / VOTES, (double) elapsed / VOTES, repository.count());
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,153 @@
+package evote.stimmvergabe.infrastructure;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import evote.infrastructure.lsm.LsmBlockCache;
+import evote.infrastructure.lsm.LsmStore;
+import evote.stimmvergabe.domain.model.Vote;
+import evote.stimmvergabe.domain.model.VoteIdGenerator;
+import evote.stimmvergabe.domain.repository.VoteRepository;
+import evote.stimmvergabe.infrastructure.persistence.InMemoryVoteRepository;
+import evote.stimmvergabe.infrastructure.persistence.JdbcVoteRepository;
+import evote.stimmvergabe.infrastructure.persistence.LsmVoteRepository;
+import evote.stimmvergabe.infrastructure.persistence.OffHeapVoteRepository;
+import evote.stimmvergabe.infrastructure.persistence.PackedVoteRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Benchmark: Schreibdurchsatz der Vote-Stores, In-Memory gegen JDBC (H2 im Datei-Modus)
+ * und den eingebetteten LSM-Store.
+ *
+ * Jeder Store bekommt dieselbe Last: {@code threads} Threads fügen per
+ * saveIfVersion(ABSENT) je {@code votes / threads} neue Stimmen ein, danach werden alle
+ * Stimmen einmal per correlationId gelesen. Für JDBC wird einmal mit Group Commit
+ * (evote.persistence.jdbc.vote-batch-size) und einmal mit Batchgröße 1 gemessen,
+ * um den Effekt der gebündelten Transaktionen zu zeigen. Der LSM-Store läuft mit kleinem
+ * Memtable und Block-Cache, damit Flushes, Kompaktierung und Cache-Misses mitgemessen werden.
+ *
+ * Ausführen mit: mvn test -Pbenchmark -Dtest=VoteStoreThroughputBenchmark
+ * Parameter: -Dbenchmark.votes (Standard: 200.000), -Dbenchmark.threads (Standard: 16),
+ * -Dbenchmark.batch-size (Standard: 256), -Dbenchmark.pool-size (Standard: 8),
+ * -Dbenchmark.lsm-cache (Standard: 8 MB), -Dbenchmark.stores (Standard:
+ * in-memory,packed,off-heap,jdbc,jdbc-unbatched,lsm)
+ */
+class VoteStoreThroughputBenchmark {
+
+    private static final int VOTES = Integer.getInteger("benchmark.votes", 200_000);
+    private static final int THREADS = Integer.getInteger("benchmark.threads", 16);
+    private static final int BATCH_SIZE = Integer.getInteger("benchmark.batch-size", JdbcVoteRepository.DEFAULT_BATCH_SIZE);
+    private static final int POOL_SIZE = Integer.getInteger("benchmark.pool-size", 8);
+    private static final String STORES =
+            System.getProperty("benchmark.stores", "in-memory,packed,off-heap,jdbc,jdbc-unbatched,lsm");
+    private static final long LSM_CACHE = Long.getLong("benchmark.lsm-cache", 8L * 1024 * 1024);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void compareThroughput() throws Exception {
+        for (String store : STORES.split(",")) {
+            switch (store.trim()) {
+                case "in-memory" -> measure("InMemoryVoteRepository", new InMemoryVoteRepository());
+                case "packed" -> measure("PackedVoteRepository", new PackedVoteRepository());
+                case "off-heap" -> measure("OffHeapVoteRepository", new OffHeapVoteRepository(VOTES));
+                case "jdbc" -> measureJdbc("JdbcVoteRepository", BATCH_SIZE);
+                case "jdbc-unbatched" -> measureJdbc("JdbcVoteRepository(b=1)", 1);
+                case "lsm" -> measureLsm("LsmVoteRepository");
+                default -> throw new IllegalArgumentException("unknown store: " + store);
+            }
+        }
+    }
+
+    private void measureJdbc(String name, int batchSize) throws Exception {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:file:" + dir.resolve(name.replaceAll("\\W", "_")) + ";QUERY_CACHE_SIZE=64");
+        config.setUsername("sa");
+        config.setMaximumPoolSize(POOL_SIZE);
+        config.setMinimumIdle(POOL_SIZE);
+        try (HikariDataSource dataSource = new HikariDataSource(config)) {
+            JdbcVoteRepository repository = new JdbcVoteRepository(dataSource, batchSize);
+            measure(name, repository);
+            System.out.printf("%-28s batches=%d avgBatch=%.1f%n", "", repository.batches(),
+                    (double) repository.batchedVotes() / Math.max(1, repository.batches()));
+        }
+    }
+
+    private void measureLsm(String name) throws Exception {
+        try (LsmStore store = new LsmStore(dir.resolve("lsm"), new LsmStore.Options(4L * 1024 * 1024, 4, false),
+                new LsmBlockCache(LSM_CACHE))) {
+            measure(name, new LsmVoteRepository(store));
+            System.out.printf("%-28s flushes=%d compactions=%d tables=%d cacheHits=%d cacheMisses=%d%n", "",
+                    store.flushCount(), store.compactionCount(), store.tableCount(),
+                    store.blockCache().hits(), store.blockCache().misses());
+        }
+    }
+
+    private void measure(String name, VoteRepository repository) throws Exception {
+        List<List<Vote>> work = new ArrayList<>();
+        VoteIdGenerator ids = VoteIdGenerator.monotonic();
+        for (int t = 0; t < THREADS; t++) {
+            List<Vote> votes = new ArrayList<>(VOTES / THREADS);
+            for (int i = 0; i < VOTES / THREADS; i++) {
+                votes.add(new Vote(ids.next().toString(), "poll-" + (i % 10), "option-" + (i % 4),
+                        UUID.randomUUID().toString(), Instant.now()));
+            }
+            work.add(votes);
+        }
+
+        long writeNanos = run(work, vote -> {
+            if (!repository.saveIfVersion(vote, VoteRepository.ABSENT)) {
+                throw new IllegalStateException("unexpected conflict");
+            }
+        });
+        long readNanos = run(work, vote -> {
+            if (repository.findByCorrelationId(vote.getCorrelationId()).isEmpty()) {
+                throw new IllegalStateException("vote missing");
+            }
+        });
+
+        int total = THREADS * (VOTES / THREADS);
+        System.out.printf("%-28s votes=%d threads=%d write=%.0f/s (%.1f us/vote) read=%.0f/s%n",
+                name, repository.count(), THREADS,
+                total / (writeNanos / 1e9), writeNanos / 1e3 / total * THREADS,
+                total / (readNanos / 1e9));
+    }
+
+    private interface VoteAction {
+        void apply(Vote vote);
+    }
+
+    private static long run(List<List<Vote>> work, VoteAction action) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(work.size());
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (List<Vote> votes : work) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                for (Vote vote : votes) {
+                    action.apply(vote);
+                }
+                return null;
+            }));
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        long elapsed = System.nanoTime() - begin;
+        pool.shutdown();
+        return elapsed;
+    }
+}
@@ -0,0 +1,87 @@
+package evote.stimmvergabe.web;
+
+import evote.stimmvergabe.infrastructure.web.AdaptiveConcurrencyLimiter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(2);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(40);
+
+    /**
+     * Hält das Limit voll ausgelastet und meldet n Messungen mit der angegebenen Latenz.
+     */
+    private static void saturate(AdaptiveConcurrencyLimiter limiter, int samples, long rttNanos) {
+        for (int i = 0; i < samples; i++) {
+            while (limiter.tryAcquire()) {
+                // auffüllen
+            }
+            limiter.release(rttNanos);
+        }
+    }
+
+    @Test
+    @DisplayName("Weist Anfragen über dem Limit ab und gibt Plätze wieder frei")
+    void tryAcquire_rejectsAboveLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10, 1.5);
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+        assertEquals(2, limiter.inFlight());
+
+        limiter.release(0);
+        assertTrue(limiter.tryAcquire());
+    }
+
+    @Test
+    @DisplayName("Stabile Latenz unter Volllast hebt das Limit bis zur Obergrenze")
+    void stableLatency_increasesLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 2, 50, 1.5);
+
+        saturate(limiter, 2_000, FAST);
+
+        assertEquals(50, limiter.limit());
+    }
+
+    @Test
+    @DisplayName("Steigende Latenz senkt das Limit")
+    void risingLatency_decreasesLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(20, 2, 50, 1.5);
+        saturate(limiter, 500, FAST);
+        int before = limiter.limit();
+
+        saturate(limiter, 200, SLOW);
+
+        assertTrue(limiter.limit() < before / 2, "limit " + before + " -> " + limiter.limit());
+        assertTrue(limiter.limit() >= 2);
+    }
+
+    @Test
+    @DisplayName("Ohne Auslastung wächst das Limit nicht")
+    void lowUtilization_keepsLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(20, 2, 50, 1.5);
+
+        for (int i = 0; i < 1_000; i++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.release(FAST);
+        }
+
+        assertEquals(20, limiter.limit());
+        assertEquals(0, limiter.inFlight());
+    }
+
+    @Test
+    @DisplayName("Ungültige Grenzen werden abgewiesen")
+    void constructor_validatesBounds() {
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimiter(5, 0, 10, 1.5));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimiter(5, 6, 10, 1.5));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimiter(5, 1, 4, 1.5));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimiter(5, 1, 10, 0.9));
+    }
+}
@@ -0,0 +1,117 @@
+package evote.stimmvergabe.web;
+
+import evote.stimmvergabe.infrastructure.web.AdaptiveConcurrencyLimiter;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark: Überlast auf der Stimmabgabe mit und ohne adaptives Limit.
+ *
+ * Der Server wird als Engpass mit {@code benchmark.capacity} parallelen Plätzen und
+ * {@code benchmark.serviceMillis} Bearbeitungszeit simuliert; dahinter wartet alles in
+ * einer Warteschlange wie in Tomcat. {@code benchmark.clients} Clients senden ohne Pause.
+ * Abgewiesene Clients warten kurz (Retry-After) und versuchen es erneut.
+ *
+ * Ausgegeben werden Durchsatz, Abweisungsquote und Latenz-Perzentile angenommener Anfragen.
+ *
+ * Ausführen mit: mvn test -Pbenchmark -Dtest=VoteAdmissionBenchmark
+ * Parameter: -Dbenchmark.clients (Standard: 200), -Dbenchmark.capacity (Standard: 8),
+ * -Dbenchmark.serviceMillis (Standard: 5), -Dbenchmark.seconds (Standard: 10)
+ */
+class VoteAdmissionBenchmark {
+
+    private static final int CLIENTS = Integer.getInteger("benchmark.clients", 200);
+    private static final int CAPACITY = Integer.getInteger("benchmark.capacity", 8);
+    private static final int SERVICE_MILLIS = Integer.getInteger("benchmark.serviceMillis", 5);
+    private static final int SECONDS = Integer.getInteger("benchmark.seconds", 10);
+    private static final int RETRY_MILLIS = 20;
+
+    @Test
+    void overloadWithAndWithoutLimiter() throws Exception {
+        run("unlimited", null);
+        run("adaptive", new AdaptiveConcurrencyLimiter(20, 4, 200, 1.5));
+    }
+
+    private void run(String name, AdaptiveConcurrencyLimiter limiter) throws Exception {
+        Semaphore server = new Semaphore(CAPACITY, true);
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(SECONDS);
+
+        List<Future<Result>> futures = new ArrayList<>();
+        for (int c = 0; c < CLIENTS; c++) {
+            futures.add(clients.submit(() -> {
+                Result result = new Result();
+                while (System.nanoTime() < end) {
+                    if (limiter != null && !limiter.tryAcquire()) {
+                        result.rejected++;
+                        Thread.sleep(RETRY_MILLIS);
+                        continue;
+                    }
+                    long start = System.nanoTime();
+                    server.acquire();
+                    try {
+                        Thread.sleep(SERVICE_MILLIS);
+                    } finally {
+                        server.release();
+                    }
+                    long rtt = System.nanoTime() - start;
+                    if (limiter != null) {
+                        limiter.release(rtt);
+                    }
+                    result.add(rtt);
+                }
+                return result;
+            }));
+        }
+
+        Result total = new Result();
+        for (Future<Result> future : futures) {
+            total.merge(future.get());
+        }
+        clients.shutdown();
+
+        long[] latencies = Arrays.copyOf(total.latencies, total.count);
+        Arrays.sort(latencies);
+        System.out.printf("%-9s accepted=%d (%.0f/s) rejected=%.1f%% p50=%.1fms p99=%.1fms max=%.1fms%s%n",
+                name, total.count, total.count / (double) SECONDS,
+                100.0 * total.rejected / Math.max(1, total.rejected + total.count),
+                percentile(latencies, 0.50), percentile(latencies, 0.99), percentile(latencies, 1.0),
+                limiter == null ? "" : " final limit=" + limiter.limit());
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1);
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+
+    private static final class Result {
+        long[] latencies = new long[1024];
+        int count;
+        long rejected;
+
+        void add(long latency) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latency;
+        }
+
+        void merge(Result other) {
+            for (int i = 0; i < other.count; i++) {
+                add(other.latencies[i]);
+            }
+            rejected += other.rejected;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package evote.stimmvergabe.web;
+
+import evote.stimmvergabe.infrastructure.web.AdaptiveConcurrencyLimiter;
+import evote.stimmvergabe.infrastructure.web.VoteAdmissionFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VoteAdmissionFilterTest {
+
+    private AdaptiveConcurrencyLimiter limiter;
+    private MeterRegistry registry;
+    private VoteAdmissionFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        limiter = new AdaptiveConcurrencyLimiter(1, 1, 10, 1.5);
+        registry = new SimpleMeterRegistry();
+        filter = new VoteAdmissionFilter(limiter, 2, registry);
+    }
+
+    private static MockHttpServletRequest post() {
+        return new MockHttpServletRequest("POST", "/api/vote");
+    }
+
+    @Test
+    @DisplayName("Freier Platz: Anfrage wird durchgereicht und der Platz danach freigegeben")
+    void freeSlot_passesRequestThrough() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(post(), response, chain);
+
+        assertNotNull(chain.getRequest());
+        assertEquals(200, response.getStatus());
+        assertEquals(0, limiter.inFlight());
+        assertEquals(1.0, registry.get("evote.vote.admission").tag("result", "accepted").counter().count());
+    }
+
+    @Test
+    @DisplayName("Limit erreicht: 503 mit Retry-After, Controller wird nicht aufgerufen")
+    void saturated_returnsServiceUnavailable() throws Exception {
+        assertTrue(limiter.tryAcquire());
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(post(), response, chain);
+
+        assertNull(chain.getRequest());
+        assertEquals(503, response.getStatus());
+        assertEquals("2", response.getHeader("Retry-After"));
+        assertEquals(1.0, registry.get("evote.vote.admission").tag("result", "rejected").counter().count());
+        assertEquals(1.0, registry.get("evote.vote.admission.inflight").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Fehler im Controller gibt den Platz trotzdem frei")
+    void failingChain_releasesSlot() {
+        HttpServlet failing = new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) throws ServletException {
+                throw new ServletException("boom");
+            }
+        };
+
+        assertThrows(ServletException.class,
+                () -> filter.doFilter(post(), new MockHttpServletResponse(), new MockFilterChain(failing)));
+        assertEquals(0, limiter.inFlight());
+    }
+
+    @Test
+    @DisplayName("Nur POST wird begrenzt")
+    void get_isNotLimited() throws Exception {
+        assertTrue(limiter.tryAcquire());
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/vote"), new MockHttpServletResponse(), chain);
+
+        assertNotNull(chain.getRequest());
+    }
+}
@@ -0,0 +1,72 @@
+package evote.stimmvergabe.web;
+
+import evote.stimmvergabe.application.VoteResult;
+import evote.stimmvergabe.application.VoteService;
+import evote.stimmvergabe.domain.validator.VoteRejectionReason;
+import evote.stimmvergabe.infrastructure.web.VoteController;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(controllers = VoteController.class, properties = "evote.vote.validation-mode=result")
+class VoteControllerResultModeTest {
+
+    private static final String BODY = """
+            {"pollId":"POLL-CK-2026","optionId":"OPTION-MIX","voterId":"VOTER-001","correlationId":"corr-1"}
+            """;
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @MockBean
+    VoteService voteService;
+
+    @Test
+    @DisplayName("POST /api/vote (result) – angenommene Stimme → 201 Created")
+    void accepted_returnsCreated() throws Exception {
+        when(voteService.tryCreate(any())).thenReturn(VoteResult.accepted());
+
+        mockMvc.perform(post("/api/vote").contentType(MediaType.APPLICATION_JSON).content(BODY))
+                .andExpect(status().isCreated());
+
+        verify(voteService, never()).create(any());
+    }
+
+    @Test
+    @DisplayName("POST /api/vote (result) – bereits abgestimmt → 409 Conflict mit Grund")
+    void voterNotEligible_returnsConflict() throws Exception {
+        when(voteService.tryCreate(any())).thenReturn(VoteResult.rejected(VoteRejectionReason.VOTER_NOT_ELIGIBLE));
+
+        mockMvc.perform(post("/api/vote").contentType(MediaType.APPLICATION_JSON).content(BODY))
+                .andExpect(status().isConflict())
+                .andExpect(content().string("Conflict: voter_not_eligible"));
+    }
+
+    @Test
+    @DisplayName("POST /api/vote (result) – Abstimmung geschlossen → 409 Conflict")
+    void pollNotOpen_returnsConflict() throws Exception {
+        when(voteService.tryCreate(any())).thenReturn(VoteResult.rejected(VoteRejectionReason.POLL_NOT_OPEN));
+
+        mockMvc.perform(post("/api/vote").contentType(MediaType.APPLICATION_JSON).content(BODY))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    @DisplayName("POST /api/vote (result) – ungültige Option → 400 Bad Request")
+    void invalidOption_returnsBadRequest() throws Exception {
+        when(voteService.tryCreate(any())).thenReturn(VoteResult.rejected(VoteRejectionReason.INVALID_OPTION));
+
+        mockMvc.perform(post("/api/vote").contentType(MediaType.APPLICATION_JSON).content(BODY))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Invalid input: invalid_option"));
+    }
+}